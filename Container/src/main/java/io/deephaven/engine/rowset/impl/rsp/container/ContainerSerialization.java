@@ -0,0 +1,286 @@
+package io.deephaven.engine.rowset.impl.rsp.container;
+
+import java.nio.ByteBuffer;
+
+import static io.deephaven.engine.rowset.impl.rsp.container.ContainerUtil.toIntUnsigned;
+
+/**
+ * Portable, container-native serialization for {@link Container containers}.
+ * <p>
+ * Containers are written in the same shape they have in memory: array containers as their sorted {@code short}
+ * values, bitmap containers as their 1024 {@code long} words, and run containers as their interleaved (start, length)
+ * pairs. The small immutable container specializations are written as the nearest general container type (
+ * {@link SingleRangeContainer} as a one-run run container, {@link SingletonContainer} and {@link TwoValuesContainer} as
+ * array containers).
+ * <p>
+ * All multi-byte values use the {@link ByteBuffer#order() byte order} of the buffer provided by the caller. The layout
+ * is:
+ * <ul>
+ * <li>{@link #ARRAY}: {@code byte type, int cardinality, short[cardinality] values}</li>
+ * <li>{@link #BITMAP}: {@code byte type, int cardinality, long[1024] words}</li>
+ * <li>{@link #RUN}: {@code byte type, int nruns, int cardinality, short[2 * nruns] (start, length) pairs}</li>
+ * </ul>
+ * Serialized containers can be queried for membership directly against the buffer (see
+ * {@link #contains(ByteBuffer, int, int)}), which allows for lazy deserialization of memory-mapped data.
+ */
+public final class ContainerSerialization {
+
+    public static final byte ARRAY = 1;
+    public static final byte BITMAP = 2;
+    public static final byte RUN = 3;
+
+    private static final int HEADER_BYTES = Byte.BYTES + Integer.BYTES;
+
+    private ContainerSerialization() {}
+
+    /**
+     * Compute the number of bytes {@link #write(ByteBuffer, Container)} will use for {@code c}.
+     *
+     * @param c the container
+     * @return the serialized size of {@code c} in bytes
+     */
+    public static int serializedSizeInBytes(final Container c) {
+        if (c instanceof BitmapContainer) {
+            return HEADER_BYTES + BitmapContainer.BITMAP_SIZE_IN_BYTES;
+        }
+        if (c instanceof RunContainer) {
+            return HEADER_BYTES + Integer.BYTES + 2 * Short.BYTES * ((RunContainer) c).numberOfRuns();
+        }
+        if (c instanceof SingleRangeContainer) {
+            return HEADER_BYTES + Integer.BYTES + 2 * Short.BYTES;
+        }
+        return HEADER_BYTES + Short.BYTES * c.getCardinality();
+    }
+
+    /**
+     * Write {@code c} into {@code buf} at its current position, advancing the position.
+     *
+     * @param buf the destination buffer; must have at least {@link #serializedSizeInBytes(Container)} bytes remaining
+     * @param c the container to write
+     */
+    public static void write(final ByteBuffer buf, final Container c) {
+        if (c instanceof BitmapContainer) {
+            final BitmapContainer bc = (BitmapContainer) c;
+            buf.put(BITMAP);
+            buf.putInt(bc.cardinality);
+            buf.asLongBuffer().put(bc.bitmap);
+            buf.position(buf.position() + BitmapContainer.BITMAP_SIZE_IN_BYTES);
+            return;
+        }
+        if (c instanceof RunContainer) {
+            final RunContainer rc = (RunContainer) c;
+            final int nruns = rc.numberOfRuns();
+            buf.put(RUN);
+            buf.putInt(nruns);
+            buf.putInt(rc.getCardinality());
+            for (int i = 0; i < nruns; ++i) {
+                buf.putShort((short) rc.getValueAsInt(i));
+                buf.putShort((short) rc.getLengthAsInt(i));
+            }
+            return;
+        }
+        if (c instanceof SingleRangeContainer) {
+            final int first = c.first();
+            final int last = c.last();
+            buf.put(RUN);
+            buf.putInt(1);
+            buf.putInt(last - first + 1);
+            buf.putShort((short) first);
+            buf.putShort((short) (last - first));
+            return;
+        }
+        if (c instanceof ArrayContainer) {
+            final ArrayContainer ac = (ArrayContainer) c;
+            buf.put(ARRAY);
+            buf.putInt(ac.cardinality);
+            buf.asShortBuffer().put(ac.content, 0, ac.cardinality);
+            buf.position(buf.position() + Short.BYTES * ac.cardinality);
+            return;
+        }
+        // Singleton, two values and empty containers.
+        buf.put(ARRAY);
+        buf.putInt(c.getCardinality());
+        c.forEach(v -> {
+            buf.putShort(v);
+            return true;
+        });
+    }
+
+    /**
+     * Read a container previously written with {@link #write(ByteBuffer, Container)} from {@code buf} at its current
+     * position, advancing the position.
+     *
+     * @param buf the source buffer
+     * @return a newly allocated container with the serialized contents
+     */
+    public static Container read(final ByteBuffer buf) {
+        final byte type = buf.get();
+        switch (type) {
+            case ARRAY: {
+                final int cardinality = buf.getInt();
+                final short[] content = new short[Container.shortArraySizeRounding(cardinality)];
+                buf.asShortBuffer().get(content, 0, cardinality);
+                buf.position(buf.position() + Short.BYTES * cardinality);
+                return ArrayContainer.makeByWrapping(content, cardinality);
+            }
+            case BITMAP: {
+                final int cardinality = buf.getInt();
+                final long[] bitmap = new long[BitmapContainer.BITMAP_CAPACITY];
+                buf.asLongBuffer().get(bitmap);
+                buf.position(buf.position() + BitmapContainer.BITMAP_SIZE_IN_BYTES);
+                return new BitmapContainer(bitmap, cardinality);
+            }
+            case RUN: {
+                final int nruns = buf.getInt();
+                final int cardinality = buf.getInt();
+                final short[] valueslength = new short[Container.runsShortArraySizeRounding(nruns)];
+                buf.asShortBuffer().get(valueslength, 0, 2 * nruns);
+                buf.position(buf.position() + 2 * Short.BYTES * nruns);
+                return RunContainer.makeByWrapping(valueslength, nruns, cardinality);
+            }
+            default:
+                throw new IllegalStateException("Bad container type: " + type);
+        }
+    }
+
+    /**
+     * Get the cardinality of a serialized container without deserializing it.
+     *
+     * @param buf the buffer holding the serialized container
+     * @param offset the absolute offset in {@code buf} where the container starts
+     * @return the cardinality of the serialized container
+     */
+    public static int cardinality(final ByteBuffer buf, final int offset) {
+        final byte type = buf.get(offset);
+        if (type == RUN) {
+            return buf.getInt(offset + HEADER_BYTES);
+        }
+        return buf.getInt(offset + Byte.BYTES);
+    }
+
+    /**
+     * Get the first (smallest) value of a non-empty serialized container without deserializing it.
+     *
+     * @param buf the buffer holding the serialized container
+     * @param offset the absolute offset in {@code buf} where the container starts
+     * @return the first value in the serialized container
+     */
+    public static int first(final ByteBuffer buf, final int offset) {
+        final byte type = buf.get(offset);
+        switch (type) {
+            case ARRAY:
+                return toIntUnsigned(buf.getShort(offset + HEADER_BYTES));
+            case BITMAP: {
+                final int wordsOffset = offset + HEADER_BYTES;
+                for (int i = 0; i < BitmapContainer.BITMAP_CAPACITY; ++i) {
+                    final long word = buf.getLong(wordsOffset + Long.BYTES * i);
+                    if (word != 0) {
+                        return 64 * i + Long.numberOfTrailingZeros(word);
+                    }
+                }
+                throw new IllegalStateException("Empty bitmap container");
+            }
+            case RUN:
+                return toIntUnsigned(buf.getShort(offset + HEADER_BYTES + Integer.BYTES));
+            default:
+                throw new IllegalStateException("Bad container type: " + type);
+        }
+    }
+
+    /**
+     * Get the last (largest) value of a non-empty serialized container without deserializing it.
+     *
+     * @param buf the buffer holding the serialized container
+     * @param offset the absolute offset in {@code buf} where the container starts
+     * @return the last value in the serialized container
+     */
+    public static int last(final ByteBuffer buf, final int offset) {
+        final byte type = buf.get(offset);
+        switch (type) {
+            case ARRAY: {
+                final int cardinality = buf.getInt(offset + Byte.BYTES);
+                return toIntUnsigned(buf.getShort(offset + HEADER_BYTES + Short.BYTES * (cardinality - 1)));
+            }
+            case BITMAP: {
+                final int wordsOffset = offset + HEADER_BYTES;
+                for (int i = BitmapContainer.BITMAP_CAPACITY - 1; i >= 0; --i) {
+                    final long word = buf.getLong(wordsOffset + Long.BYTES * i);
+                    if (word != 0) {
+                        return 64 * i + 63 - Long.numberOfLeadingZeros(word);
+                    }
+                }
+                throw new IllegalStateException("Empty bitmap container");
+            }
+            case RUN: {
+                final int nruns = buf.getInt(offset + Byte.BYTES);
+                final int pairOffset = offset + HEADER_BYTES + Integer.BYTES + 2 * Short.BYTES * (nruns - 1);
+                return toIntUnsigned(buf.getShort(pairOffset)) + toIntUnsigned(buf.getShort(pairOffset + Short.BYTES));
+            }
+            default:
+                throw new IllegalStateException("Bad container type: " + type);
+        }
+    }
+
+    /**
+     * Check for membership of a value in a serialized container without deserializing it.
+     *
+     * @param buf the buffer holding the serialized container
+     * @param offset the absolute offset in {@code buf} where the container starts
+     * @param value the value to look for, in the range [0, 2^16)
+     * @return true if the serialized container contains {@code value}
+     */
+    public static boolean contains(final ByteBuffer buf, final int offset, final int value) {
+        final byte type = buf.get(offset);
+        switch (type) {
+            case ARRAY: {
+                final int cardinality = buf.getInt(offset + Byte.BYTES);
+                final int valuesOffset = offset + HEADER_BYTES;
+                int lo = 0;
+                int hi = cardinality - 1;
+                while (lo <= hi) {
+                    final int mid = (lo + hi) >>> 1;
+                    final int midValue = toIntUnsigned(buf.getShort(valuesOffset + Short.BYTES * mid));
+                    if (midValue < value) {
+                        lo = mid + 1;
+                    } else if (midValue > value) {
+                        hi = mid - 1;
+                    } else {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            case BITMAP: {
+                final long word = buf.getLong(offset + HEADER_BYTES + Long.BYTES * (value >>> 6));
+                return (word & (1L << value)) != 0;
+            }
+            case RUN: {
+                final int nruns = buf.getInt(offset + Byte.BYTES);
+                final int runsOffset = offset + HEADER_BYTES + Integer.BYTES;
+                // find the last run whose start is <= value.
+                int lo = 0;
+                int hi = nruns - 1;
+                int found = -1;
+                while (lo <= hi) {
+                    final int mid = (lo + hi) >>> 1;
+                    final int start = toIntUnsigned(buf.getShort(runsOffset + 2 * Short.BYTES * mid));
+                    if (start <= value) {
+                        found = mid;
+                        lo = mid + 1;
+                    } else {
+                        hi = mid - 1;
+                    }
+                }
+                if (found < 0) {
+                    return false;
+                }
+                final int pairOffset = runsOffset + 2 * Short.BYTES * found;
+                final int start = toIntUnsigned(buf.getShort(pairOffset));
+                final int length = toIntUnsigned(buf.getShort(pairOffset + Short.BYTES));
+                return value <= start + length;
+            }
+            default:
+                throw new IllegalStateException("Bad container type: " + type);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.deephaven.engine.rowset.impl.rsp.container;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestContainerSerialization {
+
+    private static void checkRoundTrip(final Container c, final Class<? extends Container> expectedType) {
+        for (final ByteOrder order : new ByteOrder[] {ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN}) {
+            final int size = ContainerSerialization.serializedSizeInBytes(c);
+            final ByteBuffer buf = ByteBuffer.allocate(size + 3).order(order);
+            buf.position(3);
+            ContainerSerialization.write(buf, c);
+            assertEquals(size + 3, buf.position());
+
+            assertEquals(c.getCardinality(), ContainerSerialization.cardinality(buf, 3));
+            if (!c.isEmpty()) {
+                assertEquals(c.first(), ContainerSerialization.first(buf, 3));
+                assertEquals(c.last(), ContainerSerialization.last(buf, 3));
+            }
+            for (int v = 0; v < Container.MAX_RANGE; ++v) {
+                assertEquals(c.contains((short) v), ContainerSerialization.contains(buf, 3, v));
+            }
+
+            buf.position(3);
+            final Container read = ContainerSerialization.read(buf);
+            assertEquals(size + 3, buf.position());
+            assertEquals(expectedType, read.getClass());
+            assertTrue(read.sameContents(c));
+            read.validate();
+        }
+    }
+
+    @Test
+    public void testArrayContainer() {
+        Container c = new ArrayContainer();
+        for (int v = 7; v < Container.MAX_RANGE; v += 101) {
+            c = c.iset((short) v);
+        }
+        assertTrue(c instanceof ArrayContainer);
+        checkRoundTrip(c, ArrayContainer.class);
+    }
+
+    @Test
+    public void testBitmapContainer() {
+        final Random rand = new Random(20230811);
+        Container c = new BitmapContainer();
+        for (int i = 0; i < 20000; ++i) {
+            c = c.iset((short) rand.nextInt(Container.MAX_RANGE));
+        }
+        assertTrue(c instanceof BitmapContainer);
+        checkRoundTrip(c, BitmapContainer.class);
+    }
+
+    @Test
+    public void testRunContainer() {
+        Container c = new RunContainer();
+        for (int start = 3; start < Container.MAX_RANGE - 100; start += 1000) {
+            c = c.iadd(start, start + 100);
+        }
+        c = c.iadd(Container.MAX_VALUE - 5, Container.MAX_RANGE);
+        assertTrue(c instanceof RunContainer);
+        checkRoundTrip(c, RunContainer.class);
+    }
+
+    @Test
+    public void testSmallContainers() {
+        checkRoundTrip(new SingletonContainer((short) 12), ArrayContainer.class);
+        checkRoundTrip(new TwoValuesContainer((short) 12, (short) -3), ArrayContainer.class);
+        checkRoundTrip(new SingleRangeContainer(10, 20000), RunContainer.class);
+        checkRoundTrip(Container.empty(), ArrayContainer.class);
+    }
+}
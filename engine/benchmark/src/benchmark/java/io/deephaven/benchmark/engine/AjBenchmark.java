@@ -7,6 +7,7 @@ import io.deephaven.engine.context.ExecutionContext;
 import io.deephaven.engine.context.TestExecutionContext;
 import io.deephaven.engine.table.Table;
 import io.deephaven.engine.testutil.ControlledUpdateGraph;
+import io.deephaven.engine.updategraph.OperationInitializer;
 import io.deephaven.engine.util.TableTools;
 import io.deephaven.util.metrics.MetricsManager;
 import io.deephaven.benchmarking.*;
@@ -21,7 +22,11 @@ import org.openjdk.jmh.infra.Blackhole;
 
 import java.io.IOException;
 import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @State(Scope.Thread)
 @BenchmarkMode(Mode.AverageTime)
@@ -51,6 +56,18 @@ public class AjBenchmark {
     @Param({"100000"})
     private int buckets;
 
+    /**
+     * The number of threads available to initialize bucketed joins, or zero for the default operation initializer.
+     * Large left tables (see {@code JoinControl.parallelAsOfJoinThreshold}) stamp their buckets in parallel, so e.g.
+     * {@code -p leftSize=10000000 -p initThreads=1,2,4,8} measures the scaling of {@link #ajStatic},
+     * {@link #ajLeftIncremental}, and {@link #ajIncrementalStartup} initialization.
+     */
+    @Param({"0"})
+    private int initThreads;
+
+    private OperationInitializer operationInitializer;
+    private ExecutorService initExecutor;
+
     private Table rightTable;
     private Table leftTable;
 
@@ -128,6 +145,30 @@ public class AjBenchmark {
                 .addColumn(BenchmarkTools.numberCol("LeftSentinel", long.class))
                 .build();
 
+        if (initThreads == 0) {
+            operationInitializer = ExecutionContext.getContext().getOperationInitializer();
+        } else if (initThreads == 1) {
+            operationInitializer = OperationInitializer.NON_PARALLELIZABLE;
+        } else {
+            initExecutor = Executors.newFixedThreadPool(initThreads);
+            operationInitializer = new OperationInitializer() {
+                @Override
+                public boolean canParallelize() {
+                    return true;
+                }
+
+                @Override
+                public Future<?> submit(Runnable runnable) {
+                    return initExecutor.submit(runnable);
+                }
+
+                @Override
+                public int parallelismFactor() {
+                    return initThreads;
+                }
+            };
+        }
+
         state = new TableBenchmarkState(BenchmarkTools.stripName(params.getBenchmark()), params.getWarmup().getCount());
 
         rightTable = bmRight.getTable().coalesce().dropColumns("PartCol");
@@ -145,6 +186,9 @@ public class AjBenchmark {
         }
         bmLeft.cleanup();
         bmRight.cleanup();
+        if (initExecutor != null) {
+            initExecutor.shutdown();
+        }
     }
 
     @Setup(Level.Iteration)
@@ -173,7 +217,8 @@ public class AjBenchmark {
             throw new UnsupportedOperationException("Buckets must be positive!");
         }
         final Table result = ExecutionContext.getContext().getUpdateGraph().sharedLock()
-                .computeLocked(() -> leftTable.aj(rightTable, joinKeyName + ",LeftStamp>=RightStamp", "RightSentinel"));
+                .computeLocked(() -> initialize(
+                        () -> leftTable.aj(rightTable, joinKeyName + ",LeftStamp>=RightStamp", "RightSentinel")));
         return doFingerPrint(result, bh);
     }
 
@@ -184,8 +229,8 @@ public class AjBenchmark {
         }
         final Table result = IncrementalBenchmark.incrementalBenchmark(
                 (lt) -> ExecutionContext.getContext().getUpdateGraph().sharedLock()
-                        .computeLocked(
-                                () -> lt.aj(rightTable, joinKeyName + ",LeftStamp>=RightStamp", "RightSentinel")),
+                        .computeLocked(() -> initialize(
+                                () -> lt.aj(rightTable, joinKeyName + ",LeftStamp>=RightStamp", "RightSentinel"))),
                 leftTable);
         return doFingerPrint(result, bh);
     }
@@ -301,6 +346,19 @@ public class AjBenchmark {
     }
 
 
+    @Benchmark
+    public Table ajIncrementalStartup(Blackhole bh) {
+        if (buckets == 0) {
+            throw new UnsupportedOperationException("Buckets must be positive!");
+        }
+        final Table result = IncrementalBenchmark.incrementalBenchmark(
+                (lt, rt) -> ExecutionContext.getContext().getUpdateGraph().sharedLock()
+                        .computeLocked(() -> initialize(
+                                () -> lt.aj(rt, joinKeyName + ",LeftStamp>=RightStamp", "RightSentinel"))),
+                leftTable, rightTable, 0.95, 1);
+        return doFingerPrint(result, bh);
+    }
+
     @Benchmark
     public Table ajIncrementalSmallSteps(Blackhole bh) {
         if (buckets == 0) {
@@ -325,6 +383,10 @@ public class AjBenchmark {
         return doFingerPrint(result, bh);
     }
 
+    private Table initialize(Supplier<Table> operation) {
+        return ExecutionContext.getContext().withOperationInitializer(operationInitializer).apply(operation);
+    }
+
     private Table doFingerPrint(Table result, Blackhole bh) {
         if (fingerprint) {
             return state.setResult(result);
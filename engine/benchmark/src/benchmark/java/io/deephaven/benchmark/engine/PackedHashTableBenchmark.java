@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.benchmark.engine;
+
+import io.deephaven.benchmarking.BenchUtil;
+import io.deephaven.benchmarking.BenchmarkTable;
+import io.deephaven.benchmarking.BenchmarkTools;
+import io.deephaven.benchmarking.generator.ColumnGenerator;
+import io.deephaven.benchmarking.generator.SequentialNumberGenerator;
+import io.deephaven.benchmarking.runner.TableBenchmarkState;
+import io.deephaven.configuration.Configuration;
+import io.deephaven.engine.context.ExecutionContext;
+import io.deephaven.engine.context.TestExecutionContext;
+import io.deephaven.engine.table.Table;
+import io.deephaven.engine.table.impl.QueryTable;
+import io.deephaven.engine.testutil.ControlledUpdateGraph;
+import io.deephaven.engine.util.TableTools;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the generated open addressed static aggregation hasher against the packed {@code long} key state manager
+ * for single {@code long} key aggregations.
+ */
+@SuppressWarnings("unused")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Timeout(time = 30)
+@Fork(1)
+public class PackedHashTableBenchmark {
+    private TableBenchmarkState state;
+
+    @Param({"OpenAddressed", "PackedLong"})
+    private String stateManager;
+
+    @Param({"10000000"})
+    private int size;
+
+    @Param({"1000", "1000000", "10000000"})
+    private int keyCount;
+
+    private Table table;
+
+    @Setup(Level.Trial)
+    public void setupEnv(BenchmarkParams params) {
+        // The state manager is chosen when ChunkedOperatorAggregationHelper is initialized; each trial runs in its own
+        // fork, so we set the property before any aggregation is done.
+        final boolean usePacked;
+        switch (stateManager) {
+            case "OpenAddressed":
+                usePacked = false;
+                break;
+            case "PackedLong":
+                usePacked = true;
+                break;
+            default:
+                throw new IllegalStateException("Unknown state manager: " + stateManager);
+        }
+        Configuration.getInstance().setProperty(
+                "ChunkedOperatorAggregationHelper.usePackedLongStateManager", Boolean.toString(usePacked));
+
+        TestExecutionContext.createForUnitTests().open();
+        ExecutionContext.getContext().getUpdateGraph().<ControlledUpdateGraph>cast().enableUnitTestMode();
+        QueryTable.setMemoizeResults(false);
+
+        final ColumnGenerator<Long> longKey = BenchmarkTools.seqNumberCol(
+                "KeyLong", long.class, 0, 7919, (double) keyCount * 7919,
+                SequentialNumberGenerator.Mode.RollAtLimit);
+
+        final BenchmarkTable bmt = BenchmarkTools.inMemoryTableBuilder("PackedHashTableBenchmark", size)
+                .setSeed(0xDEADBEEF)
+                .addColumn(longKey)
+                .addColumn(BenchmarkTools.numberCol("Value", long.class))
+                .build();
+
+        state = new TableBenchmarkState(BenchmarkTools.stripName(params.getBenchmark()), params.getWarmup().getCount());
+
+        table = bmt.getTable().coalesce();
+    }
+
+    @TearDown(Level.Trial)
+    public void finishTrial() {
+        try {
+            state.logOutput();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        state.init();
+    }
+
+    @TearDown(Level.Iteration)
+    public void finishIteration(BenchmarkParams params) throws IOException {
+        state.processResult(params);
+    }
+
+    @Benchmark
+    public Table countByStatic(@NotNull final Blackhole bh) {
+        final Table result = ExecutionContext.getContext().getUpdateGraph().sharedLock()
+                .computeLocked(() -> table.countBy("N", "KeyLong"));
+        bh.consume(result);
+        return state.setResult(TableTools.emptyTable(0));
+    }
+
+    @Benchmark
+    public Table sumByStatic(@NotNull final Blackhole bh) {
+        final Table result = ExecutionContext.getContext().getUpdateGraph().sharedLock()
+                .computeLocked(() -> table.sumBy("KeyLong"));
+        bh.consume(result);
+        return state.setResult(TableTools.emptyTable(0));
+    }
+
+    public static void main(String[] args) {
+        final int heapGb = 12;
+        BenchUtil.run(heapGb, PackedHashTableBenchmark.class, "countByStatic", "sumByStatic");
+    }
+}
@@ -66,7 +66,7 @@ public class UpdateBenchmark {
     @Param({"true", "false"})
     private boolean sort;
 
-    @Param({"trivial", "simple"}) // ,"complex"})
+    @Param({"trivial", "simple", "complex"})
     private String complexity;
 
     private String oneColumnUpdate() {
@@ -93,8 +93,25 @@ public class UpdateBenchmark {
                         throw new IllegalStateException("Unrecognized data type.");
                 }
             case "complex":
-                // TBI
-                return null;
+                // arithmetic-heavy expressions, to measure the throughput of the generated per-chunk loops
+                switch (dataType) {
+                    case "String":
+                        return "U1=C2.length() * 31 + C2.hashCode() % 7";
+                    case "double":
+                    case "float":
+                        return "U1=(C2 * C2 + 3.0 * C2 - 7.5) / (C2 * C2 + 1.0)";
+                    case "byte":
+                    case "short":
+                    case "int":
+                    case "long":
+                        return "U1=(C2 * C2 + 3 * C2 - 7) % 1013";
+                    case "char":
+                        return "U1=(C2 * 31 + 7) ^ (C2 >> 3)";
+                    case "Boolean":
+                        return "U1 = C2 == null ? NULL_INT : (C2 ? 3 : 7) * 11 + 5";
+                    default:
+                        throw new IllegalStateException("Unrecognized data type.");
+                }
             default:
                 throw new IllegalStateException("Unrecognized complexity value.");
         }
@@ -123,8 +140,24 @@ public class UpdateBenchmark {
                         throw new IllegalStateException("Unrecognized data type.");
                 }
             case "complex":
-                // TBI
-                return null;
+                // arithmetic-heavy expressions, to measure the throughput of the generated per-chunk loops
+                switch (dataType) {
+                    case "String":
+                        return "U1=C2.length() * C3.length() + C2.compareTo(C3)";
+                    case "double":
+                    case "float":
+                    case "byte":
+                    case "short":
+                    case "int":
+                    case "long":
+                        return "U1=(C2 * C3 + C2 - C3) / (C3 * C3 + 1.0)";
+                    case "char":
+                        return "U1=(C2 * 31 + C3) ^ (C3 * 17 - C2)";
+                    case "Boolean":
+                        return "U1 = (C2 && !C3) || (!C2 && C3)";
+                    default:
+                        throw new IllegalStateException("Unrecognized data type.");
+                }
             default:
                 throw new IllegalStateException("Unrecognized complexity value.");
         }
@@ -154,8 +187,24 @@ public class UpdateBenchmark {
                         throw new IllegalStateException("Unrecognized data type.");
                 }
             case "complex":
-                // TBI
-                return null;
+                // arithmetic-heavy expressions, to measure the throughput of the generated per-chunk loops
+                switch (dataType) {
+                    case "String":
+                        return "U1=C2.length() * 3 > C3.length() + 4 ? C2 + C3 : C3 + C2";
+                    case "double":
+                    case "float":
+                    case "byte":
+                    case "short":
+                    case "int":
+                    case "long":
+                        return "U1 = C2 * C3 > 0 ? C2 * C2 - C3 : C3 * C3 - C2";
+                    case "char":
+                        return "U1=C2 * 31 > C3 * 17 ? C2 * 3 + C3 : C3 * 3 + C2";
+                    case "Boolean":
+                        return "U1 = C2 && C3 ? 1 : C2 || C3 ? 2 : 3";
+                    default:
+                        throw new IllegalStateException("Unrecognized data type.");
+                }
             default:
                 throw new IllegalStateException("Unrecognized complexity value.");
         }
@@ -185,8 +234,25 @@ public class UpdateBenchmark {
                         throw new IllegalStateException("Unrecognized data type.");
                 }
             case "complex":
-                // TBI
-                return null;
+                // arithmetic-heavy expressions, to measure the throughput of the generated per-chunk loops
+                switch (dataType) {
+                    case "String":
+                        return "U1=C2.length() * 31 + 7, U2 = U1 * U1 - U1 / 7";
+                    case "double":
+                    case "float":
+                        return "U1 = C2 * C2 + 3.1 * C2, U2 = U1 * U1 - U1 / 7.3";
+                    case "byte":
+                    case "short":
+                    case "int":
+                    case "long":
+                        return "U1 = C2 * C2 + 3 * C2, U2 = U1 * U1 - U1 / 7";
+                    case "char":
+                        return "U1=C2 * 31 + 7, U2 = U1 * U1 - U1 / 7";
+                    case "Boolean":
+                        return "U1 = C2 ? 3 : 7, U2 = U1 * U1 - U1 / 7";
+                    default:
+                        throw new IllegalStateException("Unrecognized data type.");
+                }
             default:
                 throw new IllegalStateException("Unrecognized complexity value.");
         }
@@ -341,4 +407,28 @@ public class UpdateBenchmark {
     public Table update() {
         return state.setResult(setupTable.update(updateClause)).coalesce();
     }
+
+    /**
+     * Counts the rows processed by {@link #updateRowsPerSecond}, so that JMH reports formula throughput in rows per
+     * second alongside the operation rate.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class RowCounter {
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Table updateRowsPerSecond(final RowCounter counter) {
+        final Table result = update();
+        counter.rows += setupTable.size();
+        return result;
+    }
 }
@@ -8,7 +8,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class PoisonedQueryCompiler extends QueryCompiler {
 
@@ -35,4 +37,9 @@ public class PoisonedQueryCompiler extends QueryCompiler {
             @Nullable StringBuilder codeLog, @NotNull Map<String, Class<?>> parameterClasses) {
         return fail();
     }
+
+    @Override
+    public List<CompletableFuture<Class<?>>> compile(@NotNull List<QueryCompilerRequest> requests) {
+        return fail();
+    }
 }
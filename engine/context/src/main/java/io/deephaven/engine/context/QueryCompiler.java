@@ -12,6 +12,7 @@ import io.deephaven.datastructures.util.CollectionUtil;
 import io.deephaven.internal.log.LoggerFactory;
 import io.deephaven.io.logger.Logger;
 import io.deephaven.util.ByteUtils;
+import io.deephaven.util.annotations.VisibleForTesting;
 import org.apache.commons.text.StringEscapeUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -32,13 +33,19 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 public class QueryCompiler {
     private static final Logger log = LoggerFactory.getLogger(QueryCompiler.class);
@@ -61,13 +68,67 @@ public class QueryCompiler {
     private static final long codegenLoopDelayMs =
             Configuration.getInstance().getLongWithDefault(CODEGEN_LOOP_DELAY_PROP, CODEGEN_LOOP_DELAY_MS_DEFAULT);
 
+    private static final String BATCH_PARALLELISM_PROP = "QueryCompiler.batch.parallelism";
+    private static final String BATCH_MIN_TASK_SIZE_PROP = "QueryCompiler.batch.minTaskSize";
+    /**
+     * The maximum number of compiler invocations used concurrently for a single batch.
+     */
+    private static final int batchParallelism = Configuration.getInstance().getIntegerWithDefault(
+            BATCH_PARALLELISM_PROP, Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    /**
+     * The minimum number of classes given to each compiler invocation of a batch; each invocation has a large fixed
+     * cost, so there is no point in splitting small batches.
+     */
+    private static final int batchMinTaskSize =
+            Configuration.getInstance().getIntegerWithDefault(BATCH_MIN_TASK_SIZE_PROP, 16);
+
     private static boolean logEnabled = Configuration.getInstance().getBoolean("QueryCompiler.logEnabledDefault");
 
+    /**
+     * Whether generated classes are compiled in memory and defined directly from their bytes, rather than compiled
+     * into a temporary directory and moved into the class destination. This avoids many small file system operations,
+     * which are slow on network-mounted workspaces.
+     */
+    private static volatile boolean inMemoryCompilation =
+            Configuration.getInstance().getBooleanWithDefault("QueryCompiler.inMemory", false);
+    /**
+     * Whether classes compiled in memory are also written to the class destination in the background, so that they
+     * remain available to later sessions and processes.
+     */
+    private static final boolean persistInMemoryClasses =
+            Configuration.getInstance().getBooleanWithDefault("QueryCompiler.inMemory.persist", true);
+
+    private static final AtomicLong memoryHits = new AtomicLong();
+    private static final AtomicLong diskHits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong compileNanos = new AtomicLong();
+
     public static final String FORMULA_PREFIX = "io.deephaven.temp";
     public static final String DYNAMIC_GROOVY_CLASS_PREFIX = "io.deephaven.dynamic";
 
     public static QueryCompiler create(File cacheDirectory, ClassLoader classLoader) {
-        return new QueryCompiler(cacheDirectory, classLoader, true);
+        return create(cacheDirectory, classLoader, null);
+    }
+
+    /**
+     * Create a QueryCompiler that additionally stores formula classes in a shared, content-addressed cache.
+     * <p>
+     * Classes are written to {@code sharedCacheDirectory} under a package derived from a hash of their source, the
+     * Java class path and the JDK version, so the directory may outlive this process and be used concurrently by any
+     * number of workers on the same host; a worker that finds a class compiled by a previous run (or by a peer) loads
+     * it instead of compiling it again. Classes that refer to script-defined (e.g. Groovy) classes are specific to a
+     * session, and are always written to {@code cacheDirectory} instead.
+     *
+     * @param cacheDirectory the directory for classes specific to this compiler
+     * @param classLoader the parent class loader for compiled classes
+     * @param sharedCacheDirectory the shared cache directory, or {@code null} to disable sharing
+     * @return the new QueryCompiler
+     */
+    public static QueryCompiler create(
+            @NotNull final File cacheDirectory,
+            final ClassLoader classLoader,
+            @Nullable final File sharedCacheDirectory) {
+        return new QueryCompiler(cacheDirectory, classLoader, true, sharedCacheDirectory);
     }
 
     static QueryCompiler createForUnitTests() {
@@ -77,10 +138,17 @@ public class QueryCompiler {
     }
 
     private final Map<String, CompletableFuture<Class<?>>> knownClasses = new HashMap<>();
+    /**
+     * The bytes of classes compiled in memory, keyed by binary name. Each entry is removed once a class loader has
+     * defined the class, or once it has been persisted, whichever comes first; a class that is needed again after that
+     * is read from disk or, if it was never persisted, compiled again.
+     */
+    private final Map<String, byte[]> inMemoryClasses = new ConcurrentHashMap<>();
 
     private final String[] dynamicPatterns = new String[] {DYNAMIC_GROOVY_CLASS_PREFIX, FORMULA_PREFIX};
 
     private final File classDestination;
+    private final File sharedCacheDirectory;
     private final boolean isCacheDirectory;
     private final Set<File> additionalClassLocations;
     private volatile WritableURLClassLoader ucl;
@@ -88,18 +156,20 @@ public class QueryCompiler {
     /** package-private constructor for {@link io.deephaven.engine.context.PoisonedQueryCompiler} */
     QueryCompiler() {
         classDestination = null;
+        sharedCacheDirectory = null;
         isCacheDirectory = false;
         additionalClassLocations = null;
     }
 
     private QueryCompiler(File classDestination) {
-        this(classDestination, null, false);
+        this(classDestination, null, false, null);
     }
 
     private QueryCompiler(
             final File classDestination,
             final ClassLoader parentClassLoader,
-            final boolean isCacheDirectory) {
+            final boolean isCacheDirectory,
+            @Nullable final File sharedCacheDirectory) {
         final ClassLoader parentClassLoaderToUse = parentClassLoader == null
                 ? QueryCompiler.class.getClassLoader()
                 : parentClassLoader;
@@ -107,6 +177,11 @@ public class QueryCompiler {
         this.isCacheDirectory = isCacheDirectory;
         ensureDirectories(this.classDestination, () -> "Failed to create missing class destination directory " +
                 classDestination.getAbsolutePath());
+        this.sharedCacheDirectory = sharedCacheDirectory;
+        if (sharedCacheDirectory != null) {
+            ensureDirectories(sharedCacheDirectory, () -> "Failed to create missing shared class cache directory " +
+                    sharedCacheDirectory.getAbsolutePath());
+        }
         additionalClassLocations = new LinkedHashSet<>();
 
         URL[] urls = new URL[1];
@@ -122,6 +197,73 @@ public class QueryCompiler {
         }
     }
 
+    /**
+     * Process-wide counters describing how compilation requests were satisfied.
+     */
+    public static final class CacheStatistics {
+        private final long memoryHits;
+        private final long diskHits;
+        private final long misses;
+        private final long compileNanos;
+
+        private CacheStatistics(final long memoryHits, final long diskHits, final long misses,
+                final long compileNanos) {
+            this.memoryHits = memoryHits;
+            this.diskHits = diskHits;
+            this.misses = misses;
+            this.compileNanos = compileNanos;
+        }
+
+        /**
+         * @return the number of requests for a class this process had already loaded
+         */
+        public long getMemoryHits() {
+            return memoryHits;
+        }
+
+        /**
+         * @return the number of requests satisfied by a class file compiled earlier, possibly by another process
+         */
+        public long getDiskHits() {
+            return diskHits;
+        }
+
+        /**
+         * @return the number of classes that had to be compiled
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * @return the total time spent in the Java compiler, summed across threads
+         */
+        public long getCompileNanos() {
+            return compileNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "CacheStatistics{memoryHits=" + memoryHits + ", diskHits=" + diskHits + ", misses=" + misses
+                    + ", compileNanos=" + compileNanos + '}';
+        }
+    }
+
+    /**
+     * @return the number of classes compiled in memory whose bytes are still held by this compiler
+     */
+    @VisibleForTesting
+    int numInMemoryClasses() {
+        return inMemoryClasses.size();
+    }
+
+    /**
+     * @return a snapshot of the process-wide compilation cache statistics
+     */
+    public static CacheStatistics getCacheStatistics() {
+        return new CacheStatistics(memoryHits.get(), diskHits.get(), misses.get(), compileNanos.get());
+    }
+
     /**
      * Enables or disables compilation logging.
      *
@@ -134,6 +276,18 @@ public class QueryCompiler {
         return original;
     }
 
+    /**
+     * Enables or disables in-memory compilation of generated classes.
+     *
+     * @param inMemoryCompilation Whether classes should be compiled in memory
+     * @return The value of {@code inMemoryCompilation} before calling this method.
+     */
+    public static boolean setInMemoryCompilation(boolean inMemoryCompilation) {
+        boolean original = QueryCompiler.inMemoryCompilation;
+        QueryCompiler.inMemoryCompilation = inMemoryCompilation;
+        return original;
+    }
+
     /*
      * NB: This is (obviously) not thread safe if code tries to write the same className to the same
      * destinationDirectory from multiple threads. Seeing as we don't currently have this use case, leaving
@@ -251,6 +405,7 @@ public class QueryCompiler {
 
         // Someone else has already made the future. I'll just wait for the answer.
         if (alreadyExists) {
+            memoryHits.incrementAndGet();
             try {
                 return future.get();
             } catch (InterruptedException | ExecutionException error) {
@@ -260,13 +415,159 @@ public class QueryCompiler {
 
         // It's my job to fulfill the future.
         try {
-            return compileHelper(className, classBody, packageNameRoot, codeLog, parameterClasses, future);
+            return compileHelper(className, classBody, packageNameRoot, codeLog, parameterClasses, future, false);
         } catch (RuntimeException e) {
             future.completeExceptionally(e);
             throw e;
         }
     }
 
+    /**
+     * Compile a batch of classes.
+     * <p>
+     * Classes that are neither already known to this compiler nor present in the class cache are generated together,
+     * by a single compiler invocation for small batches, or by up to {@code QueryCompiler.batch.parallelism}
+     * concurrent invocations for large ones. This avoids paying the compiler's substantial fixed cost once per class
+     * when an operation (or a script) generates many formulas and filters at once.
+     * <p>
+     * Failures are reported per request: if any class in a batch fails to compile, the remaining classes are compiled
+     * individually so that the error is attributed to the offending request alone.
+     *
+     * @param requests The classes to compile
+     * @return A future for each request, in the same order; the futures for requests that this call was responsible
+     *         for are complete on return, while requests already in flight on other threads may complete later
+     */
+    public List<CompletableFuture<Class<?>>> compile(@NotNull final List<QueryCompilerRequest> requests) {
+        final List<CompletableFuture<Class<?>>> results = new ArrayList<>(requests.size());
+        final List<QueryCompilerRequest> ownedRequests = new ArrayList<>();
+        final List<CompletableFuture<Class<?>>> ownedFutures = new ArrayList<>();
+
+        synchronized (this) {
+            for (final QueryCompilerRequest request : requests) {
+                CompletableFuture<Class<?>> future = knownClasses.get(request.classBody());
+                if (future == null) {
+                    future = new CompletableFuture<>();
+                    knownClasses.put(request.classBody(), future);
+                    ownedRequests.add(request);
+                    ownedFutures.add(future);
+                } else {
+                    memoryHits.incrementAndGet();
+                }
+                results.add(future);
+            }
+        }
+
+        final Set<String> generatedClassBodies = new HashSet<>();
+        if (ownedRequests.size() > 1) {
+            // Generate the classes that are not yet cached in as few compiler invocations as we can; the
+            // per-request pass below then finds them in the cache.
+            try {
+                createClasses(ownedRequests, generatedClassBodies);
+            } catch (RuntimeException e) {
+                log.info().append("Batch compilation of ").append(ownedRequests.size())
+                        .append(" classes failed, compiling individually: ").append(e.getMessage()).endl();
+            }
+        }
+
+        for (int ri = 0; ri < ownedRequests.size(); ++ri) {
+            final QueryCompilerRequest request = ownedRequests.get(ri);
+            final CompletableFuture<Class<?>> future = ownedFutures.get(ri);
+            try {
+                compileHelper(request.className(), request.classBody(), request.packageNameRoot(),
+                        request.codeLog(), request.parameterClasses(), future,
+                        generatedClassBodies.contains(request.classBody()));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Generate, under their first-choice package names, every requested class that cannot already be loaded.
+     *
+     * @param requests The requests to generate classes for
+     * @param generatedClassBodies Populated with the bodies of the classes that were successfully generated
+     */
+    private void createClasses(
+            @NotNull final List<QueryCompilerRequest> requests,
+            @NotNull final Set<String> generatedClassBodies) {
+        // Classes destined for different cache directories must be compiled separately.
+        final Map<File, List<QueryCompilerRequest>> requestsByDestination = new LinkedHashMap<>();
+        final Map<File, List<String>> packageNamesByDestination = new HashMap<>();
+        for (final QueryCompilerRequest request : requests) {
+            final String packageName =
+                    makePackageName(request.packageNameRoot(), hashClassBody(request.classBody()), 0);
+            final String fqClassName = packageName + "." + request.className();
+            if (tryLoadClassByFqName(fqClassName, request.parameterClasses()) != null) {
+                continue;
+            }
+            final File destination = getClassDestination(request.classBody(), request.parameterClasses());
+            requestsByDestination.computeIfAbsent(destination, d -> new ArrayList<>()).add(request);
+            packageNamesByDestination.computeIfAbsent(destination, d -> new ArrayList<>()).add(packageName);
+        }
+
+        final List<Runnable> tasks = new ArrayList<>();
+        for (final Map.Entry<File, List<QueryCompilerRequest>> entry : requestsByDestination.entrySet()) {
+            final File destination = entry.getKey();
+            final List<QueryCompilerRequest> destinationRequests = entry.getValue();
+            final List<String> packageNames = packageNamesByDestination.get(destination);
+            final int numTasks =
+                    Math.max(1, Math.min(batchParallelism, destinationRequests.size() / batchMinTaskSize));
+            final int taskSize = (destinationRequests.size() + numTasks - 1) / numTasks;
+            for (int start = 0; start < destinationRequests.size(); start += taskSize) {
+                final List<QueryCompilerRequest> taskRequests =
+                        destinationRequests.subList(start, Math.min(start + taskSize, destinationRequests.size()));
+                final List<String> taskPackageNames =
+                        packageNames.subList(start, Math.min(start + taskSize, destinationRequests.size()));
+                tasks.add(() -> {
+                    final List<String> fqClassNames = new ArrayList<>(taskRequests.size());
+                    final List<String> finalCodes = new ArrayList<>(taskRequests.size());
+                    for (int ri = 0; ri < taskRequests.size(); ++ri) {
+                        final QueryCompilerRequest request = taskRequests.get(ri);
+                        final String packageName = taskPackageNames.get(ri);
+                        fqClassNames.add(packageName + "." + request.className());
+                        finalCodes.add(makeFinalCode(request.className(), request.classBody(), packageName));
+                    }
+                    maybeCreateClasses(fqClassNames, finalCodes, taskPackageNames, destination);
+                    synchronized (generatedClassBodies) {
+                        taskRequests.forEach(request -> generatedClassBodies.add(request.classBody()));
+                    }
+                });
+            }
+        }
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        final List<CompletableFuture<Void>> asyncTasks = new ArrayList<>(tasks.size() - 1);
+        for (final Runnable task : tasks.subList(1, tasks.size())) {
+            asyncTasks.add(CompletableFuture.runAsync(task));
+        }
+        // This thread does its share of the work rather than waiting idly.
+        RuntimeException failure = null;
+        try {
+            tasks.get(0).run();
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        for (final CompletableFuture<Void> task : asyncTasks) {
+            try {
+                task.join();
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException
+                            ? (RuntimeException) e.getCause()
+                            : new UncheckedDeephavenException(e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
     private static void ensureDirectories(final File file, final Supplier<String> runtimeErrMsg) {
         // File.mkdirs() checks for existence on entry, in which case it returns false.
         // It may also return false on a failure to create.
@@ -319,7 +620,10 @@ public class QueryCompiler {
                     missingClasses.add(name);
                     return super.loadClass(name);
                 }
-                return defineClass(name, bytes, 0, bytes.length);
+                final Class<?> definedClass = defineClass(name, bytes, 0, bytes.length);
+                // Only removes the entry if these bytes came from it
+                inMemoryClasses.remove(name, bytes);
+                return definedClass;
             }
 
             @SuppressWarnings("BooleanMethodIsAlwaysInverted")
@@ -336,12 +640,29 @@ public class QueryCompiler {
             }
 
             private byte[] loadClassData(String name) throws IOException {
+                final byte[] inMemoryBytes = inMemoryClasses.get(name);
+                if (inMemoryBytes != null) {
+                    return inMemoryBytes;
+                }
+
                 final File destFile = new File(classDestination,
                         name.replace('.', File.separatorChar) + JavaFileObject.Kind.CLASS.extension);
                 if (destFile.exists()) {
                     return Files.readAllBytes(destFile.toPath());
                 }
 
+                if (sharedCacheDirectory != null) {
+                    final File sharedFile = new File(sharedCacheDirectory,
+                            name.replace('.', File.separatorChar) + JavaFileObject.Kind.CLASS.extension);
+                    if (sharedFile.exists()) {
+                        final byte[] bytes = Files.readAllBytes(sharedFile.toPath());
+                        // Record the use, so that pruneSharedCache keeps classes that are still being loaded
+                        // noinspection ResultOfMethodCallIgnored
+                        sharedFile.setLastModified(System.currentTimeMillis());
+                        return bytes;
+                    }
+                }
+
                 for (File location : additionalClassLocations) {
                     final File checkFile = new File(location,
                             name.replace('.', File.separatorChar) + JavaFileObject.Kind.CLASS.extension);
@@ -401,10 +722,6 @@ public class QueryCompiler {
         }
     }
 
-    private File getClassDestination() {
-        return classDestination;
-    }
-
     private String getClassPath() {
         StringBuilder sb = new StringBuilder();
         sb.append(classDestination.getAbsolutePath());
@@ -421,23 +738,14 @@ public class QueryCompiler {
             @NotNull final String packageNameRoot,
             @Nullable final StringBuilder codeLog,
             @NotNull final Map<String, Class<?>> parameterClasses,
-            @NotNull final CompletableFuture<Class<?>> resultFuture) {
-        final MessageDigest digest;
-        try {
-            digest = MessageDigest.getInstance("SHA-256");
-        } catch (NoSuchAlgorithmException e) {
-            throw new UncheckedDeephavenException("Unable to create SHA-256 hashing digest", e);
-        }
-        final String basicHashText =
-                ByteUtils.byteArrToHex(digest.digest(classBody.getBytes(StandardCharsets.UTF_8)));
+            @NotNull final CompletableFuture<Class<?>> resultFuture,
+            final boolean generatedInBatch) {
+        final String basicHashText = hashClassBody(classBody);
+        final File destination = getClassDestination(classBody, parameterClasses);
+        boolean generated = generatedInBatch;
 
         for (int pi = 0; pi < MAX_CLASS_COLLISIONS; ++pi) {
-            final String packageNameSuffix = "c_" + basicHashText
-                    + (pi == 0 ? "" : ("p" + pi))
-                    + "v" + JAVA_CLASS_VERSION;
-            final String packageName = (packageNameRoot.isEmpty()
-                    ? packageNameSuffix
-                    : packageNameRoot + (packageNameRoot.endsWith(".") ? "" : ".") + packageNameSuffix);
+            final String packageName = makePackageName(packageNameRoot, basicHashText, pi);
             final String fqClassName = packageName + "." + className;
 
             // Ask the classloader to load an existing class with this name. This might:
@@ -453,7 +761,8 @@ public class QueryCompiler {
                 // happens to have the same hash (same packageName).
                 // However, regardless of A-C, there will be *some* class being found (i.e. tryLoadClassByFqName won't
                 // return null).
-                maybeCreateClass(className, classBody, packageName, fqClassName);
+                maybeCreateClass(className, classBody, packageName, fqClassName, destination);
+                generated = true;
 
                 // We could be running on a screwy filesystem that is slow (e.g. NFS).
                 // If we wrote a file and can't load it ... then give the filesystem some time.
@@ -481,6 +790,7 @@ public class QueryCompiler {
                     // If the caller wants a textual copy of the code we either made, or just found in the cache.
                     codeLog.append(makeFinalCode(className, classBody, packageName));
                 }
+                (generated ? misses : diskHits).incrementAndGet();
                 resultFuture.complete(result);
                 synchronized (this) {
                     // Note we are doing something kind of subtle here. We are removing an entry whose key was matched
@@ -501,6 +811,146 @@ public class QueryCompiler {
                 + ", class body hash=" + basicHashText + " - contact Deephaven support!");
     }
 
+    /**
+     * Hash a class body, together with a fingerprint of the environment it will be compiled in, so that a class from
+     * a shared cache is only reused by processes that would have compiled it identically.
+     */
+    private static String hashClassBody(@NotNull final String classBody) {
+        final MessageDigest digest = newDigest();
+        digest.update(EnvironmentFingerprint.VALUE);
+        return ByteUtils.byteArrToHex(digest.digest(classBody.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new UncheckedDeephavenException("Unable to create SHA-256 hashing digest", e);
+        }
+    }
+
+    private static final class EnvironmentFingerprint {
+        /**
+         * A digest of the JDK version and of the Java class path. Jars are identified by file name and a digest of the
+         * name, CRC and size of every entry (which the jar's central directory records, so the entries need not be
+         * read), rather than by location; a redeployment of identical jars into a new directory still shares cached
+         * classes, while a rebuilt jar of the same name and size does not. Class directories (as in development builds)
+         * are identified by location and modification time.
+         */
+        private static final byte[] VALUE = compute();
+
+        private static byte[] compute() {
+            final MessageDigest digest = newDigest();
+            final StringBuilder fingerprint = new StringBuilder()
+                    .append(System.getProperty("java.vendor")).append('\n')
+                    .append(System.getProperty("java.version")).append('\n');
+            for (final String entry : getJavaClassPath().split(File.pathSeparator)) {
+                if (entry.isEmpty()) {
+                    continue;
+                }
+                final File file = new File(entry);
+                if (file.isDirectory()) {
+                    fingerprint.append(file.getAbsolutePath()).append(':').append(file.lastModified());
+                } else {
+                    fingerprint.append(file.getName()).append(':').append(fingerprintJar(file));
+                }
+                fingerprint.append('\n');
+            }
+            return digest.digest(fingerprint.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static String fingerprintJar(@NotNull final File file) {
+            final MessageDigest digest = newDigest();
+            try (final ZipFile zipFile = new ZipFile(file)) {
+                final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+                while (entries.hasMoreElements()) {
+                    final ZipEntry entry = entries.nextElement();
+                    digest.update((entry.getName() + ':' + entry.getCrc() + ':' + entry.getSize() + '\n')
+                            .getBytes(StandardCharsets.UTF_8));
+                }
+            } catch (IOException e) {
+                // Not a readable jar; fall back to the file's metadata
+                return file.length() + ":" + file.lastModified();
+            }
+            return ByteUtils.byteArrToHex(digest.digest());
+        }
+    }
+
+    /**
+     * Remove classes that have not been compiled or loaded for {@code maxAgeMillis} from a shared class cache created
+     * by {@link #create(File, ClassLoader, File)}. Each class body's package directory is removed as a whole once every
+     * file in it is older than the limit; processes that still use such a class will compile it again.
+     * <p>
+     * This is safe to run while other processes use the cache, and is usually run once at startup. The cache may also
+     * be removed entirely when no process is using it.
+     *
+     * @param sharedCacheDirectory the shared cache directory
+     * @param maxAgeMillis how long a class may go unused before it is removed
+     * @return the number of package directories removed
+     */
+    public static int pruneSharedCache(@NotNull final File sharedCacheDirectory, final long maxAgeMillis) {
+        if (!sharedCacheDirectory.isDirectory()) {
+            return 0;
+        }
+        final long cutoff = System.currentTimeMillis() - maxAgeMillis;
+        final List<Path> packageDirectories;
+        try (final Stream<Path> paths = Files.walk(sharedCacheDirectory.toPath())) {
+            packageDirectories = paths
+                    .filter(path -> path.getFileName().toString().startsWith("c_") && Files.isDirectory(path))
+                    .collect(Collectors.toList());
+        } catch (IOException | UncheckedIOException e) {
+            log.warn().append("Unable to list shared class cache ").append(sharedCacheDirectory.getAbsolutePath())
+                    .append(": ").append(e).endl();
+            return 0;
+        }
+        int removed = 0;
+        for (final Path packageDirectory : packageDirectories) {
+            final File[] files = packageDirectory.toFile().listFiles();
+            if (files == null || Arrays.stream(files).anyMatch(file -> file.lastModified() >= cutoff)) {
+                continue;
+            }
+            try {
+                FileUtils.deleteRecursively(packageDirectory.toFile());
+                ++removed;
+            } catch (Exception e) {
+                log.warn().append("Unable to remove ").append(packageDirectory.toString())
+                        .append(" from shared class cache: ").append(e).endl();
+            }
+        }
+        if (removed > 0) {
+            log.info().append("Removed ").append(removed).append(" unused packages from shared class cache ")
+                    .append(sharedCacheDirectory.getAbsolutePath()).endl();
+        }
+        return removed;
+    }
+
+    /**
+     * Choose the directory a class should be written to: the shared cache if there is one and the class does not
+     * depend on anything defined by a script session, else this compiler's own directory.
+     */
+    private File getClassDestination(
+            @NotNull final String classBody,
+            @NotNull final Map<String, Class<?>> parameterClasses) {
+        if (sharedCacheDirectory == null
+                || classBody.contains(DYNAMIC_GROOVY_CLASS_PREFIX)
+                || parameterClasses.keySet().stream().anyMatch(name -> name.startsWith(DYNAMIC_GROOVY_CLASS_PREFIX))) {
+            return classDestination;
+        }
+        return sharedCacheDirectory;
+    }
+
+    private static String makePackageName(
+            @NotNull final String packageNameRoot,
+            @NotNull final String basicHashText,
+            final int collisionIndex) {
+        final String packageNameSuffix = "c_" + basicHashText
+                + (collisionIndex == 0 ? "" : ("p" + collisionIndex))
+                + "v" + JAVA_CLASS_VERSION;
+        return packageNameRoot.isEmpty()
+                ? packageNameSuffix
+                : packageNameRoot + (packageNameRoot.endsWith(".") ? "" : ".") + packageNameSuffix;
+    }
+
     private Class<?> tryLoadClassByFqName(String fqClassName, Map<String, Class<?>> parameterClasses) {
         try {
             return getClassLoaderForFormula(parameterClasses).loadClass(fqClassName);
@@ -635,47 +1085,143 @@ public class QueryCompiler {
         }
     }
 
-    private void maybeCreateClass(String className, String code, String packageName, String fqClassName) {
-        final String finalCode = makeFinalCode(className, code, packageName);
+    private void maybeCreateClass(String className, String code, String packageName, String fqClassName,
+            File destination) {
+        maybeCreateClasses(Collections.singletonList(fqClassName),
+                Collections.singletonList(makeFinalCode(className, code, packageName)),
+                Collections.singletonList(packageName), destination);
+    }
 
+    private void maybeCreateClasses(List<String> fqClassNames, List<String> finalCodes, List<String> packageNames,
+            File destination) {
         if (logEnabled) {
-            log.info().append("Generating code ").append(finalCode).endl();
+            for (final String finalCode : finalCodes) {
+                log.info().append("Generating code ").append(finalCode).endl();
+            }
+        }
+
+        final List<String[]> splitPackageNames = new ArrayList<>(packageNames.size());
+        for (final String packageName : packageNames) {
+            final String[] splitPackageName = packageName.split("\\.");
+            if (splitPackageName.length == 0) {
+                throw new UncheckedDeephavenException(String.format(
+                        "packageName %s expected to have at least one .", packageName));
+            }
+            splitPackageNames.add(splitPackageName);
+        }
+
+        if (inMemoryCompilation) {
+            final Map<String, byte[]> classBytes;
+            final long startNanos = System.nanoTime();
+            try {
+                classBytes = compileInMemory(fqClassNames, finalCodes);
+            } finally {
+                compileNanos.addAndGet(System.nanoTime() - startNanos);
+            }
+            // If another thread has already defined a class with the same name, it wins; the identifying field check
+            // in compileHelper sorts out whether that class is the one we wanted.
+            classBytes.forEach(inMemoryClasses::putIfAbsent);
+            if (persistInMemoryClasses) {
+                CompletableFuture.runAsync(() -> persistClasses(classBytes, splitPackageNames, destination))
+                        .whenComplete((ignored, error) -> {
+                            if (error == null) {
+                                // The classes can now be read from disk
+                                classBytes.forEach(inMemoryClasses::remove);
+                            } else {
+                                log.warn().append("Unable to persist compiled classes ")
+                                        .append(String.join(", ", fqClassNames)).append(" to ")
+                                        .append(destination.getAbsolutePath()).append(": ").append(error).endl();
+                            }
+                        });
+            }
+            return;
         }
 
-        final File ctxClassDestination = getClassDestination();
+        final String rootPathAsString = destination.getAbsolutePath();
+        final String tempDirAsString = createTemporaryCompilationDirectory(rootPathAsString, splitPackageNames);
 
-        final String[] splitPackageName = packageName.split("\\.");
-        if (splitPackageName.length == 0) {
-            throw new UncheckedDeephavenException(String.format(
-                    "packageName %s expected to have at least one .", packageName));
+        final long startNanos = System.nanoTime();
+        try {
+            maybeCreateClassHelper(fqClassNames, finalCodes, splitPackageNames, rootPathAsString, tempDirAsString);
+        } finally {
+            compileNanos.addAndGet(System.nanoTime() - startNanos);
+            try {
+                FileUtils.deleteRecursively(new File(tempDirAsString));
+            } catch (Exception e) {
+                // ignore errors here
+            }
         }
-        final String[] truncatedSplitPackageName = Arrays.copyOf(splitPackageName, splitPackageName.length - 1);
+    }
 
-        // Get the destination root directory (e.g. /tmp/workspace/cache/classes) and populate it with the package
-        // directories (e.g. io/deephaven/test) if they are not already there. This will be useful later.
-        // Also create a temp directory e.g. /tmp/workspace/cache/classes/temporaryCompilationDirectory12345
-        // This temp directory will be where the compiler drops files into, e.g.
-        // /tmp/workspace/cache/classes/temporaryCompilationDirectory12345/io/deephaven/test/cm12862183232603186v52_0/Formula.class
-        // Foreshadowing: we will eventually atomically move cm12862183232603186v52_0 from the above to
-        // /tmp/workspace/cache/classes/io/deephaven/test
-        // Note: for this atomic move to work, this temp directory must be on the same file system as the destination
-        // directory.
-        final String rootPathAsString;
-        final String tempDirAsString;
+    /**
+     * Populate the destination root directory (e.g. /tmp/workspace/cache/classes) with the parent directories of each
+     * package (e.g. io/deephaven/test) if they are not already there, and create a temp directory within it (e.g.
+     * /tmp/workspace/cache/classes/temporaryCompilationDirectory12345) for class files to be written into. Each
+     * package directory is later atomically moved from the temp directory into the root; for this to work, the temp
+     * directory must be on the same file system as the destination directory.
+     *
+     * @return the absolute path of the temp directory
+     */
+    private static String createTemporaryCompilationDirectory(
+            final String rootPathAsString,
+            final List<String[]> splitPackageNames) {
         try {
-            rootPathAsString = ctxClassDestination.getAbsolutePath();
-            final Path rootPathWithPackage = Paths.get(rootPathAsString, truncatedSplitPackageName);
-            final File rpf = rootPathWithPackage.toFile();
-            ensureDirectories(rpf, () -> "Couldn't create package directories: " + rootPathWithPackage);
+            for (final String[] splitPackageName : splitPackageNames) {
+                final String[] truncatedSplitPackageName =
+                        Arrays.copyOf(splitPackageName, splitPackageName.length - 1);
+                final Path rootPathWithPackage = Paths.get(rootPathAsString, truncatedSplitPackageName);
+                final File rpf = rootPathWithPackage.toFile();
+                ensureDirectories(rpf, () -> "Couldn't create package directories: " + rootPathWithPackage);
+            }
             final Path tempPath =
                     Files.createTempDirectory(Paths.get(rootPathAsString), "temporaryCompilationDirectory");
-            tempDirAsString = tempPath.toFile().getAbsolutePath();
+            return tempPath.toFile().getAbsolutePath();
         } catch (IOException ioe) {
             throw new UncheckedIOException(ioe);
         }
+    }
 
+    private void maybeCreateClassHelper(List<String> fqClassNames, List<String> finalCodes,
+            List<String[]> splitPackageNames, String rootPathAsString, String tempDirAsString) {
+        final JavaCompiler compiler = getSystemJavaCompiler();
+        final String classPathAsString = getClassPath() + File.pathSeparator + getJavaClassPath();
+        invokeCompiler(compiler, compiler.getStandardFileManager(null, null, null),
+                Arrays.asList("-d", tempDirAsString, "-cp", classPathAsString), fqClassNames, finalCodes);
+        movePackagesIntoPlace(splitPackageNames, rootPathAsString, tempDirAsString);
+    }
+
+    /**
+     * Compile the given sources without writing anything to the file system.
+     *
+     * @return the bytes of each class generated (including nested and anonymous classes), keyed by binary name
+     */
+    private Map<String, byte[]> compileInMemory(List<String> fqClassNames, List<String> finalCodes) {
+        final JavaCompiler compiler = getSystemJavaCompiler();
+        final String classPathAsString = getClassPath() + File.pathSeparator + getJavaClassPath();
+        final InMemoryClassFileManager fileManager =
+                new InMemoryClassFileManager(compiler.getStandardFileManager(null, null, null));
+        invokeCompiler(compiler, fileManager, Arrays.asList("-cp", classPathAsString), fqClassNames, finalCodes);
+        return fileManager.getClassBytes();
+    }
+
+    /**
+     * Write classes compiled in memory to {@code destination}, so that later processes sharing the directory find
+     * them. The package directories appear atomically, exactly as if the classes had been compiled there.
+     */
+    private static void persistClasses(
+            final Map<String, byte[]> classBytes,
+            final List<String[]> splitPackageNames,
+            final File destination) {
+        final String rootPathAsString = destination.getAbsolutePath();
+        final String tempDirAsString = createTemporaryCompilationDirectory(rootPathAsString, splitPackageNames);
         try {
-            maybeCreateClassHelper(fqClassName, finalCode, splitPackageName, rootPathAsString, tempDirAsString);
+            final File tempDir = new File(tempDirAsString);
+            for (final Map.Entry<String, byte[]> entry : classBytes.entrySet()) {
+                writeClass(tempDir, entry.getKey(), entry.getValue());
+            }
+            movePackagesIntoPlace(splitPackageNames, rootPathAsString, tempDirAsString);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
         } finally {
             try {
                 FileUtils.deleteRecursively(new File(tempDirAsString));
@@ -685,20 +1231,21 @@ public class QueryCompiler {
         }
     }
 
-    private void maybeCreateClassHelper(String fqClassName, String finalCode, String[] splitPackageName,
-            String rootPathAsString, String tempDirAsString) {
-        final StringWriter compilerOutput = new StringWriter();
-
+    private static JavaCompiler getSystemJavaCompiler() {
         final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
         if (compiler == null) {
             throw new UncheckedDeephavenException("No Java compiler provided - are you using a JRE instead of a JDK?");
         }
+        return compiler;
+    }
 
-        final String classPathAsString = getClassPath() + File.pathSeparator + getJavaClassPath();
-        final List<String> compilerOptions = Arrays.asList("-d", tempDirAsString, "-cp", classPathAsString);
-
-        final JavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
-
+    private static void invokeCompiler(
+            final JavaCompiler compiler,
+            final JavaFileManager fileManager,
+            final List<String> compilerOptions,
+            final List<String> fqClassNames,
+            final List<String> finalCodes) {
+        final StringWriter compilerOutput = new StringWriter();
         boolean result = false;
         boolean exceptionThrown = false;
         try {
@@ -707,7 +1254,9 @@ public class QueryCompiler {
                     null,
                     compilerOptions,
                     null,
-                    Collections.singletonList(new JavaSourceFromString(fqClassName, finalCode)))
+                    IntStream.range(0, fqClassNames.size())
+                            .mapToObj(ci -> new JavaSourceFromString(fqClassNames.get(ci), finalCodes.get(ci)))
+                            .collect(Collectors.toList()))
                     .call();
         } catch (final Throwable err) {
             exceptionThrown = true;
@@ -723,28 +1272,74 @@ public class QueryCompiler {
             }
         }
         if (!result) {
-            throw new UncheckedDeephavenException("Error compiling class " + fqClassName + ":\n" + compilerOutput);
+            throw new UncheckedDeephavenException("Error compiling class " + String.join(", ", fqClassNames) + ":\n"
+                    + compilerOutput);
         }
-        // The above has compiled into e.g.
+    }
+
+    private static void movePackagesIntoPlace(
+            final List<String[]> splitPackageNames,
+            final String rootPathAsString,
+            final String tempDirAsString) {
+        // The temp directory now holds e.g.
         // /tmp/workspace/cache/classes/temporaryCompilationDirectory12345/io/deephaven/test/cm12862183232603186v52_0/{various
         // class files}
         // We want to atomically move it to e.g.
         // /tmp/workspace/cache/classes/io/deephaven/test/cm12862183232603186v52_0/{various class files}
-        Path srcDir = Paths.get(tempDirAsString, splitPackageName);
-        Path destDir = Paths.get(rootPathAsString, splitPackageName);
-        try {
-            Files.move(srcDir, destDir, StandardCopyOption.ATOMIC_MOVE);
-        } catch (IOException ioe) {
-            // The move might have failed for a variety of bad reasons. However, if the reason was because
-            // we lost the race to some other process, that's a harmless/desirable outcome, and we can ignore
-            // it.
-            if (!Files.exists(destDir)) {
-                throw new UncheckedIOException("Move failed for some reason other than destination already existing",
-                        ioe);
+        for (final String[] splitPackageName : splitPackageNames) {
+            final Path srcDir = Paths.get(tempDirAsString, splitPackageName);
+            final Path destDir = Paths.get(rootPathAsString, splitPackageName);
+            try {
+                Files.move(srcDir, destDir, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException ioe) {
+                // The move might have failed for a variety of bad reasons. However, if the reason was because
+                // we lost the race to some other process, that's a harmless/desirable outcome, and we can ignore
+                // it.
+                if (!Files.exists(destDir)) {
+                    throw new UncheckedIOException(
+                            "Move failed for some reason other than destination already existing", ioe);
+                }
             }
         }
     }
 
+    /**
+     * A file manager that keeps the class files produced by the compiler in memory instead of writing them out.
+     */
+    private static final class InMemoryClassFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        private final Map<String, ByteArrayOutputStream> classOutputs = new LinkedHashMap<>();
+
+        private InMemoryClassFileManager(final StandardJavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(
+                final Location location,
+                final String className,
+                final JavaFileObject.Kind kind,
+                final FileObject sibling) throws IOException {
+            if (kind != JavaFileObject.Kind.CLASS) {
+                return super.getJavaFileForOutput(location, className, kind, sibling);
+            }
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            classOutputs.put(className, output);
+            return new SimpleJavaFileObject(
+                    URI.create("mem:///" + className.replace('.', '/') + kind.extension), kind) {
+                @Override
+                public OutputStream openOutputStream() {
+                    return output;
+                }
+            };
+        }
+
+        private Map<String, byte[]> getClassBytes() {
+            final Map<String, byte[]> classBytes = new LinkedHashMap<>(classOutputs.size());
+            classOutputs.forEach((className, output) -> classBytes.put(className, output.toByteArray()));
+            return classBytes;
+        }
+    }
+
     /**
      * Try to compile the set of files, returning a pair of success and compiler output.
      *
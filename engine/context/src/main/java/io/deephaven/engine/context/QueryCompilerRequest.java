@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.context;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A request to compile a single generated class, for use with {@link QueryCompiler#compile(java.util.List)}.
+ */
+public final class QueryCompilerRequest {
+
+    private final String description;
+    private final String className;
+    private final String classBody;
+    private final String packageNameRoot;
+    private final StringBuilder codeLog;
+    private final Map<String, Class<?>> parameterClasses;
+
+    /**
+     * @param description A description of the request, used for logging and performance tracking
+     * @param className Class name
+     * @param classBody Class body, before update with "$CLASS_NAME$" replacement and package name prefixing
+     * @param packageNameRoot Package name prefix
+     * @param codeLog Optional "log" for final class code
+     * @param parameterClasses Generic parameters, empty if none required
+     */
+    public QueryCompilerRequest(
+            @NotNull final String description,
+            @NotNull final String className,
+            @NotNull final String classBody,
+            @NotNull final String packageNameRoot,
+            @Nullable final StringBuilder codeLog,
+            @NotNull final Map<String, Class<?>> parameterClasses) {
+        this.description = Objects.requireNonNull(description);
+        this.className = Objects.requireNonNull(className);
+        this.classBody = Objects.requireNonNull(classBody);
+        this.packageNameRoot = Objects.requireNonNull(packageNameRoot);
+        this.codeLog = codeLog;
+        this.parameterClasses = Objects.requireNonNull(parameterClasses);
+    }
+
+    public QueryCompilerRequest(
+            @NotNull final String description,
+            @NotNull final String className,
+            @NotNull final String classBody,
+            @NotNull final String packageNameRoot) {
+        this(description, className, classBody, packageNameRoot, null, Collections.emptyMap());
+    }
+
+    public String description() {
+        return description;
+    }
+
+    public String className() {
+        return className;
+    }
+
+    public String classBody() {
+        return classBody;
+    }
+
+    public String packageNameRoot() {
+        return packageNameRoot;
+    }
+
+    @Nullable
+    public StringBuilder codeLog() {
+        return codeLog;
+    }
+
+    public Map<String, Class<?>> parameterClasses() {
+        return parameterClasses;
+    }
+}
@@ -8,11 +8,13 @@ import io.deephaven.engine.testutil.junit4.EngineCleanup;
 import io.deephaven.time.DateTimeUtils;
 import io.deephaven.util.SafeCloseable;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.time.Instant;
@@ -20,6 +22,8 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public class TestQueryCompiler {
     private final static int NUM_THREADS = 500;
@@ -241,4 +245,162 @@ public class TestQueryCompiler {
             threads.get(i).join();
         }
     }
+
+    @Test
+    public void testBatchCompile() throws Exception {
+        final List<QueryCompilerRequest> requests = new ArrayList<>();
+        for (int ii = 0; ii < 4; ++ii) {
+            requests.add(new QueryCompilerRequest("batch " + ii, "Test", String.join(
+                    "\n",
+                    "public class $CLASSNAME$ {",
+                    "   public static int value() {",
+                    "      return " + ii + ";",
+                    "   }",
+                    "}"), "com.deephaven.test"));
+        }
+        // a duplicate body shares the result of the first request
+        requests.add(requests.get(1));
+        // a broken class must not prevent the rest of the batch from compiling
+        requests.add(new QueryCompilerRequest("broken", "Test",
+                "public class $CLASSNAME$ { not java }", "com.deephaven.test"));
+
+        final List<CompletableFuture<Class<?>>> results =
+                ExecutionContext.getContext().getQueryCompiler().compile(requests);
+        Assert.assertEquals(requests.size(), results.size());
+        for (int ii = 0; ii < 4; ++ii) {
+            final Method value = results.get(ii).get().getMethod("value");
+            Assert.assertEquals(ii, value.invoke(null));
+        }
+        Assert.assertSame(results.get(1).get(), results.get(4).get());
+        Assert.assertTrue(results.get(5).isCompletedExceptionally());
+
+        // compiling the same body individually finds the class produced by the batch
+        Assert.assertSame(results.get(2).get(), ExecutionContext.getContext().getQueryCompiler()
+                .compile("Test", requests.get(2).classBody(), "com.deephaven.test"));
+    }
+
+    @Test
+    public void testSharedCache() throws Exception {
+        final File sharedCache = folder.newFolder();
+        final String programText = String.join(
+                "\n",
+                "public class $CLASSNAME$ {",
+                "   public static String value() {",
+                "      return \"shared " + System.nanoTime() + "\";",
+                "   }",
+                "}");
+
+        final QueryCompiler first = QueryCompiler.create(folder.newFolder(),
+                TestQueryCompiler.class.getClassLoader(), sharedCache);
+        final QueryCompiler.CacheStatistics before = QueryCompiler.getCacheStatistics();
+        final Class<?> firstClass = first.compile("Test", programText, "com.deephaven.test");
+        final QueryCompiler.CacheStatistics afterFirst = QueryCompiler.getCacheStatistics();
+        Assert.assertEquals(before.getMisses() + 1, afterFirst.getMisses());
+        Assert.assertTrue(afterFirst.getCompileNanos() > before.getCompileNanos());
+
+        // a second compiler, as in a restarted or peer worker, finds the class compiled by the first
+        final QueryCompiler second = QueryCompiler.create(folder.newFolder(),
+                TestQueryCompiler.class.getClassLoader(), sharedCache);
+        final Class<?> secondClass = second.compile("Test", programText, "com.deephaven.test");
+        final QueryCompiler.CacheStatistics afterSecond = QueryCompiler.getCacheStatistics();
+        Assert.assertEquals(afterFirst.getMisses(), afterSecond.getMisses());
+        Assert.assertEquals(afterFirst.getDiskHits() + 1, afterSecond.getDiskHits());
+        Assert.assertEquals(firstClass.getName(), secondClass.getName());
+        Assert.assertEquals(firstClass.getMethod("value").invoke(null), secondClass.getMethod("value").invoke(null));
+
+        // and the same compiler again answers from memory
+        second.compile("Test", programText, "com.deephaven.test");
+        Assert.assertEquals(afterSecond.getMemoryHits() + 1, QueryCompiler.getCacheStatistics().getMemoryHits());
+    }
+
+    @Test
+    public void testPruneSharedCache() throws Exception {
+        final File sharedCache = folder.newFolder();
+        final String programText = String.join(
+                "\n",
+                "public class $CLASSNAME$ {",
+                "   public static String value() {",
+                "      return \"pruned " + System.nanoTime() + "\";",
+                "   }",
+                "}");
+
+        final QueryCompiler first = QueryCompiler.create(folder.newFolder(),
+                TestQueryCompiler.class.getClassLoader(), sharedCache);
+        final Class<?> firstClass = first.compile("Test", programText, "com.deephaven.test");
+        final File classFile = new File(sharedCache,
+                firstClass.getName().replace('.', File.separatorChar) + ".class");
+        Assert.assertTrue(classFile.exists());
+
+        // recently compiled classes are kept
+        Assert.assertEquals(0, QueryCompiler.pruneSharedCache(sharedCache, TimeUnit.DAYS.toMillis(1)));
+        Assert.assertTrue(classFile.exists());
+
+        // loading an old class from the cache marks it as used
+        final long twoDaysAgo = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2);
+        Assert.assertTrue(classFile.setLastModified(twoDaysAgo));
+        QueryCompiler.create(folder.newFolder(), TestQueryCompiler.class.getClassLoader(), sharedCache)
+                .compile("Test", programText, "com.deephaven.test");
+        Assert.assertEquals(0, QueryCompiler.pruneSharedCache(sharedCache, TimeUnit.DAYS.toMillis(1)));
+        Assert.assertTrue(classFile.exists());
+
+        // unused classes are removed along with their package, and are compiled again when next requested
+        Assert.assertTrue(classFile.setLastModified(twoDaysAgo));
+        Assert.assertEquals(1, QueryCompiler.pruneSharedCache(sharedCache, TimeUnit.DAYS.toMillis(1)));
+        Assert.assertFalse(classFile.getParentFile().exists());
+        final QueryCompiler.CacheStatistics before = QueryCompiler.getCacheStatistics();
+        QueryCompiler.create(folder.newFolder(), TestQueryCompiler.class.getClassLoader(), sharedCache)
+                .compile("Test", programText, "com.deephaven.test");
+        Assert.assertEquals(before.getMisses() + 1, QueryCompiler.getCacheStatistics().getMisses());
+        Assert.assertTrue(classFile.exists());
+    }
+
+    @Test
+    public void testInMemoryCompilation() throws Exception {
+        final File sharedCache = folder.newFolder();
+        final String programText = String.join(
+                "\n",
+                "public class $CLASSNAME$ {",
+                "   public static String value() {",
+                "      final java.util.function.Supplier<String> supplier = new java.util.function.Supplier<>() {",
+                "         public String get() {",
+                "            return \"in memory " + System.nanoTime() + "\";",
+                "         }",
+                "      };",
+                "      return supplier.get();",
+                "   }",
+                "}");
+
+        final boolean wasInMemory = QueryCompiler.setInMemoryCompilation(true);
+        try {
+            final QueryCompiler first = QueryCompiler.create(folder.newFolder(),
+                    TestQueryCompiler.class.getClassLoader(), sharedCache);
+            final Class<?> firstClass = first.compile("Test", programText, "com.deephaven.test");
+            final Object value = firstClass.getMethod("value").invoke(null);
+            Assert.assertTrue(value.toString().startsWith("in memory "));
+
+            // the class is persisted in the background; once it is, another compiler finds it on disk
+            final File classFile = new File(sharedCache,
+                    firstClass.getName().replace('.', File.separatorChar) + ".class");
+            final long deadline = System.currentTimeMillis() + 10_000;
+            while (!classFile.exists() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertTrue(classFile.exists());
+
+            // once the class and its inner class have been defined and persisted, their bytes are released
+            while (first.numInMemoryClasses() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertEquals(0, first.numInMemoryClasses());
+
+            final QueryCompiler second = QueryCompiler.create(folder.newFolder(),
+                    TestQueryCompiler.class.getClassLoader(), sharedCache);
+            final QueryCompiler.CacheStatistics before = QueryCompiler.getCacheStatistics();
+            final Class<?> secondClass = second.compile("Test", programText, "com.deephaven.test");
+            Assert.assertEquals(before.getDiskHits() + 1, QueryCompiler.getCacheStatistics().getDiskHits());
+            Assert.assertEquals(value, secondClass.getMethod("value").invoke(null));
+        } finally {
+            QueryCompiler.setInMemoryCompilation(wasInMemory);
+        }
+    }
 }
@@ -169,6 +169,30 @@ public class Numeric {
         return count == 0 ? NULL_LONG : index;
     }
 
+    /**
+     * Returns the sample variance of values with the given sum, sum of squares, and count.
+     *
+     * @param sum sum of the values.
+     * @param sum2 sum of the squares of the values.
+     * @param count number of values.
+     * @return sample variance of the values.
+     */
+    private static double sampleVariance(final double sum, final double sum2, final long count) {
+        // Return NaN if overflow or too few values to compute variance.
+        if (count <= 1 || Double.isInfinite(sum) || Double.isInfinite(sum2)) {
+            return Double.NaN;
+        }
+
+        // Perform the calculation in a way that minimizes the impact of floating point error.
+        final double eps = Math.ulp(sum2);
+        final double vs2bar = sum * (sum / (double)count);
+        final double delta = sum2 - vs2bar;
+        final double rel_eps = delta / eps;
+
+        // Return zero when the sample variance is leq the floating point error.
+        return Math.abs(rel_eps) > 1.0 ? delta / ((double)count - 1) : 0.0;
+    }
+
 
     <#list primitiveTypes as pt>
     <#if pt.valueType.isNumber >
@@ -345,7 +369,20 @@ public class Numeric {
             return NULL_DOUBLE;
         }
 
-        return avg(new ${pt.vectorDirect}(values));
+        double sum = 0;
+        double count = 0;
+
+        for (final ${pt.primitive} c : values) {
+            if (isNaN(c)) {
+                return Double.NaN;
+            }
+            if (!isNull(c)) {
+                sum += c;
+                count++;
+            }
+        }
+
+        return sum / count;
     }
 
     /**
@@ -359,6 +396,11 @@ public class Numeric {
             return NULL_DOUBLE;
         }
 
+        if (values instanceof ${pt.vectorDirect}) {
+            // read the backing array directly rather than through an iterator
+            return avg(values.toArray());
+        }
+
         double sum = 0;
         double count = 0;
 
@@ -462,7 +504,21 @@ public class Numeric {
             return NULL_DOUBLE;
         }
 
-        return var(new ${pt.vectorDirect}(values));
+        double sum = 0;
+        double sum2 = 0;
+        long count = 0;
+        for (final ${pt.primitive} c : values) {
+            if (isNaN(c) || isInf(c)) {
+                return Double.NaN;
+            }
+            if (!isNull(c)) {
+                sum += (double)c;
+                sum2 += (double)c * (double)c;
+                count++;
+            }
+        }
+
+        return sampleVariance(sum, sum2, count);
     }
 
     /**
@@ -479,6 +535,11 @@ public class Numeric {
             return NULL_DOUBLE;
         }
 
+        if (values instanceof ${pt.vectorDirect}) {
+            // read the backing array directly rather than through an iterator
+            return var(values.toArray());
+        }
+
         double sum = 0;
         double sum2 = 0;
         long count = 0;
@@ -496,19 +557,7 @@ public class Numeric {
             }
         }
 
-        // Return NaN if overflow or too few values to compute variance.
-        if (count <= 1 || Double.isInfinite(sum) || Double.isInfinite(sum2)) {
-            return Double.NaN;
-        }
-
-        // Perform the calculation in a way that minimizes the impact of floating point error.
-        final double eps = Math.ulp(sum2);
-        final double vs2bar = sum * (sum / (double)count);
-        final double delta = sum2 - vs2bar;
-        final double rel_eps = delta / eps;
-
-        // Return zero when the sample variance is leq the floating point error.
-        return Math.abs(rel_eps) > 1.0 ? delta / ((double)count - 1) : 0.0;
+        return sampleVariance(sum, sum2, count);
     }
 
     <#list primitiveTypes as pt2>
@@ -1019,11 +1068,8 @@ public class Numeric {
      * @return maximum of non-null values, or null if there are no non-null values.
      */
     public static ${pt.primitive} max(${pt.primitive}... values) {
-        if (values == null) {
-            return ${pt.null};
-        }
-
-        return max(new ${pt.vectorDirect}(values));
+        final long idx = indexOfMax(values);
+        return idx == NULL_LONG ? ${pt.null} : values[(int) idx];
     }
 
     /**
@@ -1055,11 +1101,8 @@ public class Numeric {
      * @return minimum of non-null values, or null if there are no non-null values.
      */
     public static ${pt.primitive} min(${pt.primitive}... values) {
-        if (values == null) {
-            return ${pt.null};
-        }
-
-        return min(new ${pt.vectorDirect}(values));
+        final long idx = indexOfMin(values);
+        return idx == NULL_LONG ? ${pt.null} : values[(int) idx];
     }
 
     /**
@@ -1094,7 +1137,18 @@ public class Numeric {
             return NULL_LONG;
         }
 
-        return indexOfMax(new ${pt.vectorDirect}(values));
+        ${pt.primitive} val = ${pt.minValue};
+        int index = -1;
+
+        for (int i = 0; i < values.length; i++) {
+            final ${pt.primitive} c = values[i];
+            if (!isNull(c) && (c > val || (c == val && index == -1))) {
+                val = c;
+                index = i;
+            }
+        }
+
+        return index == -1 ? NULL_LONG : index;
     }
 
     /**
@@ -1108,6 +1162,11 @@ public class Numeric {
             return NULL_LONG;
         }
 
+        if (values instanceof ${pt.vectorDirect}) {
+            // read the backing array directly rather than through an iterator
+            return indexOfMax(values.toArray());
+        }
+
         ${pt.primitive} val = ${pt.minValue};
         long index = NULL_LONG;
         long count = 0;
@@ -1150,7 +1209,18 @@ public class Numeric {
             return NULL_LONG;
         }
 
-        return indexOfMin(new ${pt.vectorDirect}(values));
+        ${pt.primitive} val = ${pt.maxValue};
+        int index = -1;
+
+        for (int i = 0; i < values.length; i++) {
+            final ${pt.primitive} c = values[i];
+            if (!isNull(c) && (c < val || (c == val && index == -1))) {
+                val = c;
+                index = i;
+            }
+        }
+
+        return index == -1 ? NULL_LONG : index;
     }
 
     /**
@@ -1164,6 +1234,11 @@ public class Numeric {
             return NULL_LONG;
         }
 
+        if (values instanceof ${pt.vectorDirect}) {
+            // read the backing array directly rather than through an iterator
+            return indexOfMin(values.toArray());
+        }
+
         ${pt.primitive} val = ${pt.maxValue};
         long index = NULL_LONG;
         long count = 0;
@@ -1483,6 +1558,11 @@ public class Numeric {
             return ${pt.null};
         }
 
+        if (values instanceof ${pt.vectorDirect}) {
+            // read the backing array directly rather than through an iterator
+            return sum(values.toArray());
+        }
+
         double sum = 0;
 
         try ( final ${pt.vectorIterator} vi = values.iterator() ) {
@@ -1513,7 +1593,20 @@ public class Numeric {
             return ${pt.null};
         }
 
-        return sum(new ${pt.vectorDirect}(values));
+        double sum = 0;
+
+        for (final ${pt.primitive} c : values) {
+    <#if pt.valueType.isFloat >
+            if (isNaN(c)) {
+                return ${pt.boxed}.NaN;
+            }
+    </#if>
+            if (!isNull(c)) {
+                sum += c;
+            }
+        }
+
+        return (${pt.primitive}) (sum);
     }
 
     /**
@@ -7,12 +7,17 @@ import gnu.trove.list.array.TShortArrayList;
 import io.deephaven.engine.rowset.RowSet;
 import io.deephaven.engine.rowset.RowSetBuilderSequential;
 import io.deephaven.engine.rowset.RowSetFactory;
+import io.deephaven.engine.rowset.WritableRowSet;
+import io.deephaven.engine.rowset.impl.rsp.RspBitmap;
+import io.deephaven.engine.rowset.impl.rsp.RspBitmapSerialization;
 import org.apache.commons.lang3.mutable.MutableLong;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.function.LongConsumer;
 
 /**
@@ -231,4 +236,85 @@ public class ExternalizableRowSetUtils {
         }
         return value;
     }
+
+    /**
+     * Compute the number of bytes {@link #writePortable(ByteBuffer, RowSet)} will use for {@code rowSet}.
+     *
+     * @param rowSet The RowSet
+     * @return The size of the portable serialization of {@code rowSet} in bytes
+     */
+    public static long portableSizeInBytes(@NotNull final RowSet rowSet) {
+        final RspBitmap rb = WritableRowSetImpl.getInnerSet(rowSet).ixToRspOnNew();
+        try {
+            return RspBitmapSerialization.serializedSizeInBytes(rb);
+        } finally {
+            rb.ixRelease();
+        }
+    }
+
+    /**
+     * Write a {@link RowSet} to {@code out} in the portable, container-native format of {@link RspBitmapSerialization}.
+     * Unlike {@link #writeExternalCompressedDeltas(DataOutput, RowSet)}, containers are written as-is rather than
+     * re-encoded as ranges, and the result can be read lazily via {@link #viewPortable(ByteBuffer)}.
+     *
+     * @param out The destination; must have at least {@link #portableSizeInBytes(RowSet)} bytes remaining
+     * @param rowSet The RowSet
+     */
+    public static void writePortable(@NotNull final ByteBuffer out, @NotNull final RowSet rowSet) {
+        final RspBitmap rb = WritableRowSetImpl.getInnerSet(rowSet).ixToRspOnNew();
+        try {
+            final long size = RspBitmapSerialization.serializedSizeInBytes(rb);
+            if (size > out.remaining()) {
+                throw new IllegalArgumentException(
+                        "Insufficient space to write RowSet: required=" + size + ", remaining=" + out.remaining());
+            }
+            RspBitmapSerialization.write(out, rb);
+        } finally {
+            rb.ixRelease();
+        }
+    }
+
+    /**
+     * Write a {@link RowSet} to a newly allocated, little-endian heap buffer in the portable format.
+     *
+     * @param rowSet The RowSet
+     * @return A buffer positioned at the start of the serialized {@code rowSet}
+     */
+    public static ByteBuffer toPortableByteBuffer(@NotNull final RowSet rowSet) {
+        final RspBitmap rb = WritableRowSetImpl.getInnerSet(rowSet).ixToRspOnNew();
+        try {
+            final long size = RspBitmapSerialization.serializedSizeInBytes(rb);
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("RowSet too large for a single buffer: " + size + " bytes");
+            }
+            final ByteBuffer out = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+            RspBitmapSerialization.write(out, rb);
+            return out.flip();
+        } finally {
+            rb.ixRelease();
+        }
+    }
+
+    /**
+     * Read a {@link RowSet} written by {@link #writePortable(ByteBuffer, RowSet)} from {@code in}, advancing its
+     * position past the serialized RowSet.
+     *
+     * @param in The source, with the same {@link ByteBuffer#order() byte order} used for writing
+     * @return A new RowSet with the serialized contents
+     */
+    public static WritableRowSet readPortable(@NotNull final ByteBuffer in) {
+        return new WritableRowSetImpl(RspBitmapSerialization.read(in).ixCompact());
+    }
+
+    /**
+     * Get a lazy view of a {@link RowSet} written by {@link #writePortable(ByteBuffer, RowSet)}, for instance in a
+     * memory-mapped file. Point queries against the view only decode the container they target. The position of
+     * {@code in} is not modified.
+     *
+     * @param in The source, with the same {@link ByteBuffer#order() byte order} used for writing
+     * @return A lazy view of the serialized RowSet
+     */
+    public static RspBitmapSerialization.View viewPortable(@NotNull final ByteBuffer in) {
+        return RspBitmapSerialization.view(in);
+    }
 }
@@ -0,0 +1,286 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.rowset.impl.rsp;
+
+import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.rowset.impl.rsp.container.Container;
+import io.deephaven.engine.rowset.impl.rsp.container.ContainerSerialization;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+import static io.deephaven.engine.rowset.impl.rsp.RspArray.*;
+
+/**
+ * <p>
+ * Portable, container-native serialization for {@link RspBitmap RspBitmaps}.
+ * </p>
+ *
+ * <p>
+ * Spans are written as-is: singleton spans as their value, full block spans as their length in blocks, and containers
+ * via {@link ContainerSerialization}, without decoding them into ranges. A span directory with fixed-width entries
+ * precedes the span payloads, so that a serialized bitmap (for instance, one in a memory-mapped file) can be queried
+ * lazily through a {@link View} without materializing it.
+ * </p>
+ *
+ * <p>
+ * The layout, in the {@link ByteBuffer#order() byte order} of the buffer provided by the caller, is:
+ * </p>
+ *
+ * <pre>
+ * int      magic
+ * int      spanCount
+ * long     cardinality
+ * long     sizeInBytes (including this header)
+ * long[spanCount] span keys (block key, or the value itself for singleton spans)
+ * int[spanCount]  payload offsets, relative to the start of the header; -1 for singleton spans
+ * payloads: full block spans as (byte FULL_BLOCK_SPAN, long flen), containers per {@link ContainerSerialization}
+ * </pre>
+ */
+public final class RspBitmapSerialization {
+
+    private static final int MAGIC = 0x44485253; // "DHRS"
+    private static final byte FULL_BLOCK_SPAN = 0;
+    private static final int SINGLETON_OFFSET = -1;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES + 2 * Long.BYTES;
+    private static final int SPAN_COUNT_OFFSET = Integer.BYTES;
+    private static final int CARDINALITY_OFFSET = 2 * Integer.BYTES;
+    private static final int SIZE_OFFSET = CARDINALITY_OFFSET + Long.BYTES;
+
+    private RspBitmapSerialization() {}
+
+    /**
+     * Compute the number of bytes {@link #write(ByteBuffer, RspBitmap)} will use for {@code rb}.
+     *
+     * @param rb the bitmap
+     * @return the serialized size of {@code rb} in bytes
+     */
+    public static long serializedSizeInBytes(@NotNull final RspBitmap rb) {
+        long sz = HEADER_BYTES + (long) rb.size * (Long.BYTES + Integer.BYTES);
+        for (int i = 0; i < rb.size; ++i) {
+            final Object span = rb.spans[i];
+            if (isSingletonSpan(span)) {
+                continue;
+            }
+            if (isFullBlockSpan(span)) {
+                sz += Byte.BYTES + Long.BYTES;
+                continue;
+            }
+            try (SpanView view = workDataPerThread.get().borrowSpanView(rb, i)) {
+                sz += ContainerSerialization.serializedSizeInBytes(view.getContainer());
+            }
+        }
+        return sz;
+    }
+
+    /**
+     * Write {@code rb} into {@code buf} at its current position, advancing the position.
+     *
+     * @param buf the destination buffer; must have at least {@link #serializedSizeInBytes(RspBitmap)} bytes remaining
+     * @param rb the bitmap to write
+     */
+    public static void write(@NotNull final ByteBuffer buf, @NotNull final RspBitmap rb) {
+        final int start = buf.position();
+        final int spanCount = rb.size;
+        final int keysOffset = start + HEADER_BYTES;
+        final int offsetsOffset = keysOffset + spanCount * Long.BYTES;
+        buf.putInt(MAGIC);
+        buf.putInt(spanCount);
+        buf.putLong(rb.getCardinality());
+        buf.putLong(0); // patched below once we know the payload size
+        buf.position(offsetsOffset + spanCount * Integer.BYTES);
+        for (int i = 0; i < spanCount; ++i) {
+            final long spanInfo = rb.spanInfos[i];
+            final Object span = rb.spans[i];
+            if (isSingletonSpan(span)) {
+                buf.putLong(keysOffset + i * Long.BYTES, spanInfoToSingletonSpanValue(spanInfo));
+                buf.putInt(offsetsOffset + i * Integer.BYTES, SINGLETON_OFFSET);
+                continue;
+            }
+            buf.putLong(keysOffset + i * Long.BYTES, spanInfoToKey(spanInfo));
+            buf.putInt(offsetsOffset + i * Integer.BYTES, buf.position() - start);
+            if (isFullBlockSpan(span)) {
+                buf.put(FULL_BLOCK_SPAN);
+                buf.putLong(getFullBlockSpanLen(spanInfo, span));
+                continue;
+            }
+            try (SpanView view = workDataPerThread.get().borrowSpanView(rb, i, spanInfo, span)) {
+                ContainerSerialization.write(buf, view.getContainer());
+            }
+        }
+        buf.putLong(start + SIZE_OFFSET, buf.position() - start);
+    }
+
+    /**
+     * Read an {@link RspBitmap} previously written with {@link #write(ByteBuffer, RspBitmap)} from {@code buf} at its
+     * current position, advancing the position past the serialized bitmap.
+     *
+     * @param buf the source buffer
+     * @return a newly allocated bitmap with the serialized contents
+     */
+    public static RspBitmap read(@NotNull final ByteBuffer buf) {
+        final View view = view(buf);
+        final RspBitmap rb = view.materialize();
+        buf.position(buf.position() + (int) view.sizeInBytes());
+        return rb;
+    }
+
+    /**
+     * Wrap the serialized {@link RspBitmap} starting at the current position of {@code buf} in a {@link View}, without
+     * reading any span payloads. The position of {@code buf} is not modified.
+     *
+     * @param buf the source buffer
+     * @return a lazy view over the serialized bitmap
+     */
+    public static View view(@NotNull final ByteBuffer buf) {
+        final ByteBuffer slice = buf.slice().order(buf.order());
+        final int magic = slice.getInt(0);
+        if (magic != MAGIC) {
+            throw new IllegalStateException("Bad magic for serialized RspBitmap: " + Integer.toHexString(magic));
+        }
+        return new View(slice);
+    }
+
+    /**
+     * A read-only, lazily decoded view over a serialized {@link RspBitmap}. Point queries only decode the span they
+     * target; {@link #materialize()} decodes the whole bitmap.
+     */
+    public static final class View {
+        private final ByteBuffer buf;
+        private final int spanCount;
+        private final int keysOffset;
+        private final int offsetsOffset;
+
+        private View(final ByteBuffer buf) {
+            this.buf = buf;
+            spanCount = buf.getInt(SPAN_COUNT_OFFSET);
+            keysOffset = HEADER_BYTES;
+            offsetsOffset = keysOffset + spanCount * Long.BYTES;
+        }
+
+        /**
+         * @return the number of bytes used by the serialized bitmap
+         */
+        public long sizeInBytes() {
+            return buf.getLong(SIZE_OFFSET);
+        }
+
+        /**
+         * @return the cardinality of the serialized bitmap
+         */
+        public long size() {
+            return buf.getLong(CARDINALITY_OFFSET);
+        }
+
+        public boolean isEmpty() {
+            return spanCount == 0;
+        }
+
+        /**
+         * @return the first row key in the serialized bitmap, or {@link RowSequence#NULL_ROW_KEY} if it is empty
+         */
+        public long firstRowKey() {
+            if (spanCount == 0) {
+                return RowSequence.NULL_ROW_KEY;
+            }
+            final long key = spanKey(0);
+            final int offset = spanOffset(0);
+            if (offset == SINGLETON_OFFSET || buf.get(offset) == FULL_BLOCK_SPAN) {
+                return key;
+            }
+            return key | ContainerSerialization.first(buf, offset);
+        }
+
+        /**
+         * @return the last row key in the serialized bitmap, or {@link RowSequence#NULL_ROW_KEY} if it is empty
+         */
+        public long lastRowKey() {
+            if (spanCount == 0) {
+                return RowSequence.NULL_ROW_KEY;
+            }
+            final int last = spanCount - 1;
+            final long key = spanKey(last);
+            final int offset = spanOffset(last);
+            if (offset == SINGLETON_OFFSET) {
+                return key;
+            }
+            if (buf.get(offset) == FULL_BLOCK_SPAN) {
+                return key + buf.getLong(offset + Byte.BYTES) * BLOCK_SIZE - 1;
+            }
+            return key | ContainerSerialization.last(buf, offset);
+        }
+
+        /**
+         * Check whether {@code rowKey} is contained in the serialized bitmap, decoding at most one span directory
+         * entry's payload.
+         *
+         * @param rowKey the row key to look for
+         * @return true if the serialized bitmap contains {@code rowKey}
+         */
+        public boolean containsKey(final long rowKey) {
+            if (rowKey < 0) {
+                return false;
+            }
+            final long blockKey = highBits(rowKey);
+            // find the last span whose block key is <= blockKey
+            int lo = 0;
+            int hi = spanCount - 1;
+            int idx = -1;
+            while (lo <= hi) {
+                final int mid = (lo + hi) >>> 1;
+                if (highBits(spanKey(mid)) <= blockKey) {
+                    idx = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            if (idx < 0) {
+                return false;
+            }
+            final long key = spanKey(idx);
+            final int offset = spanOffset(idx);
+            if (offset == SINGLETON_OFFSET) {
+                return key == rowKey;
+            }
+            if (buf.get(offset) == FULL_BLOCK_SPAN) {
+                return rowKey - key < buf.getLong(offset + Byte.BYTES) * BLOCK_SIZE;
+            }
+            return key == blockKey && ContainerSerialization.contains(buf, offset, lowBitsAsInt(rowKey));
+        }
+
+        /**
+         * Decode the serialized bitmap.
+         *
+         * @return a newly allocated bitmap with the serialized contents
+         */
+        public RspBitmap materialize() {
+            final RspBitmap rb = new RspBitmap();
+            for (int i = 0; i < spanCount; ++i) {
+                final long key = spanKey(i);
+                final int offset = spanOffset(i);
+                if (offset == SINGLETON_OFFSET) {
+                    rb.appendSingletonSpan(key);
+                    continue;
+                }
+                if (buf.get(offset) == FULL_BLOCK_SPAN) {
+                    rb.appendFullBlockSpanUnsafeNoWriteCheck(key, buf.getLong(offset + Byte.BYTES));
+                    continue;
+                }
+                final Container c = ContainerSerialization.read(buf.duplicate().order(buf.order()).position(offset));
+                rb.appendContainerUnsafeNoWriteCheck(key, c);
+            }
+            rb.finishMutations();
+            return rb;
+        }
+
+        private long spanKey(final int i) {
+            return buf.getLong(keysOffset + i * Long.BYTES);
+        }
+
+        private int spanOffset(final int i) {
+            return buf.getInt(offsetsOffset + i * Integer.BYTES);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.rowset.impl.rsp;
+
+import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.rowset.RowSet;
+import io.deephaven.engine.rowset.RowSetBuilderSequential;
+import io.deephaven.engine.rowset.RowSetFactory;
+import io.deephaven.engine.rowset.WritableRowSet;
+import io.deephaven.engine.rowset.impl.ExternalizableRowSetUtils;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import static io.deephaven.engine.rowset.impl.rsp.RspArray.BLOCK_SIZE;
+import static org.junit.Assert.*;
+
+public class RspBitmapSerializationTest {
+
+    private static RowSet makeMixedRowSet(final Random rand) {
+        final RowSetBuilderSequential builder = RowSetFactory.builderSequential();
+        long key = rand.nextInt(BLOCK_SIZE);
+        for (int block = 0; block < 64; ++block) {
+            final long blockStart = (key / BLOCK_SIZE) * BLOCK_SIZE;
+            switch (rand.nextInt(5)) {
+                case 0: // singleton
+                    builder.appendKey(key);
+                    break;
+                case 1: // sparse: array container
+                    for (long v = key; v < blockStart + BLOCK_SIZE; v += 1 + rand.nextInt(200)) {
+                        builder.appendKey(v);
+                    }
+                    break;
+                case 2: // dense, random: bitmap container
+                    for (long v = key; v < blockStart + BLOCK_SIZE; v += 1 + rand.nextInt(3)) {
+                        builder.appendKey(v);
+                    }
+                    break;
+                case 3: // runs: run container
+                    for (long v = key; v < blockStart + BLOCK_SIZE - 500; v += 1000) {
+                        builder.appendRange(v, v + 1 + rand.nextInt(400));
+                    }
+                    break;
+                default: // full blocks
+                    final long nBlocks = 1 + rand.nextInt(3);
+                    builder.appendRange(blockStart + BLOCK_SIZE, blockStart + (1 + nBlocks) * BLOCK_SIZE - 1);
+                    key = blockStart + (1 + nBlocks) * BLOCK_SIZE;
+                    break;
+            }
+            key = ((key / BLOCK_SIZE) + 1 + rand.nextInt(4)) * BLOCK_SIZE + rand.nextInt(BLOCK_SIZE);
+        }
+        return builder.build();
+    }
+
+    private static void checkRoundTrip(final RowSet rowSet, final ByteOrder order) {
+        final long size = ExternalizableRowSetUtils.portableSizeInBytes(rowSet);
+        final ByteBuffer buf = ByteBuffer.allocate((int) size + 5).order(order);
+        buf.position(5);
+        ExternalizableRowSetUtils.writePortable(buf, rowSet);
+        assertEquals(size + 5, buf.position());
+
+        buf.position(5);
+        final RspBitmapSerialization.View view = ExternalizableRowSetUtils.viewPortable(buf);
+        assertEquals(5, buf.position());
+        assertEquals(size, view.sizeInBytes());
+        assertEquals(rowSet.size(), view.size());
+        assertEquals(rowSet.isEmpty(), view.isEmpty());
+        assertEquals(rowSet.firstRowKey(), view.firstRowKey());
+        assertEquals(rowSet.lastRowKey(), view.lastRowKey());
+        if (!rowSet.isEmpty()) {
+            final long first = rowSet.firstRowKey();
+            final long last = rowSet.lastRowKey();
+            for (long k = Math.max(0, first - 3); k <= last + 3; k += 7) {
+                assertEquals("k=" + k, rowSet.containsKey(k), view.containsKey(k));
+            }
+            assertFalse(view.containsKey(RowSequence.NULL_ROW_KEY));
+        }
+
+        try (final WritableRowSet read = ExternalizableRowSetUtils.readPortable(buf)) {
+            assertEquals(size + 5, buf.position());
+            assertEquals(rowSet, read);
+            read.validate();
+        }
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final Random rand = new Random(20230811);
+        for (int i = 0; i < 20; ++i) {
+            try (final RowSet rowSet = makeMixedRowSet(rand)) {
+                checkRoundTrip(rowSet, ByteOrder.LITTLE_ENDIAN);
+                checkRoundTrip(rowSet, ByteOrder.BIG_ENDIAN);
+            }
+        }
+    }
+
+    @Test
+    public void testSmallRowSets() {
+        try (final RowSet empty = RowSetFactory.empty();
+                final RowSet single = RowSetFactory.fromKeys(42);
+                final RowSet range = RowSetFactory.fromRange(10, 3 * BLOCK_SIZE + 7);
+                final RowSet sparse = RowSetFactory.fromKeys(1, 5, 100_000, 1L << 40)) {
+            checkRoundTrip(empty, ByteOrder.LITTLE_ENDIAN);
+            checkRoundTrip(single, ByteOrder.LITTLE_ENDIAN);
+            checkRoundTrip(range, ByteOrder.LITTLE_ENDIAN);
+            checkRoundTrip(sparse, ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    @Test
+    public void testToPortableByteBuffer() {
+        try (final RowSet rowSet = makeMixedRowSet(new Random(7));
+                final WritableRowSet read = ExternalizableRowSetUtils.readPortable(
+                        ExternalizableRowSetUtils.toPortableByteBuffer(rowSet))) {
+            assertEquals(rowSet, read);
+        }
+    }
+}
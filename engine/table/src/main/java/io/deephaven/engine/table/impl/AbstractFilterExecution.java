@@ -30,6 +30,9 @@ import java.util.function.Consumer;
  * spread. The isBusinessTime filter would produce unequal results, therefore we do an N-way split on each result set to
  * avoid some threads doing inordinately more work than others.
  * <p>
+ * The filters are applied in the order chosen by the operation's {@link WhereFilterStatistics}, into which we record
+ * the rows each filter was given and kept, and the time it took.
+ * <p>
  * After a unit of work is completed, it percolates the result to its parent. Finally we call a completion routine,
  * which will either notify a downstream table (in the listener case) or set the value of a future (in the
  * initialization case).
@@ -40,6 +43,11 @@ abstract class AbstractFilterExecution {
     final QueryTable sourceTable;
     final WhereFilter[] filters;
 
+    /**
+     * The statistics that choose the order in which the filters are applied, and that we record into.
+     */
+    final WhereFilterStatistics statistics;
+
     final boolean runModifiedFilters;
     final ModifiedColumnSet sourceModColumns;
 
@@ -61,6 +69,7 @@ abstract class AbstractFilterExecution {
     AbstractFilterExecution(
             QueryTable sourceTable,
             WhereFilter[] filters,
+            WhereFilterStatistics statistics,
             RowSet addedInput,
             RowSet modifiedInput,
             boolean usePrev,
@@ -68,6 +77,7 @@ abstract class AbstractFilterExecution {
             ModifiedColumnSet sourceModColumns) {
         this.sourceTable = sourceTable;
         this.filters = filters;
+        this.statistics = statistics;
         this.addedInput = addedInput;
         this.modifiedInput = modifiedInput;
         this.usePrev = usePrev;
@@ -98,7 +108,7 @@ abstract class AbstractFilterExecution {
      * Run the single filter specified by this AbstractFilterExecution and store the results in addedResult and
      * modifyResult. Allows specification of the start and end positions in the added and modified inputs.
      *
-     * @param filter the filter to execute
+     * @param filterIndex the index of the filter to execute
      * @param addsToUse the added input to use for this filter
      * @param addStart the start position in the added input
      * @param addEnd the end position in the added input (exclusive)
@@ -109,7 +119,7 @@ abstract class AbstractFilterExecution {
      * @param onError the routine to call if a filter raises an exception
      */
     private void doFilter(
-            final WhereFilter filter,
+            final int filterIndex,
             final WritableRowSet addsToUse,
             final long addStart,
             final long addEnd,
@@ -122,11 +132,17 @@ abstract class AbstractFilterExecution {
             throw new CancellationException("interrupted while filtering");
         }
         try {
+            final WhereFilter filter = filters[filterIndex];
+            final long startNanos = System.nanoTime();
+            long rowsIn = 0;
+            long rowsOut = 0;
             final WritableRowSet adds;
             final WritableRowSet mods;
             if (addsToUse != null && addStart < addEnd) {
                 try (final RowSet processAdds = addsToUse.subSetByPositionRange(addStart, addEnd)) {
                     adds = filter.filter(processAdds, sourceTable.getRowSet(), sourceTable, usePrev);
+                    rowsIn += processAdds.size();
+                    rowsOut += adds.size();
                 }
             } else {
                 adds = null;
@@ -134,10 +150,13 @@ abstract class AbstractFilterExecution {
             if (modsToUse != null && modStart < modEnd) {
                 try (final RowSet processMods = modsToUse.subSetByPositionRange(modStart, modEnd)) {
                     mods = filter.filter(processMods, sourceTable.getRowSet(), sourceTable, usePrev);
+                    rowsIn += processMods.size();
+                    rowsOut += mods.size();
                 }
             } else {
                 mods = null;
             }
+            statistics.record(filterIndex, rowsIn, rowsOut, System.nanoTime() - startNanos);
             onComplete.accept(adds, mods);
         } catch (Exception e) {
             onError.accept(e);
@@ -147,14 +166,14 @@ abstract class AbstractFilterExecution {
     /**
      * Run the filter specified by this AbstractFilterExecution in parallel
      *
-     * @param filter the filter to execute
+     * @param filterIndex the index of the filter to execute
      * @param addedInputToUse the added input to use for this filter
      * @param modifiedInputToUse the modified input to use for this filter
      * @param onComplete the routine to call after the filter has been successfully executed
      * @param onError the routine to call if a filter raises an exception
      */
     private void doFilterParallel(
-            final WhereFilter filter,
+            final int filterIndex,
             final WritableRowSet addedInputToUse,
             final WritableRowSet modifiedInputToUse,
             final BiConsumer<WritableRowSet, WritableRowSet> onComplete,
@@ -203,19 +222,19 @@ abstract class AbstractFilterExecution {
 
                     if (endOffset < addSize) {
                         // Entirely within the added input
-                        doFilter(filter,
+                        doFilter(filterIndex,
                                 addedInputToUse, startOffSet, endOffset,
                                 null, 0, 0,
                                 onFilterComplete, nec);
                     } else if (startOffSet < addSize) {
                         // Partially within the added input (might include some modified input)
-                        doFilter(filter,
+                        doFilter(filterIndex,
                                 addedInputToUse, startOffSet, addSize,
                                 modifiedInputToUse, 0, endOffset - addSize,
                                 onFilterComplete, nec);
                     } else {
                         // Entirely within the modified input
-                        doFilter(filter,
+                        doFilter(filterIndex,
                                 null, 0, 0,
                                 modifiedInputToUse, startOffSet - addSize, endOffset - addSize,
                                 onFilterComplete, nec);
@@ -254,12 +273,14 @@ abstract class AbstractFilterExecution {
 
         // Iterate serially through the filters. Each filter will successively restrict the input to the next filter,
         // until we reach the end of the filter chain.
+        final int[] order = statistics.getOrder();
         jobScheduler().iterateSerial(
                 ExecutionContext.getContext(),
                 this::append,
                 JobScheduler.DEFAULT_CONTEXT_FACTORY,
                 0, filters.length,
                 (context, idx, nec, resume) -> {
+                    final int filterIndex = order[idx];
                     // Use the restricted output for the next filter (if this is not the first invocation)
                     final WritableRowSet addsToUse = localAddInput.getValue();
                     final WritableRowSet modsToUse = localModInput.getValue();
@@ -279,13 +300,13 @@ abstract class AbstractFilterExecution {
                     };
 
                     // Run serially or parallelized?
-                    if (!shouldParallelizeFilter(filters[idx], updateSize)) {
-                        doFilter(filters[idx],
+                    if (!shouldParallelizeFilter(filters[filterIndex], updateSize)) {
+                        doFilter(filterIndex,
                                 addsToUse, 0, addsToUse == null ? 0 : addsToUse.size(),
                                 modsToUse, 0, modsToUse == null ? 0 : modsToUse.size(),
                                 onFilterComplete, nec);
                     } else {
-                        doFilterParallel(filters[idx], addsToUse, modsToUse, onFilterComplete, nec);
+                        doFilterParallel(filterIndex, addsToUse, modsToUse, onFilterComplete, nec);
                     }
                 }, () -> {
                     // Return empty RowSets instead of null.
@@ -299,6 +320,7 @@ abstract class AbstractFilterExecution {
                     if (baseEntry != null) {
                         basePerformanceEntry.accumulate(baseEntry);
                     }
+                    statistics.updateOrder();
                     onComplete.accept(addedResult, modifiedResult);
                 }, onError);
     }
@@ -3,6 +3,7 @@
  */
 package io.deephaven.engine.table.impl;
 
+import gnu.trove.list.array.TLongArrayList;
 import io.deephaven.base.Pair;
 import io.deephaven.base.verify.Assert;
 import io.deephaven.chunk.*;
@@ -12,9 +13,14 @@ import io.deephaven.chunk.sized.SizedBooleanChunk;
 import io.deephaven.chunk.sized.SizedChunk;
 import io.deephaven.chunk.sized.SizedLongChunk;
 import io.deephaven.chunk.util.hashing.ChunkEquals;
+import io.deephaven.engine.context.ExecutionContext;
+import io.deephaven.engine.exceptions.CancellationException;
+import io.deephaven.engine.exceptions.OperationException;
 import io.deephaven.engine.rowset.*;
 import io.deephaven.engine.rowset.chunkattributes.RowKeys;
 import io.deephaven.engine.table.*;
+import io.deephaven.engine.table.impl.asofjoin.AsOfJoinRetention;
+import io.deephaven.engine.table.impl.asofjoin.AsOfJoinRetentionEvictor;
 import io.deephaven.engine.table.impl.asofjoin.RightIncrementalAsOfJoinStateManagerTypedBase;
 import io.deephaven.engine.table.impl.asofjoin.RightIncrementalHashedAsOfJoinStateManager;
 import io.deephaven.engine.table.impl.asofjoin.StaticAsOfJoinStateManagerTypedBase;
@@ -28,6 +34,9 @@ import io.deephaven.engine.table.impl.sources.*;
 import io.deephaven.engine.table.impl.ssa.ChunkSsaStamp;
 import io.deephaven.engine.table.impl.ssa.SegmentedSortedArray;
 import io.deephaven.engine.table.impl.ssa.SsaSsaStamp;
+import io.deephaven.engine.table.impl.util.ImmediateJobScheduler;
+import io.deephaven.engine.table.impl.util.JobScheduler;
+import io.deephaven.engine.table.impl.util.OperationInitializerJobScheduler;
 import io.deephaven.engine.table.impl.util.RowRedirection;
 import io.deephaven.engine.table.impl.util.SingleValueRowRedirection;
 import io.deephaven.engine.table.impl.util.SizedSafeCloseable;
@@ -38,8 +47,11 @@ import io.deephaven.util.SafeCloseable;
 import io.deephaven.util.SafeCloseableList;
 import org.apache.commons.lang3.mutable.MutableInt;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -49,12 +61,33 @@ public class AsOfJoinHelper {
 
     static Table asOfJoin(QueryTable leftTable, QueryTable rightTable, MatchPair[] columnsToMatch,
             MatchPair[] columnsToAdd, SortingOrder order, boolean disallowExactMatch) {
+        return asOfJoin(leftTable, rightTable, columnsToMatch, columnsToAdd, order, disallowExactMatch, null);
+    }
+
+    static Table asOfJoin(QueryTable leftTable, QueryTable rightTable, MatchPair[] columnsToMatch,
+            MatchPair[] columnsToAdd, SortingOrder order, boolean disallowExactMatch,
+            @Nullable AsOfJoinRetention rightRetention) {
         final JoinControl joinControl = new JoinControl();
-        return asOfJoin(joinControl, leftTable, rightTable, columnsToMatch, columnsToAdd, order, disallowExactMatch);
+        return asOfJoin(joinControl, leftTable, rightTable, columnsToMatch, columnsToAdd, order, disallowExactMatch,
+                rightRetention);
     }
 
     static Table asOfJoin(JoinControl control, QueryTable leftTable, QueryTable rightTable, MatchPair[] columnsToMatch,
             MatchPair[] columnsToAdd, SortingOrder order, boolean disallowExactMatch) {
+        return asOfJoin(control, leftTable, rightTable, columnsToMatch, columnsToAdd, order, disallowExactMatch,
+                null);
+    }
+
+    /**
+     * As-of join leftTable and rightTable.
+     *
+     * @param rightRetention if non-null, a per-key bound on the right rows kept available for matching; only supported
+     *        for ascending joins of a refreshing left table to an append-only right table, with at least one exact
+     *        match column
+     */
+    static Table asOfJoin(JoinControl control, QueryTable leftTable, QueryTable rightTable, MatchPair[] columnsToMatch,
+            MatchPair[] columnsToAdd, SortingOrder order, boolean disallowExactMatch,
+            @Nullable AsOfJoinRetention rightRetention) {
         QueryTable.checkInitiateBinaryOperation(leftTable, rightTable);
 
         if (columnsToMatch.length == 0) {
@@ -95,6 +128,10 @@ public class AsOfJoinHelper {
                     + leftStampSource.getType() + ", right=" + rightStampSource.getType());
         }
 
+        if (rightRetention != null) {
+            checkRightRetention(leftTable, rightTable, keyColumnCount, order, rightStampSource, rightRetention);
+        }
+
         final WritableRowRedirection rowRedirection = JoinRowRedirection.makeRowRedirection(control, leftTable);
         if (keyColumnCount == 0) {
             return zeroKeyAj(control, leftTable, rightTable, columnsToAdd, stampPair, leftStampSource,
@@ -106,7 +143,7 @@ public class AsOfJoinHelper {
                 return bothIncrementalAj(control, leftTable, rightTable, columnsToMatch, columnsToAdd, order,
                         disallowExactMatch, stampPair,
                         originalLeftSources, leftSources, rightSources, leftStampSource, originalRightStampSource,
-                        rightStampSource, rowRedirection);
+                        rightStampSource, rowRedirection, rightRetention);
             }
             return rightTickingLeftStaticAj(control, leftTable, rightTable, columnsToMatch, columnsToAdd, order,
                     disallowExactMatch, stampPair, originalLeftSources, leftSources, rightSources, leftStampSource,
@@ -258,22 +295,24 @@ public class AsOfJoinHelper {
             }
         }
 
-        try (final AsOfStampContext stampContext = new AsOfStampContext(order, disallowExactMatch, leftStampSource,
-                rightStampSource, originalRightStampSource);
-                final ResettableWritableLongChunk<RowKeys> keyChunk =
-                        ResettableWritableLongChunk.makeResettableChunk();
-                final ResettableWritableChunk<Values> valuesChunk =
-                        rightStampSource.getChunkType().makeResettableWritableChunk()) {
-            for (int slotIndex = 0; slotIndex < slotCount; ++slotIndex) {
-                final int slot = slots.getInt(slotIndex);
+        final Supplier<BucketStampContext> stampContextFactory = () -> new BucketStampContext() {
+            private final AsOfStampContext stampContext = new AsOfStampContext(order, disallowExactMatch,
+                    leftStampSource, rightStampSource, originalRightStampSource);
+            private final ResettableWritableLongChunk<RowKeys> keyChunk =
+                    ResettableWritableLongChunk.makeResettableChunk();
+            private final ResettableWritableChunk<Values> valuesChunk =
+                    rightStampSource.getChunkType().makeResettableWritableChunk();
+
+            @Override
+            void stampBucket(final int slot, final WritableRowRedirection bucketRedirection) {
                 RowSet leftRowSet = asOfJoinStateManager.getLeftIndex(slot);
                 if (leftRowSet == null || leftRowSet.isEmpty()) {
-                    continue;
+                    return;
                 }
 
                 final RowSet rightRowSet = asOfJoinStateManager.getRightIndex(slot);
                 if (rightRowSet == null || rightRowSet.isEmpty()) {
-                    continue;
+                    return;
                 }
 
                 if (leftGroupedSources != null) {
@@ -284,13 +323,21 @@ public class AsOfJoinHelper {
                 }
 
                 if (arrayValuesCache != null) {
-                    processLeftSlotWithRightCache(stampContext, leftRowSet, rightRowSet, rowRedirection,
+                    processLeftSlotWithRightCache(stampContext, leftRowSet, rightRowSet, bucketRedirection,
                             rightStampSource, keyChunk, valuesChunk, arrayValuesCache, slot);
                 } else {
-                    stampContext.processEntry(leftRowSet, rightRowSet, rowRedirection);
+                    stampContext.processEntry(leftRowSet, rightRowSet, bucketRedirection);
                 }
             }
-        }
+
+            @Override
+            public void close() {
+                SafeCloseable.closeAll(stampContext, keyChunk, valuesChunk);
+            }
+        };
+        stampBuckets(control, makeListenerDescription(columnsToMatch, stampPair, columnsToAdd,
+                order == SortingOrder.Descending, disallowExactMatch), leftTable.size(), slots, slotCount,
+                stampContextFactory, rowRedirection);
 
         final QueryTable result =
                 makeResult(leftTable, rightTable, rowRedirection, columnsToAdd, leftTable.isRefreshing());
@@ -893,6 +940,225 @@ public class AsOfJoinHelper {
     public interface SsaFactory extends Function<RowSet, SegmentedSortedArray>, SafeCloseable {
     }
 
+    /**
+     * Make an {@link SsaFactory} that builds SSAs from the stamps of the supplied row sets.
+     *
+     * @param stampSource the source of the stamps
+     * @param ssaSupplier supplies empty SSAs of the appropriate type and order
+     * @param order the order of the SSAs
+     * @return a factory, which owns the contexts and chunks it uses to read and sort stamps
+     */
+    private static SsaFactory makeSsaFactory(
+            final ColumnSource<?> stampSource,
+            final Supplier<SegmentedSortedArray> ssaSupplier,
+            final SortingOrder order) {
+        final ChunkType stampChunkType = stampSource.getChunkType();
+        final SizedSafeCloseable<ColumnSource.FillContext> stampFillContext =
+                new SizedSafeCloseable<>(stampSource::makeFillContext);
+        final SizedSafeCloseable<LongSortKernel<Values, RowKeys>> sortKernel =
+                new SizedSafeCloseable<>(size -> LongSortKernel.makeContext(stampChunkType, order, size, true));
+        final SizedChunk<Values> stampValues = new SizedChunk<>(stampChunkType);
+        final SizedLongChunk<RowKeys> stampKeys = new SizedLongChunk<>();
+
+        return new SsaFactory() {
+            @Override
+            public void close() {
+                SafeCloseable.closeAll(sortKernel, stampFillContext, stampValues, stampKeys);
+            }
+
+            @Override
+            public SegmentedSortedArray apply(RowSet rowSet) {
+                final SegmentedSortedArray ssa = ssaSupplier.get();
+                final int slotSize = rowSet.intSize();
+                if (slotSize > 0) {
+                    rowSet.fillRowKeyChunk(stampKeys.ensureCapacity(slotSize));
+                    stampSource.fillChunk(stampFillContext.ensureCapacity(slotSize),
+                            stampValues.ensureCapacity(slotSize), rowSet);
+                    sortKernel.ensureCapacity(slotSize).sort(stampKeys.get(), stampValues.get());
+                    ssa.insert(stampValues.get(), stampKeys.get());
+                }
+                return ssa;
+            }
+        };
+    }
+
+    /**
+     * Stamps individual buckets (hash slots) of a bucketed as-of join. Each thread that stamps buckets has its own
+     * context.
+     */
+    private static abstract class BucketStampContext implements JobScheduler.JobThreadContext {
+        /**
+         * Redirections for the buckets stamped by the current parallel task, which have yet to be applied.
+         */
+        private final RecordingRowRedirection pendingRedirections = new RecordingRowRedirection();
+
+        /**
+         * Stamp the left rows of the bucket at {@code slot}.
+         *
+         * @param slot the bucket's slot in the state manager
+         * @param bucketRedirection the row redirection to update for the bucket's left rows
+         */
+        abstract void stampBucket(int slot, WritableRowRedirection bucketRedirection);
+    }
+
+    /**
+     * A {@link WritableRowRedirection} that records the redirections made while stamping buckets, so that they may be
+     * applied to a row redirection that does not support concurrent writes. Only the writes made by stamping are
+     * supported; no previous values are returned.
+     */
+    private static final class RecordingRowRedirection implements WritableRowRedirection {
+        private final TLongArrayList outerRowKeys = new TLongArrayList();
+        private final TLongArrayList innerRowKeys = new TLongArrayList();
+
+        @Override
+        public long get(final long outerRowKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long getPrev(final long outerRowKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void startTrackingPrevValues() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long put(final long outerRowKey, final long innerRowKey) {
+            putVoid(outerRowKey, innerRowKey);
+            return RowSequence.NULL_ROW_KEY;
+        }
+
+        @Override
+        public void putVoid(final long outerRowKey, final long innerRowKey) {
+            outerRowKeys.add(outerRowKey);
+            innerRowKeys.add(innerRowKey);
+        }
+
+        @Override
+        public long remove(final long outerRowKey) {
+            removeVoid(outerRowKey);
+            return RowSequence.NULL_ROW_KEY;
+        }
+
+        @Override
+        public void removeVoid(final long outerRowKey) {
+            putVoid(outerRowKey, RowSequence.NULL_ROW_KEY);
+        }
+
+        /**
+         * Apply the recorded redirections to {@code rowRedirection}, in the order they were made, and forget them.
+         */
+        void applyTo(final WritableRowRedirection rowRedirection) {
+            for (int ii = 0; ii < outerRowKeys.size(); ++ii) {
+                final long innerRowKey = innerRowKeys.getQuick(ii);
+                if (innerRowKey == RowSequence.NULL_ROW_KEY) {
+                    rowRedirection.removeVoid(outerRowKeys.getQuick(ii));
+                } else {
+                    rowRedirection.putVoid(outerRowKeys.getQuick(ii), innerRowKey);
+                }
+            }
+            outerRowKeys.resetQuick();
+            innerRowKeys.resetQuick();
+        }
+    }
+
+    /**
+     * Stamp the buckets at {@code slots[0, slotCount)}. The buckets are independent of one another, so large joins
+     * stamp them in parallel, as directed by {@link JoinControl#parallelizeAsOfJoinBuckets(long, int)}. Each parallel
+     * task records the redirections for its buckets, and applies them to {@code rowRedirection} once its buckets have
+     * all been stamped.
+     *
+     * @param control the join control
+     * @param description a description of the join, for logging and errors
+     * @param leftSize the number of rows in the left table
+     * @param slots the slots of the buckets to stamp
+     * @param slotCount the number of buckets to stamp
+     * @param stampContextFactory makes a context for each thread that stamps buckets
+     * @param rowRedirection the row redirection for the join result
+     */
+    private static void stampBuckets(
+            final JoinControl control,
+            final String description,
+            final long leftSize,
+            final IntegerArraySource slots,
+            final int slotCount,
+            final Supplier<BucketStampContext> stampContextFactory,
+            final WritableRowRedirection rowRedirection) {
+        if (slotCount == 0) {
+            return;
+        }
+        if (!control.parallelizeAsOfJoinBuckets(leftSize, slotCount)) {
+            try (final BucketStampContext stampContext = stampContextFactory.get()) {
+                for (int slotIndex = 0; slotIndex < slotCount; ++slotIndex) {
+                    stampContext.stampBucket(slots.getInt(slotIndex), rowRedirection);
+                }
+            }
+            return;
+        }
+
+        final JobScheduler jobScheduler;
+        if (ExecutionContext.getContext().getOperationInitializer().canParallelize()) {
+            jobScheduler = new OperationInitializerJobScheduler();
+        } else {
+            jobScheduler = new ImmediateJobScheduler();
+        }
+
+        final int bucketsPerTask = control.asOfJoinBucketsPerTask();
+        final int taskCount = (slotCount + bucketsPerTask - 1) / bucketsPerTask;
+        final CompletableFuture<Void> bucketsStamped = new CompletableFuture<>();
+        jobScheduler.iterateParallel(
+                ExecutionContext.getContext(),
+                logOutput -> logOutput.append("bucketed as-of join initialization"),
+                stampContextFactory,
+                0,
+                taskCount,
+                (stampContext, taskIndex, nestedErrorConsumer) -> {
+                    final int firstSlotIndex = taskIndex * bucketsPerTask;
+                    final int lastSlotIndex = Math.min(firstSlotIndex + bucketsPerTask, slotCount);
+                    for (int slotIndex = firstSlotIndex; slotIndex < lastSlotIndex; ++slotIndex) {
+                        stampContext.stampBucket(slots.getInt(slotIndex), stampContext.pendingRedirections);
+                    }
+                    // each bucket's left rows are distinct, so the order in which tasks apply their redirections does
+                    // not matter
+                    synchronized (rowRedirection) {
+                        stampContext.pendingRedirections.applyTo(rowRedirection);
+                    }
+                },
+                () -> bucketsStamped.complete(null),
+                bucketsStamped::completeExceptionally);
+        try {
+            bucketsStamped.get();
+        } catch (InterruptedException e) {
+            throw new CancellationException(String.format("%s interrupted", description), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OperationException(String.format("%s failed", description), e);
+        }
+    }
+
+    private static void checkRightRetention(QueryTable leftTable, QueryTable rightTable, int keyColumnCount,
+            SortingOrder order, ColumnSource<?> rightStampSource, AsOfJoinRetention rightRetention) {
+        if (order != SortingOrder.Ascending) {
+            throw new IllegalArgumentException("Right retention is only supported for aj(), not raj()");
+        }
+        if (keyColumnCount == 0) {
+            throw new IllegalArgumentException("Right retention requires at least one exact match column");
+        }
+        if (!leftTable.isRefreshing() || !rightTable.isAppendOnly()) {
+            throw new IllegalArgumentException(
+                    "Right retention requires a refreshing left table and an append-only right table");
+        }
+        if (!rightRetention.isCountBased() && rightStampSource.getChunkType() != ChunkType.Long) {
+            throw new IllegalArgumentException("Time based right retention requires long or Instant stamps, not "
+                    + rightStampSource.getType());
+        }
+    }
+
     private static Table bothIncrementalAj(JoinControl control,
             QueryTable leftTable,
             QueryTable rightTable,
@@ -907,7 +1173,8 @@ public class AsOfJoinHelper {
             ColumnSource<?> leftStampSource,
             ColumnSource<?> originalRightStampSource,
             ColumnSource<?> rightStampSource,
-            WritableRowRedirection rowRedirection) {
+            WritableRowRedirection rowRedirection,
+            @Nullable AsOfJoinRetention rightRetention) {
         final boolean reverse = order == SortingOrder.Descending;
 
         final ChunkType stampChunkType = rightStampSource.getChunkType();
@@ -926,89 +1193,61 @@ public class AsOfJoinHelper {
         int slotCount = asOfJoinStateManager.buildFromLeftSide(leftTable.getRowSet(), leftSources, slots);
         slotCount = asOfJoinStateManager.buildFromRightSide(rightTable.getRowSet(), rightSources, slots, slotCount);
 
-        // These contexts and chunks will be closed when the SSA factory itself is closed by the destroy function of the
-        // BucketedChunkedAjMergedListener
-        final SizedSafeCloseable<ColumnSource.FillContext> rightStampFillContext =
-                new SizedSafeCloseable<>(rightStampSource::makeFillContext);
-        final SizedSafeCloseable<LongSortKernel<Values, RowKeys>> sortKernel =
-                new SizedSafeCloseable<>(size -> LongSortKernel.makeContext(stampChunkType, order, size, true));
-        final SizedSafeCloseable<ColumnSource.FillContext> leftStampFillContext =
-                new SizedSafeCloseable<>(leftStampSource::makeFillContext);
-        final SizedLongChunk<RowKeys> leftStampKeys = new SizedLongChunk<>();
-        final SizedChunk<Values> leftStampValues = new SizedChunk<>(stampChunkType);
-        final SizedChunk<Values> rightStampValues = new SizedChunk<>(stampChunkType);
-        final SizedLongChunk<RowKeys> rightStampKeys = new SizedLongChunk<>();
+        // These factories own their contexts and chunks, which will be closed when the factories themselves are closed
+        // by the destroy function of the BucketedChunkedAjMergedListener
+        final SsaFactory rightSsaFactory = makeSsaFactory(rightStampSource, ssaFactory, order);
+        final SsaFactory leftSsaFactory = makeSsaFactory(leftStampSource, ssaFactory, order);
 
-        final SsaFactory rightSsaFactory = new SsaFactory() {
-            @Override
-            public void close() {
-                SafeCloseable.closeAll(rightStampFillContext, rightStampValues, rightStampKeys);
-            }
+        final AsOfJoinRetentionEvictor rightRetentionEvictor =
+                rightRetention == null ? null : new AsOfJoinRetentionEvictor(rightRetention, rightStampSource);
 
-            @Override
-            public SegmentedSortedArray apply(RowSet rightIndex) {
-                final SegmentedSortedArray ssa = ssaFactory.get();
-                final int slotSize = rightIndex.intSize();
-                if (slotSize > 0) {
-                    rightIndex.fillRowKeyChunk(rightStampKeys.ensureCapacity(slotSize));
-                    rightStampSource.fillChunk(rightStampFillContext.ensureCapacity(slotSize),
-                            rightStampValues.ensureCapacity(slotSize), rightIndex);
-                    sortKernel.ensureCapacity(slotSize).sort(rightStampKeys.get(), rightStampValues.get());
-                    ssa.insert(rightStampValues.get(), rightStampKeys.get());
-                }
-                return ssa;
-            }
-        };
-
-        final SsaFactory leftSsaFactory = new SsaFactory() {
-            @Override
-            public void close() {
-                SafeCloseable.closeAll(sortKernel, leftStampFillContext, leftStampValues, leftStampKeys);
-            }
+        // each bucket stamping thread needs its own factories and evictor, as they hold contexts for filling and
+        // sorting stamps
+        final Supplier<BucketStampContext> stampContextFactory = () -> new BucketStampContext() {
+            private final SsaFactory bucketRightSsaFactory = makeSsaFactory(rightStampSource, ssaFactory, order);
+            private final SsaFactory bucketLeftSsaFactory = makeSsaFactory(leftStampSource, ssaFactory, order);
+            private final AsOfJoinRetentionEvictor bucketRetentionEvictor =
+                    rightRetention == null ? null : new AsOfJoinRetentionEvictor(rightRetention, rightStampSource);
 
             @Override
-            public SegmentedSortedArray apply(RowSet leftIndex) {
-                final SegmentedSortedArray ssa = ssaFactory.get();
-                final int slotSize = leftIndex.intSize();
-                if (slotSize > 0) {
-
-                    leftStampSource.fillChunk(leftStampFillContext.ensureCapacity(slotSize),
-                            leftStampValues.ensureCapacity(slotSize), leftIndex);
-
-                    leftIndex.fillRowKeyChunk(leftStampKeys.ensureCapacity(slotSize));
-
-                    sortKernel.ensureCapacity(slotSize).sort(leftStampKeys.get(), leftStampValues.get());
-
-                    ssa.insert(leftStampValues.get(), leftStampKeys.get());
-                }
-                return ssa;
-            }
-        };
-
-        final QueryTable result;
-        // if we fail to create the table, then we should make sure to close the ssa factories, which contain a context.
-        // if we are successful, then the mergedJoinListener will own them and be responsible for closing them
-        try (final SafeCloseableList closeableList = new SafeCloseableList(leftSsaFactory, rightSsaFactory)) {
-            for (int slotIndex = 0; slotIndex < slotCount; ++slotIndex) {
-                final int slot = slots.getInt(slotIndex);
-
+            void stampBucket(final int slot, final WritableRowRedirection bucketRedirection) {
                 // if either initial state is empty, we would prefer to leave things as a RowSet rather than process
                 // them into an ssa
                 final byte state = asOfJoinStateManager.getState(slot);
                 if ((state
                         & RightIncrementalHashedAsOfJoinStateManager.ENTRY_RIGHT_MASK) == RightIncrementalHashedAsOfJoinStateManager.ENTRY_RIGHT_IS_EMPTY) {
-                    continue;
+                    return;
                 }
                 if ((state
                         & RightIncrementalHashedAsOfJoinStateManager.ENTRY_LEFT_MASK) == RightIncrementalHashedAsOfJoinStateManager.ENTRY_LEFT_IS_EMPTY) {
-                    continue;
+                    if (bucketRetentionEvictor != null) {
+                        bucketRetentionEvictor.trim(asOfJoinStateManager.getRightIndex(slot));
+                    }
+                    return;
                 }
 
-                final SegmentedSortedArray rightSsa = asOfJoinStateManager.getRightSsa(slot, rightSsaFactory);
-                final SegmentedSortedArray leftSsa = asOfJoinStateManager.getLeftSsa(slot, leftSsaFactory);
-                ssaSsaStamp.processEntry(leftSsa, rightSsa, rowRedirection, disallowExactMatch);
+                final SegmentedSortedArray rightSsa = asOfJoinStateManager.getRightSsa(slot, bucketRightSsaFactory);
+                final SegmentedSortedArray leftSsa = asOfJoinStateManager.getLeftSsa(slot, bucketLeftSsaFactory);
+                if (bucketRetentionEvictor != null) {
+                    bucketRetentionEvictor.evict(rightSsa);
+                }
+                ssaSsaStamp.processEntry(leftSsa, rightSsa, bucketRedirection, disallowExactMatch);
             }
 
+            @Override
+            public void close() {
+                SafeCloseable.closeAll(bucketLeftSsaFactory, bucketRightSsaFactory, bucketRetentionEvictor);
+            }
+        };
+
+        final QueryTable result;
+        // if we fail to create the table, then we should make sure to close the ssa factories, which contain a context.
+        // if we are successful, then the mergedJoinListener will own them and be responsible for closing them
+        try (final SafeCloseableList closeableList =
+                new SafeCloseableList(leftSsaFactory, rightSsaFactory, rightRetentionEvictor)) {
+            stampBuckets(control, makeListenerDescription(columnsToMatch, stampPair, columnsToAdd, reverse,
+                    disallowExactMatch), leftTable.size(), slots, slotCount, stampContextFactory, rowRedirection);
+
             result = makeResult(leftTable, rightTable, rowRedirection, columnsToAdd, true);
             closeableList.clear();
         }
@@ -1026,7 +1265,7 @@ public class AsOfJoinHelper {
                         leftSources,
                         rightSources, leftStampSource, rightStampSource,
                         leftSsaFactory, rightSsaFactory, order, disallowExactMatch,
-                        ssaSsaStamp, control, asOfJoinStateManager, rowRedirection);
+                        ssaSsaStamp, control, asOfJoinStateManager, rowRedirection, rightRetentionEvictor);
 
         leftRecorder.setMergedListener(mergedJoinListener);
         rightRecorder.setMergedListener(mergedJoinListener);
@@ -1036,8 +1275,7 @@ public class AsOfJoinHelper {
 
         result.addParentReference(mergedJoinListener);
 
-        leftSsaFactory.close();
-        rightSsaFactory.close();
+        SafeCloseable.closeAll(leftSsaFactory, rightSsaFactory, rightRetentionEvictor);
 
         return result;
     }
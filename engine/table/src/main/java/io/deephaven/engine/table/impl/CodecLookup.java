@@ -3,7 +3,9 @@
  */
 package io.deephaven.engine.table.impl;
 
+import com.tdunning.math.stats.TDigest;
 import io.deephaven.engine.table.ColumnDefinition;
+import io.deephaven.engine.table.impl.by.TDigestCodec;
 import io.deephaven.vector.ObjectVector;
 import io.deephaven.vector.Vector;
 import io.deephaven.stringset.StringSet;
@@ -145,9 +147,28 @@ public class CodecLookup {
      * @return The default {@link ObjectCodec}
      */
     public static <TYPE> ObjectCodec<TYPE> getDefaultCodec(@NotNull final Class<TYPE> dataType) {
+        final String specializedCodecName = getSpecializedDefaultCodecName(dataType);
+        if (specializedCodecName != null) {
+            return CodecCache.DEFAULT.getCodec(specializedCodecName, null);
+        }
         if (Externalizable.class.isAssignableFrom(dataType)) {
             return CodecCache.DEFAULT.getCodec(ExternalizableCodec.class.getName(), dataType.getName());
         }
         return SerializableCodec.create();
     }
+
+    /**
+     * Get the class name of the default codec for the supplied data type, if it has a specialized default codec that
+     * should be preferred to Java serialization.
+     *
+     * @param dataType The data type
+     * @return The codec class name, or null if there is no specialized default codec for {@code dataType}
+     */
+    @Nullable
+    public static String getSpecializedDefaultCodecName(@NotNull final Class<?> dataType) {
+        if (TDigest.class.isAssignableFrom(dataType)) {
+            return TDigestCodec.class.getName();
+        }
+        return null;
+    }
 }
@@ -0,0 +1,394 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl;
+
+import io.deephaven.base.verify.Assert;
+import io.deephaven.chunk.WritableChunk;
+import io.deephaven.chunk.WritableLongChunk;
+import io.deephaven.configuration.Configuration;
+import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.rowset.RowSet;
+import io.deephaven.engine.rowset.chunkattributes.RowKeys;
+import io.deephaven.engine.table.ColumnSource;
+import io.deephaven.engine.table.impl.util.RowRedirection;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.PriorityQueue;
+import java.util.function.LongPredicate;
+
+/**
+ * <p>
+ * An external merge sort for static tables that are too large to sort in the heap.
+ * </p>
+ *
+ * <p>
+ * The input is divided into runs of {@link SortHelpers#externalSortRunSize} rows, each of which is sorted in memory
+ * with the ordinary {@link SortHelpers#getSortedKeys sort kernels}. The sorted row keys of each run are written to a
+ * temporary memory-mapped file, and the runs are then merged into a second memory-mapped file that backs the
+ * {@link RowRedirection} of the result. Because the heap only ever holds one run (plus a small buffer for each run
+ * during the merge), the sort is bounded by disk space and the page cache rather than by the heap.
+ * </p>
+ *
+ * <p>
+ * Only row keys are written to disk. The input is static, so the merge compares the sort key values read from the
+ * input column sources, which avoids serializing object keys.
+ * </p>
+ */
+class ExternalSortHelper {
+
+    /**
+     * The directory for the temporary files that hold sorted runs and results.
+     */
+    static String externalSortDirectory = Configuration.getInstance()
+            .getStringWithDefault("QueryTable.externalSortDirectory", System.getProperty("java.io.tmpdir"));
+
+    /**
+     * The number of row keys we read from each run at a time while merging.
+     */
+    private static final int MERGE_BUFFER_SIZE = 1 << 12;
+
+    private ExternalSortHelper() {} // static use only
+
+    /**
+     * Sort the static {@code rowSet} by {@code columnsToSortBy}.
+     *
+     * @param order the sort order of each column
+     * @param columnsToSortBy the (reinterpreted) columns to sort by
+     * @param rowSet the row set to sort
+     * @param runSize the number of rows in each in-memory sorted run
+     * @return the sorted row keys
+     */
+    static SortHelpers.SortMapping getSortedKeys(
+            @NotNull final SortingOrder[] order,
+            @NotNull final ColumnSource<Comparable<?>>[] columnsToSortBy,
+            @NotNull final RowSet rowSet,
+            final int runSize) {
+        final long sortSize = rowSet.size();
+        final int runCount = (int) ((sortSize + runSize - 1) / runSize);
+
+        final MappedLongArray runs = MappedLongArray.create(sortSize);
+        final long[] runStarts = new long[runCount];
+        final long[] runEnds = new long[runCount];
+        for (int ri = 0; ri < runCount; ++ri) {
+            final long runStart = (long) ri * runSize;
+            final long runEnd = Math.min(runStart + runSize, sortSize);
+            runStarts[ri] = runStart;
+            runEnds[ri] = runEnd;
+            try (final RowSet runRowSet = rowSet.subSetByPositionRange(runStart, runEnd)) {
+                final SortHelpers.SortMapping runKeys =
+                        SortHelpers.getSortedKeys(order, columnsToSortBy, runRowSet, false);
+                final long[] position = new long[] {runStart};
+                runKeys.forEachLong(rowKey -> {
+                    runs.set(position[0]++, rowKey);
+                    return true;
+                });
+                Assert.eq(position[0], "position[0]", runEnd, "runEnd");
+            }
+        }
+
+        if (runCount == 1) {
+            return new MappedSortMapping(runs);
+        }
+        return new MappedSortMapping(merge(order, columnsToSortBy, runs, runStarts, runEnds));
+    }
+
+    private static MappedLongArray merge(
+            @NotNull final SortingOrder[] order,
+            @NotNull final ColumnSource<Comparable<?>>[] columnsToSortBy,
+            @NotNull final MappedLongArray runs,
+            @NotNull final long[] runStarts,
+            @NotNull final long[] runEnds) {
+        final ColumnComparatorFactory.IComparator[] comparators =
+                new ColumnComparatorFactory.IComparator[columnsToSortBy.length];
+        for (int ci = 0; ci < columnsToSortBy.length; ++ci) {
+            comparators[ci] = ColumnComparatorFactory.createComparator(columnsToSortBy[ci], columnsToSortBy[ci]);
+        }
+
+        final int runCount = runStarts.length;
+        final RunCursor[] cursors = new RunCursor[runCount];
+        for (int ri = 0; ri < runCount; ++ri) {
+            cursors[ri] = new RunCursor(runs, runStarts[ri], runEnds[ri]);
+        }
+
+        // ties are broken by run, which preserves the stability of the sort because runs are in row key order
+        final PriorityQueue<RunCursor> queue = new PriorityQueue<>(runCount, (c1, c2) -> {
+            final long k1 = c1.head();
+            final long k2 = c2.head();
+            for (int ci = 0; ci < comparators.length; ++ci) {
+                final int comparison = Integer.signum(comparators[ci].compare(k1, k2)) * order[ci].getDirection();
+                if (comparison != 0) {
+                    return comparison;
+                }
+            }
+            return Long.compare(c1.start, c2.start);
+        });
+        for (final RunCursor cursor : cursors) {
+            queue.add(cursor);
+        }
+
+        final long sortSize = runs.size();
+        final MappedLongArray result = MappedLongArray.create(sortSize);
+        final long[] outputBuffer = new long[MERGE_BUFFER_SIZE];
+        int outputSize = 0;
+        long outputPosition = 0;
+        while (!queue.isEmpty()) {
+            final RunCursor cursor = queue.poll();
+            outputBuffer[outputSize++] = cursor.head();
+            if (outputSize == outputBuffer.length) {
+                result.set(outputPosition, outputBuffer, outputSize);
+                outputPosition += outputSize;
+                outputSize = 0;
+            }
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+        result.set(outputPosition, outputBuffer, outputSize);
+        Assert.eq(outputPosition + outputSize, "outputPosition + outputSize", sortSize, "sortSize");
+        return result;
+    }
+
+    /**
+     * A buffered reader for one sorted run.
+     */
+    private static final class RunCursor {
+        private final MappedLongArray runs;
+        private final long start;
+        private final long end;
+        private final long[] buffer;
+
+        private long nextToRead;
+        private int bufferSize;
+        private int bufferPosition;
+
+        private RunCursor(@NotNull final MappedLongArray runs, final long start, final long end) {
+            this.runs = runs;
+            this.start = start;
+            this.end = end;
+            buffer = new long[(int) Math.min(MERGE_BUFFER_SIZE, end - start)];
+            nextToRead = start;
+            fill();
+        }
+
+        private long head() {
+            return buffer[bufferPosition];
+        }
+
+        /**
+         * @return true if this run has more row keys
+         */
+        private boolean advance() {
+            if (++bufferPosition < bufferSize) {
+                return true;
+            }
+            if (nextToRead == end) {
+                return false;
+            }
+            fill();
+            return true;
+        }
+
+        private void fill() {
+            bufferSize = (int) Math.min(buffer.length, end - nextToRead);
+            runs.get(nextToRead, buffer, bufferSize);
+            nextToRead += bufferSize;
+            bufferPosition = 0;
+        }
+    }
+
+    /**
+     * <p>
+     * An array of longs stored in a temporary memory-mapped file.
+     * </p>
+     *
+     * <p>
+     * The file is deleted as soon as it is mapped. The mapping remains valid until it is garbage collected, at which
+     * point the operating system reclaims the space. On platforms that cannot delete a mapped file, we delete it on
+     * exit instead.
+     * </p>
+     */
+    static final class MappedLongArray {
+        /**
+         * Each segment is at most 1 GiB, well under the 2 GiB limit for a single mapping.
+         */
+        private static final int SEGMENT_SHIFT = 27;
+        private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+        private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+        private final long size;
+        private final LongBuffer[] segments;
+
+        private MappedLongArray(final long size, @NotNull final LongBuffer[] segments) {
+            this.size = size;
+            this.segments = segments;
+        }
+
+        static MappedLongArray create(final long size) {
+            final LongBuffer[] segments = new LongBuffer[(int) ((size + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT)];
+            final Path file;
+            try {
+                final Path directory = Paths.get(externalSortDirectory);
+                Files.createDirectories(directory);
+                file = Files.createTempFile(directory, "sort-", ".dat");
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not create external sort file", e);
+            }
+            try (final FileChannel channel =
+                    FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                for (int si = 0; si < segments.length; ++si) {
+                    final long segmentStart = (long) si << SEGMENT_SHIFT;
+                    final long segmentSize = Math.min(SEGMENT_SIZE, size - segmentStart);
+                    segments[si] = channel.map(FileChannel.MapMode.READ_WRITE, segmentStart * Long.BYTES,
+                            segmentSize * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not map external sort file " + file, e);
+            } finally {
+                try {
+                    Files.delete(file);
+                } catch (IOException e) {
+                    file.toFile().deleteOnExit();
+                }
+            }
+            return new MappedLongArray(size, segments);
+        }
+
+        long size() {
+            return size;
+        }
+
+        long get(final long index) {
+            return segments[(int) (index >>> SEGMENT_SHIFT)].get((int) (index & SEGMENT_MASK));
+        }
+
+        void set(final long index, final long value) {
+            segments[(int) (index >>> SEGMENT_SHIFT)].put((int) (index & SEGMENT_MASK), value);
+        }
+
+        /**
+         * Read {@code length} values starting at {@code index} into {@code destination}.
+         */
+        void get(long index, @NotNull final long[] destination, final int length) {
+            int destinationOffset = 0;
+            while (destinationOffset < length) {
+                final int segmentOffset = (int) (index & SEGMENT_MASK);
+                final LongBuffer segment = segments[(int) (index >>> SEGMENT_SHIFT)].duplicate();
+                final int toRead = Math.min(length - destinationOffset, segment.limit() - segmentOffset);
+                segment.position(segmentOffset);
+                segment.get(destination, destinationOffset, toRead);
+                destinationOffset += toRead;
+                index += toRead;
+            }
+        }
+
+        /**
+         * Write the first {@code length} values of {@code source} starting at {@code index}.
+         */
+        void set(long index, @NotNull final long[] source, final int length) {
+            int sourceOffset = 0;
+            while (sourceOffset < length) {
+                final int segmentOffset = (int) (index & SEGMENT_MASK);
+                final LongBuffer segment = segments[(int) (index >>> SEGMENT_SHIFT)].duplicate();
+                final int toWrite = Math.min(length - sourceOffset, segment.limit() - segmentOffset);
+                segment.position(segmentOffset);
+                segment.put(source, sourceOffset, toWrite);
+                sourceOffset += toWrite;
+                index += toWrite;
+            }
+        }
+    }
+
+    private static final class MappedSortMapping implements SortHelpers.SortMapping {
+        private final MappedLongArray mapping;
+
+        private MappedSortMapping(@NotNull final MappedLongArray mapping) {
+            this.mapping = mapping;
+        }
+
+        @Override
+        public long size() {
+            return mapping.size();
+        }
+
+        @Override
+        public long[] getArrayMapping() {
+            throw new ArrayIndexOutOfBoundsException();
+        }
+
+        @Override
+        public boolean forEachLong(@NotNull final LongPredicate consumer) {
+            final long[] buffer = new long[(int) Math.min(MERGE_BUFFER_SIZE, mapping.size())];
+            for (long position = 0; position < mapping.size(); position += buffer.length) {
+                final int length = (int) Math.min(buffer.length, mapping.size() - position);
+                mapping.get(position, buffer, length);
+                for (int ii = 0; ii < length; ++ii) {
+                    if (!consumer.test(buffer[ii])) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public RowRedirection makeHistoricalRowRedirection() {
+            return new MappedRowRedirection(mapping);
+        }
+    }
+
+    /**
+     * A static {@link RowRedirection} from result position to input row key, backed by a {@link MappedLongArray}.
+     */
+    private static final class MappedRowRedirection implements RowRedirection {
+        private final MappedLongArray mapping;
+
+        private MappedRowRedirection(@NotNull final MappedLongArray mapping) {
+            this.mapping = mapping;
+        }
+
+        @Override
+        public long get(final long outerRowKey) {
+            if (outerRowKey < 0 || outerRowKey >= mapping.size()) {
+                return RowSequence.NULL_ROW_KEY;
+            }
+            return mapping.get(outerRowKey);
+        }
+
+        @Override
+        public long getPrev(final long outerRowKey) {
+            return get(outerRowKey);
+        }
+
+        @Override
+        public void fillChunk(
+                @NotNull final FillContext fillContext,
+                @NotNull final WritableChunk<? super RowKeys> innerRowKeys,
+                @NotNull final RowSequence outerRowKeys) {
+            final WritableLongChunk<? super RowKeys> innerRowKeysTyped = innerRowKeys.asWritableLongChunk();
+            innerRowKeysTyped.setSize(0);
+            outerRowKeys.forAllRowKeyRanges((final long first, final long last) -> {
+                for (long outerRowKey = first; outerRowKey <= last; ++outerRowKey) {
+                    innerRowKeysTyped.add(mapping.get(outerRowKey));
+                }
+            });
+        }
+
+        @Override
+        public void fillPrevChunk(
+                @NotNull final FillContext fillContext,
+                @NotNull final WritableChunk<? super RowKeys> innerRowKeys,
+                @NotNull final RowSequence outerRowKeys) {
+            fillChunk(fillContext, innerRowKeys, outerRowKeys);
+        }
+    }
+}
@@ -23,9 +23,10 @@ class InitialFilterExecution extends AbstractFilterExecution {
     InitialFilterExecution(
             final QueryTable sourceTable,
             final WhereFilter[] filters,
+            final WhereFilterStatistics statistics,
             final RowSet addedInput,
             final boolean usePrev) {
-        super(sourceTable, filters, addedInput, null, usePrev, false, ModifiedColumnSet.ALL);
+        super(sourceTable, filters, statistics, addedInput, null, usePrev, false, ModifiedColumnSet.ALL);
         segmentCount = QueryTable.PARALLEL_WHERE_SEGMENTS <= 0
                 ? ExecutionContext.getContext().getOperationInitializer().parallelismFactor()
                 : QueryTable.PARALLEL_WHERE_SEGMENTS;
@@ -3,6 +3,8 @@
  */
 package io.deephaven.engine.table.impl;
 
+import io.deephaven.configuration.Configuration;
+import io.deephaven.engine.context.ExecutionContext;
 import io.deephaven.engine.table.Table;
 import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.engine.table.impl.indexer.RowSetIndexer;
@@ -23,6 +25,33 @@ public class JoinControl {
     private static final double DEFAULT_MAX_LOAD_FACTOR = 0.75;
     private static final double DEFAULT_TARGET_LOAD_FACTOR = 0.70;
 
+    /**
+     * Static natural joins where both sides have at least this many rows are radix partitioned; see
+     * {@link #useRadixPartitionedJoin(Table, Table)}.
+     */
+    private static final long RADIX_PARTITION_THRESHOLD =
+            Configuration.getInstance().getLongWithDefault("JoinControl.radixPartitionThreshold", 1L << 26);
+    /**
+     * The number of build rows we would like in each radix partition, so that each partition's hash table stays
+     * resident in cache while it is built and probed.
+     */
+    private static final int RADIX_PARTITION_TARGET_SIZE =
+            Configuration.getInstance().getIntegerWithDefault("JoinControl.radixPartitionTargetSize", 1 << 16);
+    private static final int MAX_RADIX_PARTITION_BITS = 14;
+
+    /**
+     * Bucketed as-of joins with at least this many left rows stamp their buckets in parallel during initialization;
+     * see {@link #parallelizeAsOfJoinBuckets(long, int)}.
+     */
+    private static final long PARALLEL_AS_OF_JOIN_THRESHOLD =
+            Configuration.getInstance().getLongWithDefault("JoinControl.parallelAsOfJoinThreshold", 1L << 20);
+    /**
+     * The number of as-of join buckets stamped by each parallel task; small enough to balance the load when bucket
+     * sizes are skewed, large enough to amortize the cost of scheduling a task and applying its redirections.
+     */
+    private static final int AS_OF_JOIN_BUCKETS_PER_TASK =
+            Configuration.getInstance().getIntegerWithDefault("JoinControl.asOfJoinBucketsPerTask", 256);
+
     int initialBuildSize() {
         return MINIMUM_INITIAL_HASH_SIZE;
     }
@@ -58,6 +87,60 @@ public class JoinControl {
         return !leftTable.isRefreshing() && leftTable.size() <= rightTable.size();
     }
 
+    /**
+     * Should a static join be performed by first partitioning both sides on the low bits of their (scrambled) key
+     * hashes, and then joining each partition with its own, much smaller, hash table?
+     *
+     * @param leftTable the left table
+     * @param rightTable the right table
+     * @return true if the join should be radix partitioned
+     */
+    boolean useRadixPartitionedJoin(Table leftTable, Table rightTable) {
+        return !leftTable.isRefreshing() && !rightTable.isRefreshing()
+                && Math.min(leftTable.size(), rightTable.size()) >= RADIX_PARTITION_THRESHOLD;
+    }
+
+    /**
+     * Should a static multiJoin be performed by first partitioning every input on the low bits of its (scrambled) key
+     * hashes, and then building each partition, in parallel, with its own hash table?
+     *
+     * @param inputSize the total number of rows in the inputs
+     * @return true if the multiJoin should be radix partitioned
+     */
+    boolean useRadixPartitionedMultiJoin(long inputSize) {
+        return inputSize >= RADIX_PARTITION_THRESHOLD;
+    }
+
+    /**
+     * @param buildSize the number of rows on the build side of a radix partitioned join
+     * @return the number of hash bits used to select a partition
+     */
+    int radixPartitionBits(long buildSize) {
+        final long partitions = Math.max(1, buildSize / RADIX_PARTITION_TARGET_SIZE);
+        return Math.min(MAX_RADIX_PARTITION_BITS, 64 - Long.numberOfLeadingZeros(partitions - 1));
+    }
+
+    /**
+     * Should the initial stamping of a bucketed as-of join's buckets be performed in parallel? The buckets are
+     * independent of one another, but their results must be applied to the (single-threaded) row redirection in
+     * batches, so this is only worthwhile for large joins.
+     *
+     * @param leftSize the number of rows in the left table
+     * @param bucketCount the number of buckets to stamp
+     * @return true if the buckets should be stamped in parallel
+     */
+    boolean parallelizeAsOfJoinBuckets(long leftSize, int bucketCount) {
+        return leftSize >= PARALLEL_AS_OF_JOIN_THRESHOLD && bucketCount > asOfJoinBucketsPerTask()
+                && ExecutionContext.getContext().getOperationInitializer().canParallelize();
+    }
+
+    /**
+     * @return the number of buckets stamped by each parallel as-of join initialization task
+     */
+    int asOfJoinBucketsPerTask() {
+        return AS_OF_JOIN_BUCKETS_PER_TASK;
+    }
+
     boolean considerSymbolTables(QueryTable leftTable, @SuppressWarnings("unused") QueryTable rightTable,
             boolean useLeftGrouping, boolean useRightGrouping, ColumnSource<?> leftSource,
             ColumnSource<?> rightSource) {
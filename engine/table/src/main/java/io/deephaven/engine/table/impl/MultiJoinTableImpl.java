@@ -231,35 +231,58 @@ public class MultiJoinTableImpl implements MultiJoinTable {
         final MultiJoinStateManager stateManager;
         final String[] firstKeyColumnNames = joinInputHelpers[0].keyColumnNames;
 
+        final long resultSize;
+        final ColumnSource<?>[] keyHashTableSources;
+        final RowRedirection[] rowRedirections = new RowRedirection[joinInputHelpers.length];
+
         // If any tables are refreshing, we must use a refreshing JoinManager.
         final boolean refreshing = Arrays.stream(joinInputHelpers).anyMatch(ih -> ih.table.isRefreshing());
-        if (refreshing) {
-            stateManager = TypedHasherFactory.make(IncrementalMultiJoinStateManagerTypedBase.class,
-                    joinInputHelpers[0].keySources(),
+        final long inputSize = Arrays.stream(joinInputHelpers).mapToLong(ih -> ih.table.size()).sum();
+        if (!refreshing && joinControl.useRadixPartitionedMultiJoin(inputSize)) {
+            stateManager = null;
+            final RadixPartitionedMultiJoin.Result partitionedResult = RadixPartitionedMultiJoin.join(joinControl,
+                    Arrays.stream(joinInputHelpers).map(ih -> ih.table).toArray(Table[]::new),
+                    Arrays.stream(joinInputHelpers).map(ih -> ih.keySources(firstKeyColumnNames))
+                            .toArray(ColumnSource<?>[][]::new),
                     joinInputHelpers[0].originalKeySources(),
-                    joinControl.initialBuildSize(), joinControl.getMaximumLoadFactor(),
-                    joinControl.getTargetLoadFactor());
+                    "multiJoin(" + keyColumns + ")");
+            resultSize = partitionedResult.size;
+            keyHashTableSources = partitionedResult.keySources;
+            System.arraycopy(partitionedResult.rowRedirections, 0, rowRedirections, 0, rowRedirections.length);
         } else {
-            stateManager = TypedHasherFactory.make(StaticMultiJoinStateManagerTypedBase.class,
-                    joinInputHelpers[0].keySources(),
-                    joinInputHelpers[0].originalKeySources(),
-                    joinControl.initialBuildSize(), joinControl.getMaximumLoadFactor(),
-                    joinControl.getTargetLoadFactor());
-        }
-        stateManager.setMaximumLoadFactor(joinControl.getMaximumLoadFactor());
-        stateManager.setTargetLoadFactor(joinControl.getTargetLoadFactor());
-        stateManager.ensureTableCapacity(joinInputHelpers.length);
+            if (refreshing) {
+                stateManager = TypedHasherFactory.make(IncrementalMultiJoinStateManagerTypedBase.class,
+                        joinInputHelpers[0].keySources(),
+                        joinInputHelpers[0].originalKeySources(),
+                        joinControl.initialBuildSize(), joinControl.getMaximumLoadFactor(),
+                        joinControl.getTargetLoadFactor());
+            } else {
+                stateManager = TypedHasherFactory.make(StaticMultiJoinStateManagerTypedBase.class,
+                        joinInputHelpers[0].keySources(),
+                        joinInputHelpers[0].originalKeySources(),
+                        joinControl.initialBuildSize(), joinControl.getMaximumLoadFactor(),
+                        joinControl.getTargetLoadFactor());
+            }
+            stateManager.setMaximumLoadFactor(joinControl.getMaximumLoadFactor());
+            stateManager.setTargetLoadFactor(joinControl.getTargetLoadFactor());
+            stateManager.ensureTableCapacity(joinInputHelpers.length);
+
+            for (int tableNumber = 0; tableNumber < joinInputHelpers.length; ++tableNumber) {
+                stateManager.build(
+                        joinInputHelpers[tableNumber].table,
+                        joinInputHelpers[tableNumber].keySources(firstKeyColumnNames),
+                        tableNumber);
+            }
 
-        for (int tableNumber = 0; tableNumber < joinInputHelpers.length; ++tableNumber) {
-            stateManager.build(
-                    joinInputHelpers[tableNumber].table,
-                    joinInputHelpers[tableNumber].keySources(firstKeyColumnNames),
-                    tableNumber);
+            resultSize = stateManager.getResultSize();
+            keyHashTableSources = stateManager.getKeyHashTableSources();
+            for (int tableNumber = 0; tableNumber < joinInputHelpers.length; ++tableNumber) {
+                rowRedirections[tableNumber] = stateManager.getRowRedirectionForTable(tableNumber);
+            }
         }
 
         final Map<String, ColumnSource<?>> resultSources = new LinkedHashMap<>();
 
-        final ColumnSource<?>[] keyHashTableSources = stateManager.getKeyHashTableSources();
         final ColumnSource<?>[] originalColumns = joinInputHelpers[0].originalKeySources();
 
         // We are careful to add the output key columns in the order of the first table input.
@@ -273,7 +296,7 @@ public class MultiJoinTableImpl implements MultiJoinTable {
         }
 
         for (int tableNumber = 0; tableNumber < joinInputHelpers.length; ++tableNumber) {
-            final RowRedirection rowRedirection = stateManager.getRowRedirectionForTable(tableNumber);
+            final RowRedirection rowRedirection = rowRedirections[tableNumber];
             if (refreshing) {
                 ((IncrementalMultiJoinStateManagerTypedBase) stateManager)
                         .startTrackingPrevRedirectionValues(tableNumber);
@@ -286,7 +309,7 @@ public class MultiJoinTableImpl implements MultiJoinTable {
         }
 
         final QueryTable result =
-                new QueryTable(RowSetFactory.flat(stateManager.getResultSize()).toTracking(), resultSources);
+                new QueryTable(RowSetFactory.flat(resultSize).toTracking(), resultSources);
 
         if (refreshing) {
             final ModifiedColumnSet[] resultModifiedColumnSet = new ModifiedColumnSet[joinInputHelpers.length];
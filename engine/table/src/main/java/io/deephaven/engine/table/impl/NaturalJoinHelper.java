@@ -237,6 +237,9 @@ class NaturalJoinHelper {
                     }
                     rowRedirection = jsm.buildGroupedRowRedirection(leftTable, exactMatch, leftTableGrouped.size(),
                             leftHashSlots, rowSetSource, control.getRedirectionType(leftTable));
+                } else if (control.useRadixPartitionedJoin(leftTable, rightTable)) {
+                    rowRedirection =
+                            RadixPartitionedNaturalJoin.join(leftTable, rightTable, bucketingContext, exactMatch, control);
                 } else if (control.buildLeft(leftTable, rightTable)) {
                     final StaticHashedNaturalJoinStateManager jsm =
                             TypedHasherFactory.make(StaticNaturalJoinStateManagerTypedBase.class,
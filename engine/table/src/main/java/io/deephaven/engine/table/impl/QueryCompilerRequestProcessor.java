@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl;
+
+import io.deephaven.UncheckedDeephavenException;
+import io.deephaven.engine.context.ExecutionContext;
+import io.deephaven.engine.context.QueryCompiler;
+import io.deephaven.engine.context.QueryCompilerRequest;
+import io.deephaven.engine.table.impl.perf.QueryPerformanceRecorder;
+import io.deephaven.util.SafeCloseable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+
+/**
+ * Accepts {@link QueryCompilerRequest requests} from formulas and filters, and either compiles them right away or
+ * collects them so that everything an operation needs is generated by one {@link QueryCompiler#compile(List) batch}.
+ */
+public interface QueryCompilerRequestProcessor {
+
+    /**
+     * @return a processor that compiles each request as soon as it is submitted
+     */
+    static QueryCompilerRequestProcessor immediate() {
+        return ImmediateProcessor.INSTANCE;
+    }
+
+    /**
+     * @return a processor that defers compilation until {@link BatchProcessor#compile()} is invoked
+     */
+    static BatchProcessor batch() {
+        return new BatchProcessor();
+    }
+
+    /**
+     * Submit a request for compilation.
+     *
+     * @param request the request to compile
+     * @return a future for the compiled class; complete on return for {@link #immediate() immediate} processors
+     */
+    CompletableFuture<Class<?>> submit(@NotNull QueryCompilerRequest request);
+
+    /**
+     * Get the class from a future returned by {@link #submit(QueryCompilerRequest)}, rethrowing any compilation error
+     * as it would have been thrown by {@link QueryCompiler#compile(String, String, String)}.
+     *
+     * @param future the future to resolve
+     * @return the compiled class
+     */
+    static Class<?> resolve(@NotNull final CompletableFuture<Class<?>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new UncheckedDeephavenException(e.getCause());
+        }
+    }
+
+    class ImmediateProcessor implements QueryCompilerRequestProcessor {
+
+        private static final ImmediateProcessor INSTANCE = new ImmediateProcessor();
+
+        private ImmediateProcessor() {}
+
+        @Override
+        public CompletableFuture<Class<?>> submit(@NotNull final QueryCompilerRequest request) {
+            try (final SafeCloseable ignored =
+                    QueryPerformanceRecorder.getInstance().getCompilationNugget(request.description())) {
+                return ExecutionContext.getContext().getQueryCompiler()
+                        .compile(Collections.singletonList(request)).get(0);
+            }
+        }
+    }
+
+    class BatchProcessor implements QueryCompilerRequestProcessor {
+
+        private final List<QueryCompilerRequest> requests = new ArrayList<>();
+        private final List<CompletableFuture<Class<?>>> resolvers = new ArrayList<>();
+
+        private BatchProcessor() {}
+
+        @Override
+        public synchronized CompletableFuture<Class<?>> submit(@NotNull final QueryCompilerRequest request) {
+            final CompletableFuture<Class<?>> resolver = new CompletableFuture<>();
+            requests.add(request);
+            resolvers.add(resolver);
+            return resolver;
+        }
+
+        /**
+         * Compile all requests submitted since the last call. Every submitted future is completed, or will be once
+         * another thread compiling the same class finishes; if any request failed, the first failure is rethrown.
+         */
+        public void compile() {
+            compile((description, failure) -> failure);
+        }
+
+        /**
+         * Compile all requests submitted since the last call, as for {@link #compile()}, but rethrow the first failure
+         * as mapped by {@code failureMapper}.
+         *
+         * @param failureMapper Given the {@link QueryCompilerRequest#description() description} of the first failed
+         *        request and its failure, returns the exception to throw
+         */
+        public synchronized void compile(
+                @NotNull final BiFunction<String, RuntimeException, ? extends RuntimeException> failureMapper) {
+            if (requests.isEmpty()) {
+                return;
+            }
+            final String description = requests.size() == 1
+                    ? requests.get(0).description()
+                    : "Compile batch of " + requests.size() + " classes";
+            final List<String> descriptions = new ArrayList<>(requests.size());
+            requests.forEach(request -> descriptions.add(request.description()));
+            final List<CompletableFuture<Class<?>>> toCheck = new ArrayList<>(resolvers);
+            try (final SafeCloseable ignored =
+                    QueryPerformanceRecorder.getInstance().getCompilationNugget(description)) {
+                final List<CompletableFuture<Class<?>>> results =
+                        ExecutionContext.getContext().getQueryCompiler().compile(requests);
+                for (int ri = 0; ri < results.size(); ++ri) {
+                    final CompletableFuture<Class<?>> resolver = resolvers.get(ri);
+                    results.get(ri).whenComplete((result, error) -> {
+                        if (error != null) {
+                            resolver.completeExceptionally(error);
+                        } else {
+                            resolver.complete(result);
+                        }
+                    });
+                }
+            } catch (RuntimeException e) {
+                resolvers.forEach(resolver -> resolver.completeExceptionally(e));
+            } finally {
+                requests.clear();
+                resolvers.clear();
+            }
+            for (int ri = 0; ri < toCheck.size(); ++ri) {
+                final CompletableFuture<Class<?>> resolver = toCheck.get(ri);
+                if (resolver.isCompletedExceptionally()) {
+                    try {
+                        resolve(resolver);
+                    } catch (RuntimeException e) {
+                        throw failureMapper.apply(descriptions.get(ri), e);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -38,6 +38,7 @@ import io.deephaven.engine.rowset.RowSetFactory;
 import io.deephaven.engine.table.*;
 import io.deephaven.engine.table.hierarchical.RollupTable;
 import io.deephaven.engine.table.hierarchical.TreeTable;
+import io.deephaven.engine.table.impl.asofjoin.AsOfJoinRetention;
 import io.deephaven.engine.table.impl.hierarchical.RollupTableImpl;
 import io.deephaven.engine.table.impl.hierarchical.TreeTableImpl;
 import io.deephaven.engine.table.impl.indexer.RowSetIndexer;
@@ -190,6 +191,12 @@ public class QueryTable extends BaseTable<QueryTable> {
      */
     static boolean USE_REDIRECTED_COLUMNS_FOR_SELECT =
             Configuration.getInstance().getBooleanWithDefault("QueryTable.redirectSelect", false);
+    /**
+     * If set to true, then select() and update() rewrite formulas that repeat the entire formula of an earlier column
+     * in the same operation to read that column instead; see {@link CommonSubexpressionEliminator}.
+     */
+    static boolean ELIMINATE_SELECT_COMMON_SUBEXPRESSIONS =
+            Configuration.getInstance().getBooleanWithDefault("QueryTable.eliminateSelectCommonSubexpressions", true);
     /**
      * For a static select(), we would prefer to flatten the table to avoid using memory unnecessarily (because the data
      * may be spread out across many blocks depending on the input RowSet). However, the select() can become slower
@@ -226,6 +233,12 @@ public class QueryTable extends BaseTable<QueryTable> {
      */
     static int PARALLEL_WHERE_SEGMENTS =
             Configuration.getInstance().getIntegerWithDefault("QueryTable.parallelWhereSegments", -1);
+    /**
+     * Whether where() may reorder adjacent match and range filters, so that those observed to remove the most rows for
+     * the least time are applied first; see {@link WhereFilterStatistics}.
+     */
+    static boolean ADAPTIVE_WHERE_FILTER_ORDER =
+            Configuration.getInstance().getBooleanWithDefault("QueryTable.adaptiveWhereFilterOrder", true);
 
     /**
      * You can chose to enable or disable the column parallel select and update.
@@ -245,6 +258,21 @@ public class QueryTable extends BaseTable<QueryTable> {
     static boolean FORCE_PARALLEL_SELECT_AND_UPDATE =
             Configuration.getInstance().getBooleanWithDefault("QueryTable.forceParallelSelectAndUpdate", false);
 
+    /**
+     * Whether a select or update with columns that call into Python may still compute its other columns in parallel.
+     * The Python columns are then computed one at a time, in order, so that only one thread at a time waits for the
+     * Python global interpreter lock.
+     */
+    public static boolean PARALLEL_SELECT_WITH_PYTHON =
+            Configuration.getInstance().getBooleanWithDefault("QueryTable.parallelSelectWithPython", true);
+
+    /**
+     * The number of rows given at once to a column or filter that calls into Python; larger than the usual chunk size,
+     * so that the Python global interpreter lock is acquired less often.
+     */
+    public static int PYTHON_CHUNK_SIZE =
+            Configuration.getInstance().getIntegerWithDefault("QueryTable.pythonChunkSize", 1 << 16);
+
     // Whether we should track the entire RowSet of firstBy and lastBy operations
     @VisibleForTesting
     public static boolean TRACKED_LAST_BY =
@@ -1214,10 +1242,18 @@ public class QueryTable extends BaseTable<QueryTable> {
                         return result;
                     }
 
+                    final QueryCompilerRequestProcessor.BatchProcessor compilationProcessor =
+                            QueryCompilerRequestProcessor.batch();
+                    for (final WhereFilter filter : filters) {
+                        filter.init(getDefinition(), compilationProcessor);
+                    }
+                    // condition filters describe their requests by formula; wrap failures as their init would
+                    compilationProcessor.compile((formula, failure) -> new FormulaCompilationException(
+                            "Formula compilation error for: " + formula, failure));
+
                     List<WhereFilter> selectFilters = new LinkedList<>();
                     List<Pair<String, Map<Long, List<MatchPair>>>> shiftColPairs = new LinkedList<>();
                     for (final WhereFilter filter : filters) {
-                        filter.init(getDefinition());
                         if (filter instanceof AbstractConditionFilter
                                 && ((AbstractConditionFilter) filter).hasConstantArrayAccess()) {
                             shiftColPairs.add(((AbstractConditionFilter) filter).getFormulaShiftColPair());
@@ -1243,8 +1279,9 @@ public class QueryTable extends BaseTable<QueryTable> {
                                     final CompletableFuture<TrackingWritableRowSet> currentMappingFuture =
                                             new CompletableFuture<>();
 
+                                    final WhereFilterStatistics filterStatistics = new WhereFilterStatistics(filters);
                                     final InitialFilterExecution initialFilterExecution = new InitialFilterExecution(
-                                            this, filters, rowSetToUse.copy(), usePrev);
+                                            this, filters, filterStatistics, rowSetToUse.copy(), usePrev);
                                     final TrackingWritableRowSet currentMapping;
                                     initialFilterExecution.scheduleCompletion((adds, mods) -> {
                                         currentMappingFuture.complete(adds.writableCast().toTracking());
@@ -1264,10 +1301,12 @@ public class QueryTable extends BaseTable<QueryTable> {
                                         // account for work done in alternative threads
                                         final BasePerformanceEntry basePerformanceEntry =
                                                 initialFilterExecution.getBasePerformanceEntry();
+                                        final QueryPerformanceNugget nugget =
+                                                QueryPerformanceRecorder.getInstance().getEnclosingNugget();
                                         if (basePerformanceEntry != null) {
-                                            QueryPerformanceRecorder.getInstance().getEnclosingNugget()
-                                                    .accumulate(basePerformanceEntry);
+                                            nugget.accumulate(basePerformanceEntry);
                                         }
+                                        nugget.setDetails(filterStatistics.toString());
                                     }
                                     currentMapping.initializePreviousValue();
 
@@ -1294,14 +1333,14 @@ public class QueryTable extends BaseTable<QueryTable> {
                                                 "where(" + Arrays.toString(filters) + ")", QueryTable.this,
                                                 filteredTable);
                                         final WhereListener whereListener = new WhereListener(
-                                                log, this, recorder, filteredTable, filters);
+                                                log, this, recorder, filteredTable, filters, filterStatistics);
                                         filteredTable.setWhereListener(whereListener);
                                         recorder.setMergedListener(whereListener);
                                         snapshotControl.setListenerAndResult(recorder, filteredTable);
                                         filteredTable.addParentReference(whereListener);
                                     } else if (refreshingFilters) {
                                         final WhereListener whereListener = new WhereListener(
-                                                log, this, null, filteredTable, filters);
+                                                log, this, null, filteredTable, filters, filterStatistics);
                                         filteredTable.setWhereListener(whereListener);
                                         filteredTable.addParentReference(whereListener);
                                     }
@@ -1458,9 +1497,12 @@ public class QueryTable extends BaseTable<QueryTable> {
                         }
                     }
                     final boolean publishTheseSources = flavor == Flavor.Update;
+                    final SelectColumn[] columnsToAnalyze = ELIMINATE_SELECT_COMMON_SUBEXPRESSIONS
+                            ? CommonSubexpressionEliminator.eliminate(selectColumns)
+                            : selectColumns;
                     final SelectAndViewAnalyzerWrapper analyzerWrapper = SelectAndViewAnalyzer.create(
                             this, mode, columns, rowSet, getModifiedColumnSetForUpdates(), publishTheseSources, true,
-                            selectColumns);
+                            columnsToAnalyze);
 
                     final SelectAndViewAnalyzer analyzer = analyzerWrapper.getAnalyzer();
                     final SelectColumn[] processedColumns = analyzerWrapper.getProcessedColumns()
@@ -1907,7 +1949,7 @@ public class QueryTable extends BaseTable<QueryTable> {
         switch (joinRule) {
             case GREATER_THAN_EQUAL:
             case GREATER_THAN:
-                return ajImpl(rightTable, matches, additions, joinRule);
+                return ajImpl(rightTable, matches, additions, joinRule, null);
             case LESS_THAN_EQUAL:
             case LESS_THAN:
                 return rajImpl(rightTable, matches, additions, joinRule);
@@ -1916,8 +1958,39 @@ public class QueryTable extends BaseTable<QueryTable> {
         }
     }
 
+    /**
+     * Perform an {@link #asOfJoin(Table, Collection, AsOfJoinMatch, Collection) aj} that only keeps a bounded number of
+     * right rows available for matching within each bucket, so that a join of a ticking left table to an append-only
+     * right table (e.g. trades to quotes) uses constant state per key. Left rows that were matched to a right row keep
+     * that match after the right row is evicted.
+     *
+     * @param rightTable the append-only right table
+     * @param exactMatches the exact match columns; there must be at least one
+     * @param asOfMatch the as-of match, which must be {@code >=} or {@code >}
+     * @param columnsToAdd the right columns to add
+     * @param rightRetention the number of right rows, or the stamp window, retained for each key
+     * @return the as-of join of this table and rightTable
+     */
+    public Table asOfJoin(
+            Table rightTable,
+            Collection<? extends JoinMatch> exactMatches,
+            AsOfJoinMatch asOfMatch,
+            Collection<? extends JoinAddition> columnsToAdd,
+            @NotNull AsOfJoinRetention rightRetention) {
+        final MatchPair[] matches = Stream.concat(
+                exactMatches.stream().map(MatchPair::of),
+                Stream.of(new MatchPair(asOfMatch.leftColumn().name(), asOfMatch.rightColumn().name())))
+                .toArray(MatchPair[]::new);
+        final MatchPair[] additions = MatchPair.fromAddition(columnsToAdd);
+        final AsOfJoinRule joinRule = asOfMatch.joinRule();
+        if (joinRule != AsOfJoinRule.GREATER_THAN_EQUAL && joinRule != AsOfJoinRule.GREATER_THAN) {
+            throw new IllegalArgumentException("Right retention is only supported for aj(), not " + joinRule);
+        }
+        return ajImpl(rightTable, matches, additions, joinRule, rightRetention);
+    }
+
     private Table ajImpl(final Table rightTable, final MatchPair[] columnsToMatch, final MatchPair[] columnsToAdd,
-            AsOfJoinRule joinRule) {
+            AsOfJoinRule joinRule, @Nullable AsOfJoinRetention rightRetention) {
         final UpdateGraph updateGraph = getUpdateGraph(rightTable);
         try (final SafeCloseable ignored = ExecutionContext.getContext().withUpdateGraph(updateGraph).open()) {
             if (rightTable == null) {
@@ -1926,9 +1999,9 @@ public class QueryTable extends BaseTable<QueryTable> {
             final Table rightTableCoalesced = rightTable.coalesce();
             return QueryPerformanceRecorder.withNugget(
                     "aj(" + "rightTable, " + matchString(columnsToMatch) + ", " + joinRule + ", "
-                            + matchString(columnsToAdd) + ")",
+                            + matchString(columnsToAdd) + (rightRetention == null ? "" : ", " + rightRetention) + ")",
                     () -> ajInternal(rightTableCoalesced, columnsToMatch, columnsToAdd, SortingOrder.Ascending,
-                            joinRule));
+                            joinRule, rightRetention));
         }
     }
 
@@ -1945,12 +2018,12 @@ public class QueryTable extends BaseTable<QueryTable> {
                             + matchString(columnsToAdd) + ")",
                     () -> ajInternal(rightTableCoalesced.reverse(), columnsToMatch, columnsToAdd,
                             SortingOrder.Descending,
-                            joinRule));
+                            joinRule, null));
         }
     }
 
     private Table ajInternal(Table rightTable, MatchPair[] columnsToMatch, MatchPair[] columnsToAdd,
-            final SortingOrder order, AsOfJoinRule joinRule) {
+            final SortingOrder order, AsOfJoinRule joinRule, @Nullable AsOfJoinRetention rightRetention) {
         if (rightTable == null) {
             throw new IllegalArgumentException("aj() requires a non-null right hand side table.");
         }
@@ -2009,7 +2082,7 @@ public class QueryTable extends BaseTable<QueryTable> {
         }
 
         return AsOfJoinHelper.asOfJoin(this, (QueryTable) rightTable, columnsToMatch, columnsToAdd, order,
-                disallowExactMatch);
+                disallowExactMatch, rightRetention);
     }
 
     @Override
@@ -0,0 +1,275 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl;
+
+import io.deephaven.engine.context.ExecutionContext;
+import io.deephaven.engine.exceptions.CancellationException;
+import io.deephaven.engine.exceptions.OperationException;
+import io.deephaven.engine.rowset.RowSet;
+import io.deephaven.engine.rowset.RowSetBuilderSequential;
+import io.deephaven.engine.rowset.RowSetFactory;
+import io.deephaven.engine.rowset.WritableRowSet;
+import io.deephaven.engine.table.ColumnSource;
+import io.deephaven.engine.table.Table;
+import io.deephaven.engine.table.WritableColumnSource;
+import io.deephaven.engine.table.impl.by.typed.TypedHasherFactory;
+import io.deephaven.engine.table.impl.multijoin.StaticMultiJoinStateManagerTypedBase;
+import io.deephaven.engine.table.impl.sources.ArrayBackedColumnSource;
+import io.deephaven.engine.table.impl.sources.LongArraySource;
+import io.deephaven.engine.table.impl.util.ChunkUtils;
+import io.deephaven.engine.table.impl.util.ImmediateJobScheduler;
+import io.deephaven.engine.table.impl.util.JobScheduler;
+import io.deephaven.engine.table.impl.util.JobScheduler.IterateAction;
+import io.deephaven.engine.table.impl.util.LongColumnSourceRowRedirection;
+import io.deephaven.engine.table.impl.util.OperationInitializerJobScheduler;
+import io.deephaven.engine.table.impl.util.RowRedirection;
+import io.deephaven.util.SafeCloseable;
+import io.deephaven.util.SafeCloseableArray;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static io.deephaven.engine.table.impl.util.TypedHasherUtil.partitionByKeyHash;
+
+/**
+ * <p>
+ * A radix partitioned static multiJoin.
+ * </p>
+ *
+ * <p>
+ * Building a single hash table from many large inputs is serial, and once the table outgrows the CPU caches nearly
+ * every insertion is a cache miss. Instead, we first partition the rows of each input (in parallel, one input per task)
+ * on the low bits of a scrambled hash of their keys. Equal keys always land in the same partition, so each partition
+ * can then be built independently (and in parallel) using the ordinary typed
+ * {@link StaticMultiJoinStateManagerTypedBase static hasher}, sized for just that partition.
+ * </p>
+ *
+ * <p>
+ * Finally, the partitions' keys and redirections are scattered into a single set of result sources. The rows of a
+ * multiJoin are ordered by the first appearance of each key in the inputs, so each partition records the position
+ * (across all inputs) at which each of its keys first appeared; the result row for a key is the rank of that position
+ * among all partitions' first appearances.
+ * </p>
+ */
+class RadixPartitionedMultiJoin {
+
+    private RadixPartitionedMultiJoin() {} // static use only
+
+    /**
+     * The result of a radix partitioned multiJoin.
+     */
+    static final class Result {
+        /**
+         * The number of rows in the result.
+         */
+        final long size;
+        /**
+         * The (reinterpreted) key sources of the result.
+         */
+        final ColumnSource<?>[] keySources;
+        /**
+         * The redirection from result row keys to the row keys of each input table.
+         */
+        final RowRedirection[] rowRedirections;
+
+        private Result(final long size, final ColumnSource<?>[] keySources, final RowRedirection[] rowRedirections) {
+            this.size = size;
+            this.keySources = keySources;
+            this.rowRedirections = rowRedirections;
+        }
+    }
+
+    /**
+     * Join the static {@code tables}.
+     *
+     * @param control the join control
+     * @param tables the input tables, which must be static
+     * @param keySources the (reinterpreted) key sources of each input table, in the order of the first table's keys
+     * @param originalKeySources the original key sources of the first table, for error messages
+     * @param description a description of the join, for logging and errors
+     * @return the result sources for the join
+     */
+    static Result join(
+            @NotNull final JoinControl control,
+            @NotNull final Table[] tables,
+            @NotNull final ColumnSource<?>[][] keySources,
+            @NotNull final ColumnSource<?>[] originalKeySources,
+            @NotNull final String description) {
+        final int tableCount = tables.length;
+        final long[] tableOffsets = new long[tableCount];
+        long largestTableSize = 0;
+        for (int tt = 0; tt < tableCount; ++tt) {
+            if (tt > 0) {
+                tableOffsets[tt] = tableOffsets[tt - 1] + tables[tt - 1].size();
+            }
+            largestTableSize = Math.max(largestTableSize, tables[tt].size());
+        }
+
+        // every key in the largest table is distinct, so it is a lower bound on the size of the result
+        final int partitionBits = control.radixPartitionBits(largestTableSize);
+        final int partitionCount = 1 << partitionBits;
+
+        final JobScheduler jobScheduler;
+        if (ExecutionContext.getContext().getOperationInitializer().canParallelize()) {
+            jobScheduler = new OperationInitializerJobScheduler();
+        } else {
+            jobScheduler = new ImmediateJobScheduler();
+        }
+
+        // indexed by [table][partition]
+        final RowSet[][] partitionRows = new RowSet[tableCount][partitionCount];
+        final StaticMultiJoinStateManagerTypedBase[] stateManagers =
+                new StaticMultiJoinStateManagerTypedBase[partitionCount];
+        final WritableRowSet[] firstAppearances = new WritableRowSet[partitionCount];
+        try (final SafeCloseable ignored1 = () -> Arrays.stream(partitionRows).forEach(SafeCloseableArray::close);
+                final SafeCloseableArray<WritableRowSet> ignored2 = new SafeCloseableArray<>(firstAppearances)) {
+            runParallel(jobScheduler, description, "partition", tableCount,
+                    (context, tableNumber, nestedErrorConsumer) -> partitionByKeyHash(tables[tableNumber].getRowSet(),
+                            keySources[tableNumber], partitionBits, partitionRows[tableNumber], null));
+
+            runParallel(jobScheduler, description, "build", partitionCount,
+                    (context, partition, nestedErrorConsumer) -> buildPartition(control, tables, keySources,
+                            originalKeySources, tableOffsets, partitionRows, partition, stateManagers,
+                            firstAppearances));
+
+            long resultSize = 0;
+            for (final StaticMultiJoinStateManagerTypedBase stateManager : stateManagers) {
+                resultSize += stateManager.getResultSize();
+            }
+
+            final ColumnSource<?>[] partitionKeySources = stateManagers[0].getKeyHashTableSources();
+            final WritableColumnSource<?>[] resultSources =
+                    new WritableColumnSource<?>[partitionKeySources.length + tableCount];
+            for (int kk = 0; kk < partitionKeySources.length; ++kk) {
+                resultSources[kk] = ArrayBackedColumnSource.getMemoryColumnSource(resultSize,
+                        partitionKeySources[kk].getType(), partitionKeySources[kk].getComponentType());
+            }
+            for (int tt = 0; tt < tableCount; ++tt) {
+                resultSources[partitionKeySources.length + tt] = new LongArraySource();
+            }
+            // the scatter tasks must not race to grow the result sources
+            for (final WritableColumnSource<?> resultSource : resultSources) {
+                resultSource.ensureCapacity(resultSize);
+            }
+
+            try (final RowSet allFirstAppearances = unionAll(firstAppearances)) {
+                runParallel(jobScheduler, description, "scatter", partitionCount,
+                        (context, partition, nestedErrorConsumer) -> scatterPartition(stateManagers[partition],
+                                firstAppearances[partition], allFirstAppearances, tableCount, resultSources));
+            }
+
+            final RowRedirection[] rowRedirections = new RowRedirection[tableCount];
+            for (int tt = 0; tt < tableCount; ++tt) {
+                rowRedirections[tt] = new LongColumnSourceRowRedirection<>(
+                        (LongArraySource) resultSources[partitionKeySources.length + tt]);
+            }
+            return new Result(resultSize, Arrays.copyOf(resultSources, partitionKeySources.length),
+                    rowRedirections);
+        }
+    }
+
+    private static void runParallel(
+            @NotNull final JobScheduler jobScheduler,
+            @NotNull final String description,
+            @NotNull final String phase,
+            final int count,
+            @NotNull final IterateAction<JobScheduler.JobThreadContext> action) {
+        final CompletableFuture<Void> phaseComplete = new CompletableFuture<>();
+        jobScheduler.iterateParallel(
+                ExecutionContext.getContext(),
+                logOutput -> logOutput.append("radix partitioned multiJoin ").append(phase),
+                JobScheduler.DEFAULT_CONTEXT_FACTORY,
+                0,
+                count,
+                action,
+                () -> phaseComplete.complete(null),
+                phaseComplete::completeExceptionally);
+        try {
+            phaseComplete.get();
+        } catch (InterruptedException e) {
+            throw new CancellationException(String.format("%s interrupted", description), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                // preserve the exceptions, e.g. for duplicate keys, that a monolithic join would produce
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OperationException(String.format("%s failed", description), e);
+        }
+    }
+
+    private static void buildPartition(
+            @NotNull final JoinControl control,
+            @NotNull final Table[] tables,
+            @NotNull final ColumnSource<?>[][] keySources,
+            @NotNull final ColumnSource<?>[] originalKeySources,
+            @NotNull final long[] tableOffsets,
+            @NotNull final RowSet[][] partitionRows,
+            final int partition,
+            @NotNull final StaticMultiJoinStateManagerTypedBase[] stateManagers,
+            @NotNull final WritableRowSet[] firstAppearances) {
+        long largestInputSize = 0;
+        for (final RowSet[] tablePartitions : partitionRows) {
+            largestInputSize = Math.max(largestInputSize, tablePartitions[partition].size());
+        }
+        final StaticMultiJoinStateManagerTypedBase stateManager =
+                TypedHasherFactory.make(StaticMultiJoinStateManagerTypedBase.class,
+                        keySources[0], originalKeySources, control.tableSize(largestInputSize),
+                        control.getMaximumLoadFactor(), control.getTargetLoadFactor());
+        stateManager.ensureTableCapacity(tables.length);
+
+        final RowSetBuilderSequential firstAppearanceBuilder = RowSetFactory.builderSequential();
+        for (int tt = 0; tt < tables.length; ++tt) {
+            final long entriesBefore = stateManager.getResultSize();
+            stateManager.build(partitionRows[tt][partition], keySources[tt], tt);
+            final long entriesAfter = stateManager.getResultSize();
+            if (entriesAfter == entriesBefore) {
+                continue;
+            }
+
+            // The entries created for this table are in row key order, and each is a first appearance of its key.
+            final LongArraySource redirectionSource = stateManager.getRedirectionSourceForTable(tt);
+            final RowSetBuilderSequential newRowKeysBuilder = RowSetFactory.builderSequential();
+            for (long entry = entriesBefore; entry < entriesAfter; ++entry) {
+                newRowKeysBuilder.appendKey(redirectionSource.getUnsafe(entry));
+            }
+            try (final RowSet newRowKeys = newRowKeysBuilder.build();
+                    final RowSet newPositions = tables[tt].getRowSet().invert(newRowKeys)) {
+                firstAppearanceBuilder.appendRowSequenceWithOffset(newPositions, tableOffsets[tt]);
+            }
+        }
+
+        stateManagers[partition] = stateManager;
+        firstAppearances[partition] = firstAppearanceBuilder.build();
+    }
+
+    private static RowSet unionAll(@NotNull final RowSet[] rowSets) {
+        final WritableRowSet union = RowSetFactory.empty();
+        for (final RowSet rowSet : rowSets) {
+            union.insert(rowSet);
+        }
+        return union;
+    }
+
+    private static void scatterPartition(
+            @NotNull final StaticMultiJoinStateManagerTypedBase stateManager,
+            @NotNull final RowSet firstAppearances,
+            @NotNull final RowSet allFirstAppearances,
+            final int tableCount,
+            @NotNull final WritableColumnSource<?>[] resultSources) {
+        final ColumnSource<?>[] keySources = stateManager.getKeyHashTableSources();
+        final ColumnSource<?>[] partitionSources = Arrays.copyOf(keySources, keySources.length + tableCount);
+        for (int tt = 0; tt < tableCount; ++tt) {
+            partitionSources[keySources.length + tt] = stateManager.getRedirectionSourceForTable(tt);
+        }
+
+        // first appearances are ascending in each partition's entries, so the result rows are too; each partition
+        // owns a disjoint set of result rows, so there are no races on the (pre-sized) result sources
+        try (final RowSet entries = RowSetFactory.flat(stateManager.getResultSize());
+                final RowSet resultRows = allFirstAppearances.invert(firstAppearances)) {
+            ChunkUtils.copyData(partitionSources, entries, resultSources, resultRows, false);
+        }
+    }
+}
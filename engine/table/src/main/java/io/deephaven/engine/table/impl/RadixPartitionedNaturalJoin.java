@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl;
+
+import io.deephaven.engine.context.ExecutionContext;
+import io.deephaven.engine.exceptions.CancellationException;
+import io.deephaven.engine.exceptions.OperationException;
+import io.deephaven.engine.rowset.RowSet;
+import io.deephaven.engine.table.impl.by.typed.TypedHasherFactory;
+import io.deephaven.engine.table.impl.naturaljoin.StaticHashedNaturalJoinStateManager;
+import io.deephaven.engine.table.impl.naturaljoin.StaticNaturalJoinStateManagerTypedBase;
+import io.deephaven.engine.table.impl.sources.LongArraySource;
+import io.deephaven.engine.table.impl.util.ImmediateJobScheduler;
+import io.deephaven.engine.table.impl.util.JobScheduler;
+import io.deephaven.engine.table.impl.util.OperationInitializerJobScheduler;
+import io.deephaven.engine.table.impl.util.WritableRowRedirection;
+import io.deephaven.util.SafeCloseableArray;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static io.deephaven.engine.table.impl.util.TypedHasherUtil.partitionByKeyHash;
+
+/**
+ * <p>
+ * A radix partitioned static natural join.
+ * </p>
+ *
+ * <p>
+ * When both sides of a static natural join are very large, a single hash table for the build side is far bigger than
+ * the CPU caches, and nearly every build and probe is a cache miss. Instead, we first partition the rows of both tables
+ * on the low bits of a scrambled hash of their keys. Equal keys always land in the same partition, so each partition
+ * can be joined independently (and in parallel) using the ordinary typed
+ * {@link StaticNaturalJoinStateManagerTypedBase static hasher}, sized for just that partition. The right side is
+ * always the build side, as it must have unique keys.
+ * </p>
+ */
+class RadixPartitionedNaturalJoin {
+
+    private RadixPartitionedNaturalJoin() {} // static use only
+
+    /**
+     * Join {@code leftTable} and {@code rightTable}, returning a row redirection from left row keys to matching right
+     * row keys.
+     *
+     * @param leftTable the left table, must be static
+     * @param rightTable the right table, must be static
+     * @param bucketingContext the bucketing context for the join
+     * @param exactMatch whether every left row must have a match
+     * @param control the join control
+     * @return the row redirection for the join result
+     */
+    static WritableRowRedirection join(
+            @NotNull final QueryTable leftTable,
+            @NotNull final QueryTable rightTable,
+            @NotNull final BucketingContext bucketingContext,
+            final boolean exactMatch,
+            @NotNull final JoinControl control) {
+        final int partitionBits = control.radixPartitionBits(rightTable.size());
+        final int partitionCount = 1 << partitionBits;
+
+        // The right side is partitioned by row key. The left side is partitioned by both row key (to probe) and row
+        // position (to scatter the partition's results into a single redirection array in left row set order).
+        final RowSet[] rightPartitions = new RowSet[partitionCount];
+        final RowSet[] leftPartitions = new RowSet[partitionCount];
+        final RowSet[] leftPartitionPositions = new RowSet[partitionCount];
+        try (final SafeCloseableArray<RowSet> ignored1 = new SafeCloseableArray<>(rightPartitions);
+                final SafeCloseableArray<RowSet> ignored2 = new SafeCloseableArray<>(leftPartitions);
+                final SafeCloseableArray<RowSet> ignored3 = new SafeCloseableArray<>(leftPartitionPositions)) {
+            partitionByKeyHash(rightTable.getRowSet(), bucketingContext.rightSources, partitionBits, rightPartitions,
+                    null);
+            partitionByKeyHash(leftTable.getRowSet(), bucketingContext.leftSources, partitionBits, leftPartitions,
+                    leftPartitionPositions);
+
+            final LongArraySource leftRedirections = new LongArraySource();
+            leftRedirections.ensureCapacity(leftTable.size());
+
+            // we only need one state manager to build the final redirection, which is created on this thread
+            final StaticHashedNaturalJoinStateManager redirectionBuilder = makeStateManager(bucketingContext,
+                    control, 0);
+
+            final JobScheduler jobScheduler;
+            if (ExecutionContext.getContext().getOperationInitializer().canParallelize()) {
+                jobScheduler = new OperationInitializerJobScheduler();
+            } else {
+                jobScheduler = new ImmediateJobScheduler();
+            }
+
+            final CompletableFuture<Void> partitionsJoined = new CompletableFuture<>();
+            jobScheduler.iterateParallel(
+                    ExecutionContext.getContext(),
+                    logOutput -> logOutput.append("radix partitioned naturalJoin"),
+                    JobScheduler.DEFAULT_CONTEXT_FACTORY,
+                    0,
+                    partitionCount,
+                    (context, partition, nestedErrorConsumer) -> joinPartition(bucketingContext, control,
+                            rightPartitions[partition], leftPartitions[partition], leftPartitionPositions[partition],
+                            leftRedirections),
+                    () -> partitionsJoined.complete(null),
+                    partitionsJoined::completeExceptionally);
+            try {
+                partitionsJoined.get();
+            } catch (InterruptedException e) {
+                throw new CancellationException(
+                        String.format("%s interrupted", bucketingContext.listenerDescription), e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    // preserve the exceptions, e.g. for duplicate right keys, that a monolithic join would produce
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new OperationException(String.format("%s failed", bucketingContext.listenerDescription), e);
+            }
+
+            return redirectionBuilder.buildRowRedirectionFromRedirections(leftTable, exactMatch, leftRedirections,
+                    control.getRedirectionType(leftTable));
+        }
+    }
+
+    private static StaticHashedNaturalJoinStateManager makeStateManager(
+            @NotNull final BucketingContext bucketingContext,
+            @NotNull final JoinControl control,
+            final long buildSize) {
+        return TypedHasherFactory.make(StaticNaturalJoinStateManagerTypedBase.class,
+                bucketingContext.leftSources, bucketingContext.originalLeftSources,
+                control.tableSize(buildSize), control.getMaximumLoadFactor(), control.getTargetLoadFactor());
+    }
+
+    private static void joinPartition(
+            @NotNull final BucketingContext bucketingContext,
+            @NotNull final JoinControl control,
+            @NotNull final RowSet rightPartition,
+            @NotNull final RowSet leftPartition,
+            @NotNull final RowSet leftPartitionPositions,
+            @NotNull final LongArraySource leftRedirections) {
+        if (leftPartition.isEmpty()) {
+            return;
+        }
+        if (rightPartition.isEmpty()) {
+            // nothing can match; the state manager would fill NO_RIGHT_ENTRY_VALUE for each probe anyway
+            leftPartitionPositions.forAllRowKeys(
+                    position -> leftRedirections.set(position, StaticNaturalJoinStateManager.NO_RIGHT_ENTRY_VALUE));
+            return;
+        }
+        final StaticHashedNaturalJoinStateManager jsm =
+                makeStateManager(bucketingContext, control, rightPartition.size());
+        jsm.buildFromRightSide(rightPartition, bucketingContext.rightSources);
+        final LongArraySource partitionRedirections = new LongArraySource();
+        jsm.decorateLeftSide(leftPartition, bucketingContext.leftSources, partitionRedirections);
+
+        // each partition owns a disjoint set of left positions, so there are no races on leftRedirections
+        long offset = 0;
+        for (final RowSet.Iterator it = leftPartitionPositions.iterator(); it.hasNext();) {
+            leftRedirections.set(it.nextLong(), partitionRedirections.getUnsafe(offset++));
+        }
+    }
+}
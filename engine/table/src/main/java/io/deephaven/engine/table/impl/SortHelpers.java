@@ -73,6 +73,21 @@ public class SortHelpers {
     @VisibleForTesting
     static int sortChunkSize = Configuration.getInstance().getIntegerWithDefault("QueryTable.sortChunkSize", 1 << 30);
 
+    /**
+     * When a static sort is greater than or equal to externalSortThreshold, instead of sorting in the heap, we sort
+     * runs of externalSortRunSize rows and merge them with {@link ExternalSortHelper} through temporary memory-mapped
+     * files.
+     */
+    @VisibleForTesting
+    static long externalSortThreshold =
+            Configuration.getInstance().getLongWithDefault("QueryTable.externalSortThreshold", Integer.MAX_VALUE);
+    /**
+     * The size of each in-memory sorted run of an external sort.
+     */
+    @VisibleForTesting
+    static int externalSortRunSize =
+            Configuration.getInstance().getIntegerWithDefault("QueryTable.externalSortRunSize", 1 << 26);
+
     interface SortMapping extends LongSizedDataStructure {
         long size();
 
@@ -80,7 +95,7 @@ public class SortHelpers {
 
         boolean forEachLong(LongPredicate consumer);
 
-        WritableRowRedirection makeHistoricalRowRedirection();
+        RowRedirection makeHistoricalRowRedirection();
     }
 
     final static class ArraySortMapping implements SortMapping {
@@ -218,6 +233,19 @@ public class SortHelpers {
 
     static private final SortMapping EMPTY_SORT_MAPPING = new ArraySortMapping(CollectionUtil.ZERO_LENGTH_LONG_ARRAY);
 
+    /**
+     * Sort the rows of a static table, using an external sort if the table is at least {@link #externalSortThreshold}
+     * rows and cannot be sorted by its grouping.
+     */
+    static SortMapping getStaticSortedKeys(SortingOrder[] order, ColumnSource<Comparable<?>>[] columnsToSortBy,
+            TrackingRowSet rowSetToSort) {
+        if (rowSetToSort.size() >= externalSortThreshold
+                && !(columnsToSortBy.length == 1 && RowSetIndexer.of(rowSetToSort).hasGrouping(columnsToSortBy[0]))) {
+            return ExternalSortHelper.getSortedKeys(order, columnsToSortBy, rowSetToSort, externalSortRunSize);
+        }
+        return getSortedKeys(order, columnsToSortBy, rowSetToSort, false);
+    }
+
     /**
      * Note that if usePrev is true, then rowSetToSort is the previous RowSet; not the current RowSet, and we should not
      * need to call copyPrev.
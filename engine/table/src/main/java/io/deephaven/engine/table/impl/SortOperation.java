@@ -114,7 +114,7 @@ public class SortOperation implements QueryTable.MemoizableOperation<QueryTable>
             return withSorted(parent);
         }
 
-        final WritableRowRedirection sortMapping = sortedKeys.makeHistoricalRowRedirection();
+        final RowRedirection sortMapping = sortedKeys.makeHistoricalRowRedirection();
         final TrackingRowSet resultRowSet = RowSetFactory.flat(sortedKeys.size()).toTracking();
 
         final Map<String, ColumnSource<?>> resultMap = new LinkedHashMap<>();
@@ -212,7 +212,7 @@ public class SortOperation implements QueryTable.MemoizableOperation<QueryTable>
     public Result<QueryTable> initialize(boolean usePrev, long beforeClock) {
         if (!parent.isRefreshing()) {
             final SortHelpers.SortMapping sortedKeys =
-                    SortHelpers.getSortedKeys(sortOrder, sortColumns, parent.getRowSet(), false);
+                    SortHelpers.getStaticSortedKeys(sortOrder, sortColumns, parent.getRowSet());
             return new Result<>(historicalSort(sortedKeys));
         }
         if (parent.isBlink()) {
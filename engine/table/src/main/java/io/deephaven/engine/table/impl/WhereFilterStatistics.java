@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl;
+
+import io.deephaven.engine.table.impl.select.AbstractRangeFilter;
+import io.deephaven.engine.table.impl.select.MatchFilter;
+import io.deephaven.engine.table.impl.select.RangeConditionFilter;
+import io.deephaven.engine.table.impl.select.WhereFilter;
+import io.deephaven.internal.log.LoggerFactory;
+import io.deephaven.io.logger.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Tracks how many rows each filter of a where() operation is given, how many it keeps, and how long it takes, and uses
+ * these to choose the order in which the filters are applied. Each run of adjacent filters that are evaluated entirely
+ * within the engine (matches and ranges) is sorted so that the filters which remove the most rows for the least time
+ * come first; such filters never fail and do not depend on which other rows they are given, so the order does not
+ * change the result. Any other filter stays where it was written, as it may rely on the filters before it (for example,
+ * to exclude nulls), and no filter is moved across it.
+ * <p>
+ * The order is only recomputed between executions of the filters, never while they are running.
+ */
+class WhereFilterStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(WhereFilterStatistics.class);
+
+    /**
+     * The fewest rows a filter must have been given before its statistics are used to order it.
+     */
+    private static final long MINIMUM_ROWS = 1 << 12;
+
+    /**
+     * Once a filter has been given this many rows, every count is halved, so that recent updates outweigh old ones.
+     */
+    private static final long DECAY_ROWS = 1 << 24;
+
+    private final WhereFilter[] filters;
+    private final boolean[] reorderable;
+
+    private final AtomicLongArray rowsIn;
+    private final AtomicLongArray rowsOut;
+    private final AtomicLongArray nanos;
+
+    private volatile int[] order;
+
+    WhereFilterStatistics(@NotNull final WhereFilter[] filters) {
+        this.filters = filters;
+        reorderable = new boolean[filters.length];
+        for (int fi = 0; fi < filters.length; ++fi) {
+            reorderable[fi] = isReorderable(filters[fi]);
+        }
+        rowsIn = new AtomicLongArray(filters.length);
+        rowsOut = new AtomicLongArray(filters.length);
+        nanos = new AtomicLongArray(filters.length);
+        order = IntStream.range(0, filters.length).toArray();
+    }
+
+    private static boolean isReorderable(@NotNull final WhereFilter filter) {
+        return (filter instanceof MatchFilter
+                || filter instanceof AbstractRangeFilter
+                || filter instanceof RangeConditionFilter)
+                && !filter.isRefreshing();
+    }
+
+    /**
+     * @return the indices of the filters, in the order they should be applied
+     */
+    int[] getOrder() {
+        return order;
+    }
+
+    /**
+     * Record one application of a filter; may be called concurrently for parallel segments of the same filter.
+     *
+     * @param filterIndex the index of the filter, as written
+     * @param in the number of rows given to the filter
+     * @param out the number of rows the filter kept
+     * @param elapsedNanos the time taken by the filter
+     */
+    void record(final int filterIndex, final long in, final long out, final long elapsedNanos) {
+        rowsIn.addAndGet(filterIndex, in);
+        rowsOut.addAndGet(filterIndex, out);
+        nanos.addAndGet(filterIndex, elapsedNanos);
+    }
+
+    /**
+     * Choose the order for the next execution of the filters from the statistics gathered so far.
+     *
+     * @return whether the order changed
+     */
+    boolean updateOrder() {
+        if (!QueryTable.ADAPTIVE_WHERE_FILTER_ORDER) {
+            return false;
+        }
+        decay();
+
+        final int[] newOrder = IntStream.range(0, filters.length).toArray();
+        int runStart = 0;
+        while (runStart < filters.length) {
+            if (!reorderable[runStart]) {
+                ++runStart;
+                continue;
+            }
+            int runEnd = runStart + 1;
+            while (runEnd < filters.length && reorderable[runEnd]) {
+                ++runEnd;
+            }
+            if (runEnd - runStart > 1
+                    && IntStream.range(runStart, runEnd).allMatch(fi -> rowsIn.get(fi) >= MINIMUM_ROWS)) {
+                final Integer[] run = IntStream.range(runStart, runEnd).boxed().toArray(Integer[]::new);
+                // stable, so that filters that look alike keep the order they were written in
+                Arrays.sort(run, Comparator.comparingDouble(this::rank));
+                for (int ri = 0; ri < run.length; ++ri) {
+                    newOrder[runStart + ri] = run[ri];
+                }
+            }
+            runStart = runEnd;
+        }
+
+        if (Arrays.equals(newOrder, order)) {
+            return false;
+        }
+        order = newOrder;
+        log.debug().append("where filter order changed: ").append(toString()).endl();
+        return true;
+    }
+
+    /**
+     * The expected time spent by this filter per row it removes; applying filters in increasing rank minimizes the
+     * total expected time.
+     */
+    private double rank(final int filterIndex) {
+        final double in = rowsIn.get(filterIndex);
+        final double costPerRow = nanos.get(filterIndex) / in;
+        final double removedFraction = 1.0 - rowsOut.get(filterIndex) / in;
+        return removedFraction <= 0 ? Double.POSITIVE_INFINITY : costPerRow / removedFraction;
+    }
+
+    private void decay() {
+        boolean shouldDecay = false;
+        for (int fi = 0; fi < filters.length; ++fi) {
+            shouldDecay |= rowsIn.get(fi) > DECAY_ROWS;
+        }
+        if (!shouldDecay) {
+            return;
+        }
+        for (int fi = 0; fi < filters.length; ++fi) {
+            rowsIn.set(fi, rowsIn.get(fi) / 2);
+            rowsOut.set(fi, rowsOut.get(fi) / 2);
+            nanos.set(fi, nanos.get(fi) / 2);
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("filterStatistics{");
+        for (int fi = 0; fi < filters.length; ++fi) {
+            builder.append(fi == 0 ? "" : ", ")
+                    .append('[').append(fi).append("] ").append(filters[fi])
+                    .append(": in=").append(rowsIn.get(fi))
+                    .append(", out=").append(rowsOut.get(fi))
+                    .append(", nanos=").append(nanos.get(fi));
+        }
+        return builder.append("; order=").append(Arrays.toString(order)).append('}').toString();
+    }
+}
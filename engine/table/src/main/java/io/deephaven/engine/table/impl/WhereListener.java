@@ -42,6 +42,7 @@ class WhereListener extends MergedListener {
     private final QueryTable.FilteredTable result;
     private final WritableRowSet currentMapping;
     private final WhereFilter[] filters;
+    private final WhereFilterStatistics statistics;
     private final ModifiedColumnSet filterColumns;
     private final ListenerRecorder recorder;
     private final boolean permitParallelization;
@@ -58,7 +59,8 @@ class WhereListener extends MergedListener {
             final QueryTable sourceTable,
             final ListenerRecorder recorder,
             final QueryTable.FilteredTable result,
-            final WhereFilter[] filters) {
+            final WhereFilter[] filters,
+            final WhereFilterStatistics statistics) {
         super(recorder == null ? Collections.emptyList() : Collections.singleton(recorder),
                 extractDependencies(filters),
                 "where(" + Arrays.toString(filters) + ")", result);
@@ -67,6 +69,7 @@ class WhereListener extends MergedListener {
         this.result = result;
         this.currentMapping = result.getRowSet().writableCast();
         this.filters = filters;
+        this.statistics = statistics;
 
         boolean hasColumnArray = false;
         final Set<String> filterColumnNames = new TreeSet<>();
@@ -254,8 +257,8 @@ class WhereListener extends MergedListener {
                 final RowSet modifyInput,
                 final boolean runModifiedFilters,
                 final ModifiedColumnSet sourceModColumns) {
-            super(WhereListener.this.sourceTable, WhereListener.this.filters, addedInput, modifyInput,
-                    false, runModifiedFilters, sourceModColumns);
+            super(WhereListener.this.sourceTable, WhereListener.this.filters, WhereListener.this.statistics,
+                    addedInput, modifyInput, false, runModifiedFilters, sourceModColumns);
             // Create the proper JobScheduler for the following parallel tasks
             if (permitParallelization) {
                 jobScheduler = new UpdateGraphJobScheduler(getUpdateGraph());
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl.asofjoin;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+
+/**
+ * <p>
+ * A per-key bound on the right hand side rows that an incremental as-of join keeps available for matching. Rows are
+ * retained either by count (the latest {@code N} stamps for each key) or by time (stamps no more than {@code T}
+ * nanoseconds older than the latest stamp for each key).
+ * </p>
+ *
+ * <p>
+ * Right rows that fall out of the retained window are evicted from the join state, and right rows that arrive after
+ * their window has already passed are never matched. Left rows that were matched to an evicted right row keep that
+ * match, so that the join state for each key is bounded regardless of how long the right table ticks.
+ * </p>
+ */
+public final class AsOfJoinRetention {
+
+    private final int count;
+    private final long nanos;
+
+    private AsOfJoinRetention(final int count, final long nanos) {
+        this.count = count;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Retain the right rows with the latest {@code count} stamps for each key.
+     *
+     * @param count the number of right rows to retain for each key
+     * @return the retention bound
+     */
+    public static AsOfJoinRetention ofCount(final int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("As-of join retention count must be positive: " + count);
+        }
+        return new AsOfJoinRetention(count, 0);
+    }
+
+    /**
+     * Retain the right rows whose stamps are no more than {@code nanos} older than the latest stamp for each key. The
+     * stamp columns must be of type {@code long} or {@link java.time.Instant}.
+     *
+     * @param nanos the width of the retained window for each key, in nanoseconds
+     * @return the retention bound
+     */
+    public static AsOfJoinRetention ofNanos(final long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("As-of join retention window must not be negative: " + nanos);
+        }
+        return new AsOfJoinRetention(0, nanos);
+    }
+
+    /**
+     * Retain the right rows whose stamps are no more than {@code window} older than the latest stamp for each key. The
+     * stamp columns must be of type {@code long} or {@link java.time.Instant}.
+     *
+     * @param window the width of the retained window for each key
+     * @return the retention bound
+     */
+    public static AsOfJoinRetention ofTime(@NotNull final Duration window) {
+        return ofNanos(window.toNanos());
+    }
+
+    /**
+     * @return true if rows are retained by count, false if they are retained by time
+     */
+    public boolean isCountBased() {
+        return count > 0;
+    }
+
+    /**
+     * @return the number of right rows retained for each key, if {@link #isCountBased() count based}
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * @return the width of the retained window in nanoseconds, if not {@link #isCountBased() count based}
+     */
+    public long nanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        return isCountBased() ? "retainCount=" + count : "retainNanos=" + nanos;
+    }
+}
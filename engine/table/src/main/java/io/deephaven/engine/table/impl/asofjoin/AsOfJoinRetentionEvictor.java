@@ -0,0 +1,243 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl.asofjoin;
+
+import io.deephaven.chunk.LongChunk;
+import io.deephaven.chunk.WritableChunk;
+import io.deephaven.chunk.WritableLongChunk;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.chunk.sized.SizedChunk;
+import io.deephaven.chunk.sized.SizedLongChunk;
+import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.rowset.RowSet;
+import io.deephaven.engine.rowset.RowSetBuilderRandom;
+import io.deephaven.engine.rowset.RowSetFactory;
+import io.deephaven.engine.rowset.WritableRowSet;
+import io.deephaven.engine.rowset.chunkattributes.RowKeys;
+import io.deephaven.engine.table.ColumnSource;
+import io.deephaven.engine.table.impl.SortingOrder;
+import io.deephaven.engine.table.impl.sort.LongSortKernel;
+import io.deephaven.engine.table.impl.ssa.ChunkSsaStamp;
+import io.deephaven.engine.table.impl.ssa.SegmentedSortedArray;
+import io.deephaven.engine.table.impl.util.SizedSafeCloseable;
+import io.deephaven.util.SafeCloseable;
+import org.apache.commons.lang3.mutable.MutableBoolean;
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.LongPredicate;
+
+/**
+ * <p>
+ * Enforces an {@link AsOfJoinRetention} on the right hand side state of an ascending, bucketed, incremental as-of
+ * join.
+ * </p>
+ *
+ * <p>
+ * The join remains correct for the retained window so long as every evicted right row has a stamp no greater than
+ * that of every retained right row, and no right row that precedes the window is ever inserted. Left rows stamped
+ * against an evicted right row then never need to be revisited: an inserted right row can only re-stamp left rows
+ * whose current match precedes it. We therefore evict from the front of each right SSA, and discard right additions
+ * that arrive behind the window.
+ * </p>
+ */
+public final class AsOfJoinRetentionEvictor implements SafeCloseable {
+    /**
+     * Removing a value from the front of an SSA node shifts the rest of the node; past this many evictions we collect
+     * the whole prefix and remove it at once.
+     */
+    private static final int MAX_INDIVIDUAL_EVICTIONS = 64;
+
+    private final AsOfJoinRetention retention;
+    private final ColumnSource<?> rightStampSource;
+    private final ChunkSsaStamp chunkSsaStamp;
+
+    private final SizedSafeCloseable<ColumnSource.FillContext> fillContext;
+    private final SizedSafeCloseable<LongSortKernel<Values, RowKeys>> sortKernel;
+    private final SizedChunk<Values> stampValues;
+    private final SizedLongChunk<RowKeys> stampKeys;
+    private final SizedLongChunk<RowKeys> rightKeysForAdded = new SizedLongChunk<>();
+
+    public AsOfJoinRetentionEvictor(@NotNull final AsOfJoinRetention retention,
+            @NotNull final ColumnSource<?> rightStampSource) {
+        this.retention = retention;
+        this.rightStampSource = rightStampSource;
+        chunkSsaStamp = ChunkSsaStamp.make(rightStampSource.getChunkType(), false);
+        fillContext = new SizedSafeCloseable<>(rightStampSource::makeFillContext);
+        sortKernel = new SizedSafeCloseable<>(
+                size -> LongSortKernel.makeContext(rightStampSource.getChunkType(), SortingOrder.Ascending, size,
+                        true));
+        stampValues = new SizedChunk<>(rightStampSource.getChunkType());
+        stampKeys = new SizedLongChunk<>();
+    }
+
+    /**
+     * Remove the right additions that precede the retained window of {@code rightSsa}, so that they are neither
+     * inserted nor matched.
+     *
+     * @param rightSsa the right SSA for the additions' key
+     * @param stampChunk the stamps of the additions, sorted; compacted in place
+     * @param keyChunk the row keys of the additions, parallel to stampChunk; compacted in place
+     */
+    public void removeLateAdditions(
+            @NotNull final SegmentedSortedArray rightSsa,
+            @NotNull final WritableChunk<Values> stampChunk,
+            @NotNull final WritableLongChunk<RowKeys> keyChunk) {
+        final int size = stampChunk.size();
+        if (size == 0 || rightSsa.size() == 0) {
+            return;
+        }
+        int late = 0;
+        if (retention.isCountBased()) {
+            if (rightSsa.size() < retention.count()) {
+                // nothing has been evicted, so nothing is late
+                return;
+            }
+            final WritableLongChunk<RowKeys> rightKeys = rightKeysForAdded.ensureCapacity(size);
+            chunkSsaStamp.processEntry(stampChunk, keyChunk, rightSsa, rightKeys, false);
+            while (late < size && rightKeys.get(late) == RowSequence.NULL_ROW_KEY) {
+                ++late;
+            }
+        } else {
+            final long cutoff = cutoff(rightStampSource.getLong(rightSsa.getLast()));
+            final LongChunk<Values> stamps = stampChunk.asLongChunk();
+            while (late < size && stamps.get(late) < cutoff) {
+                ++late;
+            }
+        }
+        if (late == 0) {
+            return;
+        }
+        stampChunk.copyFromChunk(stampChunk, late, 0, size - late);
+        stampChunk.setSize(size - late);
+        keyChunk.copyFromChunk(keyChunk, late, 0, size - late);
+        keyChunk.setSize(size - late);
+    }
+
+    /**
+     * Evict the right rows that have fallen out of the retained window from the front of {@code rightSsa}.
+     *
+     * @param rightSsa the right SSA for a single key
+     */
+    public void evict(@NotNull final SegmentedSortedArray rightSsa) {
+        if (retention.isCountBased()) {
+            final long excess = rightSsa.size() - retention.count();
+            if (excess <= 0) {
+                return;
+            }
+            if (excess <= MAX_INDIVIDUAL_EVICTIONS) {
+                for (int ii = 0; ii < excess; ++ii) {
+                    evictFirst(rightSsa);
+                }
+                return;
+            }
+            final MutableInt remaining = new MutableInt(Math.toIntExact(excess));
+            evictPrefix(rightSsa, key -> remaining.getAndDecrement() > 0);
+            return;
+        }
+
+        if (rightSsa.size() == 0) {
+            return;
+        }
+        final long cutoff = cutoff(rightStampSource.getLong(rightSsa.getLast()));
+        for (int ii = 0; ii < MAX_INDIVIDUAL_EVICTIONS; ++ii) {
+            if (rightStampSource.getLong(rightSsa.getFirst()) >= cutoff) {
+                return;
+            }
+            evictFirst(rightSsa);
+        }
+        evictPrefix(rightSsa, key -> rightStampSource.getLong(key) < cutoff);
+    }
+
+    /**
+     * Remove right rows that are outside the retained window from a key's right RowSet, which is not yet stamped
+     * against any left rows. Row sets are trimmed lazily (when they double past the retained count, or when their
+     * first row precedes the window of their last row), since each trim must sort the stamps.
+     *
+     * @param rightRowSet the right RowSet for a single key
+     */
+    public void trim(@NotNull final WritableRowSet rightRowSet) {
+        if (rightRowSet.isEmpty()) {
+            return;
+        }
+        if (retention.isCountBased()) {
+            if (rightRowSet.size() <= 2L * retention.count()) {
+                return;
+            }
+        } else if (rightStampSource.getLong(rightRowSet.firstRowKey()) >= cutoff(
+                rightStampSource.getLong(rightRowSet.lastRowKey()))) {
+            return;
+        }
+
+        final int size = rightRowSet.intSize();
+        final WritableLongChunk<RowKeys> keys = stampKeys.ensureCapacity(size);
+        final WritableChunk<Values> values = stampValues.ensureCapacity(size);
+        rightRowSet.fillRowKeyChunk(keys);
+        rightStampSource.fillChunk(fillContext.ensureCapacity(size), values, rightRowSet);
+        sortKernel.ensureCapacity(size).sort(keys, values);
+
+        int evictCount = 0;
+        if (retention.isCountBased()) {
+            evictCount = size - retention.count();
+        } else {
+            final LongChunk<Values> stamps = values.asLongChunk();
+            final long cutoff = cutoff(stamps.get(size - 1));
+            while (evictCount < size && stamps.get(evictCount) < cutoff) {
+                ++evictCount;
+            }
+        }
+
+        final RowSetBuilderRandom builder = RowSetFactory.builderRandom();
+        for (int ii = 0; ii < evictCount; ++ii) {
+            builder.addKey(keys.get(ii));
+        }
+        try (final RowSet evicted = builder.build()) {
+            rightRowSet.remove(evicted);
+        }
+    }
+
+    private long cutoff(final long latestStamp) {
+        final long nanos = retention.nanos();
+        return latestStamp < Long.MIN_VALUE + nanos ? Long.MIN_VALUE : latestStamp - nanos;
+    }
+
+    private void evictFirst(@NotNull final SegmentedSortedArray rightSsa) {
+        try (final RowSet evicted = RowSetFactory.fromKeys(rightSsa.getFirst())) {
+            remove(rightSsa, evicted);
+        }
+    }
+
+    private void evictPrefix(@NotNull final SegmentedSortedArray rightSsa, @NotNull final LongPredicate inPrefix) {
+        final RowSetBuilderRandom builder = RowSetFactory.builderRandom();
+        final MutableBoolean evicting = new MutableBoolean(true);
+        rightSsa.forAllKeys(key -> {
+            if (evicting.booleanValue() && inPrefix.test(key)) {
+                builder.addKey(key);
+            } else {
+                evicting.setFalse();
+            }
+        });
+        try (final RowSet evicted = builder.build()) {
+            remove(rightSsa, evicted);
+        }
+    }
+
+    private void remove(@NotNull final SegmentedSortedArray rightSsa, @NotNull final RowSet evicted) {
+        final int size = evicted.intSize();
+        if (size == 0) {
+            return;
+        }
+        final WritableLongChunk<RowKeys> keys = stampKeys.ensureCapacity(size);
+        final WritableChunk<Values> values = stampValues.ensureCapacity(size);
+        evicted.fillRowKeyChunk(keys);
+        rightStampSource.fillChunk(fillContext.ensureCapacity(size), values, evicted);
+        sortKernel.ensureCapacity(size).sort(keys, values);
+        rightSsa.remove(values, keys);
+    }
+
+    @Override
+    public void close() {
+        SafeCloseable.closeAll(fillContext, sortKernel, stampValues, stampKeys, rightKeysForAdded);
+    }
+}
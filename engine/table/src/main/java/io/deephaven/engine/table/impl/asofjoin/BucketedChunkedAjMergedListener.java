@@ -31,6 +31,7 @@ import io.deephaven.engine.table.impl.util.compact.LongCompactKernel;
 import io.deephaven.engine.rowset.chunkattributes.RowKeys;
 import io.deephaven.util.SafeCloseable;
 import org.apache.commons.lang3.mutable.MutableObject;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -57,6 +58,7 @@ public class BucketedChunkedAjMergedListener extends MergedListener {
     private final ChunkSsaStamp chunkSsaStamp;
     private final RightIncrementalHashedAsOfJoinStateManager asOfJoinStateManager;
     private final WritableRowRedirection rowRedirection;
+    private final AsOfJoinRetentionEvictor rightRetentionEvictor;
     private final ModifiedColumnSet leftKeyColumns;
     private final ModifiedColumnSet rightKeyColumns;
     private final ModifiedColumnSet leftStampColumn;
@@ -96,7 +98,8 @@ public class BucketedChunkedAjMergedListener extends MergedListener {
             boolean disallowExactMatch,
             SsaSsaStamp ssaSsaStamp,
             JoinControl control, RightIncrementalHashedAsOfJoinStateManager asOfJoinStateManager,
-            WritableRowRedirection rowRedirection) {
+            WritableRowRedirection rowRedirection,
+            @Nullable AsOfJoinRetentionEvictor rightRetentionEvictor) {
         super(Arrays.asList(leftRecorder, rightRecorder), Collections.emptyList(), listenerDescription, result);
         this.leftRecorder = leftRecorder;
         this.rightRecorder = rightRecorder;
@@ -111,6 +114,7 @@ public class BucketedChunkedAjMergedListener extends MergedListener {
         this.ssaSsaStamp = ssaSsaStamp;
         this.asOfJoinStateManager = asOfJoinStateManager;
         this.rowRedirection = rowRedirection;
+        this.rightRetentionEvictor = rightRetentionEvictor;
 
         leftKeySources = leftSources;
         rightKeySources = rightSources;
@@ -293,6 +297,13 @@ public class BucketedChunkedAjMergedListener extends MergedListener {
             final boolean rightKeysModified = rightRecorder.getModifiedColumnSet().containsAny(rightKeyColumns);
             final boolean rightStampModified = rightRecorder.getModifiedColumnSet().containsAny(rightStampColumn);
 
+            if (rightRetentionEvictor != null && (rightRecorder.getRemoved().isNonempty()
+                    || rightRecorder.getModified().isNonempty() || rightRecorder.getShifted().nonempty())) {
+                // evicted right rows are no longer in our SSAs, so we could neither remove nor restamp them
+                throw new IllegalStateException(
+                        "As-of join with right retention requires an append-only right table");
+            }
+
             final RowSet rightRestampRemovals;
             final RowSet rightRestampAdditions;
             if (rightKeysModified || rightStampModified) {
@@ -506,11 +517,18 @@ public class BucketedChunkedAjMergedListener extends MergedListener {
 
                     if (makeRightIndex) {
                         asOfJoinStateManager.setRightIndex(slot, rightAdded);
+                        if (rightRetentionEvictor != null) {
+                            rightRetentionEvictor.trim(asOfJoinStateManager.getRightIndex(slot));
+                        }
                         continue;
                     }
                     if (updateRightIndex) {
-                        asOfJoinStateManager.getRightIndex(slot).insert(rightAdded);
+                        final WritableRowSet rightRowSet = asOfJoinStateManager.getRightIndex(slot);
+                        rightRowSet.insert(rightAdded);
                         rightAdded.close();
+                        if (rightRetentionEvictor != null) {
+                            rightRetentionEvictor.trim(rightRowSet);
+                        }
                         continue;
                     }
 
@@ -535,6 +553,14 @@ public class BucketedChunkedAjMergedListener extends MergedListener {
 
                             sortKernel.sort(insertedIndices, stampChunk);
 
+                            if (rightRetentionEvictor != null) {
+                                rightRetentionEvictor.removeLateAdditions(rightSsa, stampChunk, insertedIndices);
+                                if (stampChunk.size() == 0) {
+                                    continue;
+                                }
+                            }
+                            final int insertedSize = stampChunk.size();
+
                             final int valuesWithNext =
                                     rightSsa.insertAndGetNextValue(stampChunk, insertedIndices, nextRightValue);
 
@@ -546,9 +572,9 @@ public class BucketedChunkedAjMergedListener extends MergedListener {
                                 stampChunkEquals.notEqual(stampChunk, nextRightValue, retainStamps);
                                 stampCompact.compact(nextRightValue, retainStamps);
 
-                                retainStamps.setSize(chunkOk.intSize());
+                                retainStamps.setSize(insertedSize);
                                 retainStamps.set(valuesWithNext, true);
-                                stampChunk.setSize(chunkOk.intSize());
+                                stampChunk.setSize(insertedSize);
                             } else {
                                 // remove duplicates
                                 stampChunkEquals.notEqual(stampChunk, nextRightValue, retainStamps);
@@ -561,6 +587,10 @@ public class BucketedChunkedAjMergedListener extends MergedListener {
                                     rowRedirection, modifiedBuilder, endsWithLastValue, disallowExactMatch);
                         }
                     }
+
+                    if (rightRetentionEvictor != null) {
+                        rightRetentionEvictor.evict(rightSsa);
+                    }
                 }
             }
 
@@ -691,6 +721,9 @@ public class BucketedChunkedAjMergedListener extends MergedListener {
                 final SegmentedSortedArray leftSsa = asOfJoinStateManager.getLeftSsa(slot, leftSsaFactory);
 
                 if (processInitial) {
+                    if (rightRetentionEvictor != null) {
+                        rightRetentionEvictor.evict(rightSsa);
+                    }
                     ssaSsaStamp.processEntry(leftSsa, rightSsa, rowRedirection, disallowExactMatch);
                     leftSsa.forAllKeys(modifiedBuilder::addKey);
                 }
@@ -738,7 +771,7 @@ public class BucketedChunkedAjMergedListener extends MergedListener {
         }
 
         SafeCloseable.closeAll(sortKernel, leftStampKeys, leftStampValues, leftFillContext, leftSsaFactory,
-                rightSsaFactory);
+                rightSsaFactory, rightRetentionEvictor);
 
         downstream.modified = leftRecorder.getModified().union(modifiedBuilder.build());
 
@@ -788,7 +821,6 @@ public class BucketedChunkedAjMergedListener extends MergedListener {
 
     @Override
     protected void destroy() {
-        leftSsaFactory.close();
-        rightSsaFactory.close();
+        SafeCloseable.closeAll(leftSsaFactory, rightSsaFactory, rightRetentionEvictor);
     }
 }
@@ -3,6 +3,7 @@
  */
 package io.deephaven.engine.table.impl.by;
 
+import io.deephaven.configuration.Configuration;
 import io.deephaven.engine.table.Table;
 import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.engine.table.impl.sources.regioned.SymbolTableSource;
@@ -21,6 +22,26 @@ public class AggregationControl {
     private static final double DEFAULT_MAX_LOAD_FACTOR = 0.75;
     private static final double DEFAULT_TARGET_LOAD_FACTOR = 0.70;
 
+    /**
+     * Static aggregations with at least this many estimated states (i.e. distinct keys) are computed one key-hash
+     * partition at a time. The number of states, not the number of input rows, determines the memory used by the hash
+     * table and operator results.
+     */
+    private static final long PARTITIONED_STATIC_AGGREGATION_THRESHOLD = Configuration.getInstance()
+            .getLongWithDefault("AggregationControl.partitionedStaticAggregationThreshold", 1L << 24);
+    /**
+     * The number of states we would like in each partition of a partitioned static aggregation.
+     */
+    private static final long PARTITIONED_STATIC_AGGREGATION_TARGET_SIZE = Configuration.getInstance()
+            .getLongWithDefault("AggregationControl.partitionedStaticAggregationTargetSize", 1L << 22);
+    private static final int MAX_PARTITIONED_STATIC_AGGREGATION_BITS = 10;
+    /**
+     * Whether refreshing aggregations whose input rows never shift or change keys (i.e. rollup levels above the base)
+     * remember each input row's state, rather than re-probing the hash table for modified rows.
+     */
+    private static final boolean CACHE_STABLE_INPUT_ROW_SLOTS = Configuration.getInstance()
+            .getBooleanWithDefault("AggregationControl.cacheStableInputRowSlots", true);
+
     public static final AggregationControl DEFAULT = new AggregationControl();
     public static final AggregationControl DEFAULT_FOR_OPERATOR = new AggregationControl() {
         @Override
@@ -50,6 +71,58 @@ public class AggregationControl {
         return shiftSize <= numStates * 2;
     }
 
+    /**
+     * Could a static aggregation of {@code inputTable} have enough states to be worth computing one key-hash partition
+     * at a time? This is checked before {@link #usePartitionedStaticAggregation(long) estimating} the number of
+     * states, which requires sampling the input's keys. Only used for aggregations that
+     * {@link AggregationProcessor#supportsPartitionedStaticAggregation() support it}.
+     *
+     * @param inputTable the input table
+     * @return true if the number of states should be estimated
+     */
+    public boolean considerPartitionedStaticAggregation(@NotNull final Table inputTable) {
+        // an aggregation cannot have more states than input rows
+        return !inputTable.isRefreshing() && inputTable.size() >= PARTITIONED_STATIC_AGGREGATION_THRESHOLD;
+    }
+
+    /**
+     * Should a static aggregation be computed one key-hash partition at a time, releasing each partition's hash table
+     * after its results are materialized?
+     *
+     * @param estimatedNumStates the estimated number of states (distinct keys) in the aggregation
+     * @return true if the aggregation should be partitioned
+     */
+    public boolean usePartitionedStaticAggregation(final long estimatedNumStates) {
+        return estimatedNumStates >= PARTITIONED_STATIC_AGGREGATION_THRESHOLD;
+    }
+
+    /**
+     * @param estimatedNumStates the estimated number of states (distinct keys) in a partitioned static aggregation
+     * @return the number of hash bits used to select a partition
+     */
+    public int partitionedStaticAggregationBits(final long estimatedNumStates) {
+        final long partitions = Math.max(1, estimatedNumStates / PARTITIONED_STATIC_AGGREGATION_TARGET_SIZE);
+        return Math.min(MAX_PARTITIONED_STATIC_AGGREGATION_BITS, 64 - Long.numberOfLeadingZeros(partitions - 1));
+    }
+
+    /**
+     * Should a refreshing aggregation of {@code inputTable} remember the state each input row belongs to, so that
+     * modified rows need not be re-probed? This requires that input rows never shift or change their group-by key
+     * values, which the default implementation only assumes for
+     * {@link AggregationProcessor#hasStableInputRows() rollup levels above the base}.
+     *
+     * @param aggregationContextFactory the aggregation context factory
+     * @param inputTable the input table
+     * @return true if the aggregation should cache the state for each input row
+     */
+    public boolean cacheInputRowSlots(
+            @NotNull final AggregationContextFactory aggregationContextFactory,
+            @NotNull final Table inputTable) {
+        return CACHE_STABLE_INPUT_ROW_SLOTS && inputTable.isRefreshing()
+                && aggregationContextFactory instanceof AggregationProcessor
+                && ((AggregationProcessor) aggregationContextFactory).hasStableInputRows();
+    }
+
     boolean considerSymbolTables(@NotNull final Table inputTable, final boolean useGrouping,
             @NotNull final ColumnSource<?>[] sources) {
         return !inputTable.isRefreshing() && !useGrouping && sources.length == 1
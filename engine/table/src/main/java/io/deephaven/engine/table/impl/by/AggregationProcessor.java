@@ -9,6 +9,7 @@ import io.deephaven.api.SortColumn;
 import io.deephaven.api.agg.*;
 import io.deephaven.api.agg.spec.AggSpec;
 import io.deephaven.api.agg.spec.AggSpecAbsSum;
+import io.deephaven.api.agg.spec.AggSpecApproximateCountDistinct;
 import io.deephaven.api.agg.spec.AggSpecApproximatePercentile;
 import io.deephaven.api.agg.spec.AggSpecAvg;
 import io.deephaven.api.agg.spec.AggSpecCountDistinct;
@@ -95,6 +96,7 @@ import io.deephaven.engine.table.impl.by.ssmcountdistinct.unique.ObjectRollupUni
 import io.deephaven.engine.table.impl.by.ssmcountdistinct.unique.ShortChunkedUniqueOperator;
 import io.deephaven.engine.table.impl.by.ssmcountdistinct.unique.ShortRollupUniqueOperator;
 import io.deephaven.engine.table.impl.by.ssmminmax.SsmChunkedMinMaxOperator;
+import io.deephaven.engine.table.impl.by.ssmpercentile.CompactChunkedPercentileOperator;
 import io.deephaven.engine.table.impl.by.ssmpercentile.SsmChunkedPercentileOperator;
 import io.deephaven.engine.table.impl.sources.ReinterpretUtils;
 import io.deephaven.engine.table.impl.ssms.SegmentedSortedMultiSet;
@@ -271,6 +273,70 @@ public class AggregationProcessor implements AggregationContextFactory {
         return type.name() + ':' + aggregations;
     }
 
+    /**
+     * Is the input to this aggregation guaranteed to have rows that never shift or change their group-by key values?
+     * This holds for reaggregated rollup levels, whose input is the aggregation result for the level below.
+     *
+     * @return Whether input rows are stable, allowing {@link AggregationControl#cacheInputRowSlots input row slot
+     *         caching}
+     */
+    boolean hasStableInputRows() {
+        return type == Type.ROLLUP_REAGGREGATED;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // Partitioned Static Aggregation Support
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Can this aggregation be computed one key-hash partition at a time for a static input table? We restrict this to
+     * normal aggregations of decomposable operators (count, sum, min, max, first, last, and avg, plus first and last row
+     * keys), whose results are cheap to materialize per partition.
+     *
+     * @return Whether this aggregation supports {@link PartitionedStaticAggregation partitioned static aggregation}
+     */
+    boolean supportsPartitionedStaticAggregation() {
+        return type == Type.NORMAL
+                && aggregations.stream().allMatch(AggregationProcessor::supportsPartitionedStaticAggregation);
+    }
+
+    private static boolean supportsPartitionedStaticAggregation(@NotNull final Aggregation aggregation) {
+        if (aggregation instanceof Aggregations) {
+            return ((Aggregations) aggregation).aggregations().stream()
+                    .allMatch(AggregationProcessor::supportsPartitionedStaticAggregation);
+        }
+        if (aggregation instanceof Count || aggregation instanceof FirstRowKey
+                || aggregation instanceof LastRowKey) {
+            return true;
+        }
+        final AggSpec spec;
+        if (aggregation instanceof ColumnAggregation) {
+            spec = ((ColumnAggregation) aggregation).spec();
+        } else if (aggregation instanceof ColumnAggregations) {
+            spec = ((ColumnAggregations) aggregation).spec();
+        } else {
+            return false;
+        }
+        return spec instanceof AggSpecSum || spec instanceof AggSpecMin || spec instanceof AggSpecMax
+                || spec instanceof AggSpecFirst || spec instanceof AggSpecLast || spec instanceof AggSpecAvg;
+    }
+
+    /**
+     * Make a normal {@link AggregationContextFactory} for this processor's aggregations, with an additional
+     * {@link FirstRowKey} aggregation. Used by {@link PartitionedStaticAggregation} to restore the result order of a
+     * monolithic aggregation.
+     *
+     * @param firstRowKeyColumn The name of the first row key column to add
+     * @return The {@link AggregationContextFactory}
+     */
+    AggregationContextFactory withFirstRowKey(@NotNull final ColumnName firstRowKeyColumn) {
+        Assert.assertion(type == Type.NORMAL, "type == Type.NORMAL");
+        final Collection<Aggregation> withFirstRowKey = new ArrayList<>(aggregations.size() + 1);
+        withFirstRowKey.addAll(aggregations);
+        withFirstRowKey.add(FirstRowKey.of(firstRowKeyColumn));
+        return new AggregationProcessor(withFirstRowKey, Type.NORMAL);
+    }
+
     // -----------------------------------------------------------------------------------------------------------------
     // AggregationContextFactory
     // -----------------------------------------------------------------------------------------------------------------
@@ -446,6 +512,17 @@ public class AggregationProcessor implements AggregationContextFactory {
             }
         }
 
+        final void addApproximateCountDistinctOperators(final int precision, final boolean exposeSketches) {
+            for (final Pair pair : resultPairs) {
+                final String inputName = pair.input().name();
+                final String resultName = pair.output().name();
+                final ColumnSource<?> inputSource = maybeReinterpretInstantAsLong(table.getColumnSource(inputName));
+
+                addOperator(new HyperLogLogCountDistinctOperator(table, inputSource, precision, resultName,
+                        exposeSketches, false), inputSource, inputName);
+            }
+        }
+
         final void addApproximatePercentileOperators(final double percentile, final double compression) {
             for (final Pair pair : resultPairs) {
                 final String inputName = pair.input().name();
@@ -458,7 +535,6 @@ public class AggregationProcessor implements AggregationContextFactory {
         final void addApproximatePercentileOperator(final double percentile, final double compression,
                 @NotNull final String inputName, @NotNull final String resultName) {
             final ColumnSource<?> inputSource = table.getColumnSource(inputName);
-            final Class<?> type = inputSource.getType();
 
             final int size = inputSources.size();
             for (int ii = 0; ii < size; ii++) {
@@ -473,8 +549,35 @@ public class AggregationProcessor implements AggregationContextFactory {
                     }
                 }
             }
-            addOperator(new TDigestPercentileOperator(type, compression, percentile, resultName), inputSource,
-                    inputName);
+            addOperator(new TDigestPercentileOperator(table, inputSource, compression, percentile, resultName),
+                    inputSource, inputName);
+        }
+
+        final void addTDigestOperators(final double compression) {
+            for (final Pair pair : resultPairs) {
+                final String inputName = pair.input().name();
+                final String resultName = pair.output().name();
+                final ColumnSource<?> inputSource = table.getColumnSource(inputName);
+
+                addOperator(new TDigestPercentileOperator(table, inputSource, compression, resultName,
+                        ZERO_LENGTH_DOUBLE_ARRAY, ZERO_LENGTH_STRING_ARRAY), inputSource, inputName);
+            }
+        }
+
+        /**
+         * Add approximate percentile operators that expose their digests, for rollup re-aggregation. Digests are never
+         * shared between percentiles, so that each result column can find its digests by name at the next level.
+         */
+        final void addRollupApproximatePercentileOperators(final double percentile, final double compression) {
+            for (final Pair pair : resultPairs) {
+                final String inputName = pair.input().name();
+                final String resultName = pair.output().name();
+                final ColumnSource<?> inputSource = table.getColumnSource(inputName);
+
+                addOperator(new TDigestPercentileOperator(table, inputSource, compression,
+                        resultName + ROLLUP_TDIGEST_COLUMN_ID + ROLLUP_COLUMN_SUFFIX,
+                        new double[] {percentile}, new String[] {resultName}), inputSource, inputName);
+            }
         }
 
         final void addFreezeOperators() {
@@ -712,6 +815,12 @@ public class AggregationProcessor implements AggregationContextFactory {
             addBasicOperators((t, n) -> makeSumOperator(t, n, true));
         }
 
+        @Override
+        public void visit(@NotNull final AggSpecApproximateCountDistinct approxCountDistinct) {
+            addApproximateCountDistinctOperators(
+                    approxCountDistinct.precision().orElse(HyperLogLogCountDistinctOperator.PRECISION_DEFAULT), false);
+        }
+
         @Override
         public void visit(@NotNull final AggSpecApproximatePercentile approxPct) {
             addApproximatePercentileOperators(approxPct.percentile(),
@@ -771,7 +880,8 @@ public class AggregationProcessor implements AggregationContextFactory {
 
         @Override
         public void visit(@NotNull final AggSpecMedian median) {
-            addBasicOperators((t, n) -> new SsmChunkedPercentileOperator(t, 0.50d, median.averageEvenlyDivided(), n));
+            addBasicOperators((t, n) -> makePercentileOperator(t, n, 0.50d, median.averageEvenlyDivided(),
+                    median.compact()));
         }
 
         @Override
@@ -781,8 +891,8 @@ public class AggregationProcessor implements AggregationContextFactory {
 
         @Override
         public void visit(@NotNull final AggSpecPercentile pct) {
-            addBasicOperators(
-                    (t, n) -> new SsmChunkedPercentileOperator(t, pct.percentile(), pct.averageEvenlyDivided(), n));
+            addBasicOperators((t, n) -> makePercentileOperator(t, n, pct.percentile(), pct.averageEvenlyDivided(),
+                    pct.compact()));
         }
 
         @Override
@@ -806,9 +916,7 @@ public class AggregationProcessor implements AggregationContextFactory {
         }
 
         public void visit(@NotNull final AggSpecTDigest tDigest) {
-            addBasicOperators((t, n) -> new TDigestPercentileOperator(t,
-                    tDigest.compression().orElse(TDigestPercentileOperator.COMPRESSION_DEFAULT), n,
-                    ZERO_LENGTH_DOUBLE_ARRAY, ZERO_LENGTH_STRING_ARRAY));
+            addTDigestOperators(tDigest.compression().orElse(TDigestPercentileOperator.COMPRESSION_DEFAULT));
         }
 
         @Override
@@ -859,12 +967,6 @@ public class AggregationProcessor implements AggregationContextFactory {
         // AggSpec.Visitor for unsupported column aggregation specs
         // -------------------------------------------------------------------------------------------------------------
 
-        @Override
-        @FinalDefault
-        default void visit(@NotNull final AggSpecApproximatePercentile approxPct) {
-            rollupUnsupported("ApproximatePercentile");
-        }
-
         @Override
         default void visit(AggSpecFreeze freeze) {
             rollupUnsupported("Freeze");
@@ -893,12 +995,6 @@ public class AggregationProcessor implements AggregationContextFactory {
         default void visit(@NotNull final AggSpecPercentile pct) {
             rollupUnsupported("Percentile");
         }
-
-        @Override
-        @FinalDefault
-        default void visit(@NotNull final AggSpecTDigest tDigest) {
-            rollupUnsupported("TDigest");
-        }
     }
 
     private static void rollupUnsupported(@NotNull final String operationName) {
@@ -967,6 +1063,18 @@ public class AggregationProcessor implements AggregationContextFactory {
             addBasicOperators((t, n) -> makeSumOperator(t, n, true));
         }
 
+        @Override
+        public void visit(@NotNull final AggSpecApproximateCountDistinct approxCountDistinct) {
+            addApproximateCountDistinctOperators(
+                    approxCountDistinct.precision().orElse(HyperLogLogCountDistinctOperator.PRECISION_DEFAULT), true);
+        }
+
+        @Override
+        public void visit(@NotNull final AggSpecApproximatePercentile approxPct) {
+            addRollupApproximatePercentileOperators(approxPct.percentile(),
+                    approxPct.compression().orElse(TDigestPercentileOperator.COMPRESSION_DEFAULT));
+        }
+
         @Override
         public void visit(@NotNull final AggSpecAvg avg) {
             addBasicOperators((t, n) -> makeAvgOperator(t, n, true));
@@ -1022,6 +1130,12 @@ public class AggregationProcessor implements AggregationContextFactory {
             addBasicOperators((t, n) -> makeSumOperator(t, n, false));
         }
 
+        @Override
+        public void visit(@NotNull final AggSpecTDigest tDigest) {
+            // The digests are the results, so they need no additional exposure to re-aggregate.
+            addTDigestOperators(tDigest.compression().orElse(TDigestPercentileOperator.COMPRESSION_DEFAULT));
+        }
+
         @Override
         public void visit(@NotNull final AggSpecUnique unique) {
             addBasicOperators((t, n) -> makeUniqueOperator(t, n, unique.includeNulls(), null,
@@ -1117,6 +1231,33 @@ public class AggregationProcessor implements AggregationContextFactory {
             reaggregateAsSum();
         }
 
+        @Override
+        public void visit(@NotNull final AggSpecApproximateCountDistinct approxCountDistinct) {
+            final int precision =
+                    approxCountDistinct.precision().orElse(HyperLogLogCountDistinctOperator.PRECISION_DEFAULT);
+            for (final Pair pair : resultPairs) {
+                final String resultName = pair.output().name();
+                final String sketchName = resultName + ROLLUP_HLL_SKETCH_COLUMN_ID + ROLLUP_COLUMN_SUFFIX;
+                final ColumnSource<?> sketchSource = table.getColumnSource(sketchName);
+
+                addOperator(new HyperLogLogCountDistinctOperator(table, sketchSource, precision, resultName,
+                        true, true), sketchSource, sketchName);
+            }
+        }
+
+        @Override
+        public void visit(@NotNull final AggSpecApproximatePercentile approxPct) {
+            final double compression = approxPct.compression().orElse(TDigestPercentileOperator.COMPRESSION_DEFAULT);
+            for (final Pair pair : resultPairs) {
+                final String resultName = pair.output().name();
+                final String digestName = resultName + ROLLUP_TDIGEST_COLUMN_ID + ROLLUP_COLUMN_SUFFIX;
+                final ColumnSource<?> digestSource = table.getColumnSource(digestName);
+
+                addOperator(new TDigestPercentileOperator(table, digestSource, compression, digestName,
+                        new double[] {approxPct.percentile()}, new String[] {resultName}), digestSource, digestName);
+            }
+        }
+
         @Override
         public void visit(@NotNull final AggSpecAvg avg) {
             reaggregateAvgOperator();
@@ -1174,6 +1315,18 @@ public class AggregationProcessor implements AggregationContextFactory {
             reaggregateAsSum();
         }
 
+        @Override
+        public void visit(@NotNull final AggSpecTDigest tDigest) {
+            final double compression = tDigest.compression().orElse(TDigestPercentileOperator.COMPRESSION_DEFAULT);
+            for (final Pair pair : resultPairs) {
+                final String resultName = pair.output().name();
+                final ColumnSource<?> digestSource = table.getColumnSource(resultName);
+
+                addOperator(new TDigestPercentileOperator(table, digestSource, compression, resultName,
+                        ZERO_LENGTH_DOUBLE_ARRAY, ZERO_LENGTH_STRING_ARRAY), digestSource, resultName);
+            }
+        }
+
         @Override
         public void visit(@NotNull final AggSpecUnique unique) {
             reaggregateSsmBackedOperator((ssmSrc, priorResultSrc, n) -> makeUniqueOperator(priorResultSrc.getType(), n,
@@ -1540,6 +1693,18 @@ public class AggregationProcessor implements AggregationContextFactory {
         }
     }
 
+    private static IterativeChunkedAggregationOperator makePercentileOperator(
+            @NotNull final Class<?> type,
+            @NotNull final String name,
+            final double percentile,
+            final boolean averageEvenlyDivided,
+            final boolean compact) {
+        if (compact && CompactChunkedPercentileOperator.supportsType(type)) {
+            return new CompactChunkedPercentileOperator(type, percentile, averageEvenlyDivided, name);
+        }
+        return new SsmChunkedPercentileOperator(type, percentile, averageEvenlyDivided, name);
+    }
+
     private static IterativeChunkedAggregationOperator makeCountDistinctOperator(
             @NotNull final Class<?> type,
             @NotNull final String name,
@@ -25,8 +25,10 @@ import io.deephaven.vector.ObjectVector;
  * </p>
  *
  * <p>
- * The input table must be add only, if modifications or removals take place; then an UnsupportedOperationException is
- * thrown. For tables with adds and removals you must use exact percentiles with {@link Aggregation#AggPct}.
+ * T-digests cannot forget values. If the input table modifies or removes rows, each affected bucket's digest is rebuilt
+ * from the bucket's current rows, which requires tracking the rows of every bucket. Add only and blink tables avoid this
+ * cost. For tables with frequent modifications or removals, consider exact percentiles with
+ * {@link Aggregation#AggPct}.
  * </p>
  *
  * <p>
@@ -58,6 +60,13 @@ import io.deephaven.vector.ObjectVector;
  * amount of error introduced is related to the compression factor that you have selected for the digests. Once you have
  * a combined digest object, you can call the quantile or other functions to extract the desired percentile.
  * </p>
+ *
+ * <p>
+ * Alternatively, {@link Aggregation#AggTDigest} and {@link Aggregation#AggApproxPct} accept a column of digests as
+ * their input, in which case the input digests are merged. Digest columns may be persisted (for example, to Parquet)
+ * with {@link TDigestCodec}, which is their default codec, and merged when they are read back. Rollups re-aggregate
+ * approximate percentiles by merging the digests of the level below, rather than the original rows.
+ * </p>
  */
 public class ApproximatePercentile {
 
@@ -67,6 +67,15 @@ public class ChunkedOperatorAggregationHelper {
             Configuration.getInstance().getBooleanWithDefault(
                     "ChunkedOperatorAggregationHelper.useOpenAddressedStateManager",
                     true);
+    /**
+     * Use {@link StaticPackedLongChunkedOperatorAggregationStateManager} for static aggregations with a single
+     * {@code long} (or {@code long}-reinterpretable) key column.
+     */
+    @VisibleForTesting
+    static boolean USE_PACKED_LONG_STATE_MANAGER =
+            Configuration.getInstance().getBooleanWithDefault(
+                    "ChunkedOperatorAggregationHelper.usePackedLongStateManager",
+                    false);
 
     public static QueryTable aggregation(
             @NotNull final AggregationContextFactory aggregationContextFactory,
@@ -118,6 +127,14 @@ public class ChunkedOperatorAggregationHelper {
                 }
             }
         }
+        if (initialKeys == null && keyNames.length > 0) {
+            final int partitionBits =
+                    PartitionedStaticAggregation.partitionBits(control, aggregationContextFactory, input, keyNames);
+            if (partitionBits > 0) {
+                return PartitionedStaticAggregation.aggregation(
+                        control, (AggregationProcessor) aggregationContextFactory, input, keyNames, partitionBits);
+            }
+        }
         final Mutable<QueryTable> resultHolder = new MutableObject<>();
         final OperationSnapshotControl snapshotControl =
                 input.createSnapshotControlIfRefreshing(OperationSnapshotControl::new);
@@ -131,7 +148,7 @@ public class ChunkedOperatorAggregationHelper {
         return resultHolder.getValue();
     }
 
-    private static QueryTable aggregation(
+    static QueryTable aggregation(
             @NotNull final AggregationControl control,
             @Nullable final OperationSnapshotControl snapshotControl,
             @NotNull final AggregationContextFactory aggregationContextFactory,
@@ -184,10 +201,12 @@ public class ChunkedOperatorAggregationHelper {
             useSymbolTable = false;
         }
 
+        final boolean cacheInputRowSlots =
+                initialKeys == null && control.cacheInputRowSlots(aggregationContextFactory, input);
         final MutableInt outputPosition = new MutableInt();
         final Supplier<OperatorAggregationStateManager> stateManagerSupplier =
                 () -> makeStateManager(control, input, keySources, reinterpretedKeySources, ac,
-                        useSymbolTable ? symbolTable : null);
+                        useSymbolTable ? symbolTable : null, cacheInputRowSlots);
         final OperatorAggregationStateManager stateManager;
         if (initialKeys == null) {
             stateManager = stateManagerSupplier.get();
@@ -273,6 +292,10 @@ public class ChunkedOperatorAggregationHelper {
                             if (upstreamToUse.empty()) {
                                 return;
                             }
+                            if (cacheInputRowSlots) {
+                                // Cached input row slots are keyed by row key, and so would be invalidated by shifts
+                                Assert.assertion(upstreamToUse.shifted().empty(), "upstream.shifted().empty()");
+                            }
                             final TableUpdate downstream;
                             try (final KeyedUpdateContext kuc = new KeyedUpdateContext(ac, incrementalStateManager,
                                     reinterpretedKeySources, permuteKernels, keysUpstreamModifiedColumnSet,
@@ -310,25 +333,34 @@ public class ChunkedOperatorAggregationHelper {
             @NotNull final AggregationControl control, @NotNull final QueryTable input,
             @NotNull final ColumnSource<?>[] keySources, @NotNull final ColumnSource<?>[] reinterpretedKeySources,
             @NotNull final AggregationContext ac,
-            @Nullable final Table symbolTableToUse) {
+            @Nullable final Table symbolTableToUse,
+            final boolean cacheInputRowSlots) {
         final OperatorAggregationStateManager stateManager;
         if (input.isRefreshing()) {
+            final IncrementalOperatorAggregationStateManager incrementalStateManager;
             if (USE_OPEN_ADDRESSED_STATE_MANAGER) {
-                stateManager = TypedHasherFactory.make(
+                incrementalStateManager = TypedHasherFactory.make(
                         IncrementalChunkedOperatorAggregationStateManagerOpenAddressedBase.class,
                         reinterpretedKeySources,
                         keySources, control.initialHashTableSize(input), control.getMaximumLoadFactor(),
                         control.getTargetLoadFactor());
             } else {
-                stateManager = TypedHasherFactory.make(
+                incrementalStateManager = TypedHasherFactory.make(
                         IncrementalChunkedOperatorAggregationStateManagerTypedBase.class, reinterpretedKeySources,
                         keySources, control.initialHashTableSize(input), control.getMaximumLoadFactor(),
                         control.getTargetLoadFactor());
             }
+            stateManager = cacheInputRowSlots
+                    ? new InputRowSlotCachingStateManager(incrementalStateManager)
+                    : incrementalStateManager;
         } else {
             if (symbolTableToUse != null) {
                 stateManager = new StaticSymbolTableChunkedOperatorAggregationStateManager(reinterpretedKeySources[0],
                         symbolTableToUse);
+            } else if (USE_PACKED_LONG_STATE_MANAGER
+                    && StaticPackedLongChunkedOperatorAggregationStateManager.canUse(reinterpretedKeySources)) {
+                stateManager = new StaticPackedLongChunkedOperatorAggregationStateManager(
+                        control.initialHashTableSize(input), control.getMaximumLoadFactor());
             } else if (USE_OPEN_ADDRESSED_STATE_MANAGER) {
                 stateManager = TypedHasherFactory.make(
                         StaticChunkedOperatorAggregationStateManagerOpenAddressedBase.class,
@@ -0,0 +1,604 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl.by;
+
+import io.deephaven.chunk.*;
+import io.deephaven.chunk.attributes.ChunkLengths;
+import io.deephaven.chunk.attributes.ChunkPositions;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.liveness.LivenessReferent;
+import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.rowset.RowSet;
+import io.deephaven.engine.rowset.RowSetBuilderRandom;
+import io.deephaven.engine.rowset.WritableRowSet;
+import io.deephaven.engine.rowset.chunkattributes.RowKeys;
+import io.deephaven.engine.table.ChunkSource;
+import io.deephaven.engine.table.ColumnSource;
+import io.deephaven.engine.table.ModifiedColumnSet;
+import io.deephaven.engine.table.TableUpdate;
+import io.deephaven.engine.table.impl.QueryTable;
+import io.deephaven.engine.table.impl.sources.LongArraySource;
+import io.deephaven.engine.table.impl.sources.ObjectArraySource;
+import io.deephaven.util.SafeCloseable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import static io.deephaven.util.QueryConstants.*;
+
+/**
+ * <p>
+ * Iterative approximate count distinct operator, which keeps a {@link HyperLogLogSketch} per bucket.
+ * </p>
+ *
+ * <p>
+ * Additions are applied to the bucket's sketch directly. HyperLogLog sketches cannot forget values, so for refreshing
+ * inputs that may remove or modify rows we track each bucket's row set with an internal {@link GroupByChunkedOperator},
+ * and rebuild the sketch of any bucket that lost a value from its current rows at the end of the step.
+ * </p>
+ *
+ * <p>
+ * The sketches may be exposed as a result column, and a separate instance may re-aggregate exposed sketches by merging
+ * them. This is how rollups are supported.
+ * </p>
+ */
+public class HyperLogLogCountDistinctOperator implements IterativeChunkedAggregationOperator {
+
+    static final int PRECISION_DEFAULT = 12;
+
+    private static final int REBUILD_CHUNK_SIZE = 4096;
+    private static final String GROUP_ROW_SETS_NAME = "__HLL_GROUP_ROW_SETS__";
+
+    private final int precision;
+    private final String resultName;
+    private final String sketchColumnName;
+    private final boolean sketchInput;
+    private final ChunkType chunkType;
+    private final ChunkSource.WithPrev<Values> inputSource;
+
+    private final ObjectArraySource<HyperLogLogSketch> sketches;
+    private final LongArraySource resultColumn;
+
+    /**
+     * Tracks the rows of each bucket for sketch rebuilds, or null if the input never removes or modifies rows.
+     */
+    private final GroupByChunkedOperator groupBy;
+    private final ColumnSource<? extends RowSet> groupRowSets;
+
+    private boolean modifiedThisStep;
+    private RowSetBuilderRandom stepDestinationsToRebuild;
+
+    /**
+     * Construct an approximate count distinct operator.
+     *
+     * @param table the input table, used to decide whether sketch rebuilds must be supported
+     * @param inputSource the input column source; either values to count, or {@link HyperLogLogSketch sketches} to
+     *        merge if {@code sketchInput}
+     * @param precision the {@link HyperLogLogSketch#precision() precision} of our sketches
+     * @param resultName the name of the result column
+     * @param exposeSketches whether our sketches should be exposed as an additional result column, for re-aggregation
+     * @param sketchInput whether {@code inputSource} contains sketches to merge, rather than values to count
+     */
+    public HyperLogLogCountDistinctOperator(
+            @NotNull final QueryTable table,
+            @NotNull final ChunkSource.WithPrev<Values> inputSource,
+            final int precision,
+            @NotNull final String resultName,
+            final boolean exposeSketches,
+            final boolean sketchInput) {
+        this.precision = precision;
+        this.resultName = resultName;
+        sketchColumnName = exposeSketches
+                ? resultName + RollupConstants.ROLLUP_HLL_SKETCH_COLUMN_ID + RollupConstants.ROLLUP_COLUMN_SUFFIX
+                : null;
+        this.sketchInput = sketchInput;
+        this.inputSource = inputSource;
+        chunkType = inputSource.getChunkType();
+        if (sketchInput && chunkType != ChunkType.Object) {
+            throw new IllegalArgumentException("Sketch input must be an Object column, found " + chunkType);
+        }
+        sketches = new ObjectArraySource<>(HyperLogLogSketch.class);
+        resultColumn = new LongArraySource();
+        if (table.isRefreshing() && !table.isAddOnly() && !table.isBlink()) {
+            groupBy = new GroupByChunkedOperator(table, false, GROUP_ROW_SETS_NAME);
+            // noinspection unchecked
+            groupRowSets = (ColumnSource<? extends RowSet>) groupBy.getResultColumns().get(GROUP_ROW_SETS_NAME);
+        } else {
+            groupBy = null;
+            groupRowSets = null;
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // Bucketed
+    // -----------------------------------------------------------------------------------------------------------------
+
+    @Override
+    public void addChunk(BucketedContext bucketedContext, Chunk<? extends Values> values,
+            LongChunk<? extends RowKeys> inputRowKeys, IntChunk<RowKeys> destinations,
+            IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
+            WritableBooleanChunk<Values> stateModified) {
+        final HllContext context = (HllContext) bucketedContext;
+        if (groupBy != null) {
+            groupBy.addChunk(context.groupByBucketedContext, null, inputRowKeys, destinations, startPositions,
+                    length, context.groupByStateModified);
+        }
+        context.prepareValues(values);
+        for (int ii = 0; ii < startPositions.size(); ++ii) {
+            final int startPosition = startPositions.get(ii);
+            stateModified.set(ii, addRun(context, destinations.get(startPosition), startPosition, length.get(ii)));
+        }
+    }
+
+    @Override
+    public void removeChunk(BucketedContext bucketedContext, Chunk<? extends Values> values,
+            LongChunk<? extends RowKeys> inputRowKeys, IntChunk<RowKeys> destinations,
+            IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
+            WritableBooleanChunk<Values> stateModified) {
+        final HllContext context = (HllContext) bucketedContext;
+        rebuildRequired().removeChunk(context.groupByBucketedContext, null, inputRowKeys, destinations,
+                startPositions, length, context.groupByStateModified);
+        context.prepareValues(values);
+        for (int ii = 0; ii < startPositions.size(); ++ii) {
+            final int startPosition = startPositions.get(ii);
+            stateModified.set(ii, removeRun(context, destinations.get(startPosition), startPosition, length.get(ii)));
+        }
+    }
+
+    @Override
+    public void modifyChunk(BucketedContext bucketedContext, Chunk<? extends Values> preValues,
+            Chunk<? extends Values> postValues, LongChunk<? extends RowKeys> postShiftRowKeys,
+            IntChunk<RowKeys> destinations, IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
+            WritableBooleanChunk<Values> stateModified) {
+        rebuildRequired();
+        final HllContext context = (HllContext) bucketedContext;
+        context.prepareValues(preValues, postValues);
+        for (int ii = 0; ii < startPositions.size(); ++ii) {
+            final int startPosition = startPositions.get(ii);
+            stateModified.set(ii, modifyRun(context, destinations.get(startPosition), startPosition, length.get(ii)));
+        }
+    }
+
+    @Override
+    public void shiftChunk(BucketedContext bucketedContext, Chunk<? extends Values> previousValues,
+            Chunk<? extends Values> newValues, LongChunk<? extends RowKeys> preShiftRowKeys,
+            LongChunk<? extends RowKeys> postShiftRowKeys, IntChunk<RowKeys> destinations,
+            IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
+            WritableBooleanChunk<Values> stateModified) {
+        final HllContext context = (HllContext) bucketedContext;
+        rebuildRequired().shiftChunk(context.groupByBucketedContext, null, null, preShiftRowKeys,
+                postShiftRowKeys, destinations, startPositions, length, context.groupByStateModified);
+        // shifted rows may also have been modified
+        context.prepareValues(previousValues, newValues);
+        for (int ii = 0; ii < startPositions.size(); ++ii) {
+            final int startPosition = startPositions.get(ii);
+            stateModified.set(ii, modifyRun(context, destinations.get(startPosition), startPosition, length.get(ii)));
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // Singleton
+    // -----------------------------------------------------------------------------------------------------------------
+
+    @Override
+    public boolean addChunk(SingletonContext singletonContext, int chunkSize, Chunk<? extends Values> values,
+            LongChunk<? extends RowKeys> inputRowKeys, long destination) {
+        final HllContext context = (HllContext) singletonContext;
+        if (groupBy != null) {
+            groupBy.addChunk(context.groupBySingletonContext, chunkSize, null, inputRowKeys, destination);
+        }
+        context.prepareValues(values);
+        return addRun(context, destination, 0, chunkSize);
+    }
+
+    @Override
+    public boolean removeChunk(SingletonContext singletonContext, int chunkSize, Chunk<? extends Values> values,
+            LongChunk<? extends RowKeys> inputRowKeys, long destination) {
+        final HllContext context = (HllContext) singletonContext;
+        rebuildRequired().removeChunk(context.groupBySingletonContext, chunkSize, null, inputRowKeys, destination);
+        context.prepareValues(values);
+        return removeRun(context, destination, 0, chunkSize);
+    }
+
+    @Override
+    public boolean modifyChunk(SingletonContext singletonContext, int chunkSize, Chunk<? extends Values> previousValues,
+            Chunk<? extends Values> newValues, LongChunk<? extends RowKeys> postShiftRowKeys, long destination) {
+        rebuildRequired();
+        final HllContext context = (HllContext) singletonContext;
+        context.prepareValues(previousValues, newValues);
+        return modifyRun(context, destination, 0, chunkSize);
+    }
+
+    @Override
+    public boolean shiftChunk(SingletonContext singletonContext, Chunk<? extends Values> previousValues,
+            Chunk<? extends Values> newValues, LongChunk<? extends RowKeys> preShiftRowKeys,
+            LongChunk<? extends RowKeys> postShiftRowKeys, long destination) {
+        final HllContext context = (HllContext) singletonContext;
+        rebuildRequired().shiftChunk(context.groupBySingletonContext, null, null, preShiftRowKeys, postShiftRowKeys,
+                destination);
+        // shifted rows may also have been modified
+        context.prepareValues(previousValues, newValues);
+        return modifyRun(context, destination, 0, newValues.size());
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // Sketch maintenance
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private GroupByChunkedOperator rebuildRequired() {
+        if (groupBy == null) {
+            throw new IllegalStateException(
+                    "Approximate count distinct received removes or modifies for an input that should have none");
+        }
+        return groupBy;
+    }
+
+    private boolean addRun(@NotNull final HllContext context, final long destination, final int start,
+            final int length) {
+        HyperLogLogSketch sketch = null;
+        for (int ii = start; ii < start + length; ++ii) {
+            if (sketchInput) {
+                final HyperLogLogSketch inputSketch = context.inputSketches.get(ii);
+                if (inputSketch != null) {
+                    (sketch == null ? sketch = sketchForSlot(destination) : sketch).merge(inputSketch);
+                }
+            } else if (context.present.get(ii)) {
+                (sketch == null ? sketch = sketchForSlot(destination) : sketch).add(context.hashes.get(ii));
+            }
+        }
+        return noteModified(sketch != null);
+    }
+
+    private boolean removeRun(@NotNull final HllContext context, final long destination, final int start,
+            final int length) {
+        for (int ii = start; ii < start + length; ++ii) {
+            if (sketchInput ? context.inputSketches.get(ii) != null : context.present.get(ii)) {
+                return noteRebuild(destination);
+            }
+        }
+        return false;
+    }
+
+    private boolean modifyRun(@NotNull final HllContext context, final long destination, final int start,
+            final int length) {
+        HyperLogLogSketch sketch = null;
+        for (int ii = start; ii < start + length; ++ii) {
+            if (sketchInput) {
+                final HyperLogLogSketch preSketch = context.inputSketches.get(ii);
+                final HyperLogLogSketch postSketch = context.postInputSketches.get(ii);
+                if (preSketch != null && preSketch != postSketch) {
+                    // a replaced input sketch may have forgotten values
+                    return noteRebuild(destination);
+                }
+                if (postSketch != null) {
+                    // an input sketch that is only updated in place has only added values, and merging is idempotent
+                    (sketch == null ? sketch = sketchForSlot(destination) : sketch).merge(postSketch);
+                }
+            } else {
+                final boolean prePresent = context.present.get(ii);
+                final boolean postPresent = context.postPresent.get(ii);
+                if (prePresent && (!postPresent || context.hashes.get(ii) != context.postHashes.get(ii))) {
+                    return noteRebuild(destination);
+                }
+                if (postPresent && !prePresent) {
+                    (sketch == null ? sketch = sketchForSlot(destination) : sketch).add(context.postHashes.get(ii));
+                }
+            }
+        }
+        return noteModified(sketch != null);
+    }
+
+    private boolean noteModified(final boolean modified) {
+        modifiedThisStep |= modified;
+        return modified;
+    }
+
+    private boolean noteRebuild(final long destination) {
+        stepDestinationsToRebuild.addKey(destination);
+        modifiedThisStep = true;
+        return true;
+    }
+
+    private HyperLogLogSketch sketchForSlot(final long slot) {
+        HyperLogLogSketch sketch = sketches.getUnsafe(slot);
+        if (sketch == null) {
+            sketches.set(slot, sketch = new HyperLogLogSketch(precision));
+        }
+        return sketch;
+    }
+
+    private void rebuildDestinations(@NotNull final RowSet destinations) {
+        try (final ChunkSource.GetContext getContext = inputSource.makeGetContext(REBUILD_CHUNK_SIZE);
+                final HllContext context = new HllContext(REBUILD_CHUNK_SIZE)) {
+            destinations.forAllRowKeys(destination -> {
+                // we always make a new sketch, so that downstream re-aggregations know to rebuild, too
+                final HyperLogLogSketch sketch = new HyperLogLogSketch(precision);
+                try (final RowSequence.Iterator rowsIterator = groupRowSets.get(destination).getRowSequenceIterator()) {
+                    while (rowsIterator.hasMore()) {
+                        final RowSequence rows = rowsIterator.getNextRowSequenceWithLength(REBUILD_CHUNK_SIZE);
+                        context.prepareValues(inputSource.getChunk(getContext, rows));
+                        for (int ii = 0; ii < rows.intSize(); ++ii) {
+                            if (sketchInput) {
+                                final HyperLogLogSketch inputSketch = context.inputSketches.get(ii);
+                                if (inputSketch != null) {
+                                    sketch.merge(inputSketch);
+                                }
+                            } else if (context.present.get(ii)) {
+                                sketch.add(context.hashes.get(ii));
+                            }
+                        }
+                    }
+                }
+                sketches.set(destination, sketch);
+            });
+        }
+    }
+
+    private void updateDestination(final long destination) {
+        final HyperLogLogSketch sketch = sketches.getUnsafe(destination);
+        resultColumn.set(destination, sketch == null ? 0 : sketch.estimate());
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // Lifecycle
+    // -----------------------------------------------------------------------------------------------------------------
+
+    @Override
+    public void ensureCapacity(final long tableSize) {
+        sketches.ensureCapacity(tableSize);
+        resultColumn.ensureCapacity(tableSize);
+        if (groupBy != null) {
+            groupBy.ensureCapacity(tableSize);
+        }
+    }
+
+    @Override
+    public Map<String, ? extends ColumnSource<?>> getResultColumns() {
+        final Map<String, ColumnSource<?>> results = new LinkedHashMap<>(2);
+        results.put(resultName, resultColumn);
+        if (sketchColumnName != null) {
+            results.put(sketchColumnName, sketches);
+        }
+        return results;
+    }
+
+    @Override
+    public void propagateInitialState(@NotNull final QueryTable resultTable, int startingDestinationsCount) {
+        if (groupBy != null) {
+            groupBy.propagateInitialState(resultTable, startingDestinationsCount);
+        }
+        resultTable.getRowSet().forAllRowKeys(this::updateDestination);
+    }
+
+    @Override
+    public void startTrackingPrevValues() {
+        resultColumn.startTrackingPrevValues();
+        if (sketchColumnName != null) {
+            sketches.startTrackingPrevValues();
+        }
+    }
+
+    @Override
+    public UnaryOperator<ModifiedColumnSet> initializeRefreshing(
+            @NotNull final QueryTable resultTable,
+            @NotNull final LivenessReferent aggregationUpdateListener) {
+        if (groupBy != null) {
+            groupBy.initializeRefreshing(resultTable, aggregationUpdateListener);
+        }
+        return IterativeChunkedAggregationOperator.super.initializeRefreshing(resultTable, aggregationUpdateListener);
+    }
+
+    @Override
+    public void resetForStep(@NotNull final TableUpdate upstream, final int startingDestinationsCount) {
+        modifiedThisStep = false;
+        if (groupBy != null) {
+            groupBy.resetForStep(upstream, startingDestinationsCount);
+            stepDestinationsToRebuild = new BitmapRandomBuilder(startingDestinationsCount);
+        }
+    }
+
+    @Override
+    public void propagateUpdates(@NotNull final TableUpdate downstream, @NotNull final RowSet newDestinations) {
+        if (groupBy != null) {
+            groupBy.propagateUpdates(downstream, newDestinations);
+            try (final WritableRowSet toRebuild = stepDestinationsToRebuild.build()) {
+                // removed destinations have no rows left; we must not leave a stale sketch in a reusable slot
+                downstream.removed().forAllRowKeys(destination -> sketches.set(destination, null));
+                toRebuild.retain(downstream.modified());
+                rebuildDestinations(toRebuild);
+            }
+            stepDestinationsToRebuild = null;
+        }
+        downstream.added().forAllRowKeys(this::updateDestination);
+        if (modifiedThisStep) {
+            downstream.modified().forAllRowKeys(this::updateDestination);
+        }
+    }
+
+    @Override
+    public boolean requiresRowKeys() {
+        return groupBy != null;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // Contexts and hashing
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private class HllContext implements SingletonContext, BucketedContext {
+
+        private final BucketedContext groupByBucketedContext;
+        private final SingletonContext groupBySingletonContext;
+        private final WritableBooleanChunk<Values> groupByStateModified;
+
+        private final WritableLongChunk<Values> hashes;
+        private final WritableBooleanChunk<Values> present;
+        private final WritableLongChunk<Values> postHashes;
+        private final WritableBooleanChunk<Values> postPresent;
+
+        private ObjectChunk<HyperLogLogSketch, ? extends Values> inputSketches;
+        private ObjectChunk<HyperLogLogSketch, ? extends Values> postInputSketches;
+
+        private HllContext(final int size) {
+            if (groupBy != null) {
+                groupByBucketedContext = groupBy.makeBucketedContext(size);
+                groupBySingletonContext = groupBy.makeSingletonContext(size);
+                // the group-by reports every run as modified; we decide for ourselves
+                groupByStateModified = WritableBooleanChunk.makeWritableChunk(size);
+            } else {
+                groupByBucketedContext = null;
+                groupBySingletonContext = null;
+                groupByStateModified = null;
+            }
+            if (sketchInput) {
+                hashes = postHashes = null;
+                present = postPresent = null;
+            } else {
+                hashes = WritableLongChunk.makeWritableChunk(size);
+                present = WritableBooleanChunk.makeWritableChunk(size);
+                postHashes = WritableLongChunk.makeWritableChunk(size);
+                postPresent = WritableBooleanChunk.makeWritableChunk(size);
+            }
+        }
+
+        private void prepareValues(@NotNull final Chunk<? extends Values> values) {
+            if (sketchInput) {
+                inputSketches = values.asObjectChunk();
+            } else {
+                hashValues(chunkType, values, hashes, present);
+            }
+        }
+
+        private void prepareValues(
+                @NotNull final Chunk<? extends Values> preValues,
+                @NotNull final Chunk<? extends Values> postValues) {
+            prepareValues(preValues);
+            if (sketchInput) {
+                postInputSketches = postValues.asObjectChunk();
+            } else {
+                hashValues(chunkType, postValues, postHashes, postPresent);
+            }
+        }
+
+        @Override
+        public void close() {
+            SafeCloseable.closeAll(groupByBucketedContext, groupBySingletonContext, groupByStateModified,
+                    hashes, present, postHashes, postPresent);
+        }
+    }
+
+    @Override
+    public BucketedContext makeBucketedContext(final int size) {
+        return new HllContext(size);
+    }
+
+    @Override
+    public SingletonContext makeSingletonContext(final int size) {
+        return new HllContext(size);
+    }
+
+    /**
+     * Hash each value in {@code values}, recording whether each value is non-null. Equal values always have equal
+     * hashes, including {@code -0.0} and {@code 0.0}, and all NaNs.
+     */
+    private static void hashValues(
+            @NotNull final ChunkType chunkType,
+            @NotNull final Chunk<? extends Values> values,
+            @NotNull final WritableLongChunk<Values> hashes,
+            @NotNull final WritableBooleanChunk<Values> present) {
+        final int size = values.size();
+        hashes.setSize(size);
+        present.setSize(size);
+        switch (chunkType) {
+            case Char: {
+                final CharChunk<? extends Values> typed = values.asCharChunk();
+                for (int ii = 0; ii < size; ++ii) {
+                    final char value = typed.get(ii);
+                    present.set(ii, value != NULL_CHAR);
+                    hashes.set(ii, HyperLogLogSketch.mix64(value));
+                }
+                break;
+            }
+            case Byte: {
+                final ByteChunk<? extends Values> typed = values.asByteChunk();
+                for (int ii = 0; ii < size; ++ii) {
+                    final byte value = typed.get(ii);
+                    present.set(ii, value != NULL_BYTE);
+                    hashes.set(ii, HyperLogLogSketch.mix64(value));
+                }
+                break;
+            }
+            case Short: {
+                final ShortChunk<? extends Values> typed = values.asShortChunk();
+                for (int ii = 0; ii < size; ++ii) {
+                    final short value = typed.get(ii);
+                    present.set(ii, value != NULL_SHORT);
+                    hashes.set(ii, HyperLogLogSketch.mix64(value));
+                }
+                break;
+            }
+            case Int: {
+                final IntChunk<? extends Values> typed = values.asIntChunk();
+                for (int ii = 0; ii < size; ++ii) {
+                    final int value = typed.get(ii);
+                    present.set(ii, value != NULL_INT);
+                    hashes.set(ii, HyperLogLogSketch.mix64(value));
+                }
+                break;
+            }
+            case Long: {
+                final LongChunk<? extends Values> typed = values.asLongChunk();
+                for (int ii = 0; ii < size; ++ii) {
+                    final long value = typed.get(ii);
+                    present.set(ii, value != NULL_LONG);
+                    hashes.set(ii, HyperLogLogSketch.mix64(value));
+                }
+                break;
+            }
+            case Float: {
+                final FloatChunk<? extends Values> typed = values.asFloatChunk();
+                for (int ii = 0; ii < size; ++ii) {
+                    final float value = typed.get(ii);
+                    present.set(ii, value != NULL_FLOAT);
+                    hashes.set(ii, HyperLogLogSketch.mix64(Float.floatToIntBits(value == 0.0f ? 0.0f : value)));
+                }
+                break;
+            }
+            case Double: {
+                final DoubleChunk<? extends Values> typed = values.asDoubleChunk();
+                for (int ii = 0; ii < size; ++ii) {
+                    final double value = typed.get(ii);
+                    present.set(ii, value != NULL_DOUBLE);
+                    hashes.set(ii, HyperLogLogSketch.mix64(Double.doubleToLongBits(value == 0.0 ? 0.0 : value)));
+                }
+                break;
+            }
+            case Object: {
+                final ObjectChunk<?, ? extends Values> typed = values.asObjectChunk();
+                for (int ii = 0; ii < size; ++ii) {
+                    final Object value = typed.get(ii);
+                    present.set(ii, value != null);
+                    hashes.set(ii, value == null ? 0 : hashObject(value));
+                }
+                break;
+            }
+            default:
+                throw new UnsupportedOperationException("Approximate count distinct does not support " + chunkType);
+        }
+    }
+
+    private static long hashObject(@NotNull final Object value) {
+        if (value instanceof String) {
+            // Object.hashCode() only gives us 32 bits, which would collide too often for high cardinality strings
+            final String stringValue = (String) value;
+            long hash = 0xcbf29ce484222325L;
+            for (int ci = 0; ci < stringValue.length(); ++ci) {
+                hash = (hash ^ stringValue.charAt(ci)) * 0x100000001b3L;
+            }
+            return HyperLogLogSketch.mix64(hash);
+        }
+        return HyperLogLogSketch.mix64(value.hashCode());
+    }
+}
@@ -0,0 +1,304 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl.by;
+
+import io.deephaven.base.verify.Assert;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * A HyperLogLog sketch for estimating the number of distinct 64-bit hashes that have been {@link #add(long) added}.
+ * </p>
+ *
+ * <p>
+ * Following HLL++, a sketch starts out in a sparse representation, which holds a sorted array of (index, rank) pairs
+ * at a precision of {@value #SPARSE_PRECISION} bits. Small sketches thus cost only a few bytes per distinct value, and
+ * are estimated with linear counting over {@code 2^}{@value #SPARSE_PRECISION} registers, which is very accurate. Once
+ * the sparse representation would be larger than the dense representation, the sketch converts to an array of
+ * {@code 2^precision} byte registers.
+ * </p>
+ *
+ * <p>
+ * Sketches of the same precision may be {@link #merge(HyperLogLogSketch) merged}. Merging is idempotent, so merging a
+ * sketch that has only grown since it was last merged is always correct.
+ * </p>
+ */
+public final class HyperLogLogSketch {
+
+    /**
+     * The precision of the sparse representation.
+     */
+    static final int SPARSE_PRECISION = 25;
+
+    private static final int SPARSE_RANK_BITS = 6;
+    private static final int SPARSE_RANK_MASK = (1 << SPARSE_RANK_BITS) - 1;
+    private static final int PENDING_CAPACITY = 64;
+
+    private final int precision;
+
+    /**
+     * Sorted, unique-index encoded (index, rank) pairs, or null once dense.
+     */
+    private int[] sparse;
+    private int sparseSize;
+    /**
+     * Unsorted encoded (index, rank) pairs not yet folded into {@link #sparse}, or null once dense.
+     */
+    private int[] pending;
+    private int pendingSize;
+
+    /**
+     * The dense registers, or null while sparse.
+     */
+    private byte[] registers;
+
+    /**
+     * Make an empty sketch.
+     *
+     * @param precision the base 2 logarithm of the number of dense registers
+     */
+    public HyperLogLogSketch(final int precision) {
+        Assert.geq(precision, "precision", 4);
+        Assert.leq(precision, "precision", 18);
+        this.precision = precision;
+        sparse = new int[0];
+        pending = new int[Math.min(PENDING_CAPACITY, sparseLimit())];
+    }
+
+    /**
+     * Mix a 64-bit value into a well-distributed 64-bit hash (David Stafford's variant 13).
+     *
+     * @param value the value to mix
+     * @return the hash
+     */
+    public static long mix64(long value) {
+        value ^= (value >>> 30);
+        value *= 0xbf58476d1ce4e5b9L;
+        value ^= (value >>> 27);
+        value *= 0x94d049bb133111ebL;
+        value ^= (value >>> 31);
+        return value;
+    }
+
+    /**
+     * @return the base 2 logarithm of the number of dense registers
+     */
+    public int precision() {
+        return precision;
+    }
+
+    /**
+     * @return whether this sketch is still in the sparse representation
+     */
+    boolean isSparse() {
+        return registers == null;
+    }
+
+    /**
+     * Add a hash to this sketch.
+     *
+     * @param hash the well-distributed hash to add
+     */
+    public void add(final long hash) {
+        if (registers != null) {
+            addDense(hash);
+            return;
+        }
+        final int sparseIndex = (int) (hash >>> (64 - SPARSE_PRECISION));
+        final int sparseRank = Long.numberOfLeadingZeros((hash << SPARSE_PRECISION) | (1L << 24)) + 1;
+        pending[pendingSize++] = (sparseIndex << SPARSE_RANK_BITS) | sparseRank;
+        if (pendingSize == pending.length) {
+            foldPending();
+        }
+    }
+
+    private void addDense(final long hash) {
+        final int index = (int) (hash >>> (64 - precision));
+        final int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        if (registers[index] < rank) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * Merge {@code other} into this sketch, which will then estimate the cardinality of the union of both inputs.
+     *
+     * @param other the sketch to merge, which must have the same {@link #precision()}
+     */
+    public void merge(@NotNull final HyperLogLogSketch other) {
+        Assert.eq(precision, "precision", other.precision, "other.precision");
+        if (other == this) {
+            return;
+        }
+        // folding may convert either sketch to the dense representation, so check again afterwards
+        other.foldPending();
+        if (other.registers != null) {
+            toDense();
+            final byte[] otherRegisters = other.registers;
+            for (int ii = 0; ii < registers.length; ++ii) {
+                if (registers[ii] < otherRegisters[ii]) {
+                    registers[ii] = otherRegisters[ii];
+                }
+            }
+            return;
+        }
+        foldPending();
+        if (registers != null) {
+            for (int ii = 0; ii < other.sparseSize; ++ii) {
+                addSparseEntryToDense(other.sparse[ii]);
+            }
+            return;
+        }
+        final int[] merged = mergeSorted(sparse, sparseSize, other.sparse, other.sparseSize);
+        sparse = merged;
+        sparseSize = merged.length;
+        maybeConvertToDense();
+    }
+
+    /**
+     * @return the estimated number of distinct hashes added to (or merged into) this sketch
+     */
+    public long estimate() {
+        // folding may convert this sketch to the dense representation
+        foldPending();
+        if (registers == null) {
+            if (sparseSize == 0) {
+                return 0;
+            }
+            final double sparseRegisters = 1 << SPARSE_PRECISION;
+            return Math.round(linearCount(sparseRegisters, sparseRegisters - sparseSize));
+        }
+        final int numRegisters = registers.length;
+        double harmonicSum = 0;
+        int zeros = 0;
+        for (final byte register : registers) {
+            if (register == 0) {
+                ++zeros;
+            }
+            harmonicSum += Double.longBitsToDouble((1023L - register) << 52); // 2^-register
+        }
+        final double rawEstimate = alpha(numRegisters) * numRegisters * numRegisters / harmonicSum;
+        if (zeros > 0 && rawEstimate <= 2.5 * numRegisters) {
+            // small range correction, see Flajolet et al.; our 64-bit hashes require no large range correction
+            return Math.round(linearCount(numRegisters, zeros));
+        }
+        return Math.round(rawEstimate);
+    }
+
+    private static double linearCount(final double numRegisters, final double zeros) {
+        return numRegisters * Math.log(numRegisters / zeros);
+    }
+
+    private static double alpha(final int numRegisters) {
+        switch (numRegisters) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / numRegisters);
+        }
+    }
+
+    /**
+     * The maximum number of sparse entries before the sparse representation is larger than the dense one.
+     */
+    private int sparseLimit() {
+        return (1 << precision) / Integer.BYTES;
+    }
+
+    private void foldPending() {
+        if (pendingSize == 0) {
+            return;
+        }
+        Arrays.sort(pending, 0, pendingSize);
+        // keep only the maximum rank for each index; the ranks occupy the low bits, so the last entry for each index
+        // after sorting is the maximum
+        int uniqueSize = 0;
+        for (int ii = 0; ii < pendingSize; ++ii) {
+            if (ii + 1 < pendingSize && (pending[ii] >>> SPARSE_RANK_BITS) == (pending[ii + 1] >>> SPARSE_RANK_BITS)) {
+                continue;
+            }
+            pending[uniqueSize++] = pending[ii];
+        }
+        sparse = mergeSorted(sparse, sparseSize, pending, uniqueSize);
+        sparseSize = sparse.length;
+        pendingSize = 0;
+        maybeConvertToDense();
+    }
+
+    private void maybeConvertToDense() {
+        if (sparseSize > sparseLimit()) {
+            toDense();
+        }
+    }
+
+    private void toDense() {
+        if (registers != null) {
+            return;
+        }
+        foldPending();
+        if (registers != null) {
+            return;
+        }
+        registers = new byte[1 << precision];
+        for (int ii = 0; ii < sparseSize; ++ii) {
+            addSparseEntryToDense(sparse[ii]);
+        }
+        sparse = null;
+        sparseSize = 0;
+        pending = null;
+    }
+
+    private void addSparseEntryToDense(final int entry) {
+        final int sparseIndex = entry >>> SPARSE_RANK_BITS;
+        final int sparseRank = entry & SPARSE_RANK_MASK;
+        final int extraBits = SPARSE_PRECISION - precision;
+        final int index = sparseIndex >>> extraBits;
+        final int low = sparseIndex & ((1 << extraBits) - 1);
+        final int rank = low == 0
+                ? extraBits + sparseRank
+                : Integer.numberOfLeadingZeros(low) - (Integer.SIZE - extraBits) + 1;
+        if (registers[index] < rank) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * Merge two sorted arrays of encoded entries with unique indices, keeping the maximum rank for each index.
+     */
+    private static int[] mergeSorted(final int[] a, final int aSize, final int[] b, final int bSize) {
+        final int[] result = new int[aSize + bSize];
+        int ai = 0;
+        int bi = 0;
+        int ri = 0;
+        while (ai < aSize && bi < bSize) {
+            final int aIndex = a[ai] >>> SPARSE_RANK_BITS;
+            final int bIndex = b[bi] >>> SPARSE_RANK_BITS;
+            if (aIndex < bIndex) {
+                result[ri++] = a[ai++];
+            } else if (bIndex < aIndex) {
+                result[ri++] = b[bi++];
+            } else {
+                result[ri++] = Math.max(a[ai++], b[bi++]);
+            }
+        }
+        while (ai < aSize) {
+            result[ri++] = a[ai++];
+        }
+        while (bi < bSize) {
+            result[ri++] = b[bi++];
+        }
+        return ri == result.length ? result : Arrays.copyOf(result, ri);
+    }
+
+    @Override
+    public String toString() {
+        return "HyperLogLogSketch{precision=" + precision + ", estimate=" + estimate() + '}';
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl.by;
+
+import io.deephaven.chunk.WritableIntChunk;
+import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.rowset.chunkattributes.RowKeys;
+import io.deephaven.engine.table.ColumnSource;
+import io.deephaven.engine.table.impl.sources.IntegerArraySource;
+import io.deephaven.util.SafeCloseable;
+import io.deephaven.util.annotations.VisibleForTesting;
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.deephaven.util.QueryConstants.NULL_INT;
+
+/**
+ * <p>
+ * {@link IncrementalOperatorAggregationStateManager} that remembers the output position (slot) assigned to each input
+ * row, so that modified rows can be mapped to their slots without reading, hashing, and probing their group-by keys.
+ * </p>
+ *
+ * <p>
+ * This is only valid for inputs whose rows never shift and never change their group-by key values, as is the case for
+ * the levels of a rollup, each of which aggregates the result of the aggregation for the level below. Updates to a
+ * rollup leaf then only touch the hash tables of the levels where a bucket is added or removed; modifications follow
+ * the cached path from the leaf to the root, and stop at the first level whose aggregated values did not change.
+ * </p>
+ */
+final class InputRowSlotCachingStateManager implements IncrementalOperatorAggregationStateManager {
+
+    /**
+     * The number of modified rows, across all instances, whose output positions were found in the cache rather than by
+     * probing.
+     */
+    @VisibleForTesting
+    static final AtomicLong cachedModificationLookups = new AtomicLong();
+
+    private final IncrementalOperatorAggregationStateManager delegate;
+
+    /**
+     * Input row key to output position. Unset entries are {@link io.deephaven.util.QueryConstants#NULL_INT NULL_INT}.
+     */
+    private final IntegerArraySource inputRowSlots = new IntegerArraySource();
+
+    InputRowSlotCachingStateManager(@NotNull final IncrementalOperatorAggregationStateManager delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public int maxTableSize() {
+        return delegate.maxTableSize();
+    }
+
+    @Override
+    public SafeCloseable makeAggregationStateBuildContext(
+            @NotNull final ColumnSource<?>[] buildSources,
+            final long maxSize) {
+        return delegate.makeAggregationStateBuildContext(buildSources, maxSize);
+    }
+
+    @Override
+    public void add(
+            @NotNull final SafeCloseable bc,
+            @NotNull final RowSequence rowSequence,
+            @NotNull final ColumnSource<?>[] sources,
+            @NotNull final MutableInt nextOutputPosition,
+            @NotNull final WritableIntChunk<RowKeys> outputPositions) {
+        delegate.add(bc, rowSequence, sources, nextOutputPosition, outputPositions);
+        if (rowSequence.isEmpty()) {
+            return;
+        }
+        inputRowSlots.ensureCapacity(rowSequence.lastRowKey() + 1, true);
+        final MutableInt chunkPosition = new MutableInt();
+        rowSequence.forAllRowKeys(
+                rowKey -> inputRowSlots.set(rowKey, outputPositions.get(chunkPosition.getAndIncrement())));
+    }
+
+    @Override
+    public ColumnSource[] getKeyHashTableSources() {
+        return delegate.getKeyHashTableSources();
+    }
+
+    @Override
+    public int findPositionForKey(final Object key) {
+        return delegate.findPositionForKey(key);
+    }
+
+    @Override
+    public SafeCloseable makeProbeContext(@NotNull final ColumnSource<?>[] probeSources, final long maxSize) {
+        return delegate.makeProbeContext(probeSources, maxSize);
+    }
+
+    @Override
+    public void beginUpdateCycle() {
+        delegate.beginUpdateCycle();
+    }
+
+    @Override
+    public void startTrackingPrevValues() {
+        delegate.startTrackingPrevValues();
+    }
+
+    @Override
+    public void remove(
+            @NotNull final SafeCloseable pc,
+            @NotNull final RowSequence rowSequence,
+            @NotNull final ColumnSource<?>[] sources,
+            @NotNull final WritableIntChunk<RowKeys> outputPositions) {
+        // The delegate must see removes in order to maintain its per-state row counts. We retain the cached slots; an
+        // input row that is re-added always has the same key, and so the same slot.
+        delegate.remove(pc, rowSequence, sources, outputPositions);
+    }
+
+    @Override
+    public void findModifications(
+            @NotNull final SafeCloseable pc,
+            @NotNull final RowSequence rowSequence,
+            @NotNull final ColumnSource<?>[] sources,
+            @NotNull final WritableIntChunk<RowKeys> outputPositions) {
+        outputPositions.setSize(rowSequence.intSize());
+        if (rowSequence.isEmpty()) {
+            return;
+        }
+        if (rowSequence.lastRowKey() >= inputRowSlots.getCapacity()) {
+            delegate.findModifications(pc, rowSequence, sources, outputPositions);
+            return;
+        }
+        final MutableInt chunkPosition = new MutableInt();
+        final boolean allCached = rowSequence.forEachRowKey(rowKey -> {
+            final int slot = inputRowSlots.getInt(rowKey);
+            if (slot == NULL_INT) {
+                return false;
+            }
+            outputPositions.set(chunkPosition.getAndIncrement(), slot);
+            return true;
+        });
+        if (!allCached) {
+            // Rows added by a grouped initial build are not cached; fall back to probing
+            delegate.findModifications(pc, rowSequence, sources, outputPositions);
+            return;
+        }
+        cachedModificationLookups.addAndGet(outputPositions.size());
+    }
+}
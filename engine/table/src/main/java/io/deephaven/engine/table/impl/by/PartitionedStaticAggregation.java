@@ -0,0 +1,292 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl.by;
+
+import io.deephaven.api.ColumnName;
+import io.deephaven.engine.context.ExecutionContext;
+import io.deephaven.engine.rowset.RowSet;
+import io.deephaven.engine.rowset.RowSetBuilderSequential;
+import io.deephaven.engine.rowset.RowSetFactory;
+import io.deephaven.engine.table.ColumnSource;
+import io.deephaven.engine.table.Table;
+import io.deephaven.engine.table.TupleSource;
+import io.deephaven.engine.table.impl.QueryTable;
+import io.deephaven.engine.table.impl.TupleSourceFactory;
+import io.deephaven.engine.table.impl.indexer.RowSetIndexer;
+import io.deephaven.engine.table.impl.sources.LongArraySource;
+import io.deephaven.engine.table.impl.sources.RedirectedColumnSource;
+import io.deephaven.engine.table.impl.sources.ReinterpretUtils;
+import io.deephaven.engine.table.impl.util.LongColumnSourceWritableRowRedirection;
+import io.deephaven.engine.table.impl.util.WritableRowRedirection;
+import io.deephaven.engine.util.TableTools;
+import io.deephaven.util.SafeCloseable;
+import io.deephaven.util.SafeCloseableArray;
+import io.deephaven.util.annotations.VisibleForTesting;
+import org.apache.commons.lang3.mutable.MutableInt;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import static io.deephaven.engine.table.Table.AGGREGATION_ROW_LOOKUP_ATTRIBUTE;
+import static io.deephaven.engine.table.impl.util.TypedHasherUtil.partitionByKeyHash;
+
+/**
+ * <p>
+ * Computes a static keyed aggregation one key-hash partition at a time.
+ * </p>
+ *
+ * <p>
+ * A monolithic aggregation of a very high cardinality input holds a hash table and operator state for every key at
+ * once. Instead, we partition the input rows on the hash of their keys, so that every key belongs to exactly one
+ * partition, and aggregate each partition independently. Each partition's result is materialized with
+ * {@link Table#select() select} as soon as it is computed, which releases that partition's hash table and operator
+ * state before the next partition is aggregated. The partition results are then concatenated, ordered by the first row
+ * key of each group, so that the result is identical to that of a monolithic aggregation.
+ * </p>
+ */
+final class PartitionedStaticAggregation {
+
+    private static final ColumnName FIRST_ROW_KEY = ColumnName.of("__PARTITIONED_AGGREGATION_FIRST_ROW_KEY__");
+
+    /**
+     * The maximum number of input rows whose keys we sample to estimate the number of states.
+     */
+    private static final int SAMPLE_SIZE = 1 << 16;
+
+    private PartitionedStaticAggregation() {} // static use only
+
+    /**
+     * Decide whether the static aggregation of {@code input} should be partitioned, and if so, into how many
+     * partitions. Both decisions are based on the number of states (distinct keys), which we estimate from a sample of
+     * the input's keys.
+     *
+     * @param control the aggregation control
+     * @param aggregationContextFactory the aggregation context factory
+     * @param input the input table
+     * @param keyNames the group-by column names
+     * @return the number of key-hash bits to partition on for {@link #aggregation}, or 0 if the aggregation should not
+     *         be partitioned
+     */
+    static int partitionBits(
+            @NotNull final AggregationControl control,
+            @NotNull final AggregationContextFactory aggregationContextFactory,
+            @NotNull final QueryTable input,
+            @NotNull final String[] keyNames) {
+        if (input.isRefreshing() || !control.considerPartitionedStaticAggregation(input)) {
+            return 0;
+        }
+        if (!(aggregationContextFactory instanceof AggregationProcessor)
+                || !((AggregationProcessor) aggregationContextFactory).supportsPartitionedStaticAggregation()) {
+            return 0;
+        }
+        final ColumnSource<?>[] keySources =
+                Arrays.stream(keyNames).map(input::getColumnSource).toArray(ColumnSource[]::new);
+        // grouped aggregations do not build a hash table at all
+        if (control.considerGrouping(input, keySources)
+                && RowSetIndexer.of(input.getRowSet()).hasGrouping(keySources[0])) {
+            return 0;
+        }
+        final long estimatedNumStates = estimateNumStates(input.getRowSet(), keySources, SAMPLE_SIZE);
+        if (!control.usePartitionedStaticAggregation(estimatedNumStates)) {
+            return 0;
+        }
+        return control.partitionedStaticAggregationBits(estimatedNumStates);
+    }
+
+    /**
+     * Estimate the number of distinct keys in {@code rowSet}. We count the keys of up to {@code sampleSize} evenly
+     * spaced rows. Keys seen more than once in the sample are assumed to be common, and to have no unseen peers; keys
+     * seen exactly once stand in for the unsampled rows, which we assume are as likely to hold new keys as the sampled
+     * rows were. This errs towards over-estimating, and so towards partitioning, for inputs with many rare keys.
+     *
+     * @param rowSet the rows to estimate the number of distinct keys for
+     * @param keySources the key column sources
+     * @param sampleSize the maximum number of rows to sample
+     * @return the estimated number of distinct keys
+     */
+    @VisibleForTesting
+    static long estimateNumStates(
+            @NotNull final RowSet rowSet,
+            @NotNull final ColumnSource<?>[] keySources,
+            final int sampleSize) {
+        final long size = rowSet.size();
+        if (size == 0) {
+            return 0;
+        }
+        final int numSampled = (int) Math.min(size, sampleSize);
+        final RowSetBuilderSequential sampleBuilder = RowSetFactory.builderSequential();
+        for (int si = 0; si < numSampled; ++si) {
+            sampleBuilder.appendKey(rowSet.get(si * size / numSampled));
+        }
+        final TupleSource<?> tupleSource = TupleSourceFactory.makeTupleSource(keySources);
+        final Map<Object, MutableInt> counts = new HashMap<>();
+        try (final RowSet sample = sampleBuilder.build()) {
+            sample.forAllRowKeys(rowKey -> counts.computeIfAbsent(
+                    tupleSource.createTuple(rowKey), ignored -> new MutableInt()).increment());
+        }
+        if (numSampled == size) {
+            return counts.size();
+        }
+        final long seenOnce = counts.values().stream().filter(count -> count.intValue() == 1).count();
+        final double unsampledPerSampled = (double) (size - numSampled) / numSampled;
+        return Math.min(size, counts.size() + (long) (seenOnce * unsampledPerSampled));
+    }
+
+    /**
+     * Aggregate the static table {@code input} one key-hash partition at a time.
+     *
+     * @param control the aggregation control
+     * @param processor the aggregation processor, which must
+     *        {@link AggregationProcessor#supportsPartitionedStaticAggregation() support partitioning}
+     * @param input the input table
+     * @param keyNames the group-by column names
+     * @param partitionBits the number of key-hash bits to partition on, as determined by {@link #partitionBits}
+     * @return the aggregation result
+     */
+    static QueryTable aggregation(
+            @NotNull final AggregationControl control,
+            @NotNull final AggregationProcessor processor,
+            @NotNull final QueryTable input,
+            @NotNull final String[] keyNames,
+            final int partitionBits) {
+        final ColumnSource<?>[] reinterpretedKeySources = Arrays.stream(keyNames)
+                .map(input::getColumnSource)
+                .map(ReinterpretUtils::maybeConvertToPrimitive)
+                .toArray(ColumnSource[]::new);
+        final AggregationContextFactory partitionFactory = processor.withFirstRowKey(FIRST_ROW_KEY);
+
+        final RowSet[] partitions = new RowSet[1 << partitionBits];
+        final List<Table> partitionResults = new ArrayList<>(partitions.length);
+        try (final SafeCloseableArray<RowSet> ignored = new SafeCloseableArray<>(partitions)) {
+            partitionByKeyHash(input.getRowSet(), reinterpretedKeySources, partitionBits, partitions, null);
+            for (int pp = 0; pp < partitions.length; ++pp) {
+                if (partitions[pp].isEmpty()) {
+                    continue;
+                }
+                final QueryTable partitionInput = input.getSubTable(partitions[pp].copy().toTracking());
+                final QueryTable partitionResult = ChunkedOperatorAggregationHelper.aggregation(control, null,
+                        partitionFactory, partitionInput, false, null, keyNames, false);
+                // materialize the results, so that the partition's hash table and operator state can be released
+                partitionResults.add(partitionResult.select());
+            }
+        }
+        if (partitionResults.isEmpty()) {
+            return ChunkedOperatorAggregationHelper.aggregation(control, null, processor, input, false, null,
+                    keyNames, false);
+        }
+
+        final QueryTable merged = (QueryTable) TableTools.merge(partitionResults);
+        final WritableRowRedirection rowRedirection = orderByFirstRowKey(merged, partitionResults);
+
+        final Map<String, ColumnSource<?>> resultColumns = new LinkedHashMap<>();
+        merged.getColumnSourceMap().forEach((name, source) -> {
+            if (!name.equals(FIRST_ROW_KEY.name())) {
+                resultColumns.put(name, RedirectedColumnSource.maybeRedirect(rowRedirection, source));
+            }
+        });
+        final QueryTable result = new QueryTable(RowSetFactory.flat(merged.size()).toTracking(), resultColumns);
+        result.setAttribute(AGGREGATION_ROW_LOOKUP_ATTRIBUTE, new LazyRowLookup(result, keyNames));
+        return result;
+    }
+
+    /**
+     * Each partition's groups are already in first row key order, so we merge the partitions by first row key to
+     * recover the group order of a monolithic aggregation.
+     *
+     * @return a redirection from result row key to {@code merged} row key
+     */
+    private static WritableRowRedirection orderByFirstRowKey(
+            @NotNull final QueryTable merged,
+            @NotNull final List<Table> partitionResults) {
+        final int partitionCount = partitionResults.size();
+        final ColumnSource<?>[] firstRowKeys = new ColumnSource[partitionCount];
+        final long[] partitionOffsets = new long[partitionCount];
+        final long[] partitionSizes = new long[partitionCount];
+        final long[] nextPositions = new long[partitionCount];
+        long offset = 0;
+        for (int pp = 0; pp < partitionCount; ++pp) {
+            final Table partitionResult = partitionResults.get(pp);
+            firstRowKeys[pp] = partitionResult.getColumnSource(FIRST_ROW_KEY.name(), long.class);
+            partitionOffsets[pp] = offset;
+            partitionSizes[pp] = partitionResult.size();
+            offset += partitionSizes[pp];
+        }
+
+        final long[] heads = new long[partitionCount];
+        final PriorityQueue<Integer> queue = new PriorityQueue<>(partitionCount,
+                (p1, p2) -> Long.compare(heads[p1], heads[p2]));
+        for (int pp = 0; pp < partitionCount; ++pp) {
+            if (partitionSizes[pp] > 0) {
+                heads[pp] = firstRowKeys[pp].getLong(0);
+                queue.add(pp);
+            }
+        }
+
+        final LongArraySource redirections = new LongArraySource();
+        redirections.ensureCapacity(offset);
+        final RowSet mergedRowSet = merged.getRowSet();
+        long resultRowKey = 0;
+        while (!queue.isEmpty()) {
+            final int pp = queue.poll();
+            final long position = nextPositions[pp]++;
+            redirections.set(resultRowKey++, mergedRowSet.get(partitionOffsets[pp] + position));
+            if (position + 1 < partitionSizes[pp]) {
+                heads[pp] = firstRowKeys[pp].getLong(position + 1);
+                queue.add(pp);
+            }
+        }
+        return new LongColumnSourceWritableRowRedirection(redirections);
+    }
+
+    /**
+     * The row lookup for a partitioned aggregation result. Retaining each partition's hash table for lookups would
+     * defeat the purpose of partitioning, so we build a lookup over the compact result the first time it is needed.
+     */
+    private static final class LazyRowLookup implements AggregationRowLookup {
+
+        private final QueryTable result;
+        private final String[] keyNames;
+        private final ExecutionContext executionContext;
+
+        private volatile AggregationRowLookup rowLookup;
+
+        private LazyRowLookup(@NotNull final QueryTable result, @NotNull final String[] keyNames) {
+            this.result = result;
+            this.keyNames = keyNames;
+            executionContext = ExecutionContext.getContext();
+        }
+
+        @Override
+        public int get(final Object key) {
+            return getRowLookup().get(key);
+        }
+
+        private AggregationRowLookup getRowLookup() {
+            AggregationRowLookup localRowLookup;
+            if ((localRowLookup = rowLookup) == null) {
+                synchronized (this) {
+                    if ((localRowLookup = rowLookup) == null) {
+                        try (final SafeCloseable ignored = executionContext.open()) {
+                            // the result is static and flat with unique keys, so a keys-only aggregation assigns each
+                            // key its result row key as its position
+                            final QueryTable keysOnly = ChunkedOperatorAggregationHelper.aggregation(
+                                    AggregationControl.DEFAULT, null,
+                                    AggregationProcessor.forAggregation(Collections.emptyList()),
+                                    result, false, null, keyNames, false);
+                            rowLookup = localRowLookup = AggregationProcessor.getRowLookup(keysOnly);
+                        }
+                    }
+                }
+            }
+            return localRowLookup;
+        }
+    }
+}
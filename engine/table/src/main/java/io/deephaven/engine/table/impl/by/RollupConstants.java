@@ -26,6 +26,18 @@ public final class RollupConstants {
      */
     public static final String ROLLUP_DISTINCT_SSM_COLUMN_ID = "_SSM_";
 
+    /**
+     * Middle column name component (between source column name and {@link #ROLLUP_COLUMN_SUFFIX suffix}) for
+     * HyperLogLog sketch columns used in "approximate count distinct" rollup aggregations.
+     */
+    static final String ROLLUP_HLL_SKETCH_COLUMN_ID = "_HLL_";
+
+    /**
+     * Middle column name component (between source column name and {@link #ROLLUP_COLUMN_SUFFIX suffix}) for t-digest
+     * columns used in "approximate percentile" rollup aggregations.
+     */
+    static final String ROLLUP_TDIGEST_COLUMN_ID = "_TD_";
+
     /**
      * Middle column name component (between source column name and {@link #ROLLUP_COLUMN_SUFFIX suffix}) for running
      * sum columns used in rollup aggregations.
@@ -0,0 +1,229 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl.by;
+
+import io.deephaven.base.verify.Assert;
+import io.deephaven.base.verify.Require;
+import io.deephaven.chunk.ChunkType;
+import io.deephaven.chunk.LongChunk;
+import io.deephaven.chunk.WritableIntChunk;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.chunk.util.hashing.LongChunkHasher;
+import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.rowset.chunkattributes.RowKeys;
+import io.deephaven.engine.table.ChunkSource;
+import io.deephaven.engine.table.ColumnSource;
+import io.deephaven.engine.table.impl.sources.immutable.ImmutableLongArraySource;
+import io.deephaven.util.QueryConstants;
+import io.deephaven.util.SafeCloseable;
+import io.deephaven.util.type.TypeUtils;
+import org.apache.commons.lang3.mutable.MutableInt;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * A static aggregation state manager for a single key column whose (reinterpreted) chunk type is {@code long}.
+ * </p>
+ *
+ * <p>
+ * Unlike the generated {@link StaticChunkedOperatorAggregationStateManagerOpenAddressedBase open addressed hashers},
+ * which keep keys and output positions in separate immutable array sources, this state manager packs each slot's key
+ * and output position next to each other in a single {@code long[]}. A probe therefore touches one cache line for both
+ * the key comparison and the state lookup, and the table needs no per-source indirection. The result key column is
+ * materialized densely in output position order by {@link #getKeyHashTableSources()}, so no redirection is needed
+ * either.
+ * </p>
+ */
+final class StaticPackedLongChunkedOperatorAggregationStateManager implements OperatorAggregationStateManager {
+    private static final int CHUNK_SIZE = ChunkedOperatorAggregationHelper.CHUNK_SIZE;
+    // two longs per slot, so we can only address half as many slots as the generated hashers
+    private static final int MAX_TABLE_SIZE = 1 << 29;
+
+    private static final long EMPTY_OUTPUT_POSITION = QueryConstants.NULL_INT;
+
+    private final double maximumLoadFactor;
+
+    // the number of slots in our table
+    private int tableSize;
+    private long numEntries = 0;
+
+    // slots[2 * slot] is the key, slots[2 * slot + 1] is the output position (or EMPTY_OUTPUT_POSITION)
+    private long[] slots;
+
+    // the largest output position handed out plus one
+    private int outputPositionLimit = 0;
+
+    StaticPackedLongChunkedOperatorAggregationStateManager(final int tableSize, final double maximumLoadFactor) {
+        Require.leq(tableSize, "tableSize", MAX_TABLE_SIZE);
+        Require.gtZero(tableSize, "tableSize");
+        Require.eq(Integer.bitCount(tableSize), "Integer.bitCount(tableSize)", 1);
+        Require.inRange(maximumLoadFactor, 0.0, 0.95, "maximumLoadFactor");
+        this.tableSize = tableSize;
+        this.maximumLoadFactor = maximumLoadFactor;
+        slots = makeEmptySlots(tableSize);
+    }
+
+    /**
+     * Can this state manager be used for the given (reinterpreted) key sources?
+     *
+     * @param reinterpretedKeySources the key sources, after primitive reinterpretation
+     * @return true if there is a single key source with long chunks
+     */
+    static boolean canUse(final ColumnSource<?>[] reinterpretedKeySources) {
+        return reinterpretedKeySources.length == 1
+                && reinterpretedKeySources[0].getChunkType() == ChunkType.Long;
+    }
+
+    private static long[] makeEmptySlots(final int tableSize) {
+        final long[] newSlots = new long[2 * tableSize];
+        for (int slot = 1; slot < newSlots.length; slot += 2) {
+            newSlots[slot] = EMPTY_OUTPUT_POSITION;
+        }
+        return newSlots;
+    }
+
+    @Override
+    public int maxTableSize() {
+        return MAX_TABLE_SIZE;
+    }
+
+    @Override
+    public SafeCloseable makeAggregationStateBuildContext(final ColumnSource<?>[] buildSources, final long maxSize) {
+        return new BuildContext(buildSources[0], (int) Math.min(CHUNK_SIZE, maxSize));
+    }
+
+    private static final class BuildContext implements SafeCloseable {
+        private final int chunkSize;
+        private final ChunkSource.GetContext getContext;
+
+        private BuildContext(final ColumnSource<?> buildSource, final int chunkSize) {
+            this.chunkSize = chunkSize;
+            getContext = buildSource.makeGetContext(chunkSize);
+        }
+
+        @Override
+        public void close() {
+            getContext.close();
+        }
+    }
+
+    @Override
+    public void add(final SafeCloseable bc, final RowSequence rowSequence, final ColumnSource<?>[] sources,
+            final MutableInt nextOutputPosition, final WritableIntChunk<RowKeys> outputPositions) {
+        outputPositions.setSize(rowSequence.intSize());
+        if (rowSequence.isEmpty()) {
+            return;
+        }
+        final BuildContext buildContext = (BuildContext) bc;
+        try (final RowSequence.Iterator rsIt = rowSequence.getRowSequenceIterator()) {
+            int outputOffset = 0;
+            while (rsIt.hasMore()) {
+                final RowSequence chunkOk = rsIt.getNextRowSequenceWithLength(buildContext.chunkSize);
+                final int chunkSize = chunkOk.intSize();
+                maybeRehash(chunkSize);
+                final LongChunk<? extends Values> keyChunk =
+                        sources[0].getChunk(buildContext.getContext, chunkOk).asLongChunk();
+                build(keyChunk, nextOutputPosition, outputPositions, outputOffset);
+                outputOffset += chunkSize;
+            }
+        }
+    }
+
+    private void build(final LongChunk<? extends Values> keyChunk, final MutableInt nextOutputPosition,
+            final WritableIntChunk<RowKeys> outputPositions, final int outputOffset) {
+        final long[] slots = this.slots;
+        final int mask = tableSize - 1;
+        final int chunkSize = keyChunk.size();
+        for (int chunkPosition = 0; chunkPosition < chunkSize; ++chunkPosition) {
+            final long key = keyChunk.get(chunkPosition);
+            final int firstTableLocation = LongChunkHasher.hashInitialSingle(key) & mask;
+            int tableLocation = firstTableLocation;
+            while (true) {
+                final int keyIndex = tableLocation << 1;
+                final long outputPosition = slots[keyIndex + 1];
+                if (outputPosition == EMPTY_OUTPUT_POSITION) {
+                    final int newPosition = nextOutputPosition.getAndIncrement();
+                    slots[keyIndex] = key;
+                    slots[keyIndex + 1] = newPosition;
+                    outputPositions.set(outputOffset + chunkPosition, newPosition);
+                    outputPositionLimit = Math.max(outputPositionLimit, newPosition + 1);
+                    ++numEntries;
+                    break;
+                }
+                if (slots[keyIndex] == key) {
+                    outputPositions.set(outputOffset + chunkPosition, (int) outputPosition);
+                    break;
+                }
+                tableLocation = (tableLocation + 1) & mask;
+                Assert.neq(tableLocation, "tableLocation", firstTableLocation, "firstTableLocation");
+            }
+        }
+    }
+
+    private void maybeRehash(final int nextChunkSize) {
+        final int oldSize = tableSize;
+        int newSize = oldSize;
+        while ((numEntries + nextChunkSize) > (newSize * maximumLoadFactor)) {
+            newSize *= 2;
+            if (newSize <= 0 || newSize > MAX_TABLE_SIZE) {
+                throw new UnsupportedOperationException("Hash table exceeds maximum size!");
+            }
+        }
+        if (newSize == oldSize) {
+            return;
+        }
+        final long[] oldSlots = slots;
+        final long[] newSlots = makeEmptySlots(newSize);
+        final int mask = newSize - 1;
+        for (int keyIndex = 0; keyIndex < oldSlots.length; keyIndex += 2) {
+            final long outputPosition = oldSlots[keyIndex + 1];
+            if (outputPosition == EMPTY_OUTPUT_POSITION) {
+                continue;
+            }
+            final long key = oldSlots[keyIndex];
+            int tableLocation = LongChunkHasher.hashInitialSingle(key) & mask;
+            while (newSlots[(tableLocation << 1) + 1] != EMPTY_OUTPUT_POSITION) {
+                tableLocation = (tableLocation + 1) & mask;
+            }
+            newSlots[tableLocation << 1] = key;
+            newSlots[(tableLocation << 1) + 1] = outputPosition;
+        }
+        slots = newSlots;
+        tableSize = newSize;
+    }
+
+    @Override
+    public ColumnSource[] getKeyHashTableSources() {
+        final long[] keysByOutputPosition = new long[outputPositionLimit];
+        Arrays.fill(keysByOutputPosition, QueryConstants.NULL_LONG);
+        for (int keyIndex = 0; keyIndex < slots.length; keyIndex += 2) {
+            final long outputPosition = slots[keyIndex + 1];
+            if (outputPosition != EMPTY_OUTPUT_POSITION) {
+                keysByOutputPosition[(int) outputPosition] = slots[keyIndex];
+            }
+        }
+        return new ColumnSource[] {new ImmutableLongArraySource(keysByOutputPosition)};
+    }
+
+    @Override
+    public int findPositionForKey(final Object key) {
+        final long k0 = TypeUtils.unbox((Long) key);
+        final int mask = tableSize - 1;
+        final int firstTableLocation = LongChunkHasher.hashInitialSingle(k0) & mask;
+        int tableLocation = firstTableLocation;
+        while (true) {
+            final int keyIndex = tableLocation << 1;
+            final long outputPosition = slots[keyIndex + 1];
+            if (outputPosition == EMPTY_OUTPUT_POSITION) {
+                return UNKNOWN_ROW;
+            }
+            if (slots[keyIndex] == k0) {
+                return (int) outputPosition;
+            }
+            tableLocation = (tableLocation + 1) & mask;
+            Assert.neq(tableLocation, "tableLocation", firstTableLocation, "firstTableLocation");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl.by;
+
+import com.tdunning.math.stats.Centroid;
+import com.tdunning.math.stats.TDigest;
+import io.deephaven.datastructures.util.CollectionUtil;
+import io.deephaven.util.codec.ObjectCodec;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
+/**
+ * <p>
+ * ObjectCodec for {@link TDigest t-digests}, such as those exposed by {@link io.deephaven.api.agg.Aggregation#AggTDigest
+ * AggTDigest}. This is the default codec for t-digest columns, so they may be persisted (e.g. to Parquet) compactly,
+ * read back, and merged with {@code AggTDigest} or {@code AggApproxPct}.
+ * </p>
+ *
+ * <p>
+ * The encoding is independent of the t-digest implementation: the compression, the number of centroids, and then the
+ * mean and count of each centroid. Nulls are encoded as a zero-length array.
+ * </p>
+ */
+@SuppressWarnings("unused")
+public class TDigestCodec implements ObjectCodec<TDigest> {
+
+    private static final int HEADER_SIZE = Double.BYTES + Integer.BYTES;
+    private static final int CENTROID_SIZE = Double.BYTES + Integer.BYTES;
+
+    public TDigestCodec(@Nullable final String arguments) {
+        if (arguments != null && !arguments.trim().isEmpty()) {
+            throw new IllegalArgumentException(TDigestCodec.class.getSimpleName() + " does not take arguments");
+        }
+    }
+
+    @NotNull
+    @Override
+    public byte[] encode(@Nullable final TDigest input) {
+        if (input == null) {
+            return CollectionUtil.ZERO_LENGTH_BYTE_ARRAY;
+        }
+        final Collection<Centroid> centroids = input.centroids();
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + centroids.size() * CENTROID_SIZE);
+        buffer.putDouble(input.compression());
+        buffer.putInt(centroids.size());
+        for (final Centroid centroid : centroids) {
+            buffer.putDouble(centroid.mean());
+            buffer.putInt(centroid.count());
+        }
+        return buffer.array();
+    }
+
+    @Nullable
+    @Override
+    public TDigest decode(@NotNull final byte[] input, final int offset, final int length) {
+        if (length == 0) {
+            return null;
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(input, offset, length);
+        final TDigest digest = TDigest.createDigest(buffer.getDouble());
+        final int numCentroids = buffer.getInt();
+        // the centroid count is untrusted, so bound it before multiplying rather than risk overflow
+        if (numCentroids < 0 || numCentroids > (length - HEADER_SIZE) / CENTROID_SIZE
+                || length != HEADER_SIZE + numCentroids * CENTROID_SIZE) {
+            throw new IllegalArgumentException("Encoded t-digest with " + numCentroids
+                    + " centroids has unexpected length " + length);
+        }
+        for (int ci = 0; ci < numCentroids; ++ci) {
+            final double mean = buffer.getDouble();
+            digest.add(mean, buffer.getInt());
+        }
+        return digest;
+    }
+
+    @Override
+    public boolean isNullable() {
+        return true;
+    }
+
+    @Override
+    public int getPrecision() {
+        return 0;
+    }
+
+    @Override
+    public int getScale() {
+        return 0;
+    }
+
+    @Override
+    public int expectedObjectWidth() {
+        return VARIABLE_WIDTH_SENTINEL;
+    }
+}
@@ -9,51 +9,103 @@ import io.deephaven.chunk.*;
 import io.deephaven.chunk.attributes.ChunkLengths;
 import io.deephaven.chunk.attributes.ChunkPositions;
 import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.liveness.LivenessReferent;
+import io.deephaven.engine.rowset.RowSequence;
 import io.deephaven.engine.rowset.RowSet;
+import io.deephaven.engine.rowset.RowSetBuilderRandom;
+import io.deephaven.engine.rowset.WritableRowSet;
 import io.deephaven.engine.rowset.chunkattributes.RowKeys;
+import io.deephaven.engine.table.ChunkSource;
 import io.deephaven.engine.table.ColumnSource;
+import io.deephaven.engine.table.ModifiedColumnSet;
 import io.deephaven.engine.table.TableUpdate;
 import io.deephaven.engine.table.impl.QueryTable;
 import io.deephaven.engine.table.impl.sources.DoubleArraySource;
 import io.deephaven.engine.table.impl.sources.ObjectArraySource;
 import io.deephaven.engine.table.impl.util.cast.ToDoubleCast;
 import io.deephaven.util.QueryConstants;
+import io.deephaven.util.SafeCloseable;
 import org.jetbrains.annotations.NotNull;
 
 import java.time.Instant;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 /**
+ * <p>
  * Iterative T-Digest and percentile operator.
+ * </p>
+ *
+ * <p>
+ * Additions are applied to the bucket's digest directly. T-Digests cannot forget values, so for refreshing inputs that
+ * may remove or modify rows we track each bucket's row set with an internal {@link GroupByChunkedOperator}, and rebuild
+ * the digest of any bucket that lost a value from its current rows at the end of the step.
+ * </p>
+ *
+ * <p>
+ * If the input column holds {@link TDigest digests} rather than values, the input digests are merged. Together with
+ * exposing our own digests as a result column, this is how rollups are supported, and how digests that were exported
+ * and persisted (see {@link TDigestCodec}) can be merged later.
+ * </p>
  */
 public class TDigestPercentileOperator implements IterativeChunkedAggregationOperator {
 
     static final double COMPRESSION_DEFAULT = 100.0;
 
+    private static final int REBUILD_CHUNK_SIZE = 4096;
+    private static final String GROUP_ROW_SETS_NAME = "__TDIGEST_GROUP_ROW_SETS__";
+
     private final double compression;
     private final double[] percentiles;
     private final String digestColumnName;
     private final String[] resultNames;
 
     private final ChunkType chunkType;
+    private final boolean digestInput;
+    private final ChunkSource.WithPrev<Values> inputSource;
     private final ObjectArraySource<TDigest> digests;
     private final DoubleArraySource[] resultColumns;
-    private final Supplier<TDigest> digestFactory;
+
+    /**
+     * Tracks the rows of each bucket for digest rebuilds, or null if the input never removes or modifies rows.
+     */
+    private final GroupByChunkedOperator groupBy;
+    private final ColumnSource<? extends RowSet> groupRowSets;
 
     private long firstNewDestination;
     private boolean modifiedThisStep;
+    private RowSetBuilderRandom stepDestinationsToRebuild;
     private WritableIntChunk<ChunkPositions> chunkModifiedPositions;
 
-    public TDigestPercentileOperator(@NotNull Class<?> type, double compression, double percentile,
-            @NotNull String name) {
-        this(type, compression, null, new double[] {percentile}, new String[] {name});
+    /**
+     * Construct an approximate percentile operator for a single percentile.
+     *
+     * @param table the input table, used to decide whether digest rebuilds must be supported
+     * @param inputSource the input column source; either values to digest, or {@link TDigest digests} to merge
+     * @param compression the compression of our digests
+     * @param percentile the percentile to compute
+     * @param name the name of the result column
+     */
+    public TDigestPercentileOperator(@NotNull final QueryTable table, @NotNull final ColumnSource<?> inputSource,
+            double compression, double percentile, @NotNull String name) {
+        this(table, inputSource, compression, null, new double[] {percentile}, new String[] {name});
     }
 
-    public TDigestPercentileOperator(@NotNull Class<?> type, double compression, String digestColumnName,
-            @NotNull double[] percentiles, @NotNull String[] resultNames) {
+    /**
+     * Construct an approximate percentile operator.
+     *
+     * @param table the input table, used to decide whether digest rebuilds must be supported
+     * @param inputSource the input column source; either values to digest, or {@link TDigest digests} to merge
+     * @param compression the compression of our digests
+     * @param digestColumnName the name of the result column for our digests, or null if they should not be exposed
+     * @param percentiles the percentiles to compute
+     * @param resultNames the names of the result columns for {@code percentiles}
+     */
+    public TDigestPercentileOperator(@NotNull final QueryTable table, @NotNull final ColumnSource<?> inputSource,
+            double compression, String digestColumnName, @NotNull double[] percentiles,
+            @NotNull String[] resultNames) {
         if (resultNames.length != percentiles.length) {
             throw new IllegalArgumentException("percentiles length and resultName length must be identical:"
                     + resultNames.length + " (resultNames) != " + percentiles.length + " (percentiles)");
@@ -67,65 +119,54 @@ public class TDigestPercentileOperator implements IterativeChunkedAggregationOpe
         this.digestColumnName = digestColumnName;
         this.resultNames = resultNames;
         this.digests = new ObjectArraySource<>(TDigest.class);
+        final Class<?> type = inputSource.getType();
         final boolean isInstant = type == Instant.class;
         if (isInstant) {
             throw new UnsupportedOperationException("Instant is not supported for approximate percentiles.");
         }
-        chunkType = ChunkType.fromElementType(type);
+        // noinspection unchecked
+        this.inputSource = (ChunkSource.WithPrev<Values>) inputSource;
+        digestInput = TDigest.class.isAssignableFrom(type);
+        chunkType = inputSource.getChunkType();
         resultColumns = new DoubleArraySource[percentiles.length];
         for (int ii = 0; ii < percentiles.length; ++ii) {
             resultColumns[ii] = new DoubleArraySource();
         }
-        digestFactory = () -> TDigest.createDigest(compression);
+        if (table.isRefreshing() && !table.isAddOnly() && !table.isBlink()) {
+            groupBy = new GroupByChunkedOperator(table, false, GROUP_ROW_SETS_NAME);
+            // noinspection unchecked
+            groupRowSets = (ColumnSource<? extends RowSet>) groupBy.getResultColumns().get(GROUP_ROW_SETS_NAME);
+        } else {
+            groupBy = null;
+            groupRowSets = null;
+        }
     }
 
     public double compression() {
         return compression;
     }
 
-    private static UnsupportedOperationException modificationUnsupported() {
-        return new UnsupportedOperationException("t-digest Approximate percentiles do not support data modification");
-    }
-
-    private static UnsupportedOperationException removalUnsupported() {
-        return new UnsupportedOperationException("t-digest Approximate percentiles do not support data removal");
-    }
+    // -----------------------------------------------------------------------------------------------------------------
+    // Bucketed
+    // -----------------------------------------------------------------------------------------------------------------
 
     @Override
     public void addChunk(BucketedContext bucketedContext, Chunk<? extends Values> values,
             LongChunk<? extends RowKeys> inputRowKeys, IntChunk<RowKeys> destinations,
             IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
             WritableBooleanChunk<Values> stateModified) {
-        final TDigestContext tDigestContext = (TDigestContext) bucketedContext;
-        final DoubleChunk<? extends Values> doubleValues = tDigestContext.toDoubleCast.cast(values);
+        final TDigestContext context = (TDigestContext) bucketedContext;
+        if (groupBy != null) {
+            groupBy.addChunk(context.groupByBucketedContext, null, inputRowKeys, destinations, startPositions,
+                    length, context.groupByStateModified);
+        }
+        context.prepareValues(values);
 
         chunkModifiedPositions.setSize(0);
         for (int ii = 0; ii < startPositions.size(); ++ii) {
-            final int runLength = length.get(ii);
-            if (runLength == 0) {
-                continue;
-            }
             final int startPosition = startPositions.get(ii);
             final long destination = destinations.get(startPosition);
-
-            final TDigest digest = digestForSlot(destination);
-
-            int added = 0;
-            for (int jj = startPosition; jj < startPosition + runLength; ++jj) {
-                final double x = doubleValues.get(jj);
-                if (Double.isNaN(x) || x == QueryConstants.NULL_DOUBLE) {
-                    continue;
-                }
-                added++;
-                digest.add(x);
-            }
-            if (added > 0) {
-                if (destination < firstNewDestination) {
-                    modifiedThisStep = true;
-                }
-                stateModified.set(ii, true);
-                chunkModifiedPositions.add(ii);
-            }
+            noteModified(stateModified, ii, destination, addRun(context, destination, startPosition, length.get(ii)));
         }
     }
 
@@ -134,7 +175,18 @@ public class TDigestPercentileOperator implements IterativeChunkedAggregationOpe
             LongChunk<? extends RowKeys> inputRowKeys, IntChunk<RowKeys> destinations,
             IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
             WritableBooleanChunk<Values> stateModified) {
-        throw removalUnsupported();
+        final TDigestContext context = (TDigestContext) bucketedContext;
+        rebuildRequired().removeChunk(context.groupByBucketedContext, null, inputRowKeys, destinations,
+                startPositions, length, context.groupByStateModified);
+        context.prepareValues(values);
+
+        chunkModifiedPositions.setSize(0);
+        for (int ii = 0; ii < startPositions.size(); ++ii) {
+            final int startPosition = startPositions.get(ii);
+            final long destination = destinations.get(startPosition);
+            noteModified(stateModified, ii, destination,
+                    removeRun(context, destination, startPosition, length.get(ii)));
+        }
     }
 
     @Override
@@ -142,51 +194,251 @@ public class TDigestPercentileOperator implements IterativeChunkedAggregationOpe
             Chunk<? extends Values> postValues, LongChunk<? extends RowKeys> postShiftRowKeys,
             IntChunk<RowKeys> destinations, IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
             WritableBooleanChunk<Values> stateModified) {
-        throw modificationUnsupported();
+        rebuildRequired();
+        final TDigestContext context = (TDigestContext) bucketedContext;
+        context.prepareValues(preValues, postValues);
+
+        chunkModifiedPositions.setSize(0);
+        for (int ii = 0; ii < startPositions.size(); ++ii) {
+            final int startPosition = startPositions.get(ii);
+            final long destination = destinations.get(startPosition);
+            noteModified(stateModified, ii, destination,
+                    modifyRun(context, destination, startPosition, length.get(ii)));
+        }
     }
 
     @Override
-    public boolean addChunk(SingletonContext singletonContext, int chunkSize, Chunk<? extends Values> values,
-            LongChunk<? extends RowKeys> inputRowKeys, long destination) {
-        final TDigestContext tDigestContext = (TDigestContext) singletonContext;
-        final TDigest digest = digestForSlot(destination);
-        final DoubleChunk<? extends Values> doubleValues = tDigestContext.toDoubleCast.cast(values);
+    public void shiftChunk(BucketedContext bucketedContext, Chunk<? extends Values> previousValues,
+            Chunk<? extends Values> newValues, LongChunk<? extends RowKeys> preShiftRowKeys,
+            LongChunk<? extends RowKeys> postShiftRowKeys, IntChunk<RowKeys> destinations,
+            IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
+            WritableBooleanChunk<Values> stateModified) {
+        final TDigestContext context = (TDigestContext) bucketedContext;
+        rebuildRequired().shiftChunk(context.groupByBucketedContext, null, null, preShiftRowKeys,
+                postShiftRowKeys, destinations, startPositions, length, context.groupByStateModified);
+        // shifted rows may also have been modified
+        context.prepareValues(previousValues, newValues);
 
         chunkModifiedPositions.setSize(0);
-        int added = 0;
-        for (int ii = 0; ii < doubleValues.size(); ++ii) {
-            final double x = doubleValues.get(ii);
-            if (Double.isNaN(x) || x == QueryConstants.NULL_DOUBLE) {
-                continue;
-            }
-            added++;
-            digest.add(x);
+        for (int ii = 0; ii < startPositions.size(); ++ii) {
+            final int startPosition = startPositions.get(ii);
+            final long destination = destinations.get(startPosition);
+            noteModified(stateModified, ii, destination,
+                    modifyRun(context, destination, startPosition, length.get(ii)));
         }
+    }
 
-        if (added > 0) {
+    private void noteModified(@NotNull final WritableBooleanChunk<Values> stateModified, final int position,
+            final long destination, final boolean modified) {
+        if (modified) {
             if (destination < firstNewDestination) {
                 modifiedThisStep = true;
             }
-            chunkModifiedPositions.add(0);
-            return true;
+            stateModified.set(position, true);
+            chunkModifiedPositions.add(position);
         }
-        return false;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // Singleton
+    // -----------------------------------------------------------------------------------------------------------------
+
+    @Override
+    public boolean addChunk(SingletonContext singletonContext, int chunkSize, Chunk<? extends Values> values,
+            LongChunk<? extends RowKeys> inputRowKeys, long destination) {
+        final TDigestContext context = (TDigestContext) singletonContext;
+        if (groupBy != null) {
+            groupBy.addChunk(context.groupBySingletonContext, chunkSize, null, inputRowKeys, destination);
+        }
+        context.prepareValues(values);
+
+        chunkModifiedPositions.setSize(0);
+        return noteModified(destination, addRun(context, destination, 0, values.size()));
     }
 
     @Override
     public boolean removeChunk(SingletonContext singletonContext, int chunkSize, Chunk<? extends Values> values,
             LongChunk<? extends RowKeys> inputRowKeys, long destination) {
-        throw removalUnsupported();
+        final TDigestContext context = (TDigestContext) singletonContext;
+        rebuildRequired().removeChunk(context.groupBySingletonContext, chunkSize, null, inputRowKeys, destination);
+        context.prepareValues(values);
+
+        chunkModifiedPositions.setSize(0);
+        return noteModified(destination, removeRun(context, destination, 0, values.size()));
     }
 
     @Override
-    public boolean modifyChunk(SingletonContext context, int chunkSize, Chunk<? extends Values> previousValues,
+    public boolean modifyChunk(SingletonContext singletonContext, int chunkSize, Chunk<? extends Values> previousValues,
             Chunk<? extends Values> newValues, LongChunk<? extends RowKeys> postShiftRowKeys, long destination) {
-        throw modificationUnsupported();
+        rebuildRequired();
+        final TDigestContext context = (TDigestContext) singletonContext;
+        context.prepareValues(previousValues, newValues);
+
+        chunkModifiedPositions.setSize(0);
+        return noteModified(destination, modifyRun(context, destination, 0, newValues.size()));
     }
 
+    @Override
+    public boolean shiftChunk(SingletonContext singletonContext, Chunk<? extends Values> previousValues,
+            Chunk<? extends Values> newValues, LongChunk<? extends RowKeys> preShiftRowKeys,
+            LongChunk<? extends RowKeys> postShiftRowKeys, long destination) {
+        final TDigestContext context = (TDigestContext) singletonContext;
+        rebuildRequired().shiftChunk(context.groupBySingletonContext, null, null, preShiftRowKeys, postShiftRowKeys,
+                destination);
+        // shifted rows may also have been modified
+        context.prepareValues(previousValues, newValues);
+
+        chunkModifiedPositions.setSize(0);
+        return noteModified(destination, modifyRun(context, destination, 0, newValues.size()));
+    }
+
+    private boolean noteModified(final long destination, final boolean modified) {
+        if (modified) {
+            if (destination < firstNewDestination) {
+                modifiedThisStep = true;
+            }
+            chunkModifiedPositions.add(0);
+        }
+        return modified;
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // Digest maintenance
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private GroupByChunkedOperator rebuildRequired() {
+        if (groupBy == null) {
+            throw new IllegalStateException(
+                    "t-digest approximate percentiles received removes or modifies for an input that should have none");
+        }
+        return groupBy;
+    }
+
+    private static boolean isPresent(final double value) {
+        return !Double.isNaN(value) && value != QueryConstants.NULL_DOUBLE;
+    }
+
+    private boolean addRun(@NotNull final TDigestContext context, final long destination, final int start,
+            final int length) {
+        TDigest digest = null;
+        for (int ii = start; ii < start + length; ++ii) {
+            if (digestInput) {
+                final TDigest inputDigest = context.inputDigests.get(ii);
+                if (inputDigest != null && inputDigest.size() > 0) {
+                    (digest == null ? digest = digestForSlot(destination) : digest).add(inputDigest);
+                }
+            } else {
+                final double value = context.doubleValues.get(ii);
+                if (isPresent(value)) {
+                    (digest == null ? digest = digestForSlot(destination) : digest).add(value);
+                }
+            }
+        }
+        return digest != null;
+    }
+
+    private boolean removeRun(@NotNull final TDigestContext context, final long destination, final int start,
+            final int length) {
+        for (int ii = start; ii < start + length; ++ii) {
+            if (digestInput
+                    ? context.inputDigests.get(ii) != null
+                    : isPresent(context.doubleValues.get(ii))) {
+                return noteRebuild(destination);
+            }
+        }
+        return false;
+    }
+
+    private boolean modifyRun(@NotNull final TDigestContext context, final long destination, final int start,
+            final int length) {
+        TDigest digest = null;
+        for (int ii = start; ii < start + length; ++ii) {
+            if (digestInput) {
+                final TDigest preDigest = context.inputDigests.get(ii);
+                final TDigest postDigest = context.postInputDigests.get(ii);
+                if (preDigest != null) {
+                    // merging is not idempotent, and we cannot tell what was merged before, so we must rebuild even if
+                    // the input digest was only updated in place
+                    return noteRebuild(destination);
+                }
+                if (postDigest != null && postDigest.size() > 0) {
+                    (digest == null ? digest = digestForSlot(destination) : digest).add(postDigest);
+                }
+            } else {
+                final double preValue = context.doubleValues.get(ii);
+                final double postValue = context.postDoubleValues.get(ii);
+                final boolean prePresent = isPresent(preValue);
+                final boolean postPresent = isPresent(postValue);
+                if (prePresent && (!postPresent || preValue != postValue)) {
+                    return noteRebuild(destination);
+                }
+                if (postPresent && !prePresent) {
+                    (digest == null ? digest = digestForSlot(destination) : digest).add(postValue);
+                }
+            }
+        }
+        return digest != null;
+    }
+
+    private boolean noteRebuild(final long destination) {
+        stepDestinationsToRebuild.addKey(destination);
+        return true;
+    }
+
+    private TDigest digestForSlot(final long slot) {
+        TDigest digest = digests.getUnsafe(slot);
+        if (digest == null) {
+            digests.set(slot, digest = TDigest.createDigest(compression));
+        }
+        return digest;
+    }
+
+    private void rebuildDestinations(@NotNull final RowSet destinations) {
+        try (final ChunkSource.GetContext getContext = inputSource.makeGetContext(REBUILD_CHUNK_SIZE);
+                final TDigestContext context = new TDigestContext(REBUILD_CHUNK_SIZE, false)) {
+            destinations.forAllRowKeys(destination -> {
+                // we always make a new digest, so that downstream re-aggregations know to rebuild, too
+                final TDigest digest = TDigest.createDigest(compression);
+                try (final RowSequence.Iterator rowsIterator = groupRowSets.get(destination).getRowSequenceIterator()) {
+                    while (rowsIterator.hasMore()) {
+                        final RowSequence rows = rowsIterator.getNextRowSequenceWithLength(REBUILD_CHUNK_SIZE);
+                        context.prepareValues(inputSource.getChunk(getContext, rows));
+                        for (int ii = 0; ii < rows.intSize(); ++ii) {
+                            if (digestInput) {
+                                final TDigest inputDigest = context.inputDigests.get(ii);
+                                if (inputDigest != null && inputDigest.size() > 0) {
+                                    digest.add(inputDigest);
+                                }
+                            } else {
+                                final double value = context.doubleValues.get(ii);
+                                if (isPresent(value)) {
+                                    digest.add(value);
+                                }
+                            }
+                        }
+                    }
+                }
+                digests.set(destination, digest);
+            });
+        }
+    }
+
+    private void updateDestination(final long destination) {
+        final TDigest digest = digestForSlot(destination);
+        for (int jj = 0; jj < resultColumns.length; ++jj) {
+            resultColumns[jj].set(destination, digest.quantile(percentiles[jj]));
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // Lifecycle
+    // -----------------------------------------------------------------------------------------------------------------
+
     @Override
     public void propagateInitialState(@NotNull final QueryTable resultTable, int startingDestinationsCount) {
+        if (groupBy != null) {
+            groupBy.propagateInitialState(resultTable, startingDestinationsCount);
+        }
         if (resultColumns.length == 0) {
             return;
         }
@@ -194,20 +446,37 @@ public class TDigestPercentileOperator implements IterativeChunkedAggregationOpe
         resultTable.getRowSet().forAllRowKeys(this::updateDestination);
     }
 
-    private void updateDestination(final long destination) {
-        final TDigest digest = digestForSlot(destination);
-        for (int jj = 0; jj < resultColumns.length; ++jj) {
-            resultColumns[jj].set(destination, digest.quantile(percentiles[jj]));
+    @Override
+    public UnaryOperator<ModifiedColumnSet> initializeRefreshing(
+            @NotNull final QueryTable resultTable,
+            @NotNull final LivenessReferent aggregationUpdateListener) {
+        if (groupBy != null) {
+            groupBy.initializeRefreshing(resultTable, aggregationUpdateListener);
         }
+        return IterativeChunkedAggregationOperator.super.initializeRefreshing(resultTable, aggregationUpdateListener);
     }
 
     @Override
     public void resetForStep(@NotNull final TableUpdate upstream, final int startingDestinationsCount) {
         modifiedThisStep = false;
+        if (groupBy != null) {
+            groupBy.resetForStep(upstream, startingDestinationsCount);
+            stepDestinationsToRebuild = new BitmapRandomBuilder(startingDestinationsCount);
+        }
     }
 
     @Override
     public void propagateUpdates(@NotNull final TableUpdate downstream, @NotNull final RowSet newDestinations) {
+        if (groupBy != null) {
+            groupBy.propagateUpdates(downstream, newDestinations);
+            try (final WritableRowSet toRebuild = stepDestinationsToRebuild.build()) {
+                // removed destinations have no rows left; we must not leave a stale digest in a reusable slot
+                downstream.removed().forAllRowKeys(destination -> digests.set(destination, null));
+                toRebuild.retain(downstream.modified());
+                rebuildDestinations(toRebuild);
+            }
+            stepDestinationsToRebuild = null;
+        }
         if (resultColumns.length == 0) {
             return;
         }
@@ -218,12 +487,9 @@ public class TDigestPercentileOperator implements IterativeChunkedAggregationOpe
         }
     }
 
-    private TDigest digestForSlot(final long slot) {
-        TDigest digest = digests.getUnsafe(slot);
-        if (digest == null) {
-            digests.set(slot, digest = digestFactory.get());
-        }
-        return digest;
+    @Override
+    public boolean requiresRowKeys() {
+        return groupBy != null;
     }
 
     @Override
@@ -232,11 +498,14 @@ public class TDigestPercentileOperator implements IterativeChunkedAggregationOpe
             resultColumns[jj].ensureCapacity(tableSize);
         }
         digests.ensureCapacity(tableSize);
+        if (groupBy != null) {
+            groupBy.ensureCapacity(tableSize);
+        }
     }
 
     @Override
     public Map<String, ? extends ColumnSource<?>> getResultColumns() {
-        final Map<String, ColumnSource<?>> results = new LinkedHashMap<>(resultNames.length);
+        final Map<String, ColumnSource<?>> results = new LinkedHashMap<>(resultNames.length + 1);
         if (digestColumnName != null) {
             results.put(digestColumnName, digests);
         }
@@ -251,39 +520,104 @@ public class TDigestPercentileOperator implements IterativeChunkedAggregationOpe
         for (final DoubleArraySource resultColumn : resultColumns) {
             resultColumn.startTrackingPrevValues();
         }
+        if (digestColumnName != null) {
+            digests.startTrackingPrevValues();
+        }
     }
 
+    // -----------------------------------------------------------------------------------------------------------------
+    // Contexts
+    // -----------------------------------------------------------------------------------------------------------------
+
     private class TDigestContext implements SingletonContext, BucketedContext {
-        final ToDoubleCast toDoubleCast;
 
-        private TDigestContext(int size) {
-            toDoubleCast = ToDoubleCast.makeToDoubleCast(chunkType, size);
-            Assert.eqNull(chunkModifiedPositions, "chunkModifiedPositions");
-            chunkModifiedPositions = WritableIntChunk.makeWritableChunk(size);
+        private final boolean ownsModifiedPositions;
+
+        private final BucketedContext groupByBucketedContext;
+        private final SingletonContext groupBySingletonContext;
+        private final WritableBooleanChunk<Values> groupByStateModified;
+
+        private final ToDoubleCast toDoubleCast;
+        private final ToDoubleCast postToDoubleCast;
+
+        private DoubleChunk<? extends Values> doubleValues;
+        private DoubleChunk<? extends Values> postDoubleValues;
+        private ObjectChunk<TDigest, ? extends Values> inputDigests;
+        private ObjectChunk<TDigest, ? extends Values> postInputDigests;
+
+        private TDigestContext(final int size, final boolean ownsModifiedPositions) {
+            this.ownsModifiedPositions = ownsModifiedPositions;
+            if (ownsModifiedPositions) {
+                Assert.eqNull(chunkModifiedPositions, "chunkModifiedPositions");
+                chunkModifiedPositions = WritableIntChunk.makeWritableChunk(size);
+            }
+            if (groupBy != null && ownsModifiedPositions) {
+                groupByBucketedContext = groupBy.makeBucketedContext(size);
+                groupBySingletonContext = groupBy.makeSingletonContext(size);
+                // the group-by reports every run as modified; we decide for ourselves
+                groupByStateModified = WritableBooleanChunk.makeWritableChunk(size);
+            } else {
+                groupByBucketedContext = null;
+                groupBySingletonContext = null;
+                groupByStateModified = null;
+            }
+            if (digestInput) {
+                toDoubleCast = postToDoubleCast = null;
+            } else {
+                toDoubleCast = ToDoubleCast.makeToDoubleCast(chunkType, size);
+                postToDoubleCast = ToDoubleCast.makeToDoubleCast(chunkType, size);
+            }
+        }
+
+        private void prepareValues(@NotNull final Chunk<? extends Values> values) {
+            if (digestInput) {
+                inputDigests = values.asObjectChunk();
+            } else {
+                doubleValues = toDoubleCast.cast(values);
+            }
+        }
+
+        private void prepareValues(
+                @NotNull final Chunk<? extends Values> preValues,
+                @NotNull final Chunk<? extends Values> postValues) {
+            prepareValues(preValues);
+            if (digestInput) {
+                postInputDigests = postValues.asObjectChunk();
+            } else {
+                postDoubleValues = postToDoubleCast.cast(postValues);
+            }
         }
 
         @Override
         public void close() {
-            toDoubleCast.close();
-            chunkModifiedPositions.close();
-            chunkModifiedPositions = null;
+            SafeCloseable.closeAll(groupByBucketedContext, groupBySingletonContext, groupByStateModified,
+                    toDoubleCast, postToDoubleCast);
+            if (ownsModifiedPositions) {
+                chunkModifiedPositions.close();
+                chunkModifiedPositions = null;
+            }
         }
     }
 
     @Override
     public SingletonContext makeSingletonContext(int size) {
-        return new TDigestContext(size);
+        return new TDigestContext(size, true);
     }
 
     @Override
     public BucketedContext makeBucketedContext(int size) {
-        return new TDigestContext(size);
+        return new TDigestContext(size, true);
     }
 
     public IterativeChunkedAggregationOperator makeSecondaryOperator(double percentile, @NotNull String resultName) {
         return new SecondaryOperator(percentile, resultName);
     }
 
+    /**
+     * An additional percentile of our digests. Secondary operators must be added immediately after their primary
+     * operator, with the same input column name, so that they are called with the same chunks just after the primary
+     * has recorded which states it modified.
+     */
     private class SecondaryOperator implements IterativeChunkedAggregationOperator {
 
         private final double percentile;
@@ -298,16 +632,19 @@ public class TDigestPercentileOperator implements IterativeChunkedAggregationOpe
             resultColumn = new DoubleArraySource();
         }
 
+        private void copyModifiedPositions(@NotNull final WritableBooleanChunk<Values> stateModified) {
+            final int numModifiedPositions = chunkModifiedPositions.size();
+            for (int mpi = 0; mpi < numModifiedPositions; ++mpi) {
+                stateModified.set(chunkModifiedPositions.get(mpi), true);
+            }
+        }
 
         @Override
         public void addChunk(BucketedContext context, Chunk<? extends Values> values,
                 LongChunk<? extends RowKeys> inputRowKeys, IntChunk<RowKeys> destinations,
                 IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
                 WritableBooleanChunk<Values> stateModified) {
-            final int numModifiedPositions = chunkModifiedPositions.size();
-            for (int mpi = 0; mpi < numModifiedPositions; ++mpi) {
-                stateModified.set(chunkModifiedPositions.get(mpi), true);
-            }
+            copyModifiedPositions(stateModified);
         }
 
         @Override
@@ -315,7 +652,7 @@ public class TDigestPercentileOperator implements IterativeChunkedAggregationOpe
                 LongChunk<? extends RowKeys> inputRowKeys, IntChunk<RowKeys> destinations,
                 IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
                 WritableBooleanChunk<Values> stateModified) {
-            throw removalUnsupported();
+            copyModifiedPositions(stateModified);
         }
 
         @Override
@@ -323,7 +660,16 @@ public class TDigestPercentileOperator implements IterativeChunkedAggregationOpe
                 Chunk<? extends Values> newValues, LongChunk<? extends RowKeys> postShiftRowKeys,
                 IntChunk<RowKeys> destinations, IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
                 WritableBooleanChunk<Values> stateModified) {
-            throw modificationUnsupported();
+            copyModifiedPositions(stateModified);
+        }
+
+        @Override
+        public void shiftChunk(BucketedContext context, Chunk<? extends Values> previousValues,
+                Chunk<? extends Values> newValues, LongChunk<? extends RowKeys> preShiftRowKeys,
+                LongChunk<? extends RowKeys> postShiftRowKeys, IntChunk<RowKeys> destinations,
+                IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
+                WritableBooleanChunk<Values> stateModified) {
+            copyModifiedPositions(stateModified);
         }
 
         @Override
@@ -335,13 +681,26 @@ public class TDigestPercentileOperator implements IterativeChunkedAggregationOpe
         @Override
         public boolean removeChunk(SingletonContext context, int chunkSize, Chunk<? extends Values> values,
                 LongChunk<? extends RowKeys> inputRowKeys, long destination) {
-            throw removalUnsupported();
+            return chunkModifiedPositions.size() > 0;
         }
 
         @Override
         public boolean modifyChunk(SingletonContext context, int chunkSize, Chunk<? extends Values> previousValues,
                 Chunk<? extends Values> newValues, LongChunk<? extends RowKeys> postShiftRowKeys, long destination) {
-            throw modificationUnsupported();
+            return chunkModifiedPositions.size() > 0;
+        }
+
+        @Override
+        public boolean shiftChunk(SingletonContext context, Chunk<? extends Values> previousValues,
+                Chunk<? extends Values> newValues, LongChunk<? extends RowKeys> preShiftRowKeys,
+                LongChunk<? extends RowKeys> postShiftRowKeys, long destination) {
+            return chunkModifiedPositions.size() > 0;
+        }
+
+        @Override
+        public boolean requiresRowKeys() {
+            // we must see the same calls as our primary
+            return TDigestPercentileOperator.this.requiresRowKeys();
         }
 
         @Override
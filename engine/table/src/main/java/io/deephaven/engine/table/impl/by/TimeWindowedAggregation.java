@@ -0,0 +1,453 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl.by;
+
+import gnu.trove.list.array.TLongArrayList;
+import io.deephaven.api.agg.Aggregation;
+import io.deephaven.chunk.LongChunk;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.context.ExecutionContext;
+import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.rowset.RowSet;
+import io.deephaven.engine.rowset.RowSetBuilderSequential;
+import io.deephaven.engine.rowset.RowSetFactory;
+import io.deephaven.engine.rowset.RowSetShiftData;
+import io.deephaven.engine.rowset.WritableRowSet;
+import io.deephaven.engine.rowset.chunkattributes.OrderedRowKeys;
+import io.deephaven.engine.table.ChunkSource;
+import io.deephaven.engine.table.ColumnSource;
+import io.deephaven.engine.table.ModifiedColumnSet;
+import io.deephaven.engine.table.Table;
+import io.deephaven.engine.table.TableUpdate;
+import io.deephaven.engine.table.WritableColumnSource;
+import io.deephaven.engine.table.impl.BaseTable;
+import io.deephaven.engine.table.impl.QueryTable;
+import io.deephaven.engine.table.impl.TableUpdateImpl;
+import io.deephaven.engine.table.impl.sources.ArrayBackedColumnSource;
+import io.deephaven.engine.table.impl.sources.LongArraySource;
+import io.deephaven.engine.table.impl.sources.ReinterpretUtils;
+import io.deephaven.engine.table.impl.util.ChunkUtils;
+import io.deephaven.engine.updategraph.UpdateGraph;
+import io.deephaven.util.SafeCloseable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.deephaven.util.QueryConstants.NULL_LONG;
+
+/**
+ * <p>
+ * Aggregations over tumbling or hopping time windows of an add-only or blink table, for example per-minute OHLCV bars.
+ * </p>
+ *
+ * <p>
+ * Windows start at multiples of the hop (measured from the epoch), and each covers {@code [start, start + window)}. A
+ * row belongs to every window that covers its timestamp; tumbling windows have a hop equal to their width, so every
+ * row belongs to exactly one window. The input is expected to arrive in (roughly) non-decreasing timestamp order: a
+ * window is closed once a row with a timestamp at or after its end has been seen, and any row that arrives after all
+ * of its windows have closed is ignored. Rows with null timestamps are ignored.
+ * </p>
+ *
+ * <p>
+ * When a window closes, its rows are aggregated with {@link Table#aggBy(Collection, String...) aggBy}, the results are
+ * appended to the add-only result table, and the rows are released. Only the rows of open windows are retained, so
+ * memory is bounded by the rows in a window (times the number of windows that overlap at any time), rather than
+ * growing with the history of the feed as an aggregation by a binned timestamp would. Each result row holds the
+ * group-by values, the window start, and the aggregated values of one group in one window; the rows for each window
+ * are appended together, in order of window start.
+ * </p>
+ *
+ * <p>
+ * Windows of a static input are all closed immediately.
+ * </p>
+ */
+public final class TimeWindowedAggregation {
+
+    private TimeWindowedAggregation() {} // static use only
+
+    /**
+     * Aggregate {@code input} over tumbling (non-overlapping) time windows.
+     *
+     * @param input the add-only, blink, or static input table
+     * @param aggregations the aggregations to compute for each group in each window
+     * @param timestampColumn the input column of {@link Instant} or {@code long} epoch nanosecond timestamps
+     * @param window the width of each window
+     * @param windowStartColumn the result column for the start of each window, of the same type as the timestamps
+     * @param groupByColumns the columns to group by within each window
+     * @return an add-only table with a row for each group in each closed window
+     */
+    public static Table tumblingAggBy(
+            @NotNull final Table input,
+            @NotNull final Collection<? extends Aggregation> aggregations,
+            @NotNull final String timestampColumn,
+            @NotNull final Duration window,
+            @NotNull final String windowStartColumn,
+            final String... groupByColumns) {
+        return hoppingAggBy(input, aggregations, timestampColumn, window, window, windowStartColumn, groupByColumns);
+    }
+
+    /**
+     * Aggregate {@code input} over hopping (possibly overlapping) time windows.
+     *
+     * @param input the add-only, blink, or static input table
+     * @param aggregations the aggregations to compute for each group in each window
+     * @param timestampColumn the input column of {@link Instant} or {@code long} epoch nanosecond timestamps
+     * @param window the width of each window
+     * @param hop the interval between the starts of consecutive windows; no greater than {@code window}
+     * @param windowStartColumn the result column for the start of each window, of the same type as the timestamps
+     * @param groupByColumns the columns to group by within each window
+     * @return an add-only table with a row for each group in each closed window
+     */
+    public static Table hoppingAggBy(
+            @NotNull final Table input,
+            @NotNull final Collection<? extends Aggregation> aggregations,
+            @NotNull final String timestampColumn,
+            @NotNull final Duration window,
+            @NotNull final Duration hop,
+            @NotNull final String windowStartColumn,
+            final String... groupByColumns) {
+        final long windowNanos = window.toNanos();
+        final long hopNanos = hop.toNanos();
+        if (windowNanos <= 0) {
+            throw new IllegalArgumentException("Window must be positive: " + window);
+        }
+        if (hopNanos <= 0 || hopNanos > windowNanos) {
+            throw new IllegalArgumentException("Hop must be positive and no greater than the window " + window
+                    + ": " + hop);
+        }
+        final Class<?> timestampType = input.getDefinition().getColumn(timestampColumn) == null
+                ? null
+                : input.getDefinition().getColumn(timestampColumn).getDataType();
+        if (timestampType != Instant.class && timestampType != long.class) {
+            throw new IllegalArgumentException("Timestamp column " + timestampColumn
+                    + " must be an Instant or long column, found " + timestampType);
+        }
+        if (input.getDefinition().getColumn(windowStartColumn) != null) {
+            throw new IllegalArgumentException("Window start column " + windowStartColumn
+                    + " conflicts with an input column");
+        }
+
+        final UpdateGraph updateGraph = input.getUpdateGraph();
+        try (final SafeCloseable ignored = ExecutionContext.getContext().withUpdateGraph(updateGraph).open()) {
+            final QueryTable coalesced = (QueryTable) input.coalesce();
+            if (coalesced.isRefreshing() && !coalesced.isAddOnly() && !coalesced.isBlink()) {
+                throw new IllegalArgumentException("Windowed aggregation input must be add-only or blink");
+            }
+            return coalesced.getResult(new WindowedAggregationOperation(coalesced, aggregations, timestampColumn,
+                    windowNanos, hopNanos, windowStartColumn, groupByColumns));
+        }
+    }
+
+    /**
+     * Copies of the input rows of the open windows, each with the start of its window. A row that belongs to several
+     * open windows is copied once for each window.
+     */
+    private static final class WindowBuffer {
+        private final Map<String, ColumnSource<?>> columns = new LinkedHashMap<>();
+        /**
+         * The writable (primitive) sources for the input columns, parallel with the parent's column sources.
+         */
+        private final WritableColumnSource<?>[] inputDestinations;
+        /**
+         * The {@link #inputDestinations}, followed by {@link #windowStarts}.
+         */
+        private final WritableColumnSource<?>[] destinations;
+        private final LongArraySource windowStarts = new LongArraySource();
+        private long size;
+
+        private WindowBuffer(
+                @NotNull final Map<String, ? extends ColumnSource<?>> inputColumns,
+                @NotNull final String windowStartColumn,
+                final boolean instantWindows) {
+            inputDestinations = new WritableColumnSource<?>[inputColumns.size()];
+            int ci = 0;
+            for (final Map.Entry<String, ? extends ColumnSource<?>> entry : inputColumns.entrySet()) {
+                final ColumnSource<?> inputColumn = entry.getValue();
+                final WritableColumnSource<?> column = ArrayBackedColumnSource.getMemoryColumnSource(
+                        0, inputColumn.getType(), inputColumn.getComponentType());
+                columns.put(entry.getKey(), column);
+                inputDestinations[ci++] = ReinterpretUtils.maybeConvertToWritablePrimitive(column);
+            }
+            destinations = Arrays.copyOf(inputDestinations, ci + 1);
+            destinations[ci] = windowStarts;
+            columns.put(windowStartColumn,
+                    instantWindows ? ReinterpretUtils.longToInstantSource(windowStarts) : windowStarts);
+        }
+
+        private Table view(@NotNull final RowSet rows) {
+            return new QueryTable(rows.copy().toTracking(), columns);
+        }
+    }
+
+    private static final class WindowedAggregationOperation implements QueryTable.Operation<QueryTable> {
+        private final QueryTable parent;
+        private final Collection<? extends Aggregation> aggregations;
+        private final String timestampColumn;
+        private final long windowNanos;
+        private final long hopNanos;
+        private final String windowStartColumn;
+        private final String[] keyColumns;
+        private final boolean instantWindows;
+        private final ExecutionContext executionContext;
+
+        private final ColumnSource<?>[] inputSources;
+        private final ColumnSource<Long> timestampSource;
+
+        private WindowBuffer buffer;
+        /**
+         * The latest timestamp seen; windows that end at or before it are closed.
+         */
+        private long watermark;
+        /**
+         * The earliest window start in {@link #buffer}, or {@link Long#MAX_VALUE} if the buffer is empty.
+         */
+        private long minOpenWindowStart;
+
+        private QueryTable resultTable;
+        private String[] resultColumns;
+        private WritableColumnSource<?>[] resultDestinations;
+
+        private WindowedAggregationOperation(
+                @NotNull final QueryTable parent,
+                @NotNull final Collection<? extends Aggregation> aggregations,
+                @NotNull final String timestampColumn,
+                final long windowNanos,
+                final long hopNanos,
+                @NotNull final String windowStartColumn,
+                @NotNull final String[] groupByColumns) {
+            this.parent = parent;
+            this.aggregations = aggregations;
+            this.timestampColumn = timestampColumn;
+            this.windowNanos = windowNanos;
+            this.hopNanos = hopNanos;
+            this.windowStartColumn = windowStartColumn;
+            keyColumns = new String[groupByColumns.length + 1];
+            System.arraycopy(groupByColumns, 0, keyColumns, 0, groupByColumns.length);
+            keyColumns[groupByColumns.length] = windowStartColumn;
+            executionContext = ExecutionContext.getContext();
+
+            final ColumnSource<?> rawTimestampSource = parent.getColumnSource(timestampColumn);
+            instantWindows = rawTimestampSource.getType() == Instant.class;
+            timestampSource = ReinterpretUtils.maybeConvertToPrimitive(rawTimestampSource).cast(long.class);
+            inputSources = parent.getColumnSourceMap().values().stream()
+                    .map(ReinterpretUtils::maybeConvertToPrimitive)
+                    .toArray(ColumnSource[]::new);
+        }
+
+        @Override
+        public String getDescription() {
+            return String.format("TimeWindowedAggregation(%s, %s, window=%dns, hop=%dns, %s)",
+                    aggregations, timestampColumn, windowNanos, hopNanos, String.join(", ", keyColumns));
+        }
+
+        @Override
+        public String getLogPrefix() {
+            return "TimeWindowedAggregation";
+        }
+
+        @Override
+        public Result<QueryTable> initialize(final boolean usePrev, final long beforeClock) {
+            resultTable = null;
+            buffer = new WindowBuffer(parent.getColumnSourceMap(), windowStartColumn, instantWindows);
+            watermark = NULL_LONG;
+            minOpenWindowStart = Long.MAX_VALUE;
+
+            final RowSet rowSet = usePrev ? parent.getRowSet().prev() : parent.getRowSet();
+            append(rowSet, usePrev);
+            final Table closed = closeWindows(!parent.isRefreshing());
+
+            final Table emptyResult = buffer.view(RowSetFactory.empty()).aggBy(aggregations, keyColumns);
+            final Map<String, ? extends ColumnSource<?>> emptyResultColumns = emptyResult.getColumnSourceMap();
+            final Map<String, WritableColumnSource<?>> resultColumnSources =
+                    new LinkedHashMap<>(emptyResultColumns.size());
+            resultColumns = new String[emptyResultColumns.size()];
+            resultDestinations = new WritableColumnSource<?>[emptyResultColumns.size()];
+            int ci = 0;
+            for (final Map.Entry<String, ? extends ColumnSource<?>> entry : emptyResultColumns.entrySet()) {
+                final WritableColumnSource<?> column = ArrayBackedColumnSource.getMemoryColumnSource(
+                        0, entry.getValue().getType(), entry.getValue().getComponentType());
+                resultColumnSources.put(entry.getKey(), column);
+                resultColumns[ci] = entry.getKey();
+                resultDestinations[ci++] = ReinterpretUtils.maybeConvertToWritablePrimitive(column);
+            }
+
+            resultTable = new QueryTable(appendResults(closed).toTracking(), resultColumnSources);
+            resultTable.setFlat();
+            if (!parent.isRefreshing()) {
+                return new Result<>(resultTable);
+            }
+
+            resultTable.setRefreshing(true);
+            resultTable.setAttribute(Table.ADD_ONLY_TABLE_ATTRIBUTE, true);
+            resultTable.setAttribute(Table.APPEND_ONLY_TABLE_ATTRIBUTE, true);
+            final BaseTable.ListenerImpl listener = new BaseTable.ListenerImpl(getDescription(), parent, resultTable) {
+                @Override
+                public void onUpdate(final TableUpdate upstream) {
+                    WindowedAggregationOperation.this.onUpdate(upstream);
+                }
+            };
+            return new Result<>(resultTable, listener);
+        }
+
+        private void onUpdate(@NotNull final TableUpdate upstream) {
+            if (upstream.modified().isNonempty() || (upstream.removed().isNonempty() && !parent.isBlink())) {
+                throw new IllegalStateException("Windowed aggregation input must be add-only or blink");
+            }
+            try (final SafeCloseable ignored = executionContext.open()) {
+                append(upstream.added(), false);
+                final Table closed = closeWindows(false);
+                if (closed == null || closed.isEmpty()) {
+                    return;
+                }
+                final TableUpdateImpl downstream = new TableUpdateImpl();
+                downstream.added = appendResults(closed);
+                resultTable.getRowSet().writableCast().insertRange(
+                        downstream.added.firstRowKey(), downstream.added.lastRowKey());
+                downstream.removed = RowSetFactory.empty();
+                downstream.modified = RowSetFactory.empty();
+                downstream.modifiedColumnSet = ModifiedColumnSet.EMPTY;
+                downstream.shifted = RowSetShiftData.EMPTY;
+                resultTable.notifyListeners(downstream);
+            }
+        }
+
+        /**
+         * Copy {@code rows} into the buffer, once for each open window that covers each row, and advance the
+         * watermark.
+         */
+        private void append(@NotNull final RowSet rows, final boolean usePrev) {
+            if (rows.isEmpty()) {
+                return;
+            }
+            final long priorWatermark = watermark;
+            final int chunkSize = (int) Math.min(rows.size(), ChunkedOperatorAggregationHelper.CHUNK_SIZE);
+            // Each pass copies each row for the pass-th most recent window that covers it, so that every pass reads its
+            // rows in order. Earlier windows end earlier, so once a pass finds no open window for any row, we are done.
+            for (int pass = 0; pass * hopNanos < windowNanos; ++pass) {
+                final long windowOffset = pass * hopNanos;
+                final RowSetBuilderSequential sourceRows = RowSetFactory.builderSequential();
+                final TLongArrayList windowStarts = new TLongArrayList();
+                try (final ChunkSource.GetContext getContext = timestampSource.makeGetContext(chunkSize);
+                        final RowSequence.Iterator rowsIterator = rows.getRowSequenceIterator()) {
+                    while (rowsIterator.hasMore()) {
+                        final RowSequence chunkRows = rowsIterator.getNextRowSequenceWithLength(chunkSize);
+                        final LongChunk<? extends Values> timestamps = (usePrev
+                                ? timestampSource.getPrevChunk(getContext, chunkRows)
+                                : timestampSource.getChunk(getContext, chunkRows)).asLongChunk();
+                        final LongChunk<OrderedRowKeys> rowKeys = chunkRows.asRowKeyChunk();
+                        for (int ii = 0; ii < timestamps.size(); ++ii) {
+                            final long timestamp = timestamps.get(ii);
+                            if (timestamp == NULL_LONG) {
+                                continue;
+                            }
+                            if (pass == 0 && timestamp > watermark) {
+                                watermark = timestamp;
+                            }
+                            final long windowStart = Math.floorDiv(timestamp, hopNanos) * hopNanos - windowOffset;
+                            final long windowEnd = windowStart + windowNanos;
+                            if (windowEnd <= timestamp || windowEnd <= priorWatermark) {
+                                // the window does not cover this row, or has already been closed
+                                continue;
+                            }
+                            sourceRows.appendKey(rowKeys.get(ii));
+                            windowStarts.add(windowStart);
+                        }
+                    }
+                }
+
+                try (final RowSet passRows = sourceRows.build()) {
+                    if (passRows.isEmpty()) {
+                        return;
+                    }
+                    final long firstDestination = buffer.size;
+                    buffer.size += passRows.size();
+                    try (final RowSet destinations = RowSetFactory.fromRange(firstDestination, buffer.size - 1)) {
+                        ChunkUtils.copyData(inputSources, passRows, buffer.inputDestinations, destinations, usePrev);
+                    }
+                    buffer.windowStarts.ensureCapacity(buffer.size);
+                    for (int ii = 0; ii < windowStarts.size(); ++ii) {
+                        final long windowStart = windowStarts.get(ii);
+                        buffer.windowStarts.set(firstDestination + ii, windowStart);
+                        minOpenWindowStart = Math.min(minOpenWindowStart, windowStart);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Aggregate the buffered rows of the windows that have closed, and release them.
+         *
+         * @param closeAll whether to close every window, rather than just those that end at or before the watermark
+         * @return the aggregated rows of the closed windows, in order of window start, or null if no window closed
+         */
+        @Nullable
+        private Table closeWindows(final boolean closeAll) {
+            if (buffer.size == 0 || (!closeAll && minOpenWindowStart > watermark - windowNanos)) {
+                return null;
+            }
+            final long lastClosedStart = closeAll ? Long.MAX_VALUE : watermark - windowNanos;
+            final RowSetBuilderSequential closedBuilder = RowSetFactory.builderSequential();
+            final RowSetBuilderSequential openBuilder = RowSetFactory.builderSequential();
+            long newMinOpenWindowStart = Long.MAX_VALUE;
+            for (long ri = 0; ri < buffer.size; ++ri) {
+                final long windowStart = buffer.windowStarts.getLong(ri);
+                if (windowStart <= lastClosedStart) {
+                    closedBuilder.appendKey(ri);
+                } else {
+                    openBuilder.appendKey(ri);
+                    newMinOpenWindowStart = Math.min(newMinOpenWindowStart, windowStart);
+                }
+            }
+
+            final Table closed;
+            try (final RowSet closedRows = closedBuilder.build();
+                    final RowSet openRows = openBuilder.build()) {
+                closed = buffer.view(closedRows).aggBy(aggregations, keyColumns).sort(windowStartColumn);
+
+                // Retain only the rows of the open windows, in a new buffer
+                final WindowBuffer retained =
+                        new WindowBuffer(parent.getColumnSourceMap(), windowStartColumn, instantWindows);
+                if (openRows.isNonempty()) {
+                    retained.size = openRows.size();
+                    try (final RowSet destinations = RowSetFactory.flat(retained.size)) {
+                        ChunkUtils.copyData(buffer.destinations, openRows, retained.destinations, destinations,
+                                false);
+                    }
+                }
+                buffer = retained;
+                minOpenWindowStart = newMinOpenWindowStart;
+            }
+            return closed;
+        }
+
+        /**
+         * Append {@code closed} to the result columns.
+         *
+         * @return the result row keys that were appended
+         */
+        private WritableRowSet appendResults(@Nullable final Table closed) {
+            final long firstDestination = resultTable == null ? 0 : resultTable.size();
+            if (closed == null || closed.isEmpty()) {
+                return RowSetFactory.empty();
+            }
+            final List<ColumnSource<?>> sources = new ArrayList<>(resultColumns.length);
+            for (final String resultColumn : resultColumns) {
+                sources.add(ReinterpretUtils.maybeConvertToPrimitive(closed.getColumnSource(resultColumn)));
+            }
+            final WritableRowSet destinations =
+                    RowSetFactory.fromRange(firstDestination, firstDestination + closed.size() - 1);
+            ChunkUtils.copyData(sources.toArray(ColumnSource[]::new), closed.getRowSet(), resultDestinations,
+                    destinations, false);
+            return destinations;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl.by.ssmpercentile;
+
+import io.deephaven.chunk.*;
+import io.deephaven.chunk.attributes.ChunkLengths;
+import io.deephaven.chunk.attributes.ChunkPositions;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.rowset.chunkattributes.RowKeys;
+import io.deephaven.engine.table.ColumnSource;
+import io.deephaven.engine.table.WritableColumnSource;
+import io.deephaven.engine.table.impl.by.IterativeChunkedAggregationOperator;
+import io.deephaven.engine.table.impl.sources.DoubleArraySource;
+import io.deephaven.engine.table.impl.sources.IntegerArraySource;
+import io.deephaven.engine.table.impl.sources.LongArraySource;
+import io.deephaven.engine.table.impl.util.compact.CompactKernel;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static io.deephaven.util.QueryConstants.NULL_DOUBLE;
+import static io.deephaven.util.QueryConstants.NULL_INT;
+import static io.deephaven.util.QueryConstants.NULL_LONG;
+
+/**
+ * <p>
+ * Exact percentile operator for {@code int}, {@code long}, and {@code double} columns that keeps the values for each
+ * bucket in a {@link CompactOrderStatistics}, rather than in the pair of sorted multisets that
+ * {@link SsmChunkedPercentileOperator} uses. Results are the same as those of {@link SsmChunkedPercentileOperator}.
+ * </p>
+ *
+ * <p>
+ * Values are stored as {@code long} keys that sort in the same order as the values; {@code double} values are mapped
+ * to their IEEE 754 bits with the magnitude bits of negative values flipped, and negative zero is stored as zero.
+ * </p>
+ */
+public class CompactChunkedPercentileOperator implements IterativeChunkedAggregationOperator {
+    private final double percentile;
+    private final boolean averageEvenlyDivided;
+    private final String name;
+    private final ChunkType chunkType;
+    private final CompactKernel compactAndCountKernel;
+    private final CompactOrderStatistics orderStatistics = new CompactOrderStatistics();
+    private final WritableColumnSource<?> resultColumn;
+
+    /**
+     * @param type the input column type
+     * @return whether this operator supports input columns of {@code type}
+     */
+    public static boolean supportsType(final Class<?> type) {
+        return type == int.class || type == long.class || type == double.class;
+    }
+
+    public CompactChunkedPercentileOperator(Class<?> type, double percentile, boolean averageEvenlyDivided,
+            String name) {
+        if (!supportsType(type)) {
+            throw new IllegalArgumentException("Compact percentile is not supported for type " + type);
+        }
+        this.percentile = percentile;
+        this.averageEvenlyDivided = averageEvenlyDivided;
+        this.name = name;
+        chunkType = ChunkType.fromElementType(type);
+        compactAndCountKernel = CompactKernel.makeCompact(chunkType);
+        if (averageEvenlyDivided || chunkType == ChunkType.Double) {
+            resultColumn = new DoubleArraySource();
+        } else if (chunkType == ChunkType.Long) {
+            resultColumn = new LongArraySource();
+        } else {
+            resultColumn = new IntegerArraySource();
+        }
+    }
+
+    @Override
+    public void addChunk(BucketedContext bucketedContext, Chunk<? extends Values> values,
+            LongChunk<? extends RowKeys> inputRowKeys, IntChunk<RowKeys> destinations,
+            IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
+            WritableBooleanChunk<Values> stateModified) {
+        final BucketedCompactPercentileContext context = (BucketedCompactPercentileContext) bucketedContext;
+        compactAndEncode(context, values, startPositions, length);
+        for (int ii = 0; ii < startPositions.size(); ++ii) {
+            final int runLength = context.lengthCopy.get(ii);
+            if (runLength == 0) {
+                continue;
+            }
+            final int startPosition = startPositions.get(ii);
+            final long destination = destinations.get(startPosition);
+            orderStatistics.insert(destination, context.keys, context.counts, startPosition, runLength);
+            stateModified.set(ii, updateResult(destination));
+        }
+    }
+
+    @Override
+    public void removeChunk(BucketedContext bucketedContext, Chunk<? extends Values> values,
+            LongChunk<? extends RowKeys> inputRowKeys, IntChunk<RowKeys> destinations,
+            IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
+            WritableBooleanChunk<Values> stateModified) {
+        final BucketedCompactPercentileContext context = (BucketedCompactPercentileContext) bucketedContext;
+        compactAndEncode(context, values, startPositions, length);
+        for (int ii = 0; ii < startPositions.size(); ++ii) {
+            final int runLength = context.lengthCopy.get(ii);
+            if (runLength == 0) {
+                continue;
+            }
+            final int startPosition = startPositions.get(ii);
+            final long destination = destinations.get(startPosition);
+            orderStatistics.remove(destination, context.keys, context.counts, startPosition, runLength);
+            stateModified.set(ii, updateResult(destination));
+        }
+    }
+
+    @Override
+    public void modifyChunk(BucketedContext bucketedContext, Chunk<? extends Values> preValues,
+            Chunk<? extends Values> postValues, LongChunk<? extends RowKeys> postShiftRowKeys,
+            IntChunk<RowKeys> destinations, IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length,
+            WritableBooleanChunk<Values> stateModified) {
+        final BucketedCompactPercentileContext context = (BucketedCompactPercentileContext) bucketedContext;
+        compactAndEncode(context, preValues, startPositions, length);
+        for (int ii = 0; ii < startPositions.size(); ++ii) {
+            final int runLength = context.lengthCopy.get(ii);
+            if (runLength == 0) {
+                continue;
+            }
+            final int startPosition = startPositions.get(ii);
+            orderStatistics.remove(destinations.get(startPosition), context.keys, context.counts, startPosition,
+                    runLength);
+        }
+
+        compactAndEncode(context, postValues, startPositions, length);
+        for (int ii = 0; ii < startPositions.size(); ++ii) {
+            final int startPosition = startPositions.get(ii);
+            final long destination = destinations.get(startPosition);
+            orderStatistics.insert(destination, context.keys, context.counts, startPosition,
+                    context.lengthCopy.get(ii));
+            stateModified.set(ii, updateResult(destination));
+        }
+    }
+
+    @Override
+    public boolean addChunk(SingletonContext singletonContext, int chunkSize, Chunk<? extends Values> values,
+            LongChunk<? extends RowKeys> inputRowKeys, long destination) {
+        final CompactPercentileContext context = (CompactPercentileContext) singletonContext;
+        final int size = compactAndEncode(context, values);
+        orderStatistics.insert(destination, context.keys, context.counts, 0, size);
+        return updateResult(destination);
+    }
+
+    @Override
+    public boolean removeChunk(SingletonContext singletonContext, int chunkSize, Chunk<? extends Values> values,
+            LongChunk<? extends RowKeys> inputRowKeys, long destination) {
+        final CompactPercentileContext context = (CompactPercentileContext) singletonContext;
+        final int size = compactAndEncode(context, values);
+        if (size == 0) {
+            return false;
+        }
+        orderStatistics.remove(destination, context.keys, context.counts, 0, size);
+        return updateResult(destination);
+    }
+
+    @Override
+    public boolean modifyChunk(SingletonContext singletonContext, int chunkSize, Chunk<? extends Values> preValues,
+            Chunk<? extends Values> postValues, LongChunk<? extends RowKeys> postShiftRowKeys, long destination) {
+        final CompactPercentileContext context = (CompactPercentileContext) singletonContext;
+        final int preSize = compactAndEncode(context, preValues);
+        orderStatistics.remove(destination, context.keys, context.counts, 0, preSize);
+        final int postSize = compactAndEncode(context, postValues);
+        orderStatistics.insert(destination, context.keys, context.counts, 0, postSize);
+        if (preSize == 0 && postSize == 0) {
+            return false;
+        }
+        return updateResult(destination);
+    }
+
+    /**
+     * Sort, compact, and count each run of {@code values}, and encode the distinct values of each run as keys.
+     */
+    private void compactAndEncode(BucketedCompactPercentileContext context, Chunk<? extends Values> values,
+            IntChunk<ChunkPositions> startPositions, IntChunk<ChunkLengths> length) {
+        context.valueCopy.setSize(values.size());
+        // noinspection unchecked
+        context.valueCopy.copyFromChunk((Chunk) values, 0, 0, values.size());
+
+        context.lengthCopy.setSize(length.size());
+        context.lengthCopy.copyFromChunk(length, 0, 0, length.size());
+
+        compactAndCountKernel.compactAndCount(context.valueCopy, context.counts, startPositions, context.lengthCopy);
+
+        context.keys.setSize(values.size());
+        for (int ii = 0; ii < startPositions.size(); ++ii) {
+            encode(context.valueCopy, context.keys, startPositions.get(ii), context.lengthCopy.get(ii));
+        }
+    }
+
+    /**
+     * Sort, compact, and count {@code values}, and encode the distinct values as keys.
+     *
+     * @return the number of distinct values
+     */
+    private int compactAndEncode(CompactPercentileContext context, Chunk<? extends Values> values) {
+        context.valueCopy.setSize(values.size());
+        // noinspection unchecked
+        context.valueCopy.copyFromChunk((Chunk) values, 0, 0, values.size());
+        compactAndCountKernel.compactAndCount(context.valueCopy, context.counts);
+
+        final int size = context.valueCopy.size();
+        context.keys.setSize(size);
+        encode(context.valueCopy, context.keys, 0, size);
+        return size;
+    }
+
+    private void encode(Chunk<? extends Values> values, WritableLongChunk<Values> keys, int start, int length) {
+        final int end = start + length;
+        switch (chunkType) {
+            case Int: {
+                final IntChunk<? extends Values> intValues = values.asIntChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    keys.set(ii, intValues.get(ii));
+                }
+                break;
+            }
+            case Long:
+                keys.copyFromChunk(values.asLongChunk(), start, start, length);
+                break;
+            case Double: {
+                final DoubleChunk<? extends Values> doubleValues = values.asDoubleChunk();
+                for (int ii = start; ii < end; ++ii) {
+                    keys.set(ii, doubleToKey(doubleValues.get(ii)));
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unexpected chunk type " + chunkType);
+        }
+    }
+
+    private static long doubleToKey(final double value) {
+        // Adding zero turns negative zero into positive zero
+        final long bits = Double.doubleToLongBits(value + 0.0);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private static double keyToDouble(final long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+    }
+
+    private double keyToResult(final long key) {
+        return chunkType == ChunkType.Double ? keyToDouble(key) : (double) key;
+    }
+
+    /**
+     * Recompute the result for {@code destination}, choosing the same values as {@link SsmChunkedPercentileOperator}.
+     *
+     * @return whether the result changed
+     */
+    private boolean updateResult(final long destination) {
+        final long size = orderStatistics.size(destination);
+        if (size == 0) {
+            return setResultNull(destination);
+        }
+        if (averageEvenlyDivided) {
+            final long targetLo = (int) ((size - 1) * percentile) + 1;
+            final long lo = orderStatistics.select(destination, targetLo - 1);
+            if (targetLo * 2 == size) {
+                return setDoubleResult(destination, average(lo, orderStatistics.select(destination, targetLo)));
+            }
+            return setDoubleResult(destination, keyToResult(lo));
+        }
+        final long targetLo = Math.round((size - 1) * percentile) + 1;
+        return setKeyResult(destination, orderStatistics.select(destination, targetLo - 1));
+    }
+
+    private double average(final long lo, final long hi) {
+        switch (chunkType) {
+            case Int:
+                return ((int) lo + (int) hi) / 2.0;
+            case Long:
+                return (lo + hi) / 2.0;
+            case Double:
+                return (keyToDouble(lo) + keyToDouble(hi)) / 2.0;
+            default:
+                throw new IllegalStateException("Unexpected chunk type " + chunkType);
+        }
+    }
+
+    private boolean setKeyResult(final long destination, final long key) {
+        switch (chunkType) {
+            case Int: {
+                final int newResult = (int) key;
+                return ((IntegerArraySource) resultColumn).getAndSetUnsafe(destination, newResult) != newResult;
+            }
+            case Long:
+                return ((LongArraySource) resultColumn).getAndSetUnsafe(destination, key) != key;
+            case Double:
+                return setDoubleResult(destination, keyToDouble(key));
+            default:
+                throw new IllegalStateException("Unexpected chunk type " + chunkType);
+        }
+    }
+
+    private boolean setDoubleResult(final long destination, final double newResult) {
+        return ((DoubleArraySource) resultColumn).getAndSetUnsafe(destination, newResult) != newResult;
+    }
+
+    private boolean setResultNull(final long destination) {
+        if (resultColumn instanceof DoubleArraySource) {
+            return setDoubleResult(destination, NULL_DOUBLE);
+        }
+        if (resultColumn instanceof LongArraySource) {
+            return ((LongArraySource) resultColumn).getAndSetUnsafe(destination, NULL_LONG) != NULL_LONG;
+        }
+        return ((IntegerArraySource) resultColumn).getAndSetUnsafe(destination, NULL_INT) != NULL_INT;
+    }
+
+    @Override
+    public void ensureCapacity(long tableSize) {
+        resultColumn.ensureCapacity(tableSize);
+        orderStatistics.ensureCapacity(tableSize);
+    }
+
+    @Override
+    public Map<String, ? extends ColumnSource<?>> getResultColumns() {
+        return Collections.<String, ColumnSource<?>>singletonMap(name, resultColumn);
+    }
+
+    @Override
+    public void startTrackingPrevValues() {
+        resultColumn.startTrackingPrevValues();
+    }
+
+    @Override
+    public BucketedContext makeBucketedContext(int size) {
+        return new BucketedCompactPercentileContext(chunkType, size);
+    }
+
+    @Override
+    public SingletonContext makeSingletonContext(int size) {
+        return new CompactPercentileContext(chunkType, size);
+    }
+
+    private static class CompactPercentileContext implements SingletonContext {
+        final WritableChunk<? extends Values> valueCopy;
+        final WritableIntChunk<ChunkLengths> counts;
+        final WritableLongChunk<Values> keys;
+
+        private CompactPercentileContext(ChunkType chunkType, int size) {
+            valueCopy = chunkType.makeWritableChunk(size);
+            counts = WritableIntChunk.makeWritableChunk(size);
+            keys = WritableLongChunk.makeWritableChunk(size);
+        }
+
+        @Override
+        public void close() {
+            valueCopy.close();
+            counts.close();
+            keys.close();
+        }
+    }
+
+    private static class BucketedCompactPercentileContext extends CompactPercentileContext
+            implements BucketedContext {
+        final WritableIntChunk<ChunkLengths> lengthCopy;
+
+        private BucketedCompactPercentileContext(ChunkType chunkType, int size) {
+            super(chunkType, size);
+            lengthCopy = WritableIntChunk.makeWritableChunk(size);
+        }
+
+        @Override
+        public void close() {
+            super.close();
+            lengthCopy.close();
+        }
+    }
+}
@@ -0,0 +1,511 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl.by.ssmpercentile;
+
+import io.deephaven.chunk.IntChunk;
+import io.deephaven.chunk.LongChunk;
+import io.deephaven.chunk.attributes.ChunkLengths;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.configuration.Configuration;
+import io.deephaven.engine.table.impl.sources.ObjectArraySource;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * A multiset of {@code long} keys for each of many buckets, supporting insertion and removal of sorted runs of distinct
+ * keys with counts, and selection of the key at a given rank.
+ * </p>
+ *
+ * <p>
+ * A bucket with few distinct keys is a single {@code long[]}: its distinct key count and total size, followed by
+ * interleaved key/count pairs in ascending key order. This costs one small array per bucket, where
+ * {@link SsmChunkedPercentileOperator} keeps a pair of sorted multisets, each with its own directory and leaf arrays. A
+ * bucket that grows past {@code maxFlatSize} distinct keys becomes a B+tree whose inner nodes record the maximum key
+ * and the total count beneath each child, so that insertion, removal, and selection by rank are logarithmic in the
+ * number of distinct keys.
+ * </p>
+ */
+final class CompactOrderStatistics {
+    private static final int MAX_FLAT_SIZE = Configuration.getInstance()
+            .getIntegerWithDefault("CompactOrderStatistics.maxFlatSize", 64);
+    private static final int NODE_SIZE = Configuration.getInstance()
+            .getIntegerWithDefault("CompactOrderStatistics.nodeSize", 128);
+    private static final int INITIAL_NODE_CAPACITY = Math.min(8, NODE_SIZE + 1);
+
+    private static final int FLAT_DISTINCT = 0;
+    private static final int FLAT_TOTAL = 1;
+    private static final int FLAT_HEADER = 2;
+
+    /**
+     * The state of each bucket: null if the bucket is empty, else a flat {@code long[]} or the root {@link Node} of a
+     * tree.
+     */
+    private final ObjectArraySource<Object> states = new ObjectArraySource<>(Object.class);
+
+    void ensureCapacity(final long capacity) {
+        states.ensureCapacity(capacity);
+    }
+
+    /**
+     * @param bucket the bucket
+     * @return the number of keys in {@code bucket}, counting duplicates
+     */
+    long size(final long bucket) {
+        final Object state = states.getUnsafe(bucket);
+        if (state == null) {
+            return 0;
+        }
+        if (state instanceof long[]) {
+            return ((long[]) state)[FLAT_TOTAL];
+        }
+        return ((Node) state).total;
+    }
+
+    /**
+     * @param bucket the bucket
+     * @param rank the rank to select, counting duplicates; must be less than {@link #size(long)}
+     * @return the key with {@code rank} smaller keys in {@code bucket}
+     */
+    long select(final long bucket, long rank) {
+        final Object state = states.getUnsafe(bucket);
+        if (state instanceof long[]) {
+            final long[] flat = (long[]) state;
+            int fi = 0;
+            while (rank >= flat[countPos(fi)]) {
+                rank -= flat[countPos(fi++)];
+            }
+            return flat[keyPos(fi)];
+        }
+        Node node = (Node) state;
+        while (true) {
+            int ii = 0;
+            while (rank >= node.counts[ii]) {
+                rank -= node.counts[ii++];
+            }
+            if (node.isLeaf()) {
+                return node.keys[ii];
+            }
+            node = node.children[ii];
+        }
+    }
+
+    /**
+     * Insert a run of keys into a bucket.
+     *
+     * @param bucket the bucket
+     * @param keys the keys to insert, distinct and in ascending order within the run
+     * @param counts the number of times to insert each key
+     * @param start the start of the run within {@code keys} and {@code counts}
+     * @param length the length of the run
+     */
+    void insert(
+            final long bucket,
+            @NotNull final LongChunk<? extends Values> keys,
+            @NotNull final IntChunk<ChunkLengths> counts,
+            final int start,
+            final int length) {
+        if (length == 0) {
+            return;
+        }
+        final Object state = states.getUnsafe(bucket);
+        if (state instanceof Node) {
+            Node root = (Node) state;
+            for (int ii = start; ii < start + length; ++ii) {
+                root = treeInsert(root, keys.get(ii), counts.get(ii));
+            }
+            states.set(bucket, root);
+            return;
+        }
+        final long[] flat = flatInsert((long[]) state, keys, counts, start, length);
+        if (flat[FLAT_DISTINCT] > MAX_FLAT_SIZE) {
+            states.set(bucket, flatToTree(flat));
+        } else if (flat != state) {
+            states.set(bucket, flat);
+        }
+    }
+
+    /**
+     * Remove a run of keys from a bucket. Every key must be present at least as many times as it is removed.
+     *
+     * @param bucket the bucket
+     * @param keys the keys to remove, distinct and in ascending order within the run
+     * @param counts the number of times to remove each key
+     * @param start the start of the run within {@code keys} and {@code counts}
+     * @param length the length of the run
+     */
+    void remove(
+            final long bucket,
+            @NotNull final LongChunk<? extends Values> keys,
+            @NotNull final IntChunk<ChunkLengths> counts,
+            final int start,
+            final int length) {
+        if (length == 0) {
+            return;
+        }
+        final Object state = states.getUnsafe(bucket);
+        if (state == null) {
+            throw missingKey(keys.get(start));
+        }
+        if (state instanceof Node) {
+            Node root = (Node) state;
+            for (int ii = start; ii < start + length; ++ii) {
+                root = treeRemove(root, keys.get(ii), counts.get(ii));
+            }
+            if (root.total == 0) {
+                states.set(bucket, null);
+            } else if (root.isLeaf() && root.size <= MAX_FLAT_SIZE / 2) {
+                states.set(bucket, leafToFlat(root));
+            } else {
+                states.set(bucket, root);
+            }
+            return;
+        }
+        final long[] flat = (long[]) state;
+        flatRemove(flat, keys, counts, start, length);
+        if (flat[FLAT_TOTAL] == 0) {
+            states.set(bucket, null);
+        }
+    }
+
+    // region Flat buckets
+
+    private static int keyPos(final int index) {
+        return FLAT_HEADER + 2 * index;
+    }
+
+    private static int countPos(final int index) {
+        return FLAT_HEADER + 2 * index + 1;
+    }
+
+    private static long[] flatInsert(
+            @Nullable final long[] flat,
+            @NotNull final LongChunk<? extends Values> keys,
+            @NotNull final IntChunk<ChunkLengths> counts,
+            final int start,
+            final int length) {
+        final int oldDistinct = flat == null ? 0 : (int) flat[FLAT_DISTINCT];
+        final int end = start + length;
+
+        int newDistinct = oldDistinct;
+        long newTotal = flat == null ? 0 : flat[FLAT_TOTAL];
+        for (int ii = start, fi = 0; ii < end; ++ii) {
+            final long key = keys.get(ii);
+            while (fi < oldDistinct && flat[keyPos(fi)] < key) {
+                ++fi;
+            }
+            if (fi == oldDistinct || flat[keyPos(fi)] != key) {
+                ++newDistinct;
+            }
+            newTotal += counts.get(ii);
+        }
+
+        final long[] result;
+        if (flat != null && flat.length >= keyPos(newDistinct)) {
+            result = flat;
+        } else {
+            result = new long[keyPos(Math.max(newDistinct, Math.min(2 * oldDistinct, MAX_FLAT_SIZE)))];
+        }
+
+        // Merge from the back, so that we never overwrite an existing entry that has not been merged yet
+        int fi = oldDistinct - 1;
+        int wi = newDistinct - 1;
+        for (int ii = end - 1; ii >= start; --wi) {
+            final long key = keys.get(ii);
+            if (fi >= 0 && flat[keyPos(fi)] > key) {
+                result[keyPos(wi)] = flat[keyPos(fi)];
+                result[countPos(wi)] = flat[countPos(fi)];
+                --fi;
+            } else if (fi >= 0 && flat[keyPos(fi)] == key) {
+                result[keyPos(wi)] = key;
+                result[countPos(wi)] = flat[countPos(fi)] + counts.get(ii);
+                --fi;
+                --ii;
+            } else {
+                result[keyPos(wi)] = key;
+                result[countPos(wi)] = counts.get(ii);
+                --ii;
+            }
+        }
+        if (result != flat && fi >= 0) {
+            System.arraycopy(flat, FLAT_HEADER, result, FLAT_HEADER, 2 * (fi + 1));
+        }
+
+        result[FLAT_DISTINCT] = newDistinct;
+        result[FLAT_TOTAL] = newTotal;
+        return result;
+    }
+
+    private static void flatRemove(
+            @NotNull final long[] flat,
+            @NotNull final LongChunk<? extends Values> keys,
+            @NotNull final IntChunk<ChunkLengths> counts,
+            final int start,
+            final int length) {
+        final int oldDistinct = (int) flat[FLAT_DISTINCT];
+        long removed = 0;
+        int fi = 0;
+        int wi = 0;
+        for (int ii = start; ii < start + length; ++ii) {
+            final long key = keys.get(ii);
+            for (; fi < oldDistinct && flat[keyPos(fi)] < key; ++fi, ++wi) {
+                flat[keyPos(wi)] = flat[keyPos(fi)];
+                flat[countPos(wi)] = flat[countPos(fi)];
+            }
+            if (fi == oldDistinct || flat[keyPos(fi)] != key || flat[countPos(fi)] < counts.get(ii)) {
+                throw missingKey(key);
+            }
+            final long remaining = flat[countPos(fi++)] - counts.get(ii);
+            removed += counts.get(ii);
+            if (remaining > 0) {
+                flat[keyPos(wi)] = key;
+                flat[countPos(wi++)] = remaining;
+            }
+        }
+        for (; fi < oldDistinct; ++fi, ++wi) {
+            flat[keyPos(wi)] = flat[keyPos(fi)];
+            flat[countPos(wi)] = flat[countPos(fi)];
+        }
+        flat[FLAT_DISTINCT] = wi;
+        flat[FLAT_TOTAL] -= removed;
+    }
+
+    private static Node flatToTree(@NotNull final long[] flat) {
+        final int distinct = (int) flat[FLAT_DISTINCT];
+        Node root = new Node(true, distinct);
+        for (int fi = 0; fi < distinct; ++fi) {
+            root = treeInsert(root, flat[keyPos(fi)], flat[countPos(fi)]);
+        }
+        return root;
+    }
+
+    private static long[] leafToFlat(@NotNull final Node leaf) {
+        final long[] flat = new long[keyPos(leaf.size)];
+        for (int ii = 0; ii < leaf.size; ++ii) {
+            flat[keyPos(ii)] = leaf.keys[ii];
+            flat[countPos(ii)] = leaf.counts[ii];
+        }
+        flat[FLAT_DISTINCT] = leaf.size;
+        flat[FLAT_TOTAL] = leaf.total;
+        return flat;
+    }
+
+    // endregion Flat buckets
+
+    // region Tree buckets
+
+    /**
+     * A B+tree node. Leaves hold keys and their counts; inner nodes hold the maximum key and the total count of each
+     * child. Nodes grow their arrays on demand, up to room for one entry more than {@link #NODE_SIZE}, and are split as
+     * soon as they overflow; most buckets that become trees never fill their root leaf.
+     */
+    private static final class Node {
+        private long[] keys;
+        private long[] counts;
+        private Node[] children;
+        private int size;
+        private long total;
+
+        /**
+         * @param leaf whether the node is a leaf
+         * @param expectedSize the number of entries the node is expected to hold
+         */
+        private Node(final boolean leaf, final int expectedSize) {
+            final int capacity = Math.min(NODE_SIZE + 1, Math.max(INITIAL_NODE_CAPACITY, expectedSize));
+            keys = new long[capacity];
+            counts = new long[capacity];
+            children = leaf ? null : new Node[capacity];
+        }
+
+        private void ensureCapacity(final int needed) {
+            if (needed <= keys.length) {
+                return;
+            }
+            final int capacity = Math.min(NODE_SIZE + 1, Math.max(needed, keys.length * 2));
+            keys = Arrays.copyOf(keys, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            if (children != null) {
+                children = Arrays.copyOf(children, capacity);
+            }
+        }
+
+        private boolean isLeaf() {
+            return children == null;
+        }
+
+        private long maxKey() {
+            return keys[size - 1];
+        }
+
+        /**
+         * @return the position of the child whose range includes {@code key}; keys beyond the last child's maximum
+         *         belong to the last child
+         */
+        private int childFor(final long key) {
+            final int pos = Arrays.binarySearch(keys, 0, size, key);
+            return pos >= 0 ? pos : Math.min(-pos - 1, size - 1);
+        }
+
+        private void setChild(final int pos, @NotNull final Node child) {
+            children[pos] = child;
+            keys[pos] = child.maxKey();
+            counts[pos] = child.total;
+        }
+
+        private void openGap(final int pos) {
+            ensureCapacity(size + 1);
+            System.arraycopy(keys, pos, keys, pos + 1, size - pos);
+            System.arraycopy(counts, pos, counts, pos + 1, size - pos);
+            if (children != null) {
+                System.arraycopy(children, pos, children, pos + 1, size - pos);
+            }
+            ++size;
+        }
+
+        private void closeGap(final int pos) {
+            System.arraycopy(keys, pos + 1, keys, pos, size - pos - 1);
+            System.arraycopy(counts, pos + 1, counts, pos, size - pos - 1);
+            --size;
+            if (children != null) {
+                System.arraycopy(children, pos + 1, children, pos, size - pos);
+                children[size] = null;
+            }
+        }
+
+        /**
+         * @return a new right sibling holding the upper half of this node's entries if this node has overflowed, else
+         *         null
+         */
+        private Node splitIfFull() {
+            if (size <= NODE_SIZE) {
+                return null;
+            }
+            final int kept = (size + 1) / 2;
+            final int moved = size - kept;
+            final Node sibling = new Node(isLeaf(), moved);
+            System.arraycopy(keys, kept, sibling.keys, 0, moved);
+            System.arraycopy(counts, kept, sibling.counts, 0, moved);
+            if (children != null) {
+                System.arraycopy(children, kept, sibling.children, 0, moved);
+                Arrays.fill(children, kept, size, null);
+            }
+            long movedTotal = 0;
+            for (int ii = 0; ii < moved; ++ii) {
+                movedTotal += sibling.counts[ii];
+            }
+            sibling.size = moved;
+            sibling.total = movedTotal;
+            size = kept;
+            total -= movedTotal;
+            return sibling;
+        }
+
+        /**
+         * Merge the child at {@code pos} with a neighbor, if their entries fit in a single node.
+         */
+        private void mergeChild(final int pos) {
+            final int left = pos > 0 ? pos - 1 : pos;
+            final int right = left + 1;
+            if (right >= size) {
+                return;
+            }
+            final Node leftChild = children[left];
+            final Node rightChild = children[right];
+            if (leftChild.size + rightChild.size > NODE_SIZE) {
+                return;
+            }
+            leftChild.ensureCapacity(leftChild.size + rightChild.size);
+            System.arraycopy(rightChild.keys, 0, leftChild.keys, leftChild.size, rightChild.size);
+            System.arraycopy(rightChild.counts, 0, leftChild.counts, leftChild.size, rightChild.size);
+            if (leftChild.children != null) {
+                System.arraycopy(rightChild.children, 0, leftChild.children, leftChild.size, rightChild.size);
+            }
+            leftChild.size += rightChild.size;
+            leftChild.total += rightChild.total;
+            setChild(left, leftChild);
+            closeGap(right);
+        }
+    }
+
+    private static Node treeInsert(@NotNull final Node root, final long key, final long count) {
+        final Node sibling = insert(root, key, count);
+        if (sibling == null) {
+            return root;
+        }
+        final Node newRoot = new Node(false, 2);
+        newRoot.size = 2;
+        newRoot.setChild(0, root);
+        newRoot.setChild(1, sibling);
+        newRoot.total = root.total + sibling.total;
+        return newRoot;
+    }
+
+    private static Node insert(@NotNull final Node node, final long key, final long count) {
+        node.total += count;
+        if (node.isLeaf()) {
+            final int pos = Arrays.binarySearch(node.keys, 0, node.size, key);
+            if (pos >= 0) {
+                node.counts[pos] += count;
+                return null;
+            }
+            final int insertAt = -pos - 1;
+            node.openGap(insertAt);
+            node.keys[insertAt] = key;
+            node.counts[insertAt] = count;
+            return node.splitIfFull();
+        }
+        final int pos = node.childFor(key);
+        final Node child = node.children[pos];
+        final Node sibling = insert(child, key, count);
+        node.setChild(pos, child);
+        if (sibling == null) {
+            return null;
+        }
+        node.openGap(pos + 1);
+        node.setChild(pos + 1, sibling);
+        return node.splitIfFull();
+    }
+
+    private static Node treeRemove(@NotNull final Node root, final long key, final long count) {
+        remove(root, key, count);
+        if (!root.isLeaf() && root.size == 1) {
+            return root.children[0];
+        }
+        return root;
+    }
+
+    private static void remove(@NotNull final Node node, final long key, final long count) {
+        if (node.isLeaf()) {
+            final int pos = Arrays.binarySearch(node.keys, 0, node.size, key);
+            if (pos < 0 || node.counts[pos] < count) {
+                throw missingKey(key);
+            }
+            node.total -= count;
+            if ((node.counts[pos] -= count) == 0) {
+                node.closeGap(pos);
+            }
+            return;
+        }
+        final int pos = node.childFor(key);
+        final Node child = node.children[pos];
+        remove(child, key, count);
+        node.total -= count;
+        if (child.size == 0) {
+            node.closeGap(pos);
+            return;
+        }
+        node.setChild(pos, child);
+        if (child.size < NODE_SIZE / 4) {
+            node.mergeChild(pos);
+        }
+    }
+
+    // endregion Tree buckets
+
+    private static IllegalStateException missingKey(final long key) {
+        return new IllegalStateException("Removed key " + key + " is not present in its bucket");
+    }
+}
@@ -11,6 +11,7 @@ import io.deephaven.base.verify.Assert;
 import io.deephaven.chunk.*;
 import io.deephaven.chunk.attributes.Any;
 import io.deephaven.chunk.attributes.Values;
+import io.deephaven.configuration.Configuration;
 import io.deephaven.engine.context.ExecutionContext;
 import io.deephaven.engine.liveness.LivenessArtifact;
 import io.deephaven.engine.liveness.LivenessScopeStack;
@@ -31,8 +32,10 @@ import io.deephaven.internal.log.LoggerFactory;
 import io.deephaven.io.logger.Logger;
 import io.deephaven.util.SafeCloseable;
 import io.deephaven.util.SafeCloseableArray;
+import io.deephaven.util.annotations.VisibleForTesting;
 import io.deephaven.util.datastructures.linked.IntrusiveDoublyLinkedNode;
 import io.deephaven.util.datastructures.linked.IntrusiveDoublyLinkedQueue;
+import org.apache.commons.lang3.mutable.MutableInt;
 import org.apache.commons.lang3.mutable.MutableObject;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -74,6 +77,15 @@ abstract class HierarchicalTableImpl<IFACE_TYPE extends HierarchicalTable<IFACE_
 
     private static final int CHUNK_SIZE = 512;
 
+    /**
+     * The maximum number of node table states that a {@link SnapshotStateImpl} retains for nodes that were not visited
+     * by its most recent snapshot. Retained nodes keep their filtered and sorted tables, so that scrolling back to them
+     * or re-expanding them need not re-apply node operations. Least-recently visited nodes are released first.
+     */
+    @VisibleForTesting
+    static int unvisitedNodeTableCacheSize = Configuration.getInstance()
+            .getIntegerWithDefault("HierarchicalTable.unvisitedNodeTableCacheSize", 256);
+
     @SuppressWarnings("unchecked")
     private static volatile ColumnSource<Integer>[] cachedDepthSources =
             ColumnSource.ZERO_LENGTH_COLUMN_SOURCE_ARRAY;
@@ -168,6 +180,11 @@ abstract class HierarchicalTableImpl<IFACE_TYPE extends HierarchicalTable<IFACE_
         private boolean expandingAll;
         private long visitedSize = NULL_LONG;
         private int includedSize = NULL_INT;
+        /**
+         * While traversing a subtree that we expect to end before the first included row, the
+         * {@link #visitedSize visited size} past which that expectation has proven wrong; {@code NULL_LONG} otherwise.
+         */
+        private long skipTraversalLimit = NULL_LONG;
         // endregion Per-attempt and intra-attempt parameters and state
 
         /**
@@ -181,13 +198,40 @@ abstract class HierarchicalTableImpl<IFACE_TYPE extends HierarchicalTable<IFACE_
             }
         }
 
+        /**
+         * @return The number of nodes whose table states are currently retained
+         */
+        @VisibleForTesting
+        int numRetainedNodeTableStates() {
+            return nodeTableStates.size();
+        }
+
+        /**
+         * @return The number of retained nodes to which node sorts have been applied
+         */
+        @VisibleForTesting
+        int numSortedNodeTableStates() {
+            final MutableInt numSorted = new MutableInt();
+            nodeTableStates.forEach((final NodeTableState nodeTableState) -> {
+                if (nodeTableState.sortedCreated()) {
+                    numSorted.increment();
+                }
+            });
+            return numSorted.intValue();
+        }
+
         @Nullable
         NodeTableState getNodeTableState(final long nodeId) {
             final NodeTableState existing = nodeTableStates.get(nodeId);
+            final Table base = nodeIdToNodeBaseTable(nodeId);
             if (existing != null) {
-                return existing;
+                if (existing.base == base) {
+                    return existing;
+                }
+                // The node was replaced since we cached it, e.g. because its key was removed and re-added
+                existing.release();
+                nodeTableStates.remove(nodeId);
             }
-            final Table base = nodeIdToNodeBaseTable(nodeId);
             if (base == null) {
                 return null;
             }
@@ -260,6 +304,7 @@ abstract class HierarchicalTableImpl<IFACE_TYPE extends HierarchicalTable<IFACE_
             expandingAll = false;
             visitedSize = 0;
             includedSize = 0;
+            skipTraversalLimit = NULL_LONG;
             snapshotClock++;
         }
 
@@ -272,7 +317,15 @@ abstract class HierarchicalTableImpl<IFACE_TYPE extends HierarchicalTable<IFACE_
         }
 
         private boolean filling() {
-            return includedSize < targetIncludedSize;
+            return skipTraversalLimit == NULL_LONG && includedSize < targetIncludedSize;
+        }
+
+        /**
+         * @return Whether we are traversing a subtree we expected to skip entirely, and have already visited a row that
+         *         must be included
+         */
+        private boolean skipTraversalFailed() {
+            return skipTraversalLimit != NULL_LONG && visitedSize > skipTraversalLimit;
         }
 
         private long remainingToSkip() {
@@ -358,12 +411,19 @@ abstract class HierarchicalTableImpl<IFACE_TYPE extends HierarchicalTable<IFACE_
          * @return The total number of expanded rows traversed
          */
         private long finalizeSuccessfulSnapshot() {
-            final Iterator<NodeTableState> cachedNodesIter = nodeTableStates.iterator();
-            while (cachedNodesIter.hasNext()) {
-                final NodeTableState nodeTableState = cachedNodesIter.next();
+            final List<NodeTableState> unvisited = new ArrayList<>();
+            nodeTableStates.forEach((final NodeTableState nodeTableState) -> {
                 if (!nodeTableState.visited(snapshotClock)) {
+                    unvisited.add(nodeTableState);
+                }
+            });
+            final int numToRelease = unvisited.size() - unvisitedNodeTableCacheSize;
+            if (numToRelease > 0) {
+                unvisited.sort(Comparator.comparingInt(nts -> nts.visitedSnapshotClock));
+                for (int ni = 0; ni < numToRelease; ++ni) {
+                    final NodeTableState nodeTableState = unvisited.get(ni);
                     nodeTableState.release();
-                    cachedNodesIter.remove();
+                    nodeTableStates.remove(nodeTableState.id);
                 }
             }
             Arrays.stream(destinations).forEach(dc -> dc.setSize(includedSize));
@@ -376,6 +436,7 @@ abstract class HierarchicalTableImpl<IFACE_TYPE extends HierarchicalTable<IFACE_
             expandingAll = false;
             visitedSize = NULL_LONG;
             includedSize = NULL_INT;
+            skipTraversalLimit = NULL_LONG;
             columns = null;
             firstRowPositionToInclude = NULL_LONG;
             targetIncludedSize = NULL_INT;
@@ -463,6 +524,17 @@ abstract class HierarchicalTableImpl<IFACE_TYPE extends HierarchicalTable<IFACE_
                 // changes, we'll need to add liveness retention for base here.
             }
 
+            long getId() {
+                return id;
+            }
+
+            /**
+             * @return Whether node sorts have already been applied to this node
+             */
+            private boolean sortedCreated() {
+                return sorted != null;
+            }
+
             private void ensureFilteredCreated() {
                 if (filtered != null) {
                     return;
@@ -1203,6 +1275,9 @@ abstract class HierarchicalTableImpl<IFACE_TYPE extends HierarchicalTable<IFACE_
             @Nullable final List<LinkedDirective> childDirectives) {
         try {
             // Get our node-table state, and the correct table instance to expand.
+            if (snapshotState.skipTraversalFailed()) {
+                return;
+            }
             final SnapshotStateImpl.NodeTableState nodeTableState = snapshotState.getNodeTableState(nodeId);
             if (nodeTableState == null) {
                 if (snapshotState.expandingAll) {
@@ -1212,6 +1287,10 @@ abstract class HierarchicalTableImpl<IFACE_TYPE extends HierarchicalTable<IFACE_
                 return;
             }
             final boolean filling = snapshotState.filling();
+            if (filling && snapshotState.remainingToSkip() > 0
+                    && skippedWithoutSorting(snapshotState, nodeTableState, action, childDirectives)) {
+                return;
+            }
             final Table forExpansion = nodeTableState.prepareAndGetTableForExpansion(filling);
             if (forExpansion.isEmpty()) {
                 failIfConcurrentAttemptInconsistent();
@@ -1319,6 +1398,9 @@ abstract class HierarchicalTableImpl<IFACE_TYPE extends HierarchicalTable<IFACE_
                         }
                         consumeRowsUntilNextExpansion(snapshotState, levelExpandable, rowsToVisitIter, filler,
                                 rowKeyToNodeId, lastRowKeyToConsume, expandLastRowToConsume);
+                        if (snapshotState.skipTraversalFailed()) {
+                            break;
+                        }
                         if (!expandLastRowToConsume) {
                             consumeRemainder(snapshotState, rowsToVisitIter);
                             break;
@@ -1345,6 +1427,47 @@ abstract class HierarchicalTableImpl<IFACE_TYPE extends HierarchicalTable<IFACE_
         }
     }
 
+    /**
+     * Attempt to skip a node and its expanded descendants that precede the snapshot viewport without applying node
+     * sorts, since their order cannot affect the included rows. We traverse the subtree in arbitrary order; if it turns
+     * out to reach the viewport, we rewind and the caller must visit it in sorted order instead.
+     *
+     * @param snapshotState The snapshot state
+     * @param nodeTableState The node table state for the node to visit
+     * @param action The action for the node to visit
+     * @param childDirectives The child directives for the node to visit
+     * @return Whether the node and its expanded descendants were skipped
+     */
+    private boolean skippedWithoutSorting(
+            @NotNull final SnapshotStateImpl snapshotState,
+            @NotNull final SnapshotStateImpl.NodeTableState nodeTableState,
+            @NotNull final VisitAction action,
+            @Nullable final List<LinkedDirective> childDirectives) {
+        if (nodeTableState.sortedCreated()) {
+            // Node operations have already been applied, there's nothing to save
+            return false;
+        }
+        nodeTableState.ensurePreparedForTraversal();
+        final TrackingRowSet traversalRows = nodeTableState.getTraversalTable().getRowSet();
+        final long nodeSize = snapshotState.usePrev ? traversalRows.sizePrev() : traversalRows.size();
+        if (nodeSize > snapshotState.remainingToSkip()) {
+            // This node's own rows reach the viewport
+            return false;
+        }
+        final long visitedSizeBefore = snapshotState.visitedSize;
+        snapshotState.skipTraversalLimit = snapshotState.firstRowPositionToInclude;
+        try {
+            visitExpandedNode(snapshotState, nodeTableState.getId(), action, childDirectives);
+        } finally {
+            snapshotState.skipTraversalLimit = NULL_LONG;
+        }
+        if (snapshotState.visitedSize <= snapshotState.firstRowPositionToInclude) {
+            return true;
+        }
+        snapshotState.visitedSize = visitedSizeBefore;
+        return false;
+    }
+
     private RowSet buildContractedRowKeys(@NotNull final List<LinkedDirective> childDirectives) {
         final RowSetBuilderSequential builder = RowSetFactory.builderSequential();
         childDirectives.stream()
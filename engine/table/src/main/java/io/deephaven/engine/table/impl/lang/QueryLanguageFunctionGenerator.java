@@ -9,9 +9,17 @@ import com.github.javaparser.ast.expr.BinaryExpr;
 import java.io.*;
 import java.text.*;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
 
 public class QueryLanguageFunctionGenerator {
 
+    /**
+     * The primitive types for which the arithmetic operators are also generated over chunks.
+     */
+    private static final List<Class<?>> CHUNK_CLASSES =
+            Arrays.asList(int.class, long.class, float.class, double.class);
+
     public static double[] plus(double a[], int b) {
         double[] ret = new double[a.length];
         for (int i = 0; i < a.length; i++) {
@@ -36,6 +44,10 @@ public class QueryLanguageFunctionGenerator {
         // 10 - optional operation description for exception message (only for arrayArrayFormatter)
         // 11 - optional nonzero literal value of param type 1 (for testing)
         // 12 - optional nonzero literal value of param type 2 (for testing)
+        // 13 - boxed promoted type
+        // 14 - chunk type of param 1
+        // 15 - chunk type of param 2
+        // 16 - writable chunk type of promoted type
 
         MessageFormat varVarFormatter = new MessageFormat("" +
                 "    public static {3} {0}({1} a, {2} b)'{'\n" +
@@ -283,6 +295,37 @@ public class QueryLanguageFunctionGenerator {
                 "        return ret;\n" +
                 "    '}'");
 
+        MessageFormat chunkChunkFormatter = new MessageFormat("" +
+                "    public static void {0}Chunk({14}<?> a, {15}<?> b, {16}<?> dest)'{'\n" +
+                "        if (a.size() != b.size()) throw new IllegalArgumentException(\"Attempt to {10} two chunks ({1}, {2}) of different size\" +\n"
+                +
+                "                \" (a.size()=\" + a.size() + \", b.size()=\" + b.size() + '')'');\n" +
+                "        \n" +
+                "        final int size = a.size();\n" +
+                "        for (int i = 0; i < size; i++) '{'\n" +
+                "            dest.set(i, {0}(a.get(i),b.get(i)));\n" +
+                "        '}'\n" +
+                "        dest.setSize(size);\n" +
+                "    '}'");
+
+        MessageFormat chunkVarFormatter = new MessageFormat("" +
+                "    public static void {0}Chunk({14}<?> a, {2} b, {16}<?> dest)'{'\n" +
+                "        final int size = a.size();\n" +
+                "        for (int i = 0; i < size; i++) '{'\n" +
+                "            dest.set(i, {0}(a.get(i),b));\n" +
+                "        '}'\n" +
+                "        dest.setSize(size);\n" +
+                "    '}'");
+
+        MessageFormat varChunkFormatter = new MessageFormat("" +
+                "    public static void {0}Chunk({1} a, {15}<?> b, {16}<?> dest)'{'\n" +
+                "        final int size = b.size();\n" +
+                "        for (int i = 0; i < size; i++) '{'\n" +
+                "            dest.set(i, {0}(a,b.get(i)));\n" +
+                "        '}'\n" +
+                "        dest.setSize(size);\n" +
+                "    '}'");
+
         MessageFormat castFormatter = new MessageFormat("" +
                 "    public static {2} {2}Cast({1} a)'{'\n" +
                 "        return a==QueryConstants.NULL_{4} ? QueryConstants.NULL_{5} : ({2})a;\n" +
@@ -318,6 +361,12 @@ public class QueryLanguageFunctionGenerator {
 
         buf.append("package io.deephaven.engine.table.impl.lang;\n\n");
 
+        for (Class<?> clazz : CHUNK_CLASSES) {
+            buf.append("import io.deephaven.chunk.").append(getChunkTypeName(clazz)).append(";\n");
+        }
+        for (Class<?> clazz : CHUNK_CLASSES) {
+            buf.append("import io.deephaven.chunk.Writable").append(getChunkTypeName(clazz)).append(";\n");
+        }
         buf.append("import io.deephaven.util.QueryConstants;\n");
         buf.append("import org.jpy.PyObject;\n\n");
 
@@ -401,6 +450,11 @@ public class QueryLanguageFunctionGenerator {
                     append(buf, arrayArrayFormatter, operator, opDescription, classA, classB);
                     append(buf, arrayVarFormatter, operator, classA, classB);
                     append(buf, varArrayFormatter, operator, classA, classB);
+                    if (CHUNK_CLASSES.contains(classA) && CHUNK_CLASSES.contains(classB)) {
+                        append(buf, chunkChunkFormatter, operator, opDescription, classA, classB);
+                        append(buf, chunkVarFormatter, operator, classA, classB);
+                        append(buf, varChunkFormatter, operator, classA, classB);
+                    }
                 }
             }
         }
@@ -784,10 +838,21 @@ public class QueryLanguageFunctionGenerator {
                 opDescription,
                 literal1,
                 literal2,
-                TypeUtils.getBoxedType(promotedType).getSimpleName()
+                TypeUtils.getBoxedType(promotedType).getSimpleName(),
+                getChunkTypeName(type1),
+                getChunkTypeName(type2),
+                "Writable" + getChunkTypeName(promotedType)
         })).append("\n\n");
     }
 
+    /**
+     * Returns the simple name of the chunk type holding values of {@code type}, e.g. {@code IntChunk} for {@code int}.
+     */
+    private static String getChunkTypeName(Class<?> type) {
+        final String simpleName = type.getSimpleName();
+        return Character.toUpperCase(simpleName.charAt(0)) + simpleName.substring(1) + "Chunk";
+    }
+
 
     /**
      * Returns a String of an example literal value of {@code type}. Used for generating tests.
@@ -3,6 +3,14 @@
  */
 package io.deephaven.engine.table.impl.lang;
 
+import io.deephaven.chunk.DoubleChunk;
+import io.deephaven.chunk.FloatChunk;
+import io.deephaven.chunk.IntChunk;
+import io.deephaven.chunk.LongChunk;
+import io.deephaven.chunk.WritableDoubleChunk;
+import io.deephaven.chunk.WritableFloatChunk;
+import io.deephaven.chunk.WritableIntChunk;
+import io.deephaven.chunk.WritableLongChunk;
 import io.deephaven.configuration.Configuration;
 import io.deephaven.util.QueryConstants;
 import org.jpy.PyObject;
@@ -83,6 +91,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void plusChunk(IntChunk<?> a, IntChunk<?> b, WritableIntChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to add two chunks (int, int) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(IntChunk<?> a, int b, WritableIntChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(int a, IntChunk<?> b, WritableIntChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double plus(int a, double b) {
         return a == QueryConstants.NULL_INT || b == QueryConstants.NULL_DOUBLE ? QueryConstants.NULL_DOUBLE : a + b;
     }
@@ -118,6 +154,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void plusChunk(IntChunk<?> a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to add two chunks (int, double) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(IntChunk<?> a, double b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(int a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static long plus(int a, long b) {
         return a == QueryConstants.NULL_INT || b == QueryConstants.NULL_LONG ? QueryConstants.NULL_LONG : a + b;
     }
@@ -153,6 +217,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void plusChunk(IntChunk<?> a, LongChunk<?> b, WritableLongChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to add two chunks (int, long) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(IntChunk<?> a, long b, WritableLongChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(int a, LongChunk<?> b, WritableLongChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float plus(int a, float b) {
         return a == QueryConstants.NULL_INT || b == QueryConstants.NULL_FLOAT ? QueryConstants.NULL_FLOAT : a + b;
     }
@@ -188,6 +280,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void plusChunk(IntChunk<?> a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to add two chunks (int, float) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(IntChunk<?> a, float b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(int a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static int plus(int a, char b) {
         return a == QueryConstants.NULL_INT || b == QueryConstants.NULL_CHAR ? QueryConstants.NULL_INT : a + b;
     }
@@ -328,6 +448,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void plusChunk(DoubleChunk<?> a, IntChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to add two chunks (double, int) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(DoubleChunk<?> a, int b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(double a, IntChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double plus(double a, double b) {
         return a == QueryConstants.NULL_DOUBLE || b == QueryConstants.NULL_DOUBLE ? QueryConstants.NULL_DOUBLE : a + b;
     }
@@ -363,6 +511,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void plusChunk(DoubleChunk<?> a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to add two chunks (double, double) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(DoubleChunk<?> a, double b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(double a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double plus(double a, long b) {
         return a == QueryConstants.NULL_DOUBLE || b == QueryConstants.NULL_LONG ? QueryConstants.NULL_DOUBLE : a + b;
     }
@@ -398,6 +574,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void plusChunk(DoubleChunk<?> a, LongChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to add two chunks (double, long) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(DoubleChunk<?> a, long b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(double a, LongChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double plus(double a, float b) {
         return a == QueryConstants.NULL_DOUBLE || b == QueryConstants.NULL_FLOAT ? QueryConstants.NULL_DOUBLE : a + b;
     }
@@ -433,6 +637,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void plusChunk(DoubleChunk<?> a, FloatChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to add two chunks (double, float) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(DoubleChunk<?> a, float b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(double a, FloatChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double plus(double a, char b) {
         return a == QueryConstants.NULL_DOUBLE || b == QueryConstants.NULL_CHAR ? QueryConstants.NULL_DOUBLE : a + b;
     }
@@ -573,6 +805,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void plusChunk(LongChunk<?> a, IntChunk<?> b, WritableLongChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to add two chunks (long, int) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(LongChunk<?> a, int b, WritableLongChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(long a, IntChunk<?> b, WritableLongChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double plus(long a, double b) {
         return a == QueryConstants.NULL_LONG || b == QueryConstants.NULL_DOUBLE ? QueryConstants.NULL_DOUBLE : a + b;
     }
@@ -608,6 +868,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void plusChunk(LongChunk<?> a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to add two chunks (long, double) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(LongChunk<?> a, double b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(long a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static long plus(long a, long b) {
         return a == QueryConstants.NULL_LONG || b == QueryConstants.NULL_LONG ? QueryConstants.NULL_LONG : a + b;
     }
@@ -643,6 +931,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void plusChunk(LongChunk<?> a, LongChunk<?> b, WritableLongChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to add two chunks (long, long) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(LongChunk<?> a, long b, WritableLongChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(long a, LongChunk<?> b, WritableLongChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float plus(long a, float b) {
         return a == QueryConstants.NULL_LONG || b == QueryConstants.NULL_FLOAT ? QueryConstants.NULL_FLOAT : a + b;
     }
@@ -678,6 +994,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void plusChunk(LongChunk<?> a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to add two chunks (long, float) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(LongChunk<?> a, float b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(long a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static long plus(long a, char b) {
         return a == QueryConstants.NULL_LONG || b == QueryConstants.NULL_CHAR ? QueryConstants.NULL_LONG : a + b;
     }
@@ -818,6 +1162,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void plusChunk(FloatChunk<?> a, IntChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to add two chunks (float, int) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(FloatChunk<?> a, int b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(float a, IntChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double plus(float a, double b) {
         return a == QueryConstants.NULL_FLOAT || b == QueryConstants.NULL_DOUBLE ? QueryConstants.NULL_DOUBLE : a + b;
     }
@@ -853,6 +1225,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void plusChunk(FloatChunk<?> a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to add two chunks (float, double) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(FloatChunk<?> a, double b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(float a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float plus(float a, long b) {
         return a == QueryConstants.NULL_FLOAT || b == QueryConstants.NULL_LONG ? QueryConstants.NULL_FLOAT : a + b;
     }
@@ -888,6 +1288,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void plusChunk(FloatChunk<?> a, LongChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to add two chunks (float, long) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(FloatChunk<?> a, long b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(float a, LongChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float plus(float a, float b) {
         return a == QueryConstants.NULL_FLOAT || b == QueryConstants.NULL_FLOAT ? QueryConstants.NULL_FLOAT : a + b;
     }
@@ -923,6 +1351,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void plusChunk(FloatChunk<?> a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to add two chunks (float, float) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(FloatChunk<?> a, float b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void plusChunk(float a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, plus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float plus(float a, char b) {
         return a == QueryConstants.NULL_FLOAT || b == QueryConstants.NULL_CHAR ? QueryConstants.NULL_FLOAT : a + b;
     }
@@ -1798,6 +2254,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void minusChunk(IntChunk<?> a, IntChunk<?> b, WritableIntChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to subtract two chunks (int, int) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(IntChunk<?> a, int b, WritableIntChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(int a, IntChunk<?> b, WritableIntChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double minus(int a, double b) {
         return a == QueryConstants.NULL_INT || b == QueryConstants.NULL_DOUBLE ? QueryConstants.NULL_DOUBLE : a - b;
     }
@@ -1833,6 +2317,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void minusChunk(IntChunk<?> a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to subtract two chunks (int, double) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(IntChunk<?> a, double b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(int a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static long minus(int a, long b) {
         return a == QueryConstants.NULL_INT || b == QueryConstants.NULL_LONG ? QueryConstants.NULL_LONG : a - b;
     }
@@ -1868,6 +2380,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void minusChunk(IntChunk<?> a, LongChunk<?> b, WritableLongChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to subtract two chunks (int, long) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(IntChunk<?> a, long b, WritableLongChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(int a, LongChunk<?> b, WritableLongChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float minus(int a, float b) {
         return a == QueryConstants.NULL_INT || b == QueryConstants.NULL_FLOAT ? QueryConstants.NULL_FLOAT : a - b;
     }
@@ -1903,6 +2443,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void minusChunk(IntChunk<?> a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to subtract two chunks (int, float) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(IntChunk<?> a, float b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(int a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static int minus(int a, char b) {
         return a == QueryConstants.NULL_INT || b == QueryConstants.NULL_CHAR ? QueryConstants.NULL_INT : a - b;
     }
@@ -2043,6 +2611,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void minusChunk(DoubleChunk<?> a, IntChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to subtract two chunks (double, int) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(DoubleChunk<?> a, int b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(double a, IntChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double minus(double a, double b) {
         return a == QueryConstants.NULL_DOUBLE || b == QueryConstants.NULL_DOUBLE ? QueryConstants.NULL_DOUBLE : a - b;
     }
@@ -2078,6 +2674,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void minusChunk(DoubleChunk<?> a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to subtract two chunks (double, double) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(DoubleChunk<?> a, double b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(double a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double minus(double a, long b) {
         return a == QueryConstants.NULL_DOUBLE || b == QueryConstants.NULL_LONG ? QueryConstants.NULL_DOUBLE : a - b;
     }
@@ -2113,6 +2737,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void minusChunk(DoubleChunk<?> a, LongChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to subtract two chunks (double, long) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(DoubleChunk<?> a, long b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(double a, LongChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double minus(double a, float b) {
         return a == QueryConstants.NULL_DOUBLE || b == QueryConstants.NULL_FLOAT ? QueryConstants.NULL_DOUBLE : a - b;
     }
@@ -2148,6 +2800,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void minusChunk(DoubleChunk<?> a, FloatChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to subtract two chunks (double, float) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(DoubleChunk<?> a, float b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(double a, FloatChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double minus(double a, char b) {
         return a == QueryConstants.NULL_DOUBLE || b == QueryConstants.NULL_CHAR ? QueryConstants.NULL_DOUBLE : a - b;
     }
@@ -2288,6 +2968,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void minusChunk(LongChunk<?> a, IntChunk<?> b, WritableLongChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to subtract two chunks (long, int) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(LongChunk<?> a, int b, WritableLongChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(long a, IntChunk<?> b, WritableLongChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double minus(long a, double b) {
         return a == QueryConstants.NULL_LONG || b == QueryConstants.NULL_DOUBLE ? QueryConstants.NULL_DOUBLE : a - b;
     }
@@ -2323,6 +3031,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void minusChunk(LongChunk<?> a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to subtract two chunks (long, double) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(LongChunk<?> a, double b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(long a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static long minus(long a, long b) {
         return a == QueryConstants.NULL_LONG || b == QueryConstants.NULL_LONG ? QueryConstants.NULL_LONG : a - b;
     }
@@ -2358,6 +3094,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void minusChunk(LongChunk<?> a, LongChunk<?> b, WritableLongChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to subtract two chunks (long, long) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(LongChunk<?> a, long b, WritableLongChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(long a, LongChunk<?> b, WritableLongChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float minus(long a, float b) {
         return a == QueryConstants.NULL_LONG || b == QueryConstants.NULL_FLOAT ? QueryConstants.NULL_FLOAT : a - b;
     }
@@ -2393,6 +3157,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void minusChunk(LongChunk<?> a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to subtract two chunks (long, float) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(LongChunk<?> a, float b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(long a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static long minus(long a, char b) {
         return a == QueryConstants.NULL_LONG || b == QueryConstants.NULL_CHAR ? QueryConstants.NULL_LONG : a - b;
     }
@@ -2533,6 +3325,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void minusChunk(FloatChunk<?> a, IntChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to subtract two chunks (float, int) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(FloatChunk<?> a, int b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(float a, IntChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double minus(float a, double b) {
         return a == QueryConstants.NULL_FLOAT || b == QueryConstants.NULL_DOUBLE ? QueryConstants.NULL_DOUBLE : a - b;
     }
@@ -2568,6 +3388,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void minusChunk(FloatChunk<?> a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to subtract two chunks (float, double) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(FloatChunk<?> a, double b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(float a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float minus(float a, long b) {
         return a == QueryConstants.NULL_FLOAT || b == QueryConstants.NULL_LONG ? QueryConstants.NULL_FLOAT : a - b;
     }
@@ -2594,13 +3442,41 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
-    public static float[] minusArray(float a, long b[]) {
-        float[] ret = new float[b.length];
-        for (int i = 0; i < b.length; i++) {
-            ret[i] = minus(a, b[i]);
+    public static float[] minusArray(float a, long b[]) {
+        float[] ret = new float[b.length];
+        for (int i = 0; i < b.length; i++) {
+            ret[i] = minus(a, b[i]);
+        }
+
+        return ret;
+    }
+
+    public static void minusChunk(FloatChunk<?> a, LongChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to subtract two chunks (float, long) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(FloatChunk<?> a, long b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(float a, LongChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a, b.get(i)));
         }
-
-        return ret;
+        dest.setSize(size);
     }
 
     public static float minus(float a, float b) {
@@ -2638,6 +3514,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void minusChunk(FloatChunk<?> a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to subtract two chunks (float, float) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(FloatChunk<?> a, float b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void minusChunk(float a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, minus(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float minus(float a, char b) {
         return a == QueryConstants.NULL_FLOAT || b == QueryConstants.NULL_CHAR ? QueryConstants.NULL_FLOAT : a - b;
     }
@@ -3513,6 +4417,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void multiplyChunk(IntChunk<?> a, IntChunk<?> b, WritableIntChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to multiply two chunks (int, int) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(IntChunk<?> a, int b, WritableIntChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(int a, IntChunk<?> b, WritableIntChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double multiply(int a, double b) {
         return a == QueryConstants.NULL_INT || b == QueryConstants.NULL_DOUBLE ? QueryConstants.NULL_DOUBLE : a * b;
     }
@@ -3548,6 +4480,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void multiplyChunk(IntChunk<?> a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to multiply two chunks (int, double) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(IntChunk<?> a, double b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(int a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static long multiply(int a, long b) {
         return a == QueryConstants.NULL_INT || b == QueryConstants.NULL_LONG ? QueryConstants.NULL_LONG : a * b;
     }
@@ -3583,6 +4543,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void multiplyChunk(IntChunk<?> a, LongChunk<?> b, WritableLongChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to multiply two chunks (int, long) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(IntChunk<?> a, long b, WritableLongChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(int a, LongChunk<?> b, WritableLongChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float multiply(int a, float b) {
         return a == QueryConstants.NULL_INT || b == QueryConstants.NULL_FLOAT ? QueryConstants.NULL_FLOAT : a * b;
     }
@@ -3618,6 +4606,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void multiplyChunk(IntChunk<?> a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to multiply two chunks (int, float) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(IntChunk<?> a, float b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(int a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static int multiply(int a, char b) {
         return a == QueryConstants.NULL_INT || b == QueryConstants.NULL_CHAR ? QueryConstants.NULL_INT : a * b;
     }
@@ -3758,6 +4774,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void multiplyChunk(DoubleChunk<?> a, IntChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to multiply two chunks (double, int) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(DoubleChunk<?> a, int b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(double a, IntChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double multiply(double a, double b) {
         return a == QueryConstants.NULL_DOUBLE || b == QueryConstants.NULL_DOUBLE ? QueryConstants.NULL_DOUBLE : a * b;
     }
@@ -3793,6 +4837,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void multiplyChunk(DoubleChunk<?> a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to multiply two chunks (double, double) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(DoubleChunk<?> a, double b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(double a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double multiply(double a, long b) {
         return a == QueryConstants.NULL_DOUBLE || b == QueryConstants.NULL_LONG ? QueryConstants.NULL_DOUBLE : a * b;
     }
@@ -3828,6 +4900,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void multiplyChunk(DoubleChunk<?> a, LongChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to multiply two chunks (double, long) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(DoubleChunk<?> a, long b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(double a, LongChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double multiply(double a, float b) {
         return a == QueryConstants.NULL_DOUBLE || b == QueryConstants.NULL_FLOAT ? QueryConstants.NULL_DOUBLE : a * b;
     }
@@ -3863,6 +4963,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void multiplyChunk(DoubleChunk<?> a, FloatChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to multiply two chunks (double, float) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(DoubleChunk<?> a, float b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(double a, FloatChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double multiply(double a, char b) {
         return a == QueryConstants.NULL_DOUBLE || b == QueryConstants.NULL_CHAR ? QueryConstants.NULL_DOUBLE : a * b;
     }
@@ -4003,6 +5131,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void multiplyChunk(LongChunk<?> a, IntChunk<?> b, WritableLongChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to multiply two chunks (long, int) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(LongChunk<?> a, int b, WritableLongChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(long a, IntChunk<?> b, WritableLongChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double multiply(long a, double b) {
         return a == QueryConstants.NULL_LONG || b == QueryConstants.NULL_DOUBLE ? QueryConstants.NULL_DOUBLE : a * b;
     }
@@ -4038,6 +5194,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void multiplyChunk(LongChunk<?> a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to multiply two chunks (long, double) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(LongChunk<?> a, double b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(long a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static long multiply(long a, long b) {
         return a == QueryConstants.NULL_LONG || b == QueryConstants.NULL_LONG ? QueryConstants.NULL_LONG : a * b;
     }
@@ -4073,6 +5257,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void multiplyChunk(LongChunk<?> a, LongChunk<?> b, WritableLongChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to multiply two chunks (long, long) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(LongChunk<?> a, long b, WritableLongChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(long a, LongChunk<?> b, WritableLongChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float multiply(long a, float b) {
         return a == QueryConstants.NULL_LONG || b == QueryConstants.NULL_FLOAT ? QueryConstants.NULL_FLOAT : a * b;
     }
@@ -4108,6 +5320,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void multiplyChunk(LongChunk<?> a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to multiply two chunks (long, float) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(LongChunk<?> a, float b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(long a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static long multiply(long a, char b) {
         return a == QueryConstants.NULL_LONG || b == QueryConstants.NULL_CHAR ? QueryConstants.NULL_LONG : a * b;
     }
@@ -4248,6 +5488,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void multiplyChunk(FloatChunk<?> a, IntChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to multiply two chunks (float, int) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(FloatChunk<?> a, int b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(float a, IntChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double multiply(float a, double b) {
         return a == QueryConstants.NULL_FLOAT || b == QueryConstants.NULL_DOUBLE ? QueryConstants.NULL_DOUBLE : a * b;
     }
@@ -4283,6 +5551,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void multiplyChunk(FloatChunk<?> a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to multiply two chunks (float, double) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(FloatChunk<?> a, double b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(float a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float multiply(float a, long b) {
         return a == QueryConstants.NULL_FLOAT || b == QueryConstants.NULL_LONG ? QueryConstants.NULL_FLOAT : a * b;
     }
@@ -4318,6 +5614,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void multiplyChunk(FloatChunk<?> a, LongChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to multiply two chunks (float, long) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(FloatChunk<?> a, long b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(float a, LongChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float multiply(float a, float b) {
         return a == QueryConstants.NULL_FLOAT || b == QueryConstants.NULL_FLOAT ? QueryConstants.NULL_FLOAT : a * b;
     }
@@ -4353,6 +5677,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void multiplyChunk(FloatChunk<?> a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to multiply two chunks (float, float) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(FloatChunk<?> a, float b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void multiplyChunk(float a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, multiply(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float multiply(float a, char b) {
         return a == QueryConstants.NULL_FLOAT || b == QueryConstants.NULL_CHAR ? QueryConstants.NULL_FLOAT : a * b;
     }
@@ -5229,6 +6581,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void divideChunk(IntChunk<?> a, IntChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to divide two chunks (int, int) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(IntChunk<?> a, int b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(int a, IntChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double divide(int a, double b) {
         return a == QueryConstants.NULL_INT || b == QueryConstants.NULL_DOUBLE ? QueryConstants.NULL_DOUBLE : a / b;
     }
@@ -5264,6 +6644,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void divideChunk(IntChunk<?> a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to divide two chunks (int, double) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(IntChunk<?> a, double b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(int a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double divide(int a, long b) {
         return a == QueryConstants.NULL_INT || b == QueryConstants.NULL_LONG ? QueryConstants.NULL_DOUBLE
                 : a / (double) b;
@@ -5300,6 +6708,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void divideChunk(IntChunk<?> a, LongChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to divide two chunks (int, long) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(IntChunk<?> a, long b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(int a, LongChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float divide(int a, float b) {
         return a == QueryConstants.NULL_INT || b == QueryConstants.NULL_FLOAT ? QueryConstants.NULL_FLOAT : a / b;
     }
@@ -5335,6 +6771,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void divideChunk(IntChunk<?> a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to divide two chunks (int, float) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(IntChunk<?> a, float b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(int a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double divide(int a, char b) {
         return a == QueryConstants.NULL_INT || b == QueryConstants.NULL_CHAR ? QueryConstants.NULL_DOUBLE
                 : a / (double) b;
@@ -5479,6 +6943,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void divideChunk(DoubleChunk<?> a, IntChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to divide two chunks (double, int) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(DoubleChunk<?> a, int b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(double a, IntChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double divide(double a, double b) {
         return a == QueryConstants.NULL_DOUBLE || b == QueryConstants.NULL_DOUBLE ? QueryConstants.NULL_DOUBLE : a / b;
     }
@@ -5514,6 +7006,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void divideChunk(DoubleChunk<?> a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to divide two chunks (double, double) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(DoubleChunk<?> a, double b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(double a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double divide(double a, long b) {
         return a == QueryConstants.NULL_DOUBLE || b == QueryConstants.NULL_LONG ? QueryConstants.NULL_DOUBLE
                 : a / (double) b;
@@ -5550,6 +7070,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void divideChunk(DoubleChunk<?> a, LongChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to divide two chunks (double, long) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(DoubleChunk<?> a, long b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(double a, LongChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double divide(double a, float b) {
         return a == QueryConstants.NULL_DOUBLE || b == QueryConstants.NULL_FLOAT ? QueryConstants.NULL_DOUBLE : a / b;
     }
@@ -5585,6 +7133,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void divideChunk(DoubleChunk<?> a, FloatChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to divide two chunks (double, float) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(DoubleChunk<?> a, float b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(double a, FloatChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double divide(double a, char b) {
         return a == QueryConstants.NULL_DOUBLE || b == QueryConstants.NULL_CHAR ? QueryConstants.NULL_DOUBLE
                 : a / (double) b;
@@ -5729,6 +7305,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void divideChunk(LongChunk<?> a, IntChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to divide two chunks (long, int) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(LongChunk<?> a, int b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(long a, IntChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double divide(long a, double b) {
         return a == QueryConstants.NULL_LONG || b == QueryConstants.NULL_DOUBLE ? QueryConstants.NULL_DOUBLE : a / b;
     }
@@ -5764,6 +7368,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void divideChunk(LongChunk<?> a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to divide two chunks (long, double) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(LongChunk<?> a, double b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(long a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double divide(long a, long b) {
         return a == QueryConstants.NULL_LONG || b == QueryConstants.NULL_LONG ? QueryConstants.NULL_DOUBLE
                 : a / (double) b;
@@ -5800,6 +7432,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void divideChunk(LongChunk<?> a, LongChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to divide two chunks (long, long) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(LongChunk<?> a, long b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(long a, LongChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float divide(long a, float b) {
         return a == QueryConstants.NULL_LONG || b == QueryConstants.NULL_FLOAT ? QueryConstants.NULL_FLOAT : a / b;
     }
@@ -5835,6 +7495,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void divideChunk(LongChunk<?> a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to divide two chunks (long, float) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(LongChunk<?> a, float b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(long a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double divide(long a, char b) {
         return a == QueryConstants.NULL_LONG || b == QueryConstants.NULL_CHAR ? QueryConstants.NULL_DOUBLE
                 : a / (double) b;
@@ -5979,6 +7667,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void divideChunk(FloatChunk<?> a, IntChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to divide two chunks (float, int) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(FloatChunk<?> a, int b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(float a, IntChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double divide(float a, double b) {
         return a == QueryConstants.NULL_FLOAT || b == QueryConstants.NULL_DOUBLE ? QueryConstants.NULL_DOUBLE : a / b;
     }
@@ -6014,6 +7730,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void divideChunk(FloatChunk<?> a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to divide two chunks (float, double) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(FloatChunk<?> a, double b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(float a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double divide(float a, long b) {
         return a == QueryConstants.NULL_FLOAT || b == QueryConstants.NULL_LONG ? QueryConstants.NULL_DOUBLE
                 : a / (double) b;
@@ -6050,6 +7794,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void divideChunk(FloatChunk<?> a, LongChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to divide two chunks (float, long) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(FloatChunk<?> a, long b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(float a, LongChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float divide(float a, float b) {
         return a == QueryConstants.NULL_FLOAT || b == QueryConstants.NULL_FLOAT ? QueryConstants.NULL_FLOAT : a / b;
     }
@@ -6085,6 +7857,34 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void divideChunk(FloatChunk<?> a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException("Attempt to divide two chunks (float, float) of different size" +
+                    " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(FloatChunk<?> a, float b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void divideChunk(float a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, divide(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double divide(float a, char b) {
         return a == QueryConstants.NULL_FLOAT || b == QueryConstants.NULL_CHAR ? QueryConstants.NULL_DOUBLE
                 : a / (double) b;
@@ -6979,6 +8779,35 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void remainderChunk(IntChunk<?> a, IntChunk<?> b, WritableIntChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException(
+                    "Attempt to calculate remainder of two chunks (int, int) of different size" +
+                            " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(IntChunk<?> a, int b, WritableIntChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(int a, IntChunk<?> b, WritableIntChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double remainder(int a, double b) {
         return a == QueryConstants.NULL_INT || b == QueryConstants.NULL_DOUBLE ? QueryConstants.NULL_DOUBLE : a % b;
     }
@@ -7015,6 +8844,35 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void remainderChunk(IntChunk<?> a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException(
+                    "Attempt to calculate remainder of two chunks (int, double) of different size" +
+                            " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(IntChunk<?> a, double b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(int a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static long remainder(int a, long b) {
         return a == QueryConstants.NULL_INT || b == QueryConstants.NULL_LONG ? QueryConstants.NULL_LONG : a % b;
     }
@@ -7051,6 +8909,35 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void remainderChunk(IntChunk<?> a, LongChunk<?> b, WritableLongChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException(
+                    "Attempt to calculate remainder of two chunks (int, long) of different size" +
+                            " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(IntChunk<?> a, long b, WritableLongChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(int a, LongChunk<?> b, WritableLongChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float remainder(int a, float b) {
         return a == QueryConstants.NULL_INT || b == QueryConstants.NULL_FLOAT ? QueryConstants.NULL_FLOAT : a % b;
     }
@@ -7087,6 +8974,35 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void remainderChunk(IntChunk<?> a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException(
+                    "Attempt to calculate remainder of two chunks (int, float) of different size" +
+                            " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(IntChunk<?> a, float b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(int a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static int remainder(int a, char b) {
         return a == QueryConstants.NULL_INT || b == QueryConstants.NULL_CHAR ? QueryConstants.NULL_INT : a % b;
     }
@@ -7231,6 +9147,35 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void remainderChunk(DoubleChunk<?> a, IntChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException(
+                    "Attempt to calculate remainder of two chunks (double, int) of different size" +
+                            " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(DoubleChunk<?> a, int b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(double a, IntChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double remainder(double a, double b) {
         return a == QueryConstants.NULL_DOUBLE || b == QueryConstants.NULL_DOUBLE ? QueryConstants.NULL_DOUBLE : a % b;
     }
@@ -7267,6 +9212,35 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void remainderChunk(DoubleChunk<?> a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException(
+                    "Attempt to calculate remainder of two chunks (double, double) of different size" +
+                            " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(DoubleChunk<?> a, double b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(double a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double remainder(double a, long b) {
         return a == QueryConstants.NULL_DOUBLE || b == QueryConstants.NULL_LONG ? QueryConstants.NULL_DOUBLE : a % b;
     }
@@ -7303,6 +9277,35 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void remainderChunk(DoubleChunk<?> a, LongChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException(
+                    "Attempt to calculate remainder of two chunks (double, long) of different size" +
+                            " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(DoubleChunk<?> a, long b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(double a, LongChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double remainder(double a, float b) {
         return a == QueryConstants.NULL_DOUBLE || b == QueryConstants.NULL_FLOAT ? QueryConstants.NULL_DOUBLE : a % b;
     }
@@ -7339,6 +9342,35 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void remainderChunk(DoubleChunk<?> a, FloatChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException(
+                    "Attempt to calculate remainder of two chunks (double, float) of different size" +
+                            " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(DoubleChunk<?> a, float b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(double a, FloatChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double remainder(double a, char b) {
         return a == QueryConstants.NULL_DOUBLE || b == QueryConstants.NULL_CHAR ? QueryConstants.NULL_DOUBLE : a % b;
     }
@@ -7483,6 +9515,35 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void remainderChunk(LongChunk<?> a, IntChunk<?> b, WritableLongChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException(
+                    "Attempt to calculate remainder of two chunks (long, int) of different size" +
+                            " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(LongChunk<?> a, int b, WritableLongChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(long a, IntChunk<?> b, WritableLongChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double remainder(long a, double b) {
         return a == QueryConstants.NULL_LONG || b == QueryConstants.NULL_DOUBLE ? QueryConstants.NULL_DOUBLE : a % b;
     }
@@ -7519,6 +9580,35 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void remainderChunk(LongChunk<?> a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException(
+                    "Attempt to calculate remainder of two chunks (long, double) of different size" +
+                            " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(LongChunk<?> a, double b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(long a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static long remainder(long a, long b) {
         return a == QueryConstants.NULL_LONG || b == QueryConstants.NULL_LONG ? QueryConstants.NULL_LONG : a % b;
     }
@@ -7555,6 +9645,35 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void remainderChunk(LongChunk<?> a, LongChunk<?> b, WritableLongChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException(
+                    "Attempt to calculate remainder of two chunks (long, long) of different size" +
+                            " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(LongChunk<?> a, long b, WritableLongChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(long a, LongChunk<?> b, WritableLongChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float remainder(long a, float b) {
         return a == QueryConstants.NULL_LONG || b == QueryConstants.NULL_FLOAT ? QueryConstants.NULL_FLOAT : a % b;
     }
@@ -7591,6 +9710,35 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void remainderChunk(LongChunk<?> a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException(
+                    "Attempt to calculate remainder of two chunks (long, float) of different size" +
+                            " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(LongChunk<?> a, float b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(long a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static long remainder(long a, char b) {
         return a == QueryConstants.NULL_LONG || b == QueryConstants.NULL_CHAR ? QueryConstants.NULL_LONG : a % b;
     }
@@ -7735,6 +9883,35 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void remainderChunk(FloatChunk<?> a, IntChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException(
+                    "Attempt to calculate remainder of two chunks (float, int) of different size" +
+                            " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(FloatChunk<?> a, int b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(float a, IntChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static double remainder(float a, double b) {
         return a == QueryConstants.NULL_FLOAT || b == QueryConstants.NULL_DOUBLE ? QueryConstants.NULL_DOUBLE : a % b;
     }
@@ -7771,6 +9948,35 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void remainderChunk(FloatChunk<?> a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException(
+                    "Attempt to calculate remainder of two chunks (float, double) of different size" +
+                            " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(FloatChunk<?> a, double b, WritableDoubleChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(float a, DoubleChunk<?> b, WritableDoubleChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float remainder(float a, long b) {
         return a == QueryConstants.NULL_FLOAT || b == QueryConstants.NULL_LONG ? QueryConstants.NULL_FLOAT : a % b;
     }
@@ -7807,6 +10013,35 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void remainderChunk(FloatChunk<?> a, LongChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException(
+                    "Attempt to calculate remainder of two chunks (float, long) of different size" +
+                            " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(FloatChunk<?> a, long b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(float a, LongChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float remainder(float a, float b) {
         return a == QueryConstants.NULL_FLOAT || b == QueryConstants.NULL_FLOAT ? QueryConstants.NULL_FLOAT : a % b;
     }
@@ -7843,6 +10078,35 @@ public final class QueryLanguageFunctionUtils {
         return ret;
     }
 
+    public static void remainderChunk(FloatChunk<?> a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        if (a.size() != b.size())
+            throw new IllegalArgumentException(
+                    "Attempt to calculate remainder of two chunks (float, float) of different size" +
+                            " (a.size()=" + a.size() + ", b.size()=" + b.size() + ')');
+
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(FloatChunk<?> a, float b, WritableFloatChunk<?> dest) {
+        final int size = a.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a.get(i), b));
+        }
+        dest.setSize(size);
+    }
+
+    public static void remainderChunk(float a, FloatChunk<?> b, WritableFloatChunk<?> dest) {
+        final int size = b.size();
+        for (int i = 0; i < size; i++) {
+            dest.set(i, remainder(a, b.get(i)));
+        }
+        dest.setSize(size);
+    }
+
     public static float remainder(float a, char b) {
         return a == QueryConstants.NULL_FLOAT || b == QueryConstants.NULL_CHAR ? QueryConstants.NULL_FLOAT : a % b;
     }
@@ -8,6 +8,7 @@ import io.deephaven.chunk.Chunk;
 import io.deephaven.chunk.ChunkType;
 import io.deephaven.chunk.attributes.Values;
 import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.rowset.RowSet;
 import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.engine.table.Table;
 import io.deephaven.engine.table.WritableColumnSource;
@@ -99,12 +100,23 @@ public abstract class StaticMultiJoinStateManagerTypedBase implements MultiJoinS
 
     @Override
     public void build(final Table table, ColumnSource<?>[] keySources, int tableNumber) {
-        if (table.isEmpty()) {
+        build(table.getRowSet(), keySources, tableNumber);
+    }
+
+    /**
+     * Add the rows in {@code rowSet}, a subset of the rows of table {@code tableNumber}, to this multiJoin result.
+     *
+     * @param rowSet the rows to add
+     * @param keySources the column sources that contain the keys
+     * @param tableNumber the table number for which we are adding rows
+     */
+    public void build(final RowSet rowSet, ColumnSource<?>[] keySources, int tableNumber) {
+        if (rowSet.isEmpty()) {
             return;
         }
         final LongArraySource tableRedirSource = redirectionSources.get(tableNumber);
-        try (final BuildContext bc = makeBuildContext(keySources, table.size())) {
-            buildTable(bc, table.getRowSet(), keySources, new BuildHandler(tableRedirSource, tableNumber));
+        try (final BuildContext bc = makeBuildContext(keySources, rowSet.size())) {
+            buildTable(bc, rowSet, keySources, new BuildHandler(tableRedirSource, tableNumber));
         }
     }
 
@@ -197,6 +209,16 @@ public abstract class StaticMultiJoinStateManagerTypedBase implements MultiJoinS
         return new LongColumnSourceRowRedirection<>(redirectionSources.get(tableNumber));
     }
 
+    /**
+     * Get the source that maps output row keys to the row keys of a given table, or {@link #NO_REDIRECTION}.
+     *
+     * @param tableNumber the table to fetch
+     * @return the redirection source for the table
+     */
+    public LongArraySource getRedirectionSourceForTable(int tableNumber) {
+        return redirectionSources.get(tableNumber);
+    }
+
     @Override
     public void ensureTableCapacity(int tables) {
         while (redirectionSources.size() < tables) {
@@ -24,6 +24,7 @@ public abstract class StaticHashedNaturalJoinStateManager extends StaticNaturalJ
 
     public abstract void buildFromLeftSide(final Table leftTable, ColumnSource<?>[] leftSources, final IntegerArraySource leftHashSlots);
     public abstract void buildFromRightSide(final Table rightTable, ColumnSource<?> [] rightSources);
+    public abstract void buildFromRightSide(final RowSet rightRowSet, ColumnSource<?> [] rightSources);
     public abstract void decorateLeftSide(RowSet leftRowSet, ColumnSource<?> [] leftSources, final LongArraySource leftRedirections);
     public abstract void decorateWithRightSide(Table rightTable, ColumnSource<?> [] rightSources);
 
@@ -24,6 +24,8 @@ public class BasePerformanceEntry implements LogOutputAppendable {
     private long allocatedBytes;
     private long poolAllocatedBytes;
 
+    private long pythonGilWaitNanos;
+
     private long startTimeNanos;
 
     private long startCpuNanos;
@@ -32,9 +34,12 @@ public class BasePerformanceEntry implements LogOutputAppendable {
     private long startAllocatedBytes;
     private long startPoolAllocatedBytes;
 
+    private long startPythonGilWaitNanos;
+
     public synchronized void onBaseEntryStart() {
         startAllocatedBytes = ThreadProfiler.DEFAULT.getCurrentThreadAllocatedBytes();
         startPoolAllocatedBytes = QueryPerformanceRecorderState.getPoolAllocatedBytesForCurrentThread();
+        startPythonGilWaitNanos = QueryPerformanceRecorderState.getPythonGilWaitNanosForCurrentThread();
 
         startUserCpuNanos = ThreadProfiler.DEFAULT.getCurrentThreadUserTime();
         startCpuNanos = ThreadProfiler.DEFAULT.getCurrentThreadCpuTime();
@@ -53,9 +58,12 @@ public class BasePerformanceEntry implements LogOutputAppendable {
                 minus(QueryPerformanceRecorderState.getPoolAllocatedBytesForCurrentThread(), startPoolAllocatedBytes));
         allocatedBytes = plus(allocatedBytes,
                 minus(ThreadProfiler.DEFAULT.getCurrentThreadAllocatedBytes(), startAllocatedBytes));
+        pythonGilWaitNanos +=
+                QueryPerformanceRecorderState.getPythonGilWaitNanosForCurrentThread() - startPythonGilWaitNanos;
 
         startAllocatedBytes = 0;
         startPoolAllocatedBytes = 0;
+        startPythonGilWaitNanos = 0;
 
         startUserCpuNanos = 0;
         startCpuNanos = 0;
@@ -72,6 +80,8 @@ public class BasePerformanceEntry implements LogOutputAppendable {
 
         allocatedBytes = 0;
         poolAllocatedBytes = 0;
+
+        pythonGilWaitNanos = 0;
     }
 
     /**
@@ -124,6 +134,16 @@ public class BasePerformanceEntry implements LogOutputAppendable {
         return poolAllocatedBytes;
     }
 
+    /**
+     * Get the aggregate time spent waiting to acquire the Python global interpreter lock in nanoseconds. This getter
+     * should be called by exclusive owners of the entry, and never concurrently with mutators.
+     *
+     * @return total time waiting for the Python global interpreter lock in nanos
+     */
+    public long getPythonGilWaitNanos() {
+        return pythonGilWaitNanos;
+    }
+
     @Override
     public LogOutput append(@NotNull final LogOutput logOutput) {
         final LogOutput currentValues = logOutput.append("BasePerformanceEntry{")
@@ -131,7 +151,8 @@ public class BasePerformanceEntry implements LogOutputAppendable {
                 .append(", intervalCpuNanos=").append(cpuNanos)
                 .append(", intervalUserCpuNanos=").append(userCpuNanos)
                 .append(", intervalAllocatedBytes=").append(allocatedBytes)
-                .append(", intervalPoolAllocatedBytes=").append(poolAllocatedBytes);
+                .append(", intervalPoolAllocatedBytes=").append(poolAllocatedBytes)
+                .append(", intervalPythonGilWaitNanos=").append(pythonGilWaitNanos);
         return appendStart(currentValues)
                 .append('}');
     }
@@ -142,7 +163,8 @@ public class BasePerformanceEntry implements LogOutputAppendable {
                 .append(", startUserCpuNanos=").append(startUserCpuNanos)
                 .append(", startTimeNanos=").append(startTimeNanos)
                 .append(", startAllocatedBytes=").append(startAllocatedBytes)
-                .append(", startPoolAllocatedBytes=").append(startPoolAllocatedBytes);
+                .append(", startPoolAllocatedBytes=").append(startPoolAllocatedBytes)
+                .append(", startPythonGilWaitNanos=").append(startPythonGilWaitNanos);
     }
 
     /**
@@ -157,5 +179,7 @@ public class BasePerformanceEntry implements LogOutputAppendable {
 
         this.allocatedBytes = plus(this.allocatedBytes, entry.allocatedBytes);
         this.poolAllocatedBytes = plus(this.poolAllocatedBytes, entry.poolAllocatedBytes);
+
+        this.pythonGilWaitNanos += entry.pythonGilWaitNanos;
     }
 }
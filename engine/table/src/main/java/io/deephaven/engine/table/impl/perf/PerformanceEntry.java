@@ -133,6 +133,7 @@ public class PerformanceEntry extends BasePerformanceEntry implements TableListe
                 .append(", rowsShifted=").append(rowsShifted)
                 .append(", allocatedBytes=").append(getAllocatedBytes())
                 .append(", poolAllocatedBytes=").append(getPoolAllocatedBytes())
+                .append(", pythonGilWaitNanos=").append(getPythonGilWaitNanos())
                 .append(", maxTotalMemory=").append(maxTotalMemory)
                 .append(", minFreeMemory=").append(minFreeMemory)
                 .append(", collections=").append(collections)
@@ -41,6 +41,11 @@ public class QueryPerformanceNugget extends BasePerformanceEntry implements Safe
         public boolean shouldLog() {
             return false;
         }
+
+        @Override
+        public void setDetails(@Nullable final String details) {
+            // shared, so must not retain anything
+        }
     };
 
     public interface Factory {
@@ -204,6 +209,9 @@ public class QueryPerformanceNugget extends BasePerformanceEntry implements Safe
     private RuntimeMemory.Sample startMemorySample;
     private RuntimeMemory.Sample endMemorySample;
 
+    /** operation-specific details, such as statistics gathered while the operation ran */
+    private volatile String details;
+
     /** whether this nugget triggers the logging of itself and every other nugget in its stack of nesting operations */
     private boolean shouldLog;
 
@@ -372,10 +380,12 @@ public class QueryPerformanceNugget extends BasePerformanceEntry implements Safe
     @Override
     public LogOutput append(@NotNull final LogOutput logOutput) {
         // override BasePerformanceEntry's impl
-        return logOutput.append(evaluationNumber)
+        final String details = this.details;
+        final LogOutput result = logOutput.append(evaluationNumber)
                 .append(":").append(isQueryLevel() ? "query_level" : Integer.toString(operationNumber))
                 .append(":").append(description)
                 .append(":").append(callerLine);
+        return details == null ? result : result.append(":").append(details);
     }
 
     public long getEvaluationNumber() {
@@ -398,6 +408,24 @@ public class QueryPerformanceNugget extends BasePerformanceEntry implements Safe
         return depth;
     }
 
+    /**
+     * Attach operation-specific details to this nugget, such as statistics gathered while the operation ran, to be
+     * included whenever it is logged.
+     *
+     * @param details the details, replacing any set before
+     */
+    public void setDetails(@Nullable final String details) {
+        this.details = details;
+    }
+
+    /**
+     * @return the operation-specific details attached to this nugget, or null if there are none
+     */
+    @Nullable
+    public String getDetails() {
+        return details;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -3,6 +3,7 @@
  */
 package io.deephaven.engine.table.impl.perf;
 
+import io.deephaven.engine.context.QueryCompiler;
 import io.deephaven.util.QueryConstants;
 import io.deephaven.util.SafeCloseable;
 import io.deephaven.util.annotations.FinalDefault;
@@ -178,6 +179,16 @@ public interface QueryPerformanceRecorder {
         return QueryPerformanceRecorderState.recordPoolAllocation(operation);
     }
 
+    /**
+     * Get the process-wide hit, miss, and compile time statistics of the {@link QueryCompiler} class caches. These are
+     * cumulative; callers interested in a particular interval should difference two snapshots.
+     *
+     * @return a snapshot of the compiler cache statistics
+     */
+    static QueryCompiler.CacheStatistics getCompilerCacheStatistics() {
+        return QueryCompiler.getCacheStatistics();
+    }
+
     /**
      * Return the query's current state
      *
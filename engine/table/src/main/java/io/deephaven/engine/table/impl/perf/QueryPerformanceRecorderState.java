@@ -42,6 +42,7 @@ public abstract class QueryPerformanceRecorderState {
             () -> new MutableLong(ThreadProfiler.DEFAULT.memoryProfilingAvailable()
                     ? 0L
                     : io.deephaven.util.QueryConstants.NULL_LONG));
+    private static final ThreadLocal<MutableLong> PYTHON_GIL_WAIT_NANOS = ThreadLocal.withInitial(MutableLong::new);
 
     static {
         // initialize the packages to skip when determining the callsite
@@ -141,6 +142,25 @@ public abstract class QueryPerformanceRecorderState {
         return POOL_ALLOCATED_BYTES.get().longValue();
     }
 
+    /**
+     * Attribute time spent waiting to acquire the Python global interpreter lock to the current thread.
+     *
+     * @param nanos The time spent waiting, in nanoseconds
+     */
+    public static void recordPythonGilWait(final long nanos) {
+        PYTHON_GIL_WAIT_NANOS.get().add(nanos);
+    }
+
+    /**
+     * Get the total time this thread has spent waiting to acquire the Python global interpreter lock, as recorded via
+     * {@link #recordPythonGilWait(long)}.
+     *
+     * @return The total time spent waiting for the Python global interpreter lock, in nanoseconds
+     */
+    static long getPythonGilWaitNanosForCurrentThread() {
+        return PYTHON_GIL_WAIT_NANOS.get().longValue();
+    }
+
     /**
      * See {@link QueryPerformanceRecorder#getCallerLine()}.
      */
@@ -39,6 +39,7 @@ class UpdatePerformanceStreamPublisher implements StreamPublisher {
             ColumnDefinition.ofLong("CollectionTimeNanos"),
             ColumnDefinition.ofLong("AllocatedBytes"),
             ColumnDefinition.ofLong("PoolAllocatedBytes"),
+            ColumnDefinition.ofLong("PythonGilWaitNanos"),
             ColumnDefinition.ofString("AuthContext"),
             ColumnDefinition.ofString("UpdateGraph"));
 
@@ -106,10 +107,12 @@ class UpdatePerformanceStreamPublisher implements StreamPublisher {
         chunks[19].asWritableLongChunk().add(performanceEntry.getAllocatedBytes());
         // ColumnDefinition.ofLong("PoolAllocatedBytes"),
         chunks[20].asWritableLongChunk().add(performanceEntry.getPoolAllocatedBytes());
+        // ColumnDefinition.ofLong("PythonGilWaitNanos"),
+        chunks[21].asWritableLongChunk().add(performanceEntry.getPythonGilWaitNanos());
         // ColumnDefinition.ofString("AuthContext"),
-        chunks[21].<String>asWritableObjectChunk().add(Objects.toString(performanceEntry.getAuthContext()));
+        chunks[22].<String>asWritableObjectChunk().add(Objects.toString(performanceEntry.getAuthContext()));
         // ColumnDefinition.ofString("UpdateGraph"));
-        chunks[22].<String>asWritableObjectChunk().add(Objects.toString(performanceEntry.getUpdateGraphName()));
+        chunks[23].<String>asWritableObjectChunk().add(Objects.toString(performanceEntry.getUpdateGraphName()));
 
         if (chunks[0].size() == CHUNK_SIZE) {
             flushInternal();
@@ -14,6 +14,8 @@ import io.deephaven.engine.table.impl.MatchPair;
 import io.deephaven.engine.table.Table;
 import io.deephaven.engine.table.TableDefinition;
 import io.deephaven.engine.table.impl.BaseTable;
+import io.deephaven.engine.table.impl.QueryCompilerRequestProcessor;
+import io.deephaven.engine.table.impl.QueryTable;
 import io.deephaven.engine.table.impl.lang.QueryLanguageParser;
 import io.deephaven.engine.table.impl.select.python.ArgumentsChunked;
 import io.deephaven.engine.table.impl.select.python.DeephavenCompatibleFunction;
@@ -84,7 +86,14 @@ public abstract class AbstractConditionFilter extends WhereFilterImpl {
     }
 
     @Override
-    public synchronized void init(TableDefinition tableDefinition) {
+    public void init(TableDefinition tableDefinition) {
+        init(tableDefinition, QueryCompilerRequestProcessor.immediate());
+    }
+
+    @Override
+    public synchronized void init(
+            TableDefinition tableDefinition,
+            QueryCompilerRequestProcessor compilationProcessor) {
         if (initialized) {
             return;
         }
@@ -216,7 +225,7 @@ public abstract class AbstractConditionFilter extends WhereFilterImpl {
                 final Class<?> resultType = result.getType();
                 checkReturnType(result, resultType);
 
-                generateFilterCode(tableDefinition, timeConversionResult, result);
+                generateFilterCode(tableDefinition, timeConversionResult, result, compilationProcessor);
                 initialized = true;
             }
         } catch (Exception e) {
@@ -279,7 +288,7 @@ public abstract class AbstractConditionFilter extends WhereFilterImpl {
             setFilter(new ConditionFilter.ChunkFilter(
                     dcf.toFilterKernel(),
                     dcf.getColumnNames().toArray(new String[0]),
-                    ConditionFilter.CHUNK_SIZE));
+                    QueryTable.PYTHON_CHUNK_SIZE));
             initialized = true;
         }
     }
@@ -295,7 +304,8 @@ public abstract class AbstractConditionFilter extends WhereFilterImpl {
 
     protected abstract void generateFilterCode(TableDefinition tableDefinition,
             TimeLiteralReplacedExpression timeConversionResult,
-            QueryLanguageParser.Result result) throws MalformedURLException, ClassNotFoundException;
+            QueryLanguageParser.Result result,
+            QueryCompilerRequestProcessor compilationProcessor) throws MalformedURLException, ClassNotFoundException;
 
     @NotNull
     @Override
@@ -0,0 +1,195 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl.select;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.expr.ArrayAccessExpr;
+import com.github.javaparser.ast.expr.BinaryExpr;
+import com.github.javaparser.ast.expr.CastExpr;
+import com.github.javaparser.ast.expr.ConditionalExpr;
+import com.github.javaparser.ast.expr.EnclosedExpr;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.LambdaExpr;
+import com.github.javaparser.ast.expr.LiteralExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.UnaryExpr;
+import io.deephaven.engine.table.impl.lang.JavaExpressionParser;
+import io.deephaven.engine.table.impl.lang.QueryLanguageParser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Rewrites the formulas of a select or update so that a subexpression which is the entire formula of an earlier column
+ * in the same operation refers to that column instead of evaluating the expression again. For example,
+ * {@code A = x * y + z, B = (x * y + z) / w} becomes {@code A = x * y + z, B = A / w}. The rewritten column then
+ * depends on the earlier one, so the shared value is materialized once, by the earlier column's layer, and read back
+ * from its chunks.
+ * <p>
+ * Only expressions built from column or variable names, literals, and arithmetic, logical, conditional and cast
+ * operators are reused; anything that might not return the same value twice (such as a method call) is always
+ * evaluated as written. A column is not reused once any column it reads, or the column itself, is replaced later in
+ * the list.
+ */
+public final class CommonSubexpressionEliminator {
+
+    private CommonSubexpressionEliminator() {}
+
+    /**
+     * Rewrite {@code selectColumns} to reuse the results of earlier columns where possible.
+     *
+     * @param selectColumns the columns of a select or update, in order
+     * @return {@code selectColumns} if nothing could be reused, else a new array in which rewritten columns have been
+     *         replaced
+     */
+    public static SelectColumn[] eliminate(@NotNull final SelectColumn[] selectColumns) {
+        if (selectColumns.length < 2) {
+            return selectColumns;
+        }
+
+        SelectColumn[] result = selectColumns;
+        final Map<Expression, Candidate> candidates = new HashMap<>();
+        for (int ci = 0; ci < selectColumns.length; ++ci) {
+            final SelectColumn column = selectColumns[ci];
+            final String name = column.getName();
+            final Expression expression = parseUninitializedFormula(column);
+
+            // array accesses are rewritten separately, into shifted columns, and such formulas are left alone
+            if (expression != null && !candidates.isEmpty()
+                    && !expression.findFirst(ArrayAccessExpr.class).isPresent()) {
+                final Expression rewritten = replaceCandidates(expression.clone(), candidates);
+                if (!rewritten.equals(expression)) {
+                    if (result == selectColumns) {
+                        result = selectColumns.clone();
+                    }
+                    result[ci] = new SwitchColumn(name, rewritten.toString(), FormulaParserConfiguration.Deephaven);
+                }
+            }
+
+            // this column replaces any earlier column of the same name, and any result that was computed from it
+            candidates.values().removeIf(c -> c.columnName.equals(name) || c.referencedNames.contains(name));
+
+            if (expression != null && isCandidate(expression)) {
+                final Set<String> referencedNames = expression.findAll(NameExpr.class).stream()
+                        .map(NameExpr::getNameAsString)
+                        .collect(Collectors.toSet());
+                if (!referencedNames.contains(name)) {
+                    candidates.putIfAbsent(stripEnclosing(expression), new Candidate(name, referencedNames));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Parse the formula of a column that has not yet been initialized and is evaluated by the Deephaven formula
+     * parser; once a column is initialized its formula has already been converted, and will not be rewritten.
+     *
+     * @return the parsed formula, or null if this column is not eligible
+     */
+    @Nullable
+    private static Expression parseUninitializedFormula(@NotNull final SelectColumn column) {
+        final String formula;
+        if (column instanceof SwitchColumn) {
+            final SwitchColumn switchColumn = (SwitchColumn) column;
+            if (switchColumn.isInitialized() || switchColumn.getParser() != FormulaParserConfiguration.Deephaven) {
+                return null;
+            }
+            formula = switchColumn.getExpression();
+        } else if (column instanceof DhFormulaColumn) {
+            final DhFormulaColumn formulaColumn = (DhFormulaColumn) column;
+            if (formulaColumn.formulaFactory != null) {
+                return null;
+            }
+            formula = formulaColumn.formulaString;
+        } else {
+            return null;
+        }
+        try {
+            // convert backticks *before* single equals, so that '=' within string literals is left alone
+            return JavaExpressionParser.parseExpression(
+                    QueryLanguageParser.convertSingleEquals(QueryLanguageParser.convertBackticks(formula)));
+        } catch (RuntimeException e) {
+            // e.g. a time literal, which is only understood once the formula has been converted; leave it alone
+            return null;
+        }
+    }
+
+    /**
+     * Replace the largest subexpressions of {@code expression} that match a candidate with the candidate's name.
+     *
+     * @return the rewritten expression, which may be {@code expression} itself modified in place
+     */
+    private static Expression replaceCandidates(
+            @NotNull final Expression expression,
+            @NotNull final Map<Expression, Candidate> candidates) {
+        final Candidate match = candidates.get(stripEnclosing(expression));
+        if (match != null) {
+            return new NameExpr(match.columnName);
+        }
+        if (expression instanceof LambdaExpr) {
+            // lambda parameters may shadow column names
+            return expression;
+        }
+        for (final Node child : new ArrayList<>(expression.getChildNodes())) {
+            if (child instanceof Expression) {
+                final Expression replacement = replaceCandidates((Expression) child, candidates);
+                if (replacement != child) {
+                    child.replace(replacement);
+                }
+            }
+        }
+        return expression;
+    }
+
+    /**
+     * @return whether {@code expression} is worth reusing, and certain to produce the same value each time it is
+     *         evaluated for a given row
+     */
+    private static boolean isCandidate(@NotNull final Expression expression) {
+        boolean hasOperator = false;
+        for (final Expression node : expression.findAll(Expression.class)) {
+            if (node instanceof BinaryExpr || node instanceof ConditionalExpr || node instanceof CastExpr) {
+                hasOperator = true;
+            } else if (node instanceof UnaryExpr) {
+                final UnaryExpr.Operator operator = ((UnaryExpr) node).getOperator();
+                if (operator.isPostfix() || operator == UnaryExpr.Operator.PREFIX_INCREMENT
+                        || operator == UnaryExpr.Operator.PREFIX_DECREMENT) {
+                    return false;
+                }
+                hasOperator = true;
+            } else if (node instanceof NameExpr) {
+                // column arrays refer to every row of a column, and are left alone
+                if (((NameExpr) node).getNameAsString().endsWith(AbstractFormulaColumn.COLUMN_SUFFIX)) {
+                    return false;
+                }
+            } else if (!(node instanceof EnclosedExpr) && !(node instanceof LiteralExpr)) {
+                return false;
+            }
+        }
+        return hasOperator;
+    }
+
+    private static Expression stripEnclosing(@NotNull Expression expression) {
+        while (expression instanceof EnclosedExpr) {
+            expression = ((EnclosedExpr) expression).getInner();
+        }
+        return expression;
+    }
+
+    private static final class Candidate {
+        private final String columnName;
+        private final Set<String> referencedNames;
+
+        private Candidate(final String columnName, final Set<String> referencedNames) {
+            this.columnName = columnName;
+            this.referencedNames = referencedNames;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import io.deephaven.engine.table.TableDefinition;
 import io.deephaven.engine.updategraph.NotificationQueue;
 import io.deephaven.engine.liveness.LivenessArtifact;
 import io.deephaven.engine.table.impl.DependencyStreamProvider;
+import io.deephaven.engine.table.impl.QueryCompilerRequestProcessor;
 import io.deephaven.util.annotations.TestUseOnly;
 
 import java.util.*;
@@ -62,6 +63,13 @@ public abstract class ComposedFilter extends WhereFilterLivenessArtifactImpl imp
         }
     }
 
+    @Override
+    public void init(TableDefinition tableDefinition, QueryCompilerRequestProcessor compilationProcessor) {
+        for (WhereFilter filter : componentFilters) {
+            filter.init(tableDefinition, compilationProcessor);
+        }
+    }
+
     @Override
     public boolean isSimpleFilter() {
         for (WhereFilter filter : componentFilters) {
@@ -6,6 +6,7 @@ package io.deephaven.engine.table.impl.select;
 import io.deephaven.base.Pair;
 import io.deephaven.chunk.attributes.Any;
 import io.deephaven.engine.context.QueryCompiler;
+import io.deephaven.engine.context.QueryCompilerRequest;
 import io.deephaven.engine.context.ExecutionContext;
 import io.deephaven.engine.rowset.RowSetFactory;
 import io.deephaven.engine.table.Context;
@@ -14,11 +15,11 @@ import io.deephaven.engine.rowset.*;
 import io.deephaven.engine.table.ColumnDefinition;
 import io.deephaven.engine.table.Table;
 import io.deephaven.engine.table.TableDefinition;
+import io.deephaven.engine.table.impl.QueryCompilerRequestProcessor;
 import io.deephaven.engine.table.impl.lang.QueryLanguageParser;
 import io.deephaven.engine.table.impl.util.codegen.CodeGenerator;
 import io.deephaven.engine.context.QueryScopeParam;
 import io.deephaven.time.TimeLiteralReplacedExpression;
-import io.deephaven.engine.table.impl.perf.QueryPerformanceRecorder;
 import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.chunk.*;
 import io.deephaven.engine.rowset.chunkattributes.OrderedRowKeys;
@@ -34,6 +35,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 import static io.deephaven.engine.table.impl.select.DhFormulaColumn.COLUMN_SUFFIX;
@@ -44,7 +46,7 @@ import static io.deephaven.engine.table.impl.select.DhFormulaColumn.COLUMN_SUFFI
 public class ConditionFilter extends AbstractConditionFilter {
 
     public static final int CHUNK_SIZE = 4096;
-    private Class<?> filterKernelClass = null;
+    private CompletableFuture<Class<?>> filterKernelClass = null;
     private List<Pair<String, Class<?>>> usedInputs; // that is columns and special variables
     private String classBody;
     private Filter filter = null;
@@ -380,36 +382,39 @@ public class ConditionFilter extends AbstractConditionFilter {
     protected void generateFilterCode(
             TableDefinition tableDefinition,
             TimeLiteralReplacedExpression timeConversionResult,
-            QueryLanguageParser.Result result) {
+            QueryLanguageParser.Result result,
+            QueryCompilerRequestProcessor compilationProcessor) {
         final StringBuilder classBody = getClassBody(tableDefinition, timeConversionResult, result);
         if (classBody == null)
             return;
-        try (final SafeCloseable ignored = QueryPerformanceRecorder.getInstance().getCompilationNugget(formula)) {
-            final List<Class<?>> paramClasses = new ArrayList<>();
-            final Consumer<Class<?>> addParamClass = (cls) -> {
-                if (cls != null) {
-                    paramClasses.add(cls);
-                }
-            };
-            for (String usedColumn : usedColumns) {
-                usedColumn = outerToInnerNames.getOrDefault(usedColumn, usedColumn);
-                final ColumnDefinition<?> column = tableDefinition.getColumn(usedColumn);
-                addParamClass.accept(column.getDataType());
-                addParamClass.accept(column.getComponentType());
-            }
-            for (String usedColumn : usedColumnArrays) {
-                usedColumn = outerToInnerNames.getOrDefault(usedColumn, usedColumn);
-                final ColumnDefinition<?> column = tableDefinition.getColumn(usedColumn);
-                addParamClass.accept(column.getDataType());
-                addParamClass.accept(column.getComponentType());
-            }
-            for (final QueryScopeParam<?> param : params) {
-                addParamClass.accept(QueryScopeParamTypeUtil.getDeclaredClass(param.getValue()));
+        final List<Class<?>> paramClasses = new ArrayList<>();
+        final Consumer<Class<?>> addParamClass = (cls) -> {
+            if (cls != null) {
+                paramClasses.add(cls);
             }
+        };
+        for (String usedColumn : usedColumns) {
+            usedColumn = outerToInnerNames.getOrDefault(usedColumn, usedColumn);
+            final ColumnDefinition<?> column = tableDefinition.getColumn(usedColumn);
+            addParamClass.accept(column.getDataType());
+            addParamClass.accept(column.getComponentType());
+        }
+        for (String usedColumn : usedColumnArrays) {
+            usedColumn = outerToInnerNames.getOrDefault(usedColumn, usedColumn);
+            final ColumnDefinition<?> column = tableDefinition.getColumn(usedColumn);
+            addParamClass.accept(column.getDataType());
+            addParamClass.accept(column.getComponentType());
+        }
+        for (final QueryScopeParam<?> param : params) {
+            addParamClass.accept(QueryScopeParamTypeUtil.getDeclaredClass(param.getValue()));
+        }
 
-            filterKernelClass = ExecutionContext.getContext().getQueryCompiler()
-                    .compile("GeneratedFilterKernel", this.classBody = classBody.toString(),
-                            QueryCompiler.FORMULA_PREFIX, QueryScopeParamTypeUtil.expandParameterClasses(paramClasses));
+        filterKernelClass = compilationProcessor.submit(new QueryCompilerRequest(formula,
+                "GeneratedFilterKernel", this.classBody = classBody.toString(),
+                QueryCompiler.FORMULA_PREFIX, null, QueryScopeParamTypeUtil.expandParameterClasses(paramClasses)));
+        if (filterKernelClass.isDone()) {
+            // compiled immediately; report any failure from init, rather than when we first filter
+            QueryCompilerRequestProcessor.resolve(filterKernelClass);
         }
     }
 
@@ -577,7 +582,8 @@ public class ConditionFilter extends AbstractConditionFilter {
     protected Filter getFilter(Table table, RowSet fullSet)
             throws InstantiationException, IllegalAccessException, NoSuchMethodException, InvocationTargetException {
         if (filter == null) {
-            final FilterKernel<?> filterKernel = (FilterKernel<?>) filterKernelClass
+            final FilterKernel<?> filterKernel = (FilterKernel<?>) QueryCompilerRequestProcessor
+                    .resolve(filterKernelClass)
                     .getConstructor(Table.class, RowSet.class, QueryScopeParam[].class)
                     .newInstance(table, fullSet, (Object) params);
             final String[] columnNames = usedInputs.stream()
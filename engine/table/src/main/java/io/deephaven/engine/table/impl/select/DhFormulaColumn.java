@@ -3,18 +3,36 @@
  */
 package io.deephaven.engine.table.impl.select;
 
+import com.github.javaparser.ast.expr.DoubleLiteralExpr;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
+import com.github.javaparser.ast.expr.LongLiteralExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.NameExpr;
 import io.deephaven.base.Pair;
 import io.deephaven.chunk.ChunkType;
+import io.deephaven.chunk.DoubleChunk;
+import io.deephaven.chunk.FloatChunk;
+import io.deephaven.chunk.IntChunk;
+import io.deephaven.chunk.LongChunk;
+import io.deephaven.chunk.WritableDoubleChunk;
+import io.deephaven.chunk.WritableFloatChunk;
+import io.deephaven.chunk.WritableIntChunk;
+import io.deephaven.chunk.WritableLongChunk;
 import io.deephaven.configuration.Configuration;
 import io.deephaven.engine.context.ExecutionContext;
 import io.deephaven.engine.context.QueryCompiler;
+import io.deephaven.engine.context.QueryCompilerRequest;
 import io.deephaven.engine.context.QueryScopeParam;
+import io.deephaven.engine.rowset.TrackingRowSet;
 import io.deephaven.engine.table.ColumnDefinition;
 import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.engine.table.impl.MatchPair;
+import io.deephaven.engine.table.impl.QueryCompilerRequestProcessor;
 import io.deephaven.engine.table.Table;
+import io.deephaven.engine.table.impl.lang.JavaExpressionParser;
+import io.deephaven.engine.table.impl.lang.QueryLanguageFunctionUtils;
 import io.deephaven.engine.table.impl.lang.QueryLanguageParser;
-import io.deephaven.engine.table.impl.perf.QueryPerformanceRecorder;
 import io.deephaven.engine.table.impl.select.codegen.FormulaAnalyzer;
 import io.deephaven.engine.table.impl.select.codegen.JavaKernelBuilder;
 import io.deephaven.engine.table.impl.select.codegen.RichType;
@@ -26,17 +44,18 @@ import io.deephaven.engine.table.impl.select.python.DeephavenCompatibleFunction;
 import io.deephaven.engine.table.impl.select.python.FormulaColumnPython;
 import io.deephaven.engine.table.impl.util.codegen.CodeGenerator;
 import io.deephaven.engine.table.impl.util.codegen.TypeAnalyzer;
+import io.deephaven.engine.util.PyCallableWrapper;
 import io.deephaven.engine.util.PyCallableWrapperJpyImpl;
 import io.deephaven.engine.util.caching.C14nUtil;
 import io.deephaven.internal.log.LoggerFactory;
 import io.deephaven.io.logger.Logger;
 import io.deephaven.time.TimeLiteralReplacedExpression;
-import io.deephaven.util.SafeCloseable;
 import io.deephaven.util.type.TypeUtils;
 import io.deephaven.vector.ObjectVector;
 import io.deephaven.vector.Vector;
 import org.apache.commons.text.StringEscapeUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jpy.PyObject;
 
 import java.math.BigDecimal;
@@ -48,6 +67,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -61,6 +82,24 @@ public class DhFormulaColumn extends AbstractFormulaColumn {
     private static final String FORMULA_FACTORY_NAME = "__FORMULA_FACTORY";
     private static final String PARAM_CLASSNAME = QueryScopeParam.class.getCanonicalName();
     private static final String EVALUATION_EXCEPTION_CLASSNAME = FormulaEvaluationException.class.getCanonicalName();
+    private static final String QLFU_CLASSNAME = QueryLanguageFunctionUtils.class.getCanonicalName();
+
+    /**
+     * The {@link QueryLanguageFunctionUtils} operators that have overloads over chunks, and the chunk types they read
+     * and write for each column type.
+     */
+    private static final Set<String> CHUNK_OPERATOR_NAMES =
+            Set.of("plus", "minus", "multiply", "divide", "remainder");
+    private static final Map<Class<?>, Class<?>> CHUNK_OPERATOR_CHUNK_TYPES = Map.of(
+            int.class, IntChunk.class,
+            long.class, LongChunk.class,
+            float.class, FloatChunk.class,
+            double.class, DoubleChunk.class);
+    private static final Map<Class<?>, Class<?>> CHUNK_OPERATOR_DEST_TYPES = Map.of(
+            int.class, WritableIntChunk.class,
+            long.class, WritableLongChunk.class,
+            float.class, WritableFloatChunk.class,
+            double.class, WritableDoubleChunk.class);
     public static boolean useKernelFormulasProperty =
             Configuration.getInstance().getBooleanWithDefault("FormulaColumn.useKernelFormulasProperty", false);
 
@@ -183,6 +222,13 @@ public class DhFormulaColumn extends AbstractFormulaColumn {
 
     @Override
     public List<String> initDef(Map<String, ColumnDefinition<?>> columnDefinitionMap) {
+        return initDef(columnDefinitionMap, QueryCompilerRequestProcessor.immediate());
+    }
+
+    @Override
+    public List<String> initDef(
+            Map<String, ColumnDefinition<?>> columnDefinitionMap,
+            QueryCompilerRequestProcessor compilationRequestProcessor) {
         if (formulaFactory != null) {
             validateColumnDefinition(columnDefinitionMap);
             return formulaColumnPython != null ? formulaColumnPython.usedColumns : usedColumns;
@@ -216,7 +262,7 @@ public class DhFormulaColumn extends AbstractFormulaColumn {
 
         formulaFactory = useKernelFormulasProperty
                 ? createKernelFormulaFactory(getFormulaKernelFactory())
-                : createFormulaFactory();
+                : createFormulaFactory(compilationRequestProcessor);
         return formulaColumnPython != null ? formulaColumnPython.usedColumns : usedColumns;
     }
 
@@ -555,6 +601,7 @@ public class DhFormulaColumn extends AbstractFormulaColumn {
 
     @NotNull
     private CodeGenerator generateFillChunkHelper(TypeAnalyzer ta) {
+        final String chunkOperatorCall = generateChunkOperatorCall();
         final CodeGenerator g = CodeGenerator.create(
                 "private void fillChunkHelper(final boolean __usePrev, final FormulaFillContext __context,",
                 CodeGenerator.indent(
@@ -574,30 +621,25 @@ public class DhFormulaColumn extends AbstractFormulaColumn {
                                                 "inverted.fillRowKeyChunk(__context.__iiChunk);"))),
                         CodeGenerator.repeated("getChunks",
                                 "final [[CHUNK_TYPE]] __chunk__col__[[COL_SOURCE_NAME]] = __sources[[[SOURCE_INDEX]]].[[AS_CHUNK_METHOD]]();"),
-                        "final int[] __chunkPosHolder = new int[] {0};",
+                        usesK ? "final int[] __chunkPosHolder = new int[] {0};"
+                                : "final int __size = __rowSequence.intSize();",
                         "if ([[LAZY_RESULT_CACHE_NAME]] != null)", CodeGenerator.block(
-                                "__rowSequence.forAllRowKeys(k ->", CodeGenerator.block(
-                                        "final int __chunkPos = __chunkPosHolder[0]++;",
+                                generatePerRowLoop(
                                         CodeGenerator.optional("maybeCreateI",
                                                 "final int i = __context.__iChunk.get(__chunkPos);"),
                                         CodeGenerator.optional("maybeCreateII",
                                                 "final long ii = __context.__iiChunk.get(__chunkPos);"),
                                         "final Object __lazyKey = [[C14NUTIL_CLASSNAME]].maybeMakeCompoundKey([[APPLY_FORMULA_ARGS]]);",
-                                        "__typedDestination.set(__chunkPos, ([[RESULT_TYPE]])[[LAZY_RESULT_CACHE_NAME]].computeIfAbsent(__lazyKey, __unusedKey -> applyFormulaPerItem([[APPLY_FORMULA_ARGS]])));"),
-                                ");" // close the lambda
-                        ), CodeGenerator.samelineBlock("else",
-                                "__rowSequence.forAllRowKeys(k ->", CodeGenerator.block(
-                                        "final int __chunkPos = __chunkPosHolder[0]++;",
+                                        "__typedDestination.set(__chunkPos, ([[RESULT_TYPE]])[[LAZY_RESULT_CACHE_NAME]].computeIfAbsent(__lazyKey, __unusedKey -> applyFormulaPerItem([[APPLY_FORMULA_ARGS]])));")),
+                        CodeGenerator.samelineBlock("else", chunkOperatorCall != null ? chunkOperatorCall
+                                : generatePerRowLoop(
                                         CodeGenerator.optional("maybeCreateI",
                                                 "final int i = __context.__iChunk.get(__chunkPos);"),
                                         CodeGenerator.optional("maybeCreateII",
                                                 "final long ii = __context.__iiChunk.get(__chunkPos);"),
-                                        "__typedDestination.set(__chunkPos, applyFormulaPerItem([[APPLY_FORMULA_ARGS]]));"),
-                                ");" // close the lambda
-                        ),
-                        "__typedDestination.setSize(__chunkPosHolder[0]);"
-
-                ));
+                                        "__typedDestination.set(__chunkPos, applyFormulaPerItem([[APPLY_FORMULA_ARGS]]));")),
+                        usesK ? "__typedDestination.setSize(__chunkPosHolder[0]);"
+                                : "__typedDestination.setSize(__size);"));
 
         g.replace("DEST_CHUNK_TYPE", ta.writableChunkVariableType);
         g.replace("DEST_AS_CHUNK_METHOD", ta.asWritableChunkMethodName);
@@ -633,6 +675,99 @@ public class DhFormulaColumn extends AbstractFormulaColumn {
         return g.freeze();
     }
 
+    /**
+     * A formula that is a single arithmetic operator applied to primitive columns or literals, such as {@code A + B}
+     * or {@code A * 2}, can be evaluated a chunk at a time by the matching chunk overload in
+     * {@link QueryLanguageFunctionUtils}, rather than by calling {@code applyFormulaPerItem} for every row.
+     *
+     * @return the statement that fills {@code __typedDestination} from the input chunks, or null if the formula must be
+     *         evaluated row by row
+     */
+    @Nullable
+    private String generateChunkOperatorCall() {
+        if (usesI || usesII || usesK || formulaColumnPython != null) {
+            return null;
+        }
+        final Expression expression;
+        try {
+            expression = JavaExpressionParser.parseExpression(formulaString);
+        } catch (RuntimeException e) {
+            return null;
+        }
+        if (!(expression instanceof MethodCallExpr)) {
+            return null;
+        }
+        final MethodCallExpr call = (MethodCallExpr) expression;
+        final String methodName = call.getNameAsString();
+        if (call.getScope().isPresent() || call.getArguments().size() != 2
+                || !CHUNK_OPERATOR_NAMES.contains(methodName)) {
+            return null;
+        }
+
+        final Map<String, Class<?>> columnTypes = new HashMap<>();
+        visitFormulaParameters(null, cs -> columnTypes.put(cs.name, cs.type), null, null);
+
+        final Class<?>[] argTypes = new Class<?>[3];
+        final String[] args = new String[2];
+        boolean anyColumn = false;
+        for (int ai = 0; ai < 2; ++ai) {
+            final Expression arg = call.getArgument(ai);
+            if (arg instanceof NameExpr && columnTypes.containsKey(((NameExpr) arg).getNameAsString())) {
+                final String name = ((NameExpr) arg).getNameAsString();
+                argTypes[ai] = CHUNK_OPERATOR_CHUNK_TYPES.get(columnTypes.get(name));
+                args[ai] = "__chunk__col__" + name;
+                anyColumn = true;
+            } else if (arg instanceof IntegerLiteralExpr) {
+                argTypes[ai] = int.class;
+                args[ai] = arg.toString();
+            } else if (arg instanceof LongLiteralExpr) {
+                argTypes[ai] = long.class;
+                args[ai] = arg.toString();
+            } else if (arg instanceof DoubleLiteralExpr) {
+                final String literal = arg.toString();
+                final char last = literal.charAt(literal.length() - 1);
+                argTypes[ai] = last == 'f' || last == 'F' ? float.class : double.class;
+                args[ai] = literal;
+            } else {
+                return null;
+            }
+            if (argTypes[ai] == null) {
+                return null;
+            }
+        }
+        argTypes[2] = CHUNK_OPERATOR_DEST_TYPES.get(returnedType);
+        if (!anyColumn || argTypes[2] == null) {
+            return null;
+        }
+        try {
+            QueryLanguageFunctionUtils.class.getMethod(methodName + "Chunk", argTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+        return QLFU_CLASSNAME + '.' + methodName + "Chunk(" + args[0] + ", " + args[1] + ", __typedDestination);";
+    }
+
+    /**
+     * Wrap the per-row body of {@code fillChunkHelper} in a loop over the positions being filled. Only a formula that
+     * refers to {@code k} needs to visit the row keys themselves; any other formula gets a plain counted loop over the
+     * input chunks, which avoids a capturing lambda per chunk and is much easier for the JIT to inline and unroll.
+     */
+    private CodeGenerator generatePerRowLoop(final Object... body) {
+        final Object[] loopBody = new Object[body.length + 1];
+        System.arraycopy(body, 0, loopBody, 1, body.length);
+        if (usesK) {
+            loopBody[0] = "final int __chunkPos = __chunkPosHolder[0]++;";
+            return CodeGenerator.create(
+                    "__rowSequence.forAllRowKeys(k ->", CodeGenerator.block(loopBody),
+                    ");" // close the lambda
+            );
+        }
+        // __chunkPos must be effectively final, as the lazy result cache captures it
+        loopBody[0] = "final int __chunkPos = __pos;";
+        return CodeGenerator.create(
+                "for (int __pos = 0; __pos < __size; ++__pos)", CodeGenerator.block(loopBody));
+    }
+
     private CodeGenerator generateIntSize() {
         final CodeGenerator g = CodeGenerator.create(
                 "private int __intSize(final long l)", CodeGenerator.block(
@@ -758,10 +893,37 @@ public class DhFormulaColumn extends AbstractFormulaColumn {
         return formulaShiftColPair;
     }
 
-    private FormulaFactory createFormulaFactory() {
+    private FormulaFactory createFormulaFactory(final QueryCompilerRequestProcessor compilationRequestProcessor) {
         final String classBody = generateClassBody();
         final String what = "Compile regular formula: " + formulaString;
-        final Class<?> clazz = compileFormula(what, classBody, "Formula");
+        final CompletableFuture<Class<?>> formulaClass =
+                compileFormula(what, classBody, "Formula", compilationRequestProcessor);
+        if (formulaClass.isDone()) {
+            return getFormulaFactory(what, formulaClass);
+        }
+        // Compilation has been deferred to a batch; look the factory up the first time a formula is created.
+        return new FormulaFactory() {
+            private volatile FormulaFactory resolved;
+
+            @Override
+            public Formula createFormula(
+                    final TrackingRowSet rowSet,
+                    final boolean initLazyMap,
+                    final Map<String, ? extends ColumnSource> columnsToData,
+                    final QueryScopeParam... params) {
+                FormulaFactory factory = resolved;
+                if (factory == null) {
+                    resolved = factory = getFormulaFactory(what, formulaClass);
+                }
+                return factory.createFormula(rowSet, initLazyMap, columnsToData, params);
+            }
+        };
+    }
+
+    private static FormulaFactory getFormulaFactory(
+            final String what,
+            final CompletableFuture<Class<?>> formulaClass) {
+        final Class<?> clazz = QueryCompilerRequestProcessor.resolve(formulaClass);
         try {
             return (FormulaFactory) clazz.getField(FORMULA_FACTORY_NAME).get(null);
         } catch (ReflectiveOperationException e) {
@@ -770,36 +932,37 @@ public class DhFormulaColumn extends AbstractFormulaColumn {
     }
 
     @SuppressWarnings("SameParameterValue")
-    private Class<?> compileFormula(final String what, final String classBody, final String className) {
+    private CompletableFuture<Class<?>> compileFormula(
+            final String what,
+            final String classBody,
+            final String className,
+            final QueryCompilerRequestProcessor compilationRequestProcessor) {
         // System.out.printf("compileFormula: what is %s. Code is...%n%s%n", what, classBody);
-        try (final SafeCloseable ignored = QueryPerformanceRecorder.getInstance().getCompilationNugget(what)) {
-            // Compilation needs to take place with elevated privileges, but the created object should not have them.
+        // Compilation needs to take place with elevated privileges, but the created object should not have them.
 
-            final List<Class<?>> paramClasses = new ArrayList<>();
-            final Consumer<Class<?>> addParamClass = (cls) -> {
-                if (cls != null) {
-                    paramClasses.add(cls);
-                }
-            };
-            visitFormulaParameters(null,
-                    csp -> {
-                        addParamClass.accept(csp.type);
-                        addParamClass.accept(csp.columnDefinition.getComponentType());
-                        return null;
-                    },
-                    cap -> {
-                        addParamClass.accept(cap.dataType);
-                        addParamClass.accept(cap.columnDefinition.getComponentType());
-                        return null;
-                    },
-                    p -> {
-                        addParamClass.accept(p.type);
-                        return null;
-                    });
-            final QueryCompiler compiler = ExecutionContext.getContext().getQueryCompiler();
-            return compiler.compile(className, classBody, QueryCompiler.FORMULA_PREFIX,
-                    QueryScopeParamTypeUtil.expandParameterClasses(paramClasses));
-        }
+        final List<Class<?>> paramClasses = new ArrayList<>();
+        final Consumer<Class<?>> addParamClass = (cls) -> {
+            if (cls != null) {
+                paramClasses.add(cls);
+            }
+        };
+        visitFormulaParameters(null,
+                csp -> {
+                    addParamClass.accept(csp.type);
+                    addParamClass.accept(csp.columnDefinition.getComponentType());
+                    return null;
+                },
+                cap -> {
+                    addParamClass.accept(cap.dataType);
+                    addParamClass.accept(cap.columnDefinition.getComponentType());
+                    return null;
+                },
+                p -> {
+                    addParamClass.accept(p.type);
+                    return null;
+                });
+        return compilationRequestProcessor.submit(new QueryCompilerRequest(what, className, classBody,
+                QueryCompiler.FORMULA_PREFIX, null, QueryScopeParamTypeUtil.expandParameterClasses(paramClasses)));
     }
 
     private static class IndexParameter {
@@ -868,4 +1031,13 @@ public class DhFormulaColumn extends AbstractFormulaColumn {
                 && usedColumnArrays.stream().allMatch(this::isUsedColumnStateless);
     }
 
+    @Override
+    public boolean isStatelessExceptForPython() {
+        return Arrays.stream(params).anyMatch(param -> param.getValue() instanceof PyCallableWrapper)
+                && Arrays.stream(params)
+                        .allMatch(param -> param.getValue() instanceof PyCallableWrapper || isImmutableType(param))
+                && usedColumns.stream().allMatch(this::isUsedColumnStateless)
+                && usedColumnArrays.stream().allMatch(this::isUsedColumnStateless);
+    }
+
 }
@@ -19,6 +19,7 @@ import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.engine.table.impl.MatchPair;
 import io.deephaven.engine.table.WritableColumnSource;
 import io.deephaven.engine.table.impl.BaseTable;
+import io.deephaven.engine.table.impl.QueryCompilerRequestProcessor;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
@@ -82,6 +83,24 @@ public interface SelectColumn extends Selectable {
      */
     List<String> initDef(Map<String, ColumnDefinition<?>> columnDefinitionMap);
 
+    /**
+     * Initialize any internal column definitions from the provided initial, submitting any classes that must be
+     * compiled to {@code compilationRequestProcessor} rather than compiling them immediately.
+     *
+     * @param columnDefinitionMap the starting set of column definitions; valid for this call only
+     * @param compilationRequestProcessor the processor that compiles, or defers compilation of, generated classes
+     *
+     * @return a list of columns on which the result of this is dependent
+     * @apiNote When {@code compilationRequestProcessor} is a {@link QueryCompilerRequestProcessor.BatchProcessor}, the
+     *          caller must {@link QueryCompilerRequestProcessor.BatchProcessor#compile() compile} it before
+     *          initializing inputs or creating column sources.
+     */
+    default List<String> initDef(
+            Map<String, ColumnDefinition<?>> columnDefinitionMap,
+            QueryCompilerRequestProcessor compilationRequestProcessor) {
+        return initDef(columnDefinitionMap);
+    }
+
     /**
      * Get the data type stored in the resultant column.
      *
@@ -178,6 +197,15 @@ public interface SelectColumn extends Selectable {
      */
     boolean isStateless();
 
+    /**
+     * Returns true if this column calls into Python, and would otherwise be {@link #isStateless() stateless}. Python
+     * code may keep state of its own, so such a column is never stateless; but as long as the engine evaluates these
+     * columns one at a time, in order, they may be computed alongside stateless columns.
+     */
+    default boolean isStatelessExceptForPython() {
+        return false;
+    }
+
     /**
      * Create a copy of this SelectColumn.
      *
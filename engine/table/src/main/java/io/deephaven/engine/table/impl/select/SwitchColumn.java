@@ -8,6 +8,7 @@ import io.deephaven.engine.table.*;
 import io.deephaven.api.util.NameValidator;
 import io.deephaven.engine.table.impl.BaseTable;
 import io.deephaven.engine.table.impl.MatchPair;
+import io.deephaven.engine.table.impl.QueryCompilerRequestProcessor;
 import io.deephaven.engine.table.impl.select.python.FormulaColumnPython;
 import io.deephaven.engine.table.WritableColumnSource;
 import io.deephaven.engine.rowset.TrackingRowSet;
@@ -46,6 +47,13 @@ public class SwitchColumn implements SelectColumn {
 
     @Override
     public List<String> initDef(Map<String, ColumnDefinition<?>> columnDefinitionMap) {
+        return initDef(columnDefinitionMap, QueryCompilerRequestProcessor.immediate());
+    }
+
+    @Override
+    public List<String> initDef(
+            Map<String, ColumnDefinition<?>> columnDefinitionMap,
+            QueryCompilerRequestProcessor compilationRequestProcessor) {
         if (realColumn == null) {
             if (columnDefinitionMap.get(expression) != null) {
                 realColumn = new SourceColumn(expression, columnName);
@@ -53,7 +61,7 @@ public class SwitchColumn implements SelectColumn {
                 realColumn = FormulaColumn.createFormulaColumn(columnName, expression, parser);
             }
         }
-        List<String> usedColumns = realColumn.initDef(columnDefinitionMap);
+        List<String> usedColumns = realColumn.initDef(columnDefinitionMap, compilationRequestProcessor);
         if (realColumn instanceof DhFormulaColumn) {
             FormulaColumnPython formulaColumnPython = ((DhFormulaColumn) realColumn).getFormulaColumnPython();
             realColumn = formulaColumnPython != null ? formulaColumnPython : realColumn;
@@ -123,6 +131,19 @@ public class SwitchColumn implements SelectColumn {
         return columnName + "=" + expression;
     }
 
+    boolean isInitialized() {
+        return realColumn != null;
+    }
+
+    @NotNull
+    String getExpression() {
+        return expression;
+    }
+
+    FormulaParserConfiguration getParser() {
+        return parser;
+    }
+
     public SelectColumn getRealColumn() {
         if (realColumn == null) {
             throw new IllegalStateException(
@@ -136,6 +157,11 @@ public class SwitchColumn implements SelectColumn {
         return getRealColumn().isStateless();
     }
 
+    @Override
+    public boolean isStatelessExceptForPython() {
+        return getRealColumn().isStatelessExceptForPython();
+    }
+
     @Override
     public SwitchColumn copy() {
         final SwitchColumn switchColumn = new SwitchColumn(columnName, expression, parser);
@@ -0,0 +1,388 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl.select;
+
+import com.github.javaparser.ast.expr.ArrayAccessExpr;
+import com.github.javaparser.ast.expr.BinaryExpr;
+import com.github.javaparser.ast.expr.BooleanLiteralExpr;
+import com.github.javaparser.ast.expr.CharLiteralExpr;
+import com.github.javaparser.ast.expr.DoubleLiteralExpr;
+import com.github.javaparser.ast.expr.EnclosedExpr;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
+import com.github.javaparser.ast.expr.LambdaExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.StringLiteralExpr;
+import com.github.javaparser.ast.expr.UnaryExpr;
+import io.deephaven.engine.context.QueryScope;
+import io.deephaven.engine.table.impl.lang.JavaExpressionParser;
+import io.deephaven.engine.table.impl.lang.QueryLanguageParser;
+import io.deephaven.engine.table.impl.select.MatchFilter.CaseSensitivity;
+import io.deephaven.engine.table.impl.select.MatchFilter.MatchType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Turns a condition formula into native filters where it can be expressed as a combination of comparisons between a
+ * column and a literal. For example, {@code X >= 5 && X < 10} becomes a {@link ConjunctiveFilter} of two
+ * {@link RangeConditionFilter RangeConditionFilters}, and {@code Sym == "A" || Sym == "B"} becomes the single
+ * {@link MatchFilter} {@code Sym in "A", "B"}. Native filters need no formula compilation, and can make use of sorted
+ * or grouped columns and of source statistics.
+ * <p>
+ * Along the way, integer arithmetic between literals is folded, {@code true} and {@code false} terms are simplified
+ * away, and literal-first comparisons are flipped. The native terms of a conjunction are evaluated before any term that
+ * still needs a {@link ConditionFilter}, equality matches first since they are typically the most selective; the
+ * remaining terms are combined into a single condition, in their original order, so that they are only evaluated for
+ * rows that the native terms have not already excluded.
+ */
+final class WhereConditionNormalizer {
+
+    private static final Pattern DECIMAL_INTEGER = Pattern.compile("0|[1-9][0-9]*");
+    private static final Pattern DECIMAL_FLOATING_POINT = Pattern.compile("[0-9]+\\.[0-9]+");
+
+    private WhereConditionNormalizer() {}
+
+    /**
+     * Normalize {@code condition} into native filters.
+     *
+     * @param condition the condition formula
+     * @param parserConfiguration the parser the condition is written for
+     * @return the normalized filter, or null if the condition should be compiled as written
+     */
+    @Nullable
+    static WhereFilter normalize(
+            @NotNull final String condition,
+            @NotNull final FormulaParserConfiguration parserConfiguration) {
+        if (parserConfiguration != FormulaParserConfiguration.Deephaven) {
+            return null;
+        }
+        final Expression expression;
+        try {
+            // convert backticks *before* single equals, so that '=' within string literals is left alone
+            expression = JavaExpressionParser.parseExpression(
+                    QueryLanguageParser.convertSingleEquals(QueryLanguageParser.convertBackticks(condition)));
+        } catch (RuntimeException e) {
+            // e.g. a time literal, which only the query language parser understands
+            return null;
+        }
+        // row positions and column arrays depend on the rows a condition is evaluated for, so must see every row
+        if (expression.findFirst(ArrayAccessExpr.class).isPresent()
+                || expression.findFirst(LambdaExpr.class).isPresent()
+                || expression.findAll(NameExpr.class).stream().map(NameExpr::getNameAsString)
+                        .anyMatch(name -> isRowVariable(name)
+                                || name.endsWith(AbstractFormulaColumn.COLUMN_SUFFIX))) {
+            return null;
+        }
+        return toFilter(expression, true);
+    }
+
+    /**
+     * @param allowResidual whether terms that cannot be made native may be left in a {@link ConditionFilter}; nested
+     *        terms must be entirely native, so that nothing is evaluated for rows it would not have been before
+     * @return the native form of {@code expression}, or null if there is none
+     */
+    @Nullable
+    private static WhereFilter toFilter(@NotNull final Expression expression, final boolean allowResidual) {
+        final Expression stripped = stripEnclosing(expression);
+        if (stripped instanceof BooleanLiteralExpr && !((BooleanLiteralExpr) stripped).getValue()) {
+            return WhereNoneFilter.INSTANCE;
+        }
+        if (stripped instanceof BinaryExpr) {
+            final BinaryExpr.Operator operator = ((BinaryExpr) stripped).getOperator();
+            if (operator == BinaryExpr.Operator.AND || operator == BinaryExpr.Operator.OR) {
+                return toComposedFilter(stripped, operator, allowResidual);
+            }
+        }
+        final Comparison comparison = Comparison.of(stripped);
+        return comparison == null ? null : comparison.toFilter();
+    }
+
+    @Nullable
+    private static WhereFilter toComposedFilter(
+            @NotNull final Expression expression,
+            @NotNull final BinaryExpr.Operator operator,
+            final boolean allowResidual) {
+        final boolean conjunction = operator == BinaryExpr.Operator.AND;
+        final List<Expression> terms = new ArrayList<>();
+        flatten(expression, operator, terms);
+
+        // for a conjunction, the != comparisons against each column are merged into one "not in" match; for a
+        // disjunction, the == comparisons are merged into one "in" match
+        final String mergedOperator = conjunction ? "!=" : "==";
+        final Map<String, List<String>> mergedValues = new LinkedHashMap<>();
+        final List<WhereFilter> filters = new ArrayList<>();
+        final List<Expression> residual = new ArrayList<>();
+        for (final Expression term : terms) {
+            final Expression stripped = stripEnclosing(term);
+            if (stripped instanceof BooleanLiteralExpr) {
+                if (((BooleanLiteralExpr) stripped).getValue() == conjunction) {
+                    // the identity of this operator; it makes no difference to the result
+                    continue;
+                }
+                if (conjunction) {
+                    return WhereNoneFilter.INSTANCE;
+                }
+                // always true; this is cheap enough to leave to a condition
+                return null;
+            }
+            final Comparison comparison = Comparison.of(stripped);
+            if (comparison != null && comparison.operator.equals(mergedOperator)) {
+                mergedValues.computeIfAbsent(comparison.columnName, n -> new ArrayList<>()).add(comparison.value);
+                continue;
+            }
+            final WhereFilter filter = comparison != null ? comparison.toFilter() : toFilter(stripped, false);
+            if (filter == WhereNoneFilter.INSTANCE) {
+                if (conjunction) {
+                    return WhereNoneFilter.INSTANCE;
+                }
+                continue;
+            }
+            if (filter != null) {
+                filters.add(filter);
+            } else if (allowResidual) {
+                residual.add(term);
+            } else {
+                return null;
+            }
+        }
+        final MatchType mergedMatchType = conjunction ? MatchType.Inverted : MatchType.Regular;
+        mergedValues.forEach((columnName, values) -> filters.add(new MatchFilter(
+                CaseSensitivity.MatchCase, mergedMatchType, columnName, values.toArray(String[]::new))));
+
+        if (filters.isEmpty()) {
+            if (!residual.isEmpty()) {
+                // nothing to gain over compiling the condition as written
+                return null;
+            }
+            // every term was the identity of this operator
+            return conjunction ? null : WhereNoneFilter.INSTANCE;
+        }
+
+        // stable, so that filters of the same rank are evaluated in the order they were written
+        filters.sort(Comparator.comparingInt(WhereConditionNormalizer::rank));
+        if (!residual.isEmpty()) {
+            filters.add(ConditionFilter.createConditionFilter(
+                    residual.stream().map(Expression::toString)
+                            .collect(Collectors.joining(conjunction ? " && " : " || ")),
+                    FormulaParserConfiguration.Deephaven));
+        }
+        final WhereFilter[] filterArray = filters.toArray(WhereFilter.ZERO_LENGTH_SELECT_FILTER_ARRAY);
+        return conjunction
+                ? ConjunctiveFilter.makeConjunctiveFilter(filterArray)
+                : DisjunctiveFilter.makeDisjunctiveFilter(filterArray);
+    }
+
+    /**
+     * An estimate of how expensive a native filter is per row, relative to how many rows it is likely to remove.
+     */
+    private static int rank(@NotNull final WhereFilter filter) {
+        if (filter instanceof MatchFilter) {
+            return ((MatchFilter) filter).getInvertMatch() ? 2 : 0;
+        }
+        if (filter instanceof RangeConditionFilter) {
+            return 1;
+        }
+        return 3;
+    }
+
+    private static void flatten(
+            @NotNull final Expression expression,
+            @NotNull final BinaryExpr.Operator operator,
+            @NotNull final List<Expression> terms) {
+        final Expression stripped = stripEnclosing(expression);
+        if (stripped instanceof BinaryExpr && ((BinaryExpr) stripped).getOperator() == operator) {
+            flatten(((BinaryExpr) stripped).getLeft(), operator, terms);
+            flatten(((BinaryExpr) stripped).getRight(), operator, terms);
+        } else {
+            terms.add(expression);
+        }
+    }
+
+    private static Expression stripEnclosing(@NotNull Expression expression) {
+        while (expression instanceof EnclosedExpr) {
+            expression = ((EnclosedExpr) expression).getInner();
+        }
+        return expression;
+    }
+
+    private static boolean isRowVariable(@NotNull final String name) {
+        return name.equals("i") || name.equals("ii") || name.equals("k");
+    }
+
+    /**
+     * A comparison between a column and a literal, with the column on the left.
+     */
+    private static final class Comparison {
+        private final String columnName;
+        private final String operator;
+        private final String value;
+
+        private Comparison(final String columnName, final String operator, final String value) {
+            this.columnName = columnName;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        @Nullable
+        private static Comparison of(@NotNull final Expression expression) {
+            if (!(expression instanceof BinaryExpr)) {
+                return null;
+            }
+            final BinaryExpr binaryExpr = (BinaryExpr) expression;
+            final String operator = binaryExpr.getOperator().asString();
+            final String flippedOperator;
+            switch (operator) {
+                case "==":
+                case "!=":
+                    flippedOperator = operator;
+                    break;
+                case "<":
+                    flippedOperator = ">";
+                    break;
+                case "<=":
+                    flippedOperator = ">=";
+                    break;
+                case ">":
+                    flippedOperator = "<";
+                    break;
+                case ">=":
+                    flippedOperator = "<=";
+                    break;
+                default:
+                    return null;
+            }
+            final Expression left = stripEnclosing(binaryExpr.getLeft());
+            final Expression right = stripEnclosing(binaryExpr.getRight());
+            if (left instanceof NameExpr) {
+                return of(((NameExpr) left).getNameAsString(), operator, right);
+            }
+            if (right instanceof NameExpr) {
+                return of(((NameExpr) right).getNameAsString(), flippedOperator, left);
+            }
+            return null;
+        }
+
+        @Nullable
+        private static Comparison of(
+                @NotNull final String columnName,
+                @NotNull final String operator,
+                @NotNull final Expression literal) {
+            final String value = literalValue(literal);
+            if (value == null) {
+                return null;
+            }
+            try {
+                QueryScope.getParamValue(columnName);
+                // not a column at all
+                return null;
+            } catch (QueryScope.MissingVariableException e) {
+                return new Comparison(columnName, operator, value);
+            }
+        }
+
+        private WhereFilter toFilter() {
+            switch (operator) {
+                case "==":
+                    return new MatchFilter(CaseSensitivity.MatchCase, MatchType.Regular, columnName, value);
+                case "!=":
+                    return new MatchFilter(CaseSensitivity.MatchCase, MatchType.Inverted, columnName, value);
+                default:
+                    return new RangeConditionFilter(columnName, operator, value,
+                            columnName + " " + operator + " " + value, FormulaParserConfiguration.Deephaven);
+            }
+        }
+    }
+
+    /**
+     * @return the literal value of {@code expression}, in the form that {@link MatchFilter} and
+     *         {@link RangeConditionFilter} expect, or null if it is not a literal they are certain to interpret the
+     *         same way as the formula would
+     */
+    @Nullable
+    private static String literalValue(@NotNull Expression expression) {
+        expression = stripEnclosing(expression);
+        if (expression instanceof StringLiteralExpr) {
+            final String value = ((StringLiteralExpr) expression).getValue();
+            return value.indexOf('\\') >= 0 || value.indexOf('"') >= 0 ? null : '"' + value + '"';
+        }
+        if (expression instanceof CharLiteralExpr) {
+            final String value = ((CharLiteralExpr) expression).getValue();
+            return value.length() != 1 || value.equals("\\") ? null : '\'' + value + '\'';
+        }
+        if (expression instanceof BooleanLiteralExpr) {
+            return Boolean.toString(((BooleanLiteralExpr) expression).getValue());
+        }
+        if (expression instanceof DoubleLiteralExpr) {
+            final String value = ((DoubleLiteralExpr) expression).getValue();
+            return DECIMAL_FLOATING_POINT.matcher(value).matches() ? value : null;
+        }
+        if (expression instanceof UnaryExpr
+                && ((UnaryExpr) expression).getOperator() == UnaryExpr.Operator.MINUS
+                && stripEnclosing(((UnaryExpr) expression).getExpression()) instanceof DoubleLiteralExpr) {
+            final String value = literalValue(((UnaryExpr) expression).getExpression());
+            return value == null ? null : '-' + value;
+        }
+        final Integer folded = foldInt(expression);
+        return folded == null ? null : Integer.toString(folded);
+    }
+
+    /**
+     * Evaluate integer arithmetic between int literals.
+     *
+     * @return the value of {@code expression}, or null if it is not constant, overflows, or is the null int
+     */
+    @Nullable
+    private static Integer foldInt(@NotNull Expression expression) {
+        expression = stripEnclosing(expression);
+        final Integer result;
+        try {
+            if (expression instanceof IntegerLiteralExpr) {
+                final String value = ((IntegerLiteralExpr) expression).getValue();
+                result = DECIMAL_INTEGER.matcher(value).matches() ? Integer.parseInt(value) : null;
+            } else if (expression instanceof UnaryExpr) {
+                final UnaryExpr unaryExpr = (UnaryExpr) expression;
+                final Integer operand = foldInt(unaryExpr.getExpression());
+                if (operand == null) {
+                    result = null;
+                } else if (unaryExpr.getOperator() == UnaryExpr.Operator.MINUS) {
+                    result = -operand;
+                } else if (unaryExpr.getOperator() == UnaryExpr.Operator.PLUS) {
+                    result = operand;
+                } else {
+                    result = null;
+                }
+            } else if (expression instanceof BinaryExpr) {
+                // division is left alone, since the query language divides ints as doubles
+                final BinaryExpr binaryExpr = (BinaryExpr) expression;
+                final Integer left = foldInt(binaryExpr.getLeft());
+                final Integer right = left == null ? null : foldInt(binaryExpr.getRight());
+                if (right == null) {
+                    result = null;
+                } else if (binaryExpr.getOperator() == BinaryExpr.Operator.PLUS) {
+                    result = Math.addExact(left, right);
+                } else if (binaryExpr.getOperator() == BinaryExpr.Operator.MINUS) {
+                    result = Math.subtractExact(left, right);
+                } else if (binaryExpr.getOperator() == BinaryExpr.Operator.MULTIPLY) {
+                    result = Math.multiplyExact(left, right);
+                } else {
+                    result = null;
+                }
+            } else {
+                result = null;
+            }
+        } catch (NumberFormatException | ArithmeticException e) {
+            return null;
+        }
+        // Integer.MIN_VALUE is the null int, and arithmetic on it behaves differently in the query language
+        return result == null || result == Integer.MIN_VALUE ? null : result;
+    }
+}
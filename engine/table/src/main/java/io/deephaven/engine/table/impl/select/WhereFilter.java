@@ -11,6 +11,7 @@ import io.deephaven.engine.rowset.WritableRowSet;
 import io.deephaven.engine.table.Table;
 import io.deephaven.engine.table.TableDefinition;
 import io.deephaven.engine.table.impl.BaseTable;
+import io.deephaven.engine.table.impl.QueryCompilerRequestProcessor;
 import io.deephaven.engine.table.impl.QueryTable;
 import io.deephaven.engine.table.impl.remote.ConstructSnapshot;
 import io.deephaven.util.annotations.FinalDefault;
@@ -105,6 +106,19 @@ public interface WhereFilter extends Filter {
      */
     void init(TableDefinition tableDefinition);
 
+    /**
+     * Initialize this select filter given the table definition, submitting any classes that must be compiled to
+     * {@code compilationProcessor} rather than compiling them immediately.
+     *
+     * @param tableDefinition the definition of the table that will be filtered
+     * @param compilationProcessor the processor that compiles, or defers compilation of, generated classes
+     * @apiNote When {@code compilationProcessor} is a {@link QueryCompilerRequestProcessor.BatchProcessor}, the caller
+     *          must {@link QueryCompilerRequestProcessor.BatchProcessor#compile() compile} it before filtering.
+     */
+    default void init(TableDefinition tableDefinition, QueryCompilerRequestProcessor compilationProcessor) {
+        init(tableDefinition);
+    }
+
     /**
      * Validate that this {@code WhereFilter} is safe to use in the context of the provided sourceTable.
      *
@@ -7,6 +7,7 @@ import io.deephaven.api.ColumnName;
 import io.deephaven.api.filter.FilterPattern;
 import io.deephaven.api.filter.FilterPattern.Mode;
 import io.deephaven.base.Pair;
+import io.deephaven.configuration.Configuration;
 import io.deephaven.engine.context.QueryScope;
 import io.deephaven.api.expression.AbstractExpressionFactory;
 import io.deephaven.engine.table.ColumnDefinition;
@@ -47,6 +48,13 @@ public class WhereFilterFactory {
 
     private static final ExpressionParser<WhereFilter> parser = new ExpressionParser<>();
 
+    /**
+     * Whether condition formulas that are equivalent to a combination of match and range filters should be turned into
+     * those filters, rather than compiled.
+     */
+    static boolean NORMALIZE_CONDITIONS = Configuration.getInstance()
+            .getBooleanWithDefault("WhereFilterFactory.normalizeConditions", true);
+
     static {
         // <ColumnName>==<Number|Boolean|"String">
         // <ColumnName>=<Number|Boolean|"String">
@@ -195,6 +203,16 @@ public class WhereFilterFactory {
 
                         final FormulaParserConfiguration parserConfiguration = (FormulaParserConfiguration) args[0];
 
+                        if (NORMALIZE_CONDITIONS) {
+                            final WhereFilter normalized =
+                                    WhereConditionNormalizer.normalize(condition, parserConfiguration);
+                            if (normalized != null) {
+                                log.debug().append("WhereFilterFactory normalized expression: ").append(expression)
+                                        .append(" to ").append(normalized.toString()).endl();
+                                return normalized;
+                            }
+                        }
+
                         log.debug().append("WhereFilterFactory creating ConditionFilter for expression: ")
                                 .append(expression).endl();
                         return ConditionFilter.createConditionFilter(condition, parserConfiguration);
@@ -8,6 +8,7 @@ import io.deephaven.engine.table.Table;
 import io.deephaven.engine.table.TableDefinition;
 import io.deephaven.engine.table.impl.BaseTable;
 import io.deephaven.engine.table.impl.DependencyStreamProvider;
+import io.deephaven.engine.table.impl.QueryCompilerRequestProcessor;
 import io.deephaven.engine.updategraph.NotificationQueue;
 import io.deephaven.util.annotations.VisibleForTesting;
 import org.jetbrains.annotations.NotNull;
@@ -58,6 +59,11 @@ class WhereFilterInvertedImpl
         filter.init(tableDefinition);
     }
 
+    @Override
+    public void init(TableDefinition tableDefinition, QueryCompilerRequestProcessor compilationProcessor) {
+        filter.init(tableDefinition, compilationProcessor);
+    }
+
     @Override
     public void validateSafeForRefresh(BaseTable<?> sourceTable) {
         filter.validateSafeForRefresh(sourceTable);
@@ -12,6 +12,7 @@ import io.deephaven.engine.rowset.RowSetFactory;
 import io.deephaven.engine.rowset.TrackingRowSet;
 import io.deephaven.engine.table.*;
 import io.deephaven.engine.table.impl.MatchPair;
+import io.deephaven.engine.table.impl.QueryCompilerRequestProcessor;
 import io.deephaven.engine.table.impl.QueryTable;
 import io.deephaven.engine.table.impl.select.FormulaColumn;
 import io.deephaven.engine.table.impl.select.SelectColumn;
@@ -47,15 +48,52 @@ public abstract class SelectAndViewAnalyzer implements LogOutputAppendable {
     public static void initializeSelectColumns(
             final Map<String, ColumnDefinition<?>> parentColumnMap,
             final SelectColumn[] selectColumns) {
+        final QueryCompilerRequestProcessor.BatchProcessor compilationProcessor = QueryCompilerRequestProcessor.batch();
+        initializeSelectColumns(parentColumnMap, selectColumns, compilationProcessor);
+        compilationProcessor.compile();
+    }
+
+    public static void initializeSelectColumns(
+            final Map<String, ColumnDefinition<?>> parentColumnMap,
+            final SelectColumn[] selectColumns,
+            final QueryCompilerRequestProcessor compilationProcessor) {
         final Map<String, ColumnDefinition<?>> targetColumnMap = new HashMap<>(parentColumnMap);
         for (SelectColumn column : selectColumns) {
-            column.initDef(targetColumnMap);
+            column.initDef(targetColumnMap, compilationProcessor);
             final ColumnDefinition<?> columnDefinition =
                     ColumnDefinition.fromGenericType(column.getName(), column.getReturnedType());
             targetColumnMap.put(column.getName(), columnDefinition);
         }
     }
 
+    /**
+     * Initialize the definitions of as many leading {@code selectColumns} as possible, compiling all of their
+     * formulas in a single batch. Columns are initialized in order; the first initialization failure stops the pass,
+     * and is left to be reported when that column is initialized again individually. Compilation failures are not
+     * thrown here either: the failed formula rethrows its error when it is first used to create a column.
+     */
+    private static void tryInitializeSelectColumnsInBatch(
+            final Map<String, ColumnDefinition<?>> parentColumnMap,
+            final SelectColumn[] selectColumns) {
+        final QueryCompilerRequestProcessor.BatchProcessor compilationProcessor = QueryCompilerRequestProcessor.batch();
+        final Map<String, ColumnDefinition<?>> targetColumnMap = new HashMap<>(parentColumnMap);
+        try {
+            for (SelectColumn column : selectColumns) {
+                column.initDef(targetColumnMap, compilationProcessor);
+                final ColumnDefinition<?> columnDefinition =
+                        ColumnDefinition.fromGenericType(column.getName(), column.getReturnedType());
+                targetColumnMap.put(column.getName(), columnDefinition);
+            }
+        } catch (RuntimeException ignored) {
+            // the failing column will throw again, with full context, when the caller initializes it
+        }
+        try {
+            compilationProcessor.compile();
+        } catch (RuntimeException ignored) {
+            // the failed formula holds its compilation error, and throws it when the caller uses the column
+        }
+    }
+
     public static SelectAndViewAnalyzerWrapper create(
             QueryTable sourceTable, Mode mode, Map<String, ColumnSource<?>> columnSources,
             TrackingRowSet rowSet, ModifiedColumnSet parentMcs, boolean publishTheseSources, boolean useShiftedColumns,
@@ -103,6 +141,11 @@ public abstract class SelectAndViewAnalyzer implements LogOutputAppendable {
         FormulaColumn shiftColumn = null;
         boolean shiftColumnHasPositiveOffset = false;
 
+        if (selectColumns.length > 1) {
+            analyzer.updateColumnDefinitionsFromTopLayer(columnDefinitions);
+            tryInitializeSelectColumnsInBatch(columnDefinitions, selectColumns);
+        }
+
         final HashSet<String> resultColumns = new HashSet<>();
         final HashMap<String, ColumnSource<?>> resultAlias = new HashMap<>();
         for (final SelectColumn sc : selectColumns) {
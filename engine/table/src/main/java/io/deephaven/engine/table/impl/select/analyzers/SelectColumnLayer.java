@@ -60,6 +60,7 @@ final public class SelectColumnLayer extends SelectOrViewColumnLayer {
     private final boolean alreadyFlattenedSources;
     private final BitSet dependencyBitSet;
     private final boolean canParallelizeThisColumn;
+    private final boolean usesPython;
     private final boolean isSystemic;
     private final boolean resultTypeIsLivenessReferent;
     private final boolean resultTypeIsTable;
@@ -93,6 +94,18 @@ final public class SelectColumnLayer extends SelectOrViewColumnLayer {
         dependencyBitSet = new BitSet();
         Arrays.stream(deps).mapToInt(inner::getLayerIndexFor).forEach(dependencyBitSet::set);
 
+        // Columns that call into Python are computed one after another, in order, so that they can't observe each
+        // other's side effects out of order, and so that only one thread at a time contends for the GIL.
+        usesPython = sc.isStatelessExceptForPython();
+        if (usesPython) {
+            for (SelectAndViewAnalyzer layer = inner; layer != null; layer = layer.getInner()) {
+                if (layer instanceof SelectColumnLayer && ((SelectColumnLayer) layer).usesPython) {
+                    dependencyBitSet.set(layer.getLayerIndex());
+                    break;
+                }
+            }
+        }
+
         this.flattenedResult = flattenedResult;
         this.alreadyFlattenedSources = alreadyFlattenedSources;
 
@@ -286,7 +299,8 @@ final public class SelectColumnLayer extends SelectOrViewColumnLayer {
 
     private Boolean doApplyUpdate(final TableUpdate upstream, final UpdateHelper helper,
             @Nullable final LivenessNode liveResultOwner, final long startOffset) {
-        final int PAGE_SIZE = 4096;
+        // larger pages for Python mean fewer acquisitions of the GIL
+        final int PAGE_SIZE = usesPython ? QueryTable.PYTHON_CHUNK_SIZE : 4096;
         final LongToIntFunction contextSize = (long size) -> size > PAGE_SIZE ? PAGE_SIZE : (int) size;
 
         final boolean modifiesAffectUs =
@@ -611,6 +625,7 @@ final public class SelectColumnLayer extends SelectOrViewColumnLayer {
 
     @Override
     public boolean allowCrossColumnParallelization() {
-        return selectColumn.isStateless() && inner.allowCrossColumnParallelization();
+        return (selectColumn.isStateless() || (usesPython && QueryTable.PARALLEL_SELECT_WITH_PYTHON))
+                && inner.allowCrossColumnParallelization();
     }
 }
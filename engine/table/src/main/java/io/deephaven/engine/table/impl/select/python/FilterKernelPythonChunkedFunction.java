@@ -44,9 +44,9 @@ class FilterKernelPythonChunkedFunction implements FilterKernel<FilterKernel.Con
         FillContextPython fillContextPython = context.getKernelContext();
         fillContextPython.resolveColumnChunks(inputChunks, size);
 
-        final boolean[] results = function
+        final boolean[] results = PythonGil.call(() -> function
                 .call(boolean[].class, CALL_METHOD, fillContextPython.getChunkedArgTypes(),
-                        fillContextPython.getChunkedArgs());
+                        fillContextPython.getChunkedArgs()));
         if (size > results.length) {
             throw new IllegalStateException(
                     "FilterKernelPythonChunkedFunction returned results are not the proper size");
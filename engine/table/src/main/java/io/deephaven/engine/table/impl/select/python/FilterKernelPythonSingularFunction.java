@@ -40,12 +40,14 @@ class FilterKernelPythonSingularFunction implements FilterKernel<FilterKernel.Co
         final int size = indices.size();
         final Class<?>[] paramTypes = ArgumentsSingular.buildParamTypes(inputChunks);
         context.resultChunk.setSize(0);
-        for (int i = 0; i < size; ++i) {
-            final Object[] params = ArgumentsSingular.buildArguments(inputChunks, i);
-            if (function.call(boolean.class, CALL_METHOD, paramTypes, params)) {
-                context.resultChunk.add(indices.get(i));
+        PythonGil.run(() -> {
+            for (int i = 0; i < size; ++i) {
+                final Object[] params = ArgumentsSingular.buildArguments(inputChunks, i);
+                if (function.call(boolean.class, CALL_METHOD, paramTypes, params)) {
+                    context.resultChunk.add(indices.get(i));
+                }
             }
-        }
+        });
         return context.resultChunk;
     }
 }
@@ -37,9 +37,9 @@ class FormulaKernelPythonChunkedFunction extends FormulaKernelTypedBase implemen
             Chunk<? extends Values>[] __sources) {
         FillContextPython fillContextPython = (FillContextPython) __context;
         fillContextPython.resolveColumnChunks(__sources, __destination.size());
-        final byte[] output = function
+        final byte[] output = PythonGil.call(() -> function
                 .call(byte[].class, CALL_METHOD, fillContextPython.getChunkedArgTypes(),
-                        fillContextPython.getChunkedArgs());
+                        fillContextPython.getChunkedArgs()));
         __destination.copyFromTypedArray(output, 0, 0, __destination.size());
     }
 
@@ -50,9 +50,9 @@ class FormulaKernelPythonChunkedFunction extends FormulaKernelTypedBase implemen
             Chunk<? extends Values>[] __sources) {
         FillContextPython fillContextPython = (FillContextPython) __context;
         fillContextPython.resolveColumnChunks(__sources, __destination.size());
-        final boolean[] output = function
+        final boolean[] output = PythonGil.call(() -> function
                 .call(boolean[].class, CALL_METHOD, fillContextPython.getChunkedArgTypes(),
-                        fillContextPython.getChunkedArgs());
+                        fillContextPython.getChunkedArgs()));
         __destination.copyFromTypedArray(output, 0, 0, __destination.size());
     }
 
@@ -63,9 +63,9 @@ class FormulaKernelPythonChunkedFunction extends FormulaKernelTypedBase implemen
             Chunk<? extends Values>[] __sources) {
         FillContextPython fillContextPython = (FillContextPython) __context;
         fillContextPython.resolveColumnChunks(__sources, __destination.size());
-        final char[] output = function
+        final char[] output = PythonGil.call(() -> function
                 .call(char[].class, CALL_METHOD, fillContextPython.getChunkedArgTypes(),
-                        fillContextPython.getChunkedArgs());
+                        fillContextPython.getChunkedArgs()));
         __destination.copyFromTypedArray(output, 0, 0, __destination.size());
     }
 
@@ -76,9 +76,9 @@ class FormulaKernelPythonChunkedFunction extends FormulaKernelTypedBase implemen
             Chunk<? extends Values>[] __sources) {
         FillContextPython fillContextPython = (FillContextPython) __context;
         fillContextPython.resolveColumnChunks(__sources, __destination.size());
-        final short[] output = function
+        final short[] output = PythonGil.call(() -> function
                 .call(short[].class, CALL_METHOD, fillContextPython.getChunkedArgTypes(),
-                        fillContextPython.getChunkedArgs());
+                        fillContextPython.getChunkedArgs()));
         __destination.copyFromTypedArray(output, 0, 0, __destination.size());
     }
 
@@ -89,9 +89,9 @@ class FormulaKernelPythonChunkedFunction extends FormulaKernelTypedBase implemen
             Chunk<? extends Values>[] __sources) {
         FillContextPython fillContextPython = (FillContextPython) __context;
         fillContextPython.resolveColumnChunks(__sources, __destination.size());
-        final int[] output = function
+        final int[] output = PythonGil.call(() -> function
                 .call(int[].class, CALL_METHOD, fillContextPython.getChunkedArgTypes(),
-                        fillContextPython.getChunkedArgs());
+                        fillContextPython.getChunkedArgs()));
         __destination.copyFromTypedArray(output, 0, 0, __destination.size());
     }
 
@@ -102,9 +102,9 @@ class FormulaKernelPythonChunkedFunction extends FormulaKernelTypedBase implemen
             Chunk<? extends Values>[] __sources) {
         FillContextPython fillContextPython = (FillContextPython) __context;
         fillContextPython.resolveColumnChunks(__sources, __destination.size());
-        final long[] output = function
+        final long[] output = PythonGil.call(() -> function
                 .call(long[].class, CALL_METHOD, fillContextPython.getChunkedArgTypes(),
-                        fillContextPython.getChunkedArgs());
+                        fillContextPython.getChunkedArgs()));
         __destination.copyFromTypedArray(output, 0, 0, __destination.size());
     }
 
@@ -115,9 +115,9 @@ class FormulaKernelPythonChunkedFunction extends FormulaKernelTypedBase implemen
             Chunk<? extends Values>[] __sources) {
         FillContextPython fillContextPython = (FillContextPython) __context;
         fillContextPython.resolveColumnChunks(__sources, __destination.size());
-        final float[] output = function
+        final float[] output = PythonGil.call(() -> function
                 .call(float[].class, CALL_METHOD, fillContextPython.getChunkedArgTypes(),
-                        fillContextPython.getChunkedArgs());
+                        fillContextPython.getChunkedArgs()));
         __destination.copyFromTypedArray(output, 0, 0, __destination.size());
     }
 
@@ -128,9 +128,9 @@ class FormulaKernelPythonChunkedFunction extends FormulaKernelTypedBase implemen
             Chunk<? extends Values>[] __sources) {
         FillContextPython fillContextPython = (FillContextPython) __context;
         fillContextPython.resolveColumnChunks(__sources, __destination.size());
-        final double[] output = function
+        final double[] output = PythonGil.call(() -> function
                 .call(double[].class, CALL_METHOD, fillContextPython.getChunkedArgTypes(),
-                        fillContextPython.getChunkedArgs());
+                        fillContextPython.getChunkedArgs()));
         __destination.copyFromTypedArray(output, 0, 0, __destination.size());
     }
 
@@ -143,9 +143,9 @@ class FormulaKernelPythonChunkedFunction extends FormulaKernelTypedBase implemen
         fillContextPython.resolveColumnChunks(__sources, __destination.size());
         // this is LESS THAN IDEAL - it would be much better if ObjectChunk would be able to return
         // the array type
-        final Object[] output = function
+        final Object[] output = PythonGil.call(() -> function
                 .call(Object[].class, CALL_METHOD, fillContextPython.getChunkedArgTypes(),
-                        fillContextPython.getChunkedArgs());
+                        fillContextPython.getChunkedArgs()));
 
         // noinspection unchecked
         __destination.copyFromTypedArray((T[]) output, 0, 0, __destination.size());
@@ -36,11 +36,13 @@ class FormulaKernelPythonSingularFunction extends FormulaKernelTypedBase impleme
             Chunk<? extends Values>[] __sources) {
         final Class<?>[] types = ArgumentsSingular.buildParamTypes(__sources);
         final int L = __destination.size();
-        for (int i = 0; i < L; i++) {
-            final byte output = function
-                    .call(byte.class, CALL_METHOD, types, ArgumentsSingular.buildArguments(__sources, i));
-            __destination.set(i, output);
-        }
+        PythonGil.run(() -> {
+            for (int i = 0; i < L; i++) {
+                final byte output = function
+                        .call(byte.class, CALL_METHOD, types, ArgumentsSingular.buildArguments(__sources, i));
+                __destination.set(i, output);
+            }
+        });
     }
 
     @Override
@@ -50,11 +52,13 @@ class FormulaKernelPythonSingularFunction extends FormulaKernelTypedBase impleme
             Chunk<? extends Values>[] __sources) {
         final Class<?>[] types = ArgumentsSingular.buildParamTypes(__sources);
         final int L = __destination.size();
-        for (int i = 0; i < L; i++) {
-            final boolean output = function
-                    .call(boolean.class, CALL_METHOD, types, ArgumentsSingular.buildArguments(__sources, i));
-            __destination.set(i, output);
-        }
+        PythonGil.run(() -> {
+            for (int i = 0; i < L; i++) {
+                final boolean output = function
+                        .call(boolean.class, CALL_METHOD, types, ArgumentsSingular.buildArguments(__sources, i));
+                __destination.set(i, output);
+            }
+        });
     }
 
     @Override
@@ -64,11 +68,13 @@ class FormulaKernelPythonSingularFunction extends FormulaKernelTypedBase impleme
             Chunk<? extends Values>[] __sources) {
         final Class<?>[] types = ArgumentsSingular.buildParamTypes(__sources);
         final int L = __destination.size();
-        for (int i = 0; i < L; i++) {
-            final char output = function
-                    .call(char.class, CALL_METHOD, types, ArgumentsSingular.buildArguments(__sources, i));
-            __destination.set(i, output);
-        }
+        PythonGil.run(() -> {
+            for (int i = 0; i < L; i++) {
+                final char output = function
+                        .call(char.class, CALL_METHOD, types, ArgumentsSingular.buildArguments(__sources, i));
+                __destination.set(i, output);
+            }
+        });
     }
 
     @Override
@@ -78,11 +84,13 @@ class FormulaKernelPythonSingularFunction extends FormulaKernelTypedBase impleme
             Chunk<? extends Values>[] __sources) {
         final Class<?>[] types = ArgumentsSingular.buildParamTypes(__sources);
         final int L = __destination.size();
-        for (int i = 0; i < L; i++) {
-            final short output = function
-                    .call(short.class, CALL_METHOD, types, ArgumentsSingular.buildArguments(__sources, i));
-            __destination.set(i, output);
-        }
+        PythonGil.run(() -> {
+            for (int i = 0; i < L; i++) {
+                final short output = function
+                        .call(short.class, CALL_METHOD, types, ArgumentsSingular.buildArguments(__sources, i));
+                __destination.set(i, output);
+            }
+        });
     }
 
     @Override
@@ -92,11 +100,13 @@ class FormulaKernelPythonSingularFunction extends FormulaKernelTypedBase impleme
             Chunk<? extends Values>[] __sources) {
         final Class<?>[] types = ArgumentsSingular.buildParamTypes(__sources);
         final int L = __destination.size();
-        for (int i = 0; i < L; i++) {
-            final int output = function
-                    .call(int.class, CALL_METHOD, types, ArgumentsSingular.buildArguments(__sources, i));
-            __destination.set(i, output);
-        }
+        PythonGil.run(() -> {
+            for (int i = 0; i < L; i++) {
+                final int output = function
+                        .call(int.class, CALL_METHOD, types, ArgumentsSingular.buildArguments(__sources, i));
+                __destination.set(i, output);
+            }
+        });
     }
 
     @Override
@@ -106,11 +116,13 @@ class FormulaKernelPythonSingularFunction extends FormulaKernelTypedBase impleme
             Chunk<? extends Values>[] __sources) {
         final Class<?>[] types = ArgumentsSingular.buildParamTypes(__sources);
         final int L = __destination.size();
-        for (int i = 0; i < L; i++) {
-            final long output = function
-                    .call(long.class, CALL_METHOD, types, ArgumentsSingular.buildArguments(__sources, i));
-            __destination.set(i, output);
-        }
+        PythonGil.run(() -> {
+            for (int i = 0; i < L; i++) {
+                final long output = function
+                        .call(long.class, CALL_METHOD, types, ArgumentsSingular.buildArguments(__sources, i));
+                __destination.set(i, output);
+            }
+        });
     }
 
     @Override
@@ -120,11 +132,13 @@ class FormulaKernelPythonSingularFunction extends FormulaKernelTypedBase impleme
             Chunk<? extends Values>[] __sources) {
         final Class<?>[] types = ArgumentsSingular.buildParamTypes(__sources);
         final int L = __destination.size();
-        for (int i = 0; i < L; i++) {
-            final float output = function
-                    .call(float.class, CALL_METHOD, types, ArgumentsSingular.buildArguments(__sources, i));
-            __destination.set(i, output);
-        }
+        PythonGil.run(() -> {
+            for (int i = 0; i < L; i++) {
+                final float output = function
+                        .call(float.class, CALL_METHOD, types, ArgumentsSingular.buildArguments(__sources, i));
+                __destination.set(i, output);
+            }
+        });
     }
 
     @Override
@@ -134,11 +148,13 @@ class FormulaKernelPythonSingularFunction extends FormulaKernelTypedBase impleme
             Chunk<? extends Values>[] __sources) {
         final Class<?>[] types = ArgumentsSingular.buildParamTypes(__sources);
         final int L = __destination.size();
-        for (int i = 0; i < L; i++) {
-            final double output = function
-                    .call(double.class, CALL_METHOD, types, ArgumentsSingular.buildArguments(__sources, i));
-            __destination.set(i, output);
-        }
+        PythonGil.run(() -> {
+            for (int i = 0; i < L; i++) {
+                final double output = function
+                        .call(double.class, CALL_METHOD, types, ArgumentsSingular.buildArguments(__sources, i));
+                __destination.set(i, output);
+            }
+        });
     }
 
     @Override
@@ -148,16 +164,18 @@ class FormulaKernelPythonSingularFunction extends FormulaKernelTypedBase impleme
             Chunk<? extends Values>[] __sources) {
         final Class<?>[] types = ArgumentsSingular.buildParamTypes(__sources);
         final int L = __destination.size();
-        for (int i = 0; i < L; i++) {
-            // this is LESS THAN IDEAL - it would be much better if ObjectChunk would be able to return
-            // the non-array type
-            final Object output = function
-                    .call(Object.class, CALL_METHOD, types, ArgumentsSingular
-                            .buildArguments(__sources, i));
-
-            // noinspection unchecked
-            __destination.set(i, (T) output);
-        }
+        PythonGil.run(() -> {
+            for (int i = 0; i < L; i++) {
+                // this is LESS THAN IDEAL - it would be much better if ObjectChunk would be able to return
+                // the non-array type
+                final Object output = function
+                        .call(Object.class, CALL_METHOD, types, ArgumentsSingular
+                                .buildArguments(__sources, i));
+
+                // noinspection unchecked
+                __destination.set(i, (T) output);
+            }
+        });
     }
 
     @Override
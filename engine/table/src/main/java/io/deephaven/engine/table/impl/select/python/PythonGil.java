@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl.select.python;
+
+import io.deephaven.engine.table.impl.perf.QueryPerformanceRecorderState;
+import org.jetbrains.annotations.NotNull;
+import org.jpy.PyLib;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a batch of calls into Python under a single acquisition of the Python global interpreter lock, and attributes
+ * the time spent waiting for the lock to the current thread's performance entries.
+ */
+final class PythonGil {
+
+    private PythonGil() {}
+
+    static <T> T call(@NotNull final Supplier<T> calls) {
+        final long startNanos = System.nanoTime();
+        return PyLib.ensureGil(() -> {
+            QueryPerformanceRecorderState.recordPythonGilWait(System.nanoTime() - startNanos);
+            return calls.get();
+        });
+    }
+
+    static void run(@NotNull final Runnable calls) {
+        call(() -> {
+            calls.run();
+            return null;
+        });
+    }
+}
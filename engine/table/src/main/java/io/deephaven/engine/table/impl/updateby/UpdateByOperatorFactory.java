@@ -19,6 +19,7 @@ import io.deephaven.engine.table.impl.updateby.rollingcount.*;
 import io.deephaven.engine.table.impl.updateby.rollinggroup.*;
 import io.deephaven.engine.table.impl.updateby.rollingavg.*;
 import io.deephaven.engine.table.impl.updateby.rollingminmax.*;
+import io.deephaven.engine.table.impl.updateby.rollingpercentile.*;
 import io.deephaven.engine.table.impl.updateby.rollingstd.*;
 import io.deephaven.engine.table.impl.updateby.rollingsum.*;
 import io.deephaven.engine.table.impl.updateby.rollingproduct.*;
@@ -34,6 +35,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
 import java.time.Instant;
+import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -477,6 +479,20 @@ public class UpdateByOperatorFactory {
             return null;
         }
 
+        @Override
+        public Void visit(@NotNull final RollingPercentileSpec spec) {
+            final boolean isTimeBased = spec.revWindowScale().isTimeBased();
+            final String timestampCol = spec.revWindowScale().timestampCol();
+
+            Arrays.stream(pairs)
+                    .filter(p -> !isTimeBased || !p.rightColumn().equals(timestampCol))
+                    .map(fc -> makeRollingPercentileOperator(fc,
+                            source,
+                            spec))
+                    .forEach(ops::add);
+            return null;
+        }
+
         @Override
         public Void visit(@NotNull final RollingWAvgSpec rws) {
             final boolean isTimeBased = rws.revWindowScale().isTimeBased();
@@ -1099,6 +1115,34 @@ public class UpdateByOperatorFactory {
             throw new IllegalArgumentException("Can not perform Rolling Min/Max on type " + csType);
         }
 
+        private UpdateByOperator makeRollingPercentileOperator(@NotNull MatchPair pair,
+                @NotNull Table source,
+                @NotNull RollingPercentileSpec spec) {
+            final ColumnSource<?> columnSource = source.getColumnSource(pair.rightColumn);
+            final Class<?> csType = columnSource.getType();
+
+            final String[] affectingColumns;
+            if (spec.revWindowScale().timestampCol() == null) {
+                affectingColumns = new String[] {pair.rightColumn};
+            } else {
+                affectingColumns = new String[] {spec.revWindowScale().timestampCol(), pair.rightColumn};
+            }
+
+            final long prevWindowScaleUnits = spec.revWindowScale().getTimeScaleUnits();
+            final long fwdWindowScaleUnits = spec.fwdWindowScale().getTimeScaleUnits();
+
+            // Boolean and zoned time inputs are reinterpreted to primitives by UpdateBy, but are not percentile-able
+            if (csType == boolean.class || csType == Boolean.class || csType == ZonedDateTime.class
+                    || !(csType.isPrimitive() || Comparable.class.isAssignableFrom(csType))) {
+                throw new IllegalArgumentException("Can not perform RollingPercentile on type " + csType);
+            }
+
+            return new RollingPercentileOperator(pair, affectingColumns, rowRedirection,
+                    spec.revWindowScale().timestampCol(),
+                    prevWindowScaleUnits, fwdWindowScaleUnits, csType, spec.percentile(),
+                    spec.averageEvenlyDivided());
+        }
+
         private UpdateByOperator makeRollingProductOperator(@NotNull final MatchPair pair,
                 @NotNull final Table source,
                 @NotNull final RollingProductSpec rs) {
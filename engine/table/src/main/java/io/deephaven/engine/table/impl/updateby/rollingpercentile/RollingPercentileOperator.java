@@ -0,0 +1,352 @@
+package io.deephaven.engine.table.impl.updateby.rollingpercentile;
+
+import io.deephaven.base.verify.Assert;
+import io.deephaven.chunk.*;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.rowset.RowSequenceFactory;
+import io.deephaven.engine.rowset.RowSet;
+import io.deephaven.engine.rowset.chunkattributes.OrderedRowKeys;
+import io.deephaven.engine.table.*;
+import io.deephaven.engine.table.impl.MatchPair;
+import io.deephaven.engine.table.impl.by.IterativeChunkedAggregationOperator;
+import io.deephaven.engine.table.impl.by.ssmpercentile.SsmChunkedPercentileOperator;
+import io.deephaven.engine.table.impl.sources.*;
+import io.deephaven.engine.table.impl.updateby.UpdateByOperator;
+import io.deephaven.engine.table.impl.util.ChunkUtils;
+import io.deephaven.engine.table.impl.util.RowRedirection;
+import io.deephaven.engine.table.impl.util.ShiftData;
+import io.deephaven.util.SafeCloseable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+
+import static io.deephaven.util.QueryConstants.NULL_INT;
+
+/**
+ * <p>
+ * A rolling percentile (or median) operator for tick and time based windows.
+ * </p>
+ *
+ * <p>
+ * Each bucket context maintains the values of its window in arrival order, so that the values leaving the window can be
+ * identified when they are popped, and an order-statistic structure over the same values. The order-statistic
+ * structure is the pair of {@link io.deephaven.engine.table.impl.ssms.SegmentedSortedMultiSet segmented sorted
+ * multisets} used by {@link SsmChunkedPercentileOperator} for {@code AggPct} and {@code AggMed}, so pushes and pops
+ * cost {@code O(log window)} per value rather than the {@code O(window)} work of materializing each row's window, and
+ * the results (including types, null handling and median averaging) exactly match the equivalent aggregations.
+ * </p>
+ */
+public class RollingPercentileOperator extends UpdateByOperator {
+    private static final int BUFFER_INITIAL_CAPACITY = 128;
+
+    private final Class<?> inputType;
+    private final double percentile;
+    private final boolean averageEvenlyDivided;
+
+    private final ChunkType inputChunkType;
+    private final ChunkType outputChunkType;
+
+    protected final WritableColumnSource<?> outputSource;
+    protected final WritableColumnSource<?> maybeInnerSource;
+
+    public class Context extends UpdateByOperator.Context {
+        private final int batchSize;
+
+        private final ChunkSink.FillFromContext outputFillContext;
+        private final WritableChunk<Values> outputValues;
+        private final ResettableWritableChunk<Values> outputSlice;
+
+        private final ResettableReadOnlyChunk<Values> influencerSlice;
+        private final WritableChunk<Values> popValues;
+        private final RowSequence resultRow;
+
+        private Chunk<? extends Values> influencerValuesChunk;
+
+        /**
+         * The values in the window, in arrival order, stored as a circular buffer.
+         */
+        private WritableChunk<Values> windowValues;
+        private int windowHead;
+        private int windowSize;
+
+        /**
+         * A single slot percentile aggregation over the window values.
+         */
+        private SsmChunkedPercentileOperator percentileOperator;
+        private final IterativeChunkedAggregationOperator.SingletonContext percentileContext;
+        private ColumnSource<?> percentileResult;
+        private ChunkSource.FillContext percentileResultFillContext;
+
+        protected Context(final int affectedChunkSize, final int influencerChunkSize) {
+            batchSize = Math.max(influencerChunkSize, 1);
+
+            outputFillContext = outputSource.makeFillFromContext(affectedChunkSize);
+            outputValues = outputChunkType.makeWritableChunk(affectedChunkSize);
+            outputSlice = outputChunkType.makeResettableWritableChunk();
+
+            influencerSlice = inputChunkType.makeResettableReadOnlyChunk();
+            popValues = inputChunkType.makeWritableChunk(batchSize);
+            resultRow = RowSequenceFactory.forRange(0, 0);
+
+            windowValues = inputChunkType.makeWritableChunk(BUFFER_INITIAL_CAPACITY);
+
+            percentileOperator = makePercentileOperator();
+            percentileContext = percentileOperator.makeSingletonContext(batchSize);
+            percentileResult = percentileOperator.getResultColumns().get(pair.leftColumn);
+            percentileResultFillContext = percentileResult.makeFillContext(1);
+        }
+
+        @Override
+        public void close() {
+            SafeCloseable.closeAll(
+                    outputFillContext,
+                    outputValues,
+                    outputSlice,
+                    influencerSlice,
+                    popValues,
+                    resultRow,
+                    windowValues,
+                    percentileContext,
+                    percentileResultFillContext);
+        }
+
+        @Override
+        public void accumulateCumulative(RowSequence inputKeys, Chunk<? extends Values>[] valueChunkArr,
+                LongChunk<? extends Values> tsChunk, int len) {
+            throw new IllegalStateException("accumulateCumulative() is invalid for RollingPercentileOperator");
+        }
+
+        @Override
+        public void accumulateRolling(@NotNull final RowSequence inputKeys,
+                @NotNull final Chunk<? extends Values>[] influencerValueChunkArr,
+                @Nullable final LongChunk<OrderedRowKeys> affectedPosChunk,
+                @Nullable final LongChunk<OrderedRowKeys> influencerPosChunk,
+                @NotNull final IntChunk<? extends Values> pushChunk,
+                @NotNull final IntChunk<? extends Values> popChunk,
+                final int len) {
+
+            setValueChunks(influencerValueChunkArr);
+            setPosChunks(affectedPosChunk, influencerPosChunk);
+
+            int pushIndex = 0;
+
+            // chunk processing
+            for (int ii = 0; ii < len; ii++) {
+                final int pushCount = pushChunk.get(ii);
+                final int popCount = popChunk.get(ii);
+
+                if (pushCount == NULL_INT) {
+                    outputValues.fillWithNullValue(ii, 1);
+                    continue;
+                }
+
+                // pop for this row
+                if (popCount > 0) {
+                    pop(popCount);
+                }
+
+                // push for this row
+                if (pushCount > 0) {
+                    push(pushIndex, pushCount);
+                    pushIndex += pushCount;
+                }
+
+                // write the results to the output chunk
+                writeToOutputChunk(ii);
+            }
+
+            // chunk output to column
+            writeToOutputColumn(inputKeys);
+        }
+
+        @Override
+        public void setValueChunks(@NotNull final Chunk<? extends Values>[] valueChunks) {
+            influencerValuesChunk = valueChunks[0];
+        }
+
+        @Override
+        public void push(int pos, int count) {
+            ensureWindowCapacity(windowSize + count);
+            final int capacity = windowValues.capacity();
+            final int tail = (windowHead + windowSize) % capacity;
+            final int firstLength = Math.min(count, capacity - tail);
+            windowValues.copyFromChunk(influencerValuesChunk, pos, tail, firstLength);
+            if (firstLength < count) {
+                windowValues.copyFromChunk(influencerValuesChunk, pos + firstLength, 0, count - firstLength);
+            }
+            windowSize += count;
+
+            for (int offset = 0; offset < count; offset += batchSize) {
+                final int length = Math.min(batchSize, count - offset);
+                influencerSlice.resetFromChunk(influencerValuesChunk, pos + offset, length);
+                percentileOperator.addChunk(percentileContext, length, influencerSlice, null, 0);
+            }
+        }
+
+        @Override
+        public void pop(int count) {
+            Assert.geq(windowSize, "windowSize", count);
+
+            final int capacity = windowValues.capacity();
+            for (int offset = 0; offset < count; offset += batchSize) {
+                final int length = Math.min(batchSize, count - offset);
+                final int firstLength = Math.min(length, capacity - windowHead);
+                popValues.copyFromChunk(windowValues, windowHead, 0, firstLength);
+                if (firstLength < length) {
+                    popValues.copyFromChunk(windowValues, 0, firstLength, length - firstLength);
+                }
+                popValues.setSize(length);
+                windowHead = (windowHead + length) % capacity;
+                windowSize -= length;
+
+                percentileOperator.removeChunk(percentileContext, length, popValues, null, 0);
+            }
+        }
+
+        private void ensureWindowCapacity(final int requiredCapacity) {
+            final int capacity = windowValues.capacity();
+            if (requiredCapacity <= capacity) {
+                return;
+            }
+            final WritableChunk<Values> newWindowValues =
+                    inputChunkType.makeWritableChunk(Math.max(requiredCapacity, capacity * 2));
+            final int firstLength = Math.min(windowSize, capacity - windowHead);
+            newWindowValues.copyFromChunk(windowValues, windowHead, 0, firstLength);
+            if (firstLength < windowSize) {
+                newWindowValues.copyFromChunk(windowValues, 0, firstLength, windowSize - firstLength);
+            }
+            windowValues.close();
+            windowValues = newWindowValues;
+            windowHead = 0;
+        }
+
+        @Override
+        public void writeToOutputChunk(int outIdx) {
+            outputSlice.resetFromChunk(outputValues, outIdx, 1);
+            percentileResult.fillChunk(percentileResultFillContext, outputSlice, resultRow);
+        }
+
+        @Override
+        public void writeToOutputColumn(@NotNull final RowSequence inputKeys) {
+            outputSource.fillFromChunk(outputFillContext, outputValues, inputKeys);
+        }
+
+        @Override
+        public void reset() {
+            nullCount = 0;
+            windowHead = 0;
+            windowSize = 0;
+            // start from a fresh order-statistic structure rather than popping every value in the window
+            percentileResultFillContext.close();
+            percentileOperator = makePercentileOperator();
+            percentileResult = percentileOperator.getResultColumns().get(pair.leftColumn);
+            percentileResultFillContext = percentileResult.makeFillContext(1);
+        }
+    }
+
+    /**
+     * Create a rolling percentile operator.
+     *
+     * @param pair the {@link MatchPair} that defines the input/output for this operation
+     * @param affectingColumns a list of all columns (including the input column from the pair) that affects the result
+     *        of this operator.
+     * @param rowRedirection the {@link RowRedirection} for the output column
+     * @param timestampColumnName an optional timestamp column. If this is null, it will be assumed time is measured in
+     *        integer ticks.
+     * @param reverseWindowScaleUnits the reverse window for the operator. If no {@code timestampColumnName} is
+     *        provided, this is measured in ticks, otherwise it is measured in nanoseconds.
+     * @param forwardWindowScaleUnits the forward window for the operator. If no {@code timestampColumnName} is
+     *        provided, this is measured in ticks, otherwise it is measured in nanoseconds.
+     * @param inputType the type of the input column
+     * @param percentile the percentile to compute
+     * @param averageEvenlyDivided whether to average the values bracketing the percentile of evenly divided windows
+     */
+    public RollingPercentileOperator(@NotNull final MatchPair pair,
+            @NotNull final String[] affectingColumns,
+            @Nullable final RowRedirection rowRedirection,
+            @Nullable final String timestampColumnName,
+            final long reverseWindowScaleUnits,
+            final long forwardWindowScaleUnits,
+            @NotNull final Class<?> inputType,
+            final double percentile,
+            final boolean averageEvenlyDivided) {
+        super(pair, affectingColumns, rowRedirection, timestampColumnName, reverseWindowScaleUnits,
+                forwardWindowScaleUnits, true);
+        this.inputType = inputType;
+        this.percentile = percentile;
+        this.averageEvenlyDivided = averageEvenlyDivided;
+
+        // The aggregation operator knows which types it averages; let it tell us the output type.
+        final Class<?> outputType = makePercentileOperator().getResultColumns().get(pair.leftColumn).getType();
+        inputChunkType = inputType == Instant.class
+                ? ChunkType.Long
+                : ChunkType.fromElementType(inputType);
+        outputChunkType = ChunkType.fromElementType(outputType);
+
+        if (rowRedirection != null) {
+            maybeInnerSource = ArrayBackedColumnSource.getMemoryColumnSource(0, outputType);
+            outputSource = WritableRedirectedColumnSource.maybeRedirect(rowRedirection, maybeInnerSource, 0);
+        } else {
+            maybeInnerSource = null;
+            outputSource = SparseArrayColumnSource.getSparseMemoryColumnSource(outputType);
+        }
+    }
+
+    private SsmChunkedPercentileOperator makePercentileOperator() {
+        final SsmChunkedPercentileOperator percentileOperator =
+                new SsmChunkedPercentileOperator(inputType, percentile, averageEvenlyDivided, pair.leftColumn);
+        percentileOperator.ensureCapacity(1);
+        return percentileOperator;
+    }
+
+    @NotNull
+    @Override
+    public UpdateByOperator.Context makeUpdateContext(final int affectedChunkSize, final int influencerChunkSize) {
+        return new Context(affectedChunkSize, influencerChunkSize);
+    }
+
+    @Override
+    public void startTrackingPrev() {
+        outputSource.startTrackingPrevValues();
+        if (rowRedirection != null) {
+            assert maybeInnerSource != null;
+            maybeInnerSource.startTrackingPrevValues();
+        }
+    }
+
+    @Override
+    public void applyOutputShift(@NotNull final RowSet subRowSetToShift, final long delta) {
+        ((ShiftData.RowSetShiftCallback) outputSource).shift(subRowSetToShift, delta);
+    }
+
+    @Override
+    public void prepareForParallelPopulation(final RowSet changedRows) {
+        if (rowRedirection != null) {
+            assert maybeInnerSource != null;
+            ((WritableSourceWithPrepareForParallelPopulation) maybeInnerSource)
+                    .prepareForParallelPopulation(changedRows);
+        } else {
+            ((WritableSourceWithPrepareForParallelPopulation) outputSource).prepareForParallelPopulation(changedRows);
+        }
+    }
+
+    @NotNull
+    @Override
+    public Map<String, ColumnSource<?>> getOutputColumns() {
+        return Collections.singletonMap(pair.leftColumn, outputSource);
+    }
+
+    @Override
+    public void clearOutputRows(final RowSet toClear) {
+        // if we are redirected, clear the inner source
+        if (rowRedirection != null) {
+            ChunkUtils.fillWithNullValue(maybeInnerSource, toClear);
+        } else {
+            ChunkUtils.fillWithNullValue(outputSource, toClear);
+        }
+    }
+}
@@ -5,8 +5,16 @@ package io.deephaven.engine.table.impl.util;
 
 import io.deephaven.base.verify.Assert;
 import io.deephaven.chunk.Chunk;
+import io.deephaven.chunk.LongChunk;
+import io.deephaven.chunk.WritableIntChunk;
+import io.deephaven.chunk.attributes.HashCodes;
 import io.deephaven.chunk.attributes.Values;
+import io.deephaven.chunk.util.hashing.ChunkHasher;
 import io.deephaven.engine.rowset.RowSequence;
+import io.deephaven.engine.rowset.RowSet;
+import io.deephaven.engine.rowset.RowSetBuilderSequential;
+import io.deephaven.engine.rowset.RowSetFactory;
+import io.deephaven.engine.rowset.chunkattributes.OrderedRowKeys;
 import io.deephaven.engine.table.ChunkSource;
 import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.engine.table.Context;
@@ -18,6 +26,8 @@ import static io.deephaven.util.SafeCloseable.closeAll;
  * Static functions used by Typed Hashers.
  */
 public class TypedHasherUtil {
+    private static final int PARTITION_CHUNK_SIZE = 1 << 12;
+
     public static ColumnSource.GetContext[] makeGetContexts(ColumnSource<?>[] sources, final SharedContext sharedState,
             int chunkSize) {
         final ColumnSource.GetContext[] contexts = new ColumnSource.GetContext[sources.length];
@@ -97,4 +107,75 @@ public class TypedHasherUtil {
             }
         }
     }
+
+    /**
+     * Partition {@code rowSet} on the low {@code partitionBits} bits of the {@link ChunkHasher#scrambleHash scrambled}
+     * hash of {@code keySources}. Rows with equal keys are always assigned to the same partition, and because the hash
+     * is scrambled, the partition does not correlate with the slot a typed hasher would choose within a partition.
+     *
+     * @param rowSet the rows to partition
+     * @param keySources the (reinterpreted) key sources to hash
+     * @param partitionBits the number of hash bits used to select a partition
+     * @param partitions the output row keys for each partition, must have length {@code 1 << partitionBits}
+     * @param partitionPositions if non-null, the output row positions (within {@code rowSet}) for each partition
+     */
+    public static void partitionByKeyHash(
+            final RowSet rowSet,
+            final ColumnSource<?>[] keySources,
+            final int partitionBits,
+            final RowSet[] partitions,
+            final RowSet[] partitionPositions) {
+        final int partitionCount = 1 << partitionBits;
+        final int partitionMask = partitionCount - 1;
+        Assert.eq(partitions.length, "partitions.length", partitionCount, "partitionCount");
+        final RowSetBuilderSequential[] builders = new RowSetBuilderSequential[partitionCount];
+        final RowSetBuilderSequential[] positionBuilders =
+                partitionPositions == null ? null : new RowSetBuilderSequential[partitionCount];
+        for (int pp = 0; pp < partitionCount; ++pp) {
+            builders[pp] = RowSetFactory.builderSequential();
+            if (positionBuilders != null) {
+                positionBuilders[pp] = RowSetFactory.builderSequential();
+            }
+        }
+
+        final ChunkHasher[] hashers = new ChunkHasher[keySources.length];
+        for (int ii = 0; ii < keySources.length; ++ii) {
+            hashers[ii] = ChunkHasher.makeHasher(keySources[ii].getChunkType());
+        }
+
+        final int chunkSize = (int) Math.min(PARTITION_CHUNK_SIZE, Math.max(1, rowSet.size()));
+        try (final BuildOrProbeContext pc = new BuildOrProbeContext(keySources, chunkSize);
+                final WritableIntChunk<HashCodes> hashChunk = WritableIntChunk.makeWritableChunk(chunkSize);
+                final RowSequence.Iterator rsIt = rowSet.getRowSequenceIterator()) {
+            // noinspection unchecked
+            final Chunk<Values>[] keyChunks = new Chunk[keySources.length];
+            long position = 0;
+            while (rsIt.hasMore()) {
+                final RowSequence chunkOk = rsIt.getNextRowSequenceWithLength(chunkSize);
+                getKeyChunks(keySources, pc.getContexts, keyChunks, chunkOk);
+                hashers[0].hashInitial(keyChunks[0], hashChunk);
+                for (int ii = 1; ii < keySources.length; ++ii) {
+                    hashers[ii].hashUpdate(keyChunks[ii], hashChunk);
+                }
+
+                final LongChunk<OrderedRowKeys> rowKeys = chunkOk.asRowKeyChunk();
+                for (int offset = 0; offset < rowKeys.size(); ++offset) {
+                    final int pp = ChunkHasher.scrambleHash(hashChunk.get(offset)) & partitionMask;
+                    builders[pp].appendKey(rowKeys.get(offset));
+                    if (positionBuilders != null) {
+                        positionBuilders[pp].appendKey(position + offset);
+                    }
+                }
+                position += rowKeys.size();
+                pc.resetSharedContexts();
+            }
+        }
+
+        for (int pp = 0; pp < partitionCount; ++pp) {
+            partitions[pp] = builders[pp].build();
+            if (positionBuilders != null) {
+                partitionPositions[pp] = positionBuilders[pp].build();
+            }
+        }
+    }
 }
@@ -8,6 +8,7 @@ import io.deephaven.UncheckedDeephavenException;
 import io.deephaven.api.util.NameValidator;
 import io.deephaven.base.FileUtils;
 import io.deephaven.configuration.CacheDir;
+import io.deephaven.configuration.Configuration;
 import io.deephaven.engine.context.QueryCompiler;
 import io.deephaven.engine.context.ExecutionContext;
 import io.deephaven.engine.liveness.LivenessArtifact;
@@ -34,6 +35,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 import static io.deephaven.engine.table.Table.NON_DISPLAY_TABLE;
@@ -47,9 +49,28 @@ public abstract class AbstractScriptSession<S extends AbstractScriptSession.Snap
 
     private static final Path CLASS_CACHE_LOCATION = CacheDir.get().resolve("script-session-classes");
 
+    /**
+     * Where formula classes are cached across sessions, restarts, and workers on the same host; an empty value
+     * disables sharing. Unlike the per-session class directories, this location is not cleared at startup; instead,
+     * classes unused for {@link #SHARED_CLASS_CACHE_MAX_AGE_DAYS} are pruned from it.
+     */
+    private static final String SHARED_CLASS_CACHE_LOCATION = Configuration.getInstance().getStringWithDefault(
+            "QueryCompiler.sharedCacheDirectory", CacheDir.get().resolve("formula-classes").toString());
+
+    /**
+     * How many days a class in the shared class cache may go unused before it is removed at startup; zero or less
+     * disables pruning.
+     */
+    private static final int SHARED_CLASS_CACHE_MAX_AGE_DAYS = Configuration.getInstance().getIntegerWithDefault(
+            "QueryCompiler.sharedCacheMaxAgeDays", 30);
+
     public static void createScriptCache() {
         final File classCacheDirectory = CLASS_CACHE_LOCATION.toFile();
         createOrClearDirectory(classCacheDirectory);
+        if (!SHARED_CLASS_CACHE_LOCATION.isEmpty() && SHARED_CLASS_CACHE_MAX_AGE_DAYS > 0) {
+            QueryCompiler.pruneSharedCache(new File(SHARED_CLASS_CACHE_LOCATION),
+                    TimeUnit.DAYS.toMillis(SHARED_CLASS_CACHE_MAX_AGE_DAYS));
+        }
     }
 
     private static void createOrClearDirectory(final File directory) {
@@ -85,8 +106,9 @@ public abstract class AbstractScriptSession<S extends AbstractScriptSession.Snap
         createOrClearDirectory(classCacheDirectory);
 
         queryScope = new ScriptSessionQueryScope();
-        final QueryCompiler compilerContext =
-                QueryCompiler.create(classCacheDirectory, Thread.currentThread().getContextClassLoader());
+        final QueryCompiler compilerContext = QueryCompiler.create(classCacheDirectory,
+                Thread.currentThread().getContextClassLoader(),
+                SHARED_CLASS_CACHE_LOCATION.isEmpty() ? null : new File(SHARED_CLASS_CACHE_LOCATION));
 
         executionContext = ExecutionContext.newBuilder()
                 .markSystemic()
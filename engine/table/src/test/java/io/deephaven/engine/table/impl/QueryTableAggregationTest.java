@@ -19,6 +19,7 @@ import io.deephaven.engine.rowset.RowSetFactory;
 import io.deephaven.engine.rowset.RowSetShiftData;
 import io.deephaven.engine.rowset.TrackingWritableRowSet;
 import io.deephaven.engine.table.*;
+import io.deephaven.engine.table.hierarchical.RollupTable;
 import io.deephaven.engine.table.impl.by.*;
 import io.deephaven.engine.table.impl.indexer.RowSetIndexer;
 import io.deephaven.engine.table.impl.select.IncrementalReleaseFilter;
@@ -63,6 +64,7 @@ import java.nio.file.Files;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -193,6 +195,105 @@ public class QueryTableAggregationTest {
         individualStaticByTest(input6, control, "A", "B", "C");
     }
 
+    @Test
+    public void testStaticPartitionedByWithChunks() {
+        final AggregationControl control = new AggregationControl() {
+            @Override
+            public boolean considerPartitionedStaticAggregation(@NotNull final Table table) {
+                return !table.isRefreshing();
+            }
+
+            @Override
+            public boolean usePartitionedStaticAggregation(final long estimatedNumStates) {
+                return true;
+            }
+
+            @Override
+            public int partitionedStaticAggregationBits(final long estimatedNumStates) {
+                return 3;
+            }
+        };
+        final String nowName = "__now_" + Thread.currentThread().hashCode() + "__";
+        QueryScope.addParam(nowName, DateTimeUtils.now());
+        final Table input = emptyTable(10000).update(
+                "A=Integer.toString(i % 7)",
+                "B=ii % 100 == 0 ? null : plus(" + nowName + ", (long) (ii / 5))",
+                "L=ii % 2048 == 7 ? NULL_LONG : ii / 3",
+                "V=ii % 13 == 0 ? NULL_DOUBLE : ii * 1.5");
+        final List<Aggregation> aggregations = List.of(
+                AggCount("N"), AggSum("Sum=V"), AggMin("Min=V"), AggMax("Max=V"), AggFirst("First=V"),
+                AggLast("Last=V"), AggAvg("Avg=V"));
+
+        for (final String[] keys : new String[][] {{"A"}, {"L"}, {"B", "A"}, {"A", "L"}}) {
+            final AggregationContextFactory factory = AggregationProcessor.forAggregation(aggregations);
+            final Table expected = ChunkedOperatorAggregationHelper.aggregation(AggregationControl.DEFAULT,
+                    factory, (QueryTable) input, false, null, ColumnName.from(keys));
+            final Table actual = ChunkedOperatorAggregationHelper.aggregation(control,
+                    factory, (QueryTable) input, false, null, ColumnName.from(keys));
+            assertTableEquals(expected, actual);
+        }
+
+        final Table counted = ChunkedOperatorAggregationHelper.aggregation(control,
+                AggregationProcessor.forAggregation(aggregations), (QueryTable) input, false, null,
+                ColumnName.from("L"));
+        final AggregationRowLookup lookup = AggregationProcessor.getRowLookup(counted);
+        assertEquals(0, lookup.get(0L));
+        assertEquals(1, lookup.get(1L));
+        assertEquals(lookup.noEntryValue(), lookup.get(-1L));
+        assertEquals(3L, counted.getColumnSource("N").getLong(0));
+    }
+
+    @Test
+    public void testIncrementalReaggregationWithCachedInputRowSlots() {
+        final AggregationControl control = new AggregationControl() {
+            @Override
+            public boolean cacheInputRowSlots(
+                    @NotNull final AggregationContextFactory aggregationContextFactory,
+                    @NotNull final Table inputTable) {
+                // aggregation results never shift or modify their keys, as for the levels of a rollup
+                return inputTable.isRefreshing();
+            }
+        };
+        final int size = 1000;
+        final Random random = new Random(0);
+        final ColumnInfo<?, ?>[] columnInfo;
+        final QueryTable table = getTable(size, random,
+                columnInfo = initColumnInfos(new String[] {"Sym", "Part", "intCol", "doubleCol"},
+                        new SetGenerator<>("a", "b", "c", "d", "e"),
+                        new IntGenerator(0, 20),
+                        new IntGenerator(0, 1_000),
+                        new DoubleGenerator(-100, 100, 0.05, 0.05)));
+        final QueryTable leaves = (QueryTable) table.aggBy(List.of(
+                AggCount("N"), AggSum("Sum=intCol"), AggMin("Min=doubleCol"), AggMax("Max=doubleCol")),
+                "Sym", "Part");
+        final List<Aggregation> reaggregations = List.of(
+                AggSum("N", "Sum"), AggMin("Min"), AggMax("Max"), AggCount("Parts"));
+
+        final EvalNugget[] en = new EvalNugget[] {
+                new EvalNugget() {
+                    @Override
+                    protected Table e() {
+                        return ChunkedOperatorAggregationHelper.aggregation(control,
+                                AggregationProcessor.forAggregation(reaggregations), leaves, false, null,
+                                ColumnName.from("Sym"));
+                    }
+                },
+                new EvalNugget() {
+                    @Override
+                    protected Table e() {
+                        return ChunkedOperatorAggregationHelper.aggregation(control,
+                                AggregationProcessor.forAggregation(reaggregations),
+                                (QueryTable) leaves.aggBy(List.of(AggSum("N", "Sum"), AggMin("Min"), AggMax("Max")),
+                                        "Sym", "Part"),
+                                false, null, ColumnName.from("Sym"));
+                    }
+                },
+        };
+        for (int step = 0; step < 50; step++) {
+            RefreshingTableTestCase.simulateShiftAwareStep(size, random, table, columnInfo, en);
+        }
+    }
+
     @Test
     public void testStaticGroupedByWithChunks() {
         final Table input = emptyTable(10000).update("A=Integer.toString(i % 5)", "B=i / 5");
@@ -2583,6 +2684,55 @@ public class QueryTableAggregationTest {
         }
     }
 
+    @Test
+    public void testCompactPercentileIncremental() {
+        // the largest size grows buckets past the flat representation and into multi-level trees
+        final int[] sizes = {10, 100, 4000};
+        for (int size : sizes) {
+            testCompactPercentileIncremental(size);
+        }
+    }
+
+    private void testCompactPercentileIncremental(int size) {
+        final Random random = new Random(0);
+        final ColumnInfo<?, ?>[] columnInfo;
+        final QueryTable queryTable = getTable(size, random,
+                columnInfo = initColumnInfos(new String[] {"Sym", "intCol", "longCol", "doubleCol"},
+                        new SetGenerator<>("a", "b", "c", "d"),
+                        new IntGenerator(-1_000_000, 1_000_000, 0.01),
+                        new LongGenerator(-1_000_000, 1_000_000, 0.01),
+                        new DoubleGenerator(-1000.0, 1000.0, 0.01, 0.01)));
+        final Collection<Aggregation> compact = percentileAggregations(true);
+        final Collection<Aggregation> standard = percentileAggregations(false);
+        final EvalNuggetInterface[] en = new EvalNuggetInterface[] {
+                EvalNugget.from(() -> queryTable.aggBy(compact)),
+                EvalNugget.Sorted.from(() -> queryTable.aggBy(compact, "Sym"), "Sym"),
+                new UpdateValidatorNugget(queryTable.aggBy(compact, "Sym")),
+                new TableComparator(queryTable.aggBy(compact), queryTable.aggBy(standard)),
+                new TableComparator(queryTable.aggBy(compact, "Sym").sort("Sym"),
+                        queryTable.aggBy(standard, "Sym").sort("Sym")),
+        };
+        for (int step = 0; step < 50; step++) {
+            if (RefreshingTableTestCase.printTableUpdates) {
+                System.out.println("size=" + size + ", step=" + step);
+            }
+            RefreshingTableTestCase.simulateShiftAwareStep(size, random, queryTable, columnInfo, en);
+        }
+    }
+
+    private static Collection<Aggregation> percentileAggregations(final boolean compact) {
+        final String[] pairs = {"Int%s=intCol", "Long%s=longCol", "Double%s=doubleCol"};
+        final Function<String, String[]> named = suffix -> Arrays.stream(pairs)
+                .map(pair -> String.format(pair, suffix))
+                .toArray(String[]::new);
+        return List.of(
+                Aggregation.of(AggSpec.median(true, compact), named.apply("Med")),
+                Aggregation.of(AggSpec.median(false, compact), named.apply("MedLo")),
+                Aggregation.of(AggSpec.percentile(0.1, false, compact), named.apply("P10")),
+                Aggregation.of(AggSpec.percentile(0.75, true, compact), named.apply("P75")),
+                Aggregation.of(AggSpec.percentile(0.99, false, compact), named.apply("P99")));
+    }
+
     private static class RMSE {
         long count = 0;
         double squaredError = 0;
@@ -2908,6 +3058,332 @@ public class QueryTableAggregationTest {
         }
     }
 
+    @Test
+    public void testTDigestMergeAndPersist() throws IOException {
+        final int size = 10000;
+        final Random random = new Random(0);
+        final QueryTable queryTable = getTable(size, random,
+                initColumnInfos(new String[] {"Sym", "Part", "doubleCol"},
+                        new SetGenerator<>("a", "b", "c", "d"),
+                        new IntGenerator(0, 9),
+                        new DoubleGenerator(10.1, 20.1, 0.05, 0.05)));
+
+        final Table direct = queryTable
+                .aggBy(AggApproxPct("doubleCol", PctOut(0.5, "P50"), PctOut(0.95, "P95")), "Sym")
+                .sort("Sym");
+        final long[] expectedSizes = (long[]) DataAccessHelpers.getColumn(
+                queryTable.where("!Double.isNaN(doubleCol) && !isNull(doubleCol)").countBy("Count", "Sym").sort("Sym"),
+                "Count").getDirect();
+
+        final File directory = Files.createTempDirectory("QueryTableAggregationTest").toFile();
+        try {
+            // digests are exported, persisted with their default codec, and merged after reading them back
+            final Table partial = queryTable.aggBy(AggTDigest("Digest=doubleCol"), "Sym", "Part");
+            final File digestFile = new File(directory, "digests" + ParquetTableWriter.PARQUET_FILE_EXTENSION);
+            ParquetTools.writeTable(partial, digestFile, partial.getDefinition());
+            final Table loaded = ParquetTools.readTable(digestFile);
+
+            final Table merged = loaded.aggBy(List.of(
+                    AggApproxPct("Digest", PctOut(0.5, "P50"), PctOut(0.95, "P95")),
+                    AggTDigest("Digest")), "Sym").sort("Sym");
+            assertEquals(direct.size(), merged.size());
+
+            for (final String column : new String[] {"P50", "P95"}) {
+                final double[] expected = (double[]) DataAccessHelpers.getColumn(direct, column).getDirect();
+                final double[] actual = (double[]) DataAccessHelpers.getColumn(merged, column).getDirect();
+                for (int ii = 0; ii < expected.length; ++ii) {
+                    // merged digests are not identical to a digest built directly from the values
+                    assertThat(Math.abs((expected[ii] - actual[ii]) / expected[ii])).isLessThan(0.01);
+                }
+            }
+            final Object[] digests = (Object[]) DataAccessHelpers.getColumn(merged, "Digest").getDirect();
+            for (int ii = 0; ii < digests.length; ++ii) {
+                assertEquals(expectedSizes[ii], ((com.tdunning.math.stats.TDigest) digests[ii]).size());
+            }
+        } finally {
+            FileUtils.deleteRecursively(directory);
+        }
+
+        final TDigestCodec codec = new TDigestCodec(null);
+        assertNull(codec.decode(codec.encode(null), 0, 0));
+    }
+
+    @Test
+    public void testTDigestIncrementalRemovesAndModifies() {
+        final int[] sizes = {10, 100, 4000};
+        for (int size : sizes) {
+            testTDigestIncrementalRemovesAndModifies(size);
+        }
+    }
+
+    private void testTDigestIncrementalRemovesAndModifies(int size) {
+        final Random random = new Random(0);
+        final ColumnInfo<?, ?>[] columnInfo;
+        final QueryTable queryTable = getTable(size, random,
+                columnInfo = initColumnInfos(new String[] {"Sym", "Part", "doubleCol", "intCol"},
+                        new SetGenerator<>("a", "b", "c", "d"),
+                        new IntGenerator(0, 4),
+                        new DoubleGenerator(10.1, 20.1, 0.05, 0.05),
+                        new IntGenerator(100, 1_000, 0.1)));
+        final List<Aggregation> aggregations = List.of(
+                AggApproxPct("doubleCol", PctOut(0.25, "DP25"), PctOut(0.75, "DP75")),
+                AggApproxPct(0.5, "IP50=intCol"));
+        final List<Aggregation> mergeAggregations = List.of(
+                AggApproxPct("Digest", PctOut(0.25, "DP25"), PctOut(0.75, "DP75")));
+        final EvalNuggetInterface[] en = new EvalNuggetInterface[] {
+                new TDigestNugget(() -> queryTable.aggBy(aggregations, "Sym")),
+                new TDigestNugget(() -> queryTable.aggBy(AggTDigest("Digest=doubleCol"), "Sym", "Part")
+                        .aggBy(mergeAggregations, "Sym")),
+                new UpdateValidatorNugget(queryTable.aggBy(aggregations, "Sym")),
+        };
+        for (int step = 0; step < 50; step++) {
+            if (RefreshingTableTestCase.printTableUpdates) {
+                System.out.println("size=" + size + ", step=" + step);
+            }
+            RefreshingTableTestCase.simulateShiftAwareStep(size, random, queryTable, columnInfo, en);
+        }
+    }
+
+    @Test
+    public void testTDigestRollupIncremental() {
+        final int size = 4000;
+        final Random random = new Random(0);
+        final ColumnInfo<?, ?>[] columnInfo;
+        final QueryTable queryTable = getTable(size, random,
+                columnInfo = initColumnInfos(new String[] {"Sym", "Part", "doubleCol"},
+                        new SetGenerator<>("a", "b", "c", "d"),
+                        new IntGenerator(0, 9),
+                        new DoubleGenerator(10.1, 20.1)));
+        final List<Aggregation> aggregations = List.of(
+                AggApproxPct(0.5, "P50=doubleCol"),
+                AggApproxPct(0.95, "P95=doubleCol"),
+                AggTDigest("Digest=doubleCol"));
+        final String[] groupByColumns = {"Sym", "Part"};
+        final RollupTable rollup = queryTable.rollup(aggregations, groupByColumns);
+        checkTDigestRollupLevels(queryTable, rollup, aggregations, groupByColumns);
+
+        for (int step = 0; step < 20; step++) {
+            // the default simulation profile removes, modifies, and shifts rows, as well as adding them
+            RefreshingTableTestCase.simulateShiftAwareStep(size / 10, random, queryTable, columnInfo,
+                    new EvalNuggetInterface[0]);
+            checkTDigestRollupLevels(queryTable, rollup, aggregations, groupByColumns);
+        }
+    }
+
+    /**
+     * Check each level of {@code rollup}, which merges the digests of the level below, against a flat aggregation of
+     * {@code source} by the same keys, within t-digest error.
+     */
+    private static void checkTDigestRollupLevels(
+            @NotNull final Table source,
+            @NotNull final RollupTable rollup,
+            @NotNull final List<Aggregation> aggregations,
+            @NotNull final String[] groupByColumns) {
+        final String[] percentileColumns = {"P50", "P95", "DigestP50=Digest.quantile(0.5)"};
+        Table level = rollup.getRoot();
+        for (int depth = 0; depth <= groupByColumns.length; ++depth) {
+            final String[] keys = Arrays.copyOf(groupByColumns, depth);
+            final String[] columns = Stream.concat(Arrays.stream(keys), Arrays.stream(percentileColumns))
+                    .toArray(String[]::new);
+            final Table flat = source.aggBy(aggregations, keys).view(columns);
+            final Table expected = depth == 0 ? flat : flat.sort(keys);
+            final Table actual = depth == 0 ? level.view(columns) : level.view(columns).sort(keys);
+            final String context = "level " + depth;
+            assertEquals(context, expected.size(), actual.size());
+            if (depth > 0) {
+                assertTableEquals(context, expected.view(keys), actual.view(keys));
+            }
+            for (final String column : new String[] {"P50", "P95", "DigestP50"}) {
+                final double[] expectedValues = (double[]) DataAccessHelpers.getColumn(expected, column).getDirect();
+                final double[] actualValues = (double[]) DataAccessHelpers.getColumn(actual, column).getDirect();
+                for (int ii = 0; ii < expectedValues.length; ++ii) {
+                    // merged digests are not identical to a digest built directly from the values
+                    assertThat(Math.abs((expectedValues[ii] - actualValues[ii]) / expectedValues[ii]))
+                            .withFailMessage("%s, %s row %s: expected %s, actual %s", context, column, ii,
+                                    expectedValues[ii], actualValues[ii])
+                            .isLessThan(0.03);
+                }
+            }
+            if (depth < groupByColumns.length) {
+                // the next level is the union of the node tables for this level's rows
+                final ColumnSource<Table> nodeTables =
+                        level.getColumnSource(RollupConstants.ROLLUP_COLUMN_SUFFIX, Table.class);
+                final List<Table> nodes = new ArrayList<>(level.intSize());
+                level.getRowSet().forAllRowKeys(rowKey -> nodes.add(nodeTables.get(rowKey)));
+                level = TableTools.merge(nodes);
+            }
+        }
+    }
+
+    /**
+     * Compares approximate percentiles bucketed by "Sym" against a recomputation, allowing for the differences between
+     * incrementally built and freshly built digests.
+     */
+    private static class TDigestNugget extends EvalNugget.Sorted {
+        private final Supplier<Table> supplier;
+
+        private TDigestNugget(@NotNull final Supplier<Table> supplier) {
+            super(new String[] {"Sym"});
+            this.supplier = supplier;
+        }
+
+        @Override
+        protected Table e() {
+            return supplier.get();
+        }
+
+        @Override
+        protected Table forComparison(Table t) {
+            return super.forComparison(t).flatten();
+        }
+
+        @Override
+        protected void checkDifferences(String msg, Table recomputed) {
+            final Table rc = forComparison(recomputed);
+            final Table ov = forComparison(originalValue);
+            TestCase.assertEquals(msg, rc.size(), ov.size());
+
+            for (final Map.Entry<String, ? extends ColumnSource<?>> columnSourceEntry : rc.getColumnSourceMap()
+                    .entrySet()) {
+                final String name = columnSourceEntry.getKey();
+                final ColumnSource<?> rcs = columnSourceEntry.getValue();
+                final ColumnSource<?> ocs = ov.getColumnSource(name);
+                for (int ii = 0; ii < rc.size(); ++ii) {
+                    if (rcs.getType() != double.class) {
+                        TestCase.assertEquals(msg, rcs.get(ii), ocs.get(ii));
+                        continue;
+                    }
+                    final double recomputedPercentile = rcs.getDouble(ii);
+                    final double originalPercentile = ocs.getDouble(ii);
+                    if (Double.isNaN(recomputedPercentile) || Double.isNaN(originalPercentile)) {
+                        TestCase.assertEquals(msg + ", " + name, recomputedPercentile, originalPercentile);
+                        continue;
+                    }
+                    final double error =
+                            Math.abs((recomputedPercentile - originalPercentile) / recomputedPercentile);
+                    if (error > .05) {
+                        throw new ComparisonFailure(msg + ", bad percentile for " + name + ", error=" + error,
+                                Double.toString(recomputedPercentile), Double.toString(originalPercentile));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testApproxCountDistinct() {
+        final int size = 100_000;
+        final Random random = new Random(0);
+        final QueryTable queryTable = getTable(size, random,
+                initColumnInfos(new String[] {"Sym", "intCol", "longCol", "doubleCol", "strCol"},
+                        new SetGenerator<>("a", "b", "c", "d"),
+                        new IntGenerator(0, 1_000),
+                        new LongGenerator(0, 1_000_000_000L, 0.05),
+                        new DoubleGenerator(-10000, 10000, 0.05, 0.05),
+                        new StringGenerator(50_000, 0.05)));
+
+        final String[] columns = new String[] {"intCol", "longCol", "doubleCol", "strCol"};
+        final List<Aggregation> approximate = new ArrayList<>();
+        final List<Aggregation> exact = new ArrayList<>();
+        for (final String column : columns) {
+            approximate.add(AggApproxCountDistinct(column));
+            exact.add(AggCountDistinct(column));
+        }
+
+        final Table withoutSym = queryTable.dropColumns("Sym");
+        checkApproxCountDistinct(withoutSym.aggBy(exact), withoutSym.aggBy(approximate), columns, 0.05);
+        checkApproxCountDistinct(queryTable.aggBy(exact, "Sym").sort("Sym"),
+                queryTable.aggBy(approximate, "Sym").sort("Sym"), columns, 0.05);
+
+        // small inputs are estimated from the sparse representation, which should be nearly exact
+        final Table small = queryTable.head(500);
+        checkApproxCountDistinct(small.aggBy(exact, "Sym").sort("Sym"),
+                small.aggBy(approximate, "Sym").sort("Sym"), columns, 0.005);
+
+        // a higher precision should be more accurate
+        checkApproxCountDistinct(withoutSym.aggBy(AggCountDistinct("longCol")),
+                withoutSym.aggBy(AggApproxCountDistinct(16, "longCol")), new String[] {"longCol"}, 0.015);
+    }
+
+    private static void checkApproxCountDistinct(
+            final Table exact,
+            final Table approximate,
+            final String[] columns,
+            final double threshold) {
+        TestCase.assertEquals(exact.size(), approximate.size());
+        final Table exactFlat = exact.flatten();
+        final Table approximateFlat = approximate.flatten();
+        for (final String column : columns) {
+            final ColumnSource<?> exactSource = exactFlat.getColumnSource(column);
+            final ColumnSource<?> approximateSource = approximateFlat.getColumnSource(column);
+            for (int ii = 0; ii < exactFlat.size(); ++ii) {
+                final long exactCount = exactSource.getLong(ii);
+                final long approximateCount = approximateSource.getLong(ii);
+                final double error = Math.abs((double) (approximateCount - exactCount) / exactCount);
+                assertThat(error)
+                        .withFailMessage("Approximate count distinct error too high for %s: exact=%s, approximate=%s",
+                                column, exactCount, approximateCount)
+                        .isLessThan(threshold);
+            }
+        }
+    }
+
+    @Test
+    public void testApproxCountDistinctRollup() {
+        // about a thousand distinct values per leaf, so that leaf sketches are on either side of the point at which
+        // they convert from sparse to dense registers, and are converted while being merged into their parents
+        final int size = 40_000;
+        final Random random = new Random(0);
+        final QueryTable queryTable = getTable(size, random,
+                initColumnInfos(new String[] {"Sym", "Part", "intCol"},
+                        new SetGenerator<>("a", "b", "c", "d"),
+                        new IntGenerator(0, 9),
+                        new IntGenerator(0, 1_000_000_000)));
+
+        final Table root = queryTable.rollup(List.of(AggApproxCountDistinct("intCol")), "Sym", "Part").getRoot();
+        checkApproxCountDistinct(queryTable.aggBy(AggCountDistinct("intCol")), root, new String[] {"intCol"}, 0.05);
+
+        // a single level of merging
+        final Table bySym = queryTable.rollup(List.of(AggApproxCountDistinct("intCol")), "Sym").getRoot();
+        checkApproxCountDistinct(queryTable.aggBy(AggCountDistinct("intCol")), bySym, new String[] {"intCol"}, 0.05);
+    }
+
+    @Test
+    public void testApproxCountDistinctIncremental() {
+        final int[] sizes = {10, 100, 4000};
+        for (int size : sizes) {
+            testApproxCountDistinctIncremental(size);
+        }
+    }
+
+    private void testApproxCountDistinctIncremental(int size) {
+        final Random random = new Random(0);
+        final ColumnInfo<?, ?>[] columnInfo;
+        final QueryTable queryTable = getTable(size, random,
+                columnInfo = initColumnInfos(new String[] {"Sym", "intCol", "doubleCol", "strCol"},
+                        new SetGenerator<>("a", "b", "c", "d"),
+                        new IntGenerator(0, 1_000, 0.1),
+                        new SetGenerator<>(10.1, 20.1, 30.1, NULL_DOUBLE),
+                        new StringGenerator(size, 0.1)));
+        final List<Aggregation> aggregations = List.of(
+                AggApproxCountDistinct("intCol", "doubleCol", "strCol"),
+                AggApproxCountDistinct(6, "I6=intCol", "S6=strCol"));
+        // a sketch only depends on the set of values it has seen, and is rebuilt whenever a value is removed, so the
+        // incremental results must exactly match a recomputation
+        final EvalNuggetInterface[] en = new EvalNuggetInterface[] {
+                EvalNugget.from(() -> queryTable.aggBy(aggregations)),
+                EvalNugget.Sorted.from(() -> queryTable.aggBy(aggregations, "Sym"), "Sym"),
+                new UpdateValidatorNugget(queryTable.aggBy(aggregations, "Sym")),
+                EvalNugget.from(() -> queryTable.where("Sym=`a`").aggBy(aggregations, "Sym")),
+        };
+        for (int step = 0; step < 50; step++) {
+            if (RefreshingTableTestCase.printTableUpdates) {
+                System.out.println("size=" + size + ", step=" + step);
+            }
+            RefreshingTableTestCase.simulateShiftAwareStep(size, random, queryTable, columnInfo, en);
+        }
+    }
+
     @Test
     public void testMedianTypes() {
         final Boolean[] booleans = new Boolean[] {null, false, true};
@@ -15,6 +15,7 @@ import io.deephaven.engine.testutil.generator.*;
 import io.deephaven.engine.testutil.testcase.RefreshingTableTestCase;
 import io.deephaven.time.DateTimeUtils;
 import io.deephaven.engine.table.Table;
+import io.deephaven.engine.table.impl.asofjoin.AsOfJoinRetention;
 import io.deephaven.engine.table.impl.select.MatchPairFactory;
 import io.deephaven.engine.context.QueryScope;
 import io.deephaven.engine.util.TableTools;
@@ -1459,6 +1460,117 @@ public class QueryTableAjTest {
         }
     }
 
+    @Test
+    public void testAjParallelBuckets() {
+        final JoinControl parallelControl = new JoinControl() {
+            @Override
+            boolean parallelizeAsOfJoinBuckets(long leftSize, int bucketCount) {
+                return true;
+            }
+
+            @Override
+            int asOfJoinBucketsPerTask() {
+                return 16;
+            }
+        };
+        for (int seed = 0; seed < 2; ++seed) {
+            System.out.println("Seed=" + seed);
+            // static
+            try (final SafeCloseable ignored = LivenessScopeStack.open()) {
+                testAjRandomIncrementalWithInitial(seed, -1, 4096, 1000, 1000, base.leftStep, false, false, true,
+                        false, true, true, parallelControl, int.class);
+            }
+            // left incremental, right static
+            try (final SafeCloseable ignored = LivenessScopeStack.open()) {
+                testAjRandomIncrementalWithInitial(seed, -1, 4096, 1000, 1000, base.leftStepShift, true, false,
+                        false, false, true, true, parallelControl, int.class);
+            }
+            // both incremental
+            try (final SafeCloseable ignored = LivenessScopeStack.open()) {
+                testAjRandomIncrementalWithInitial(seed, 4096, 4096, 1000, 1000, base.leftRightStepShift, true, true,
+                        false, false, true, false, parallelControl, int.class);
+            }
+        }
+    }
+
+    @Test
+    public void testAjRightRetentionCount() {
+        final QueryTable left = makeRetentionLeft();
+        final QueryTable right = makeRetentionRight();
+        final Table result = retainedAj(left, right, AsOfJoinRetention.ofCount(2));
+
+        // only the latest two A rows are retained, so A@3 has no match
+        BaseArrayTestCase.assertEquals(new int[] {NULL_INT, 8}, intColumn(result, "Sentinel"));
+
+        tickRetention(left, right);
+
+        // A@5 precedes the retained A rows at 6 and 7, and the late A row at 2 is never matched
+        BaseArrayTestCase.assertEquals(new int[] {NULL_INT, 8, 10, NULL_INT, 7}, intColumn(result, "Sentinel"));
+    }
+
+    @Test
+    public void testAjRightRetentionTime() {
+        final QueryTable left = makeRetentionLeft();
+        final QueryTable right = makeRetentionRight();
+        final Table result = retainedAj(left, right, AsOfJoinRetention.ofNanos(2));
+
+        BaseArrayTestCase.assertEquals(new int[] {3, 8}, intColumn(result, "Sentinel"));
+
+        tickRetention(left, right);
+
+        // the A window is now [5, 7]; the late A row at 2 is never matched, and A@3 keeps its match
+        BaseArrayTestCase.assertEquals(new int[] {3, 8, 10, 5, 7}, intColumn(result, "Sentinel"));
+    }
+
+    @Test
+    public void testAjRightRetentionRequiresAppendOnly() {
+        final QueryTable left = makeRetentionLeft();
+        final QueryTable right = makeRetentionRight();
+        right.setAttribute(Table.APPEND_ONLY_TABLE_ATTRIBUTE, Boolean.FALSE);
+        try {
+            retainedAj(left, right, AsOfJoinRetention.ofCount(2));
+            TestCase.fail("Expected exception");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    private static QueryTable makeRetentionLeft() {
+        return testRefreshingTable(i(0, 1).toTracking(),
+                col("Bucket", "A", "B"),
+                longCol("LeftStamp", 3, 10));
+    }
+
+    private static QueryTable makeRetentionRight() {
+        final QueryTable right = testRefreshingTable(i(0, 1, 2, 3, 4, 5, 6, 7).toTracking(),
+                col("Bucket", "A", "A", "A", "A", "A", "B", "B", "B"),
+                longCol("RightStamp", 1, 2, 3, 4, 5, 1, 2, 3),
+                intCol("Sentinel", 1, 2, 3, 4, 5, 6, 7, 8));
+        right.setAttribute(Table.APPEND_ONLY_TABLE_ATTRIBUTE, Boolean.TRUE);
+        return right;
+    }
+
+    private static Table retainedAj(final QueryTable left, final QueryTable right,
+            final AsOfJoinRetention retention) {
+        return AsOfJoinHelper.asOfJoin(left, right,
+                MatchPairFactory.getExpressions("Bucket", "LeftStamp=RightStamp"),
+                MatchPairFactory.getExpressions("Sentinel"), SortingOrder.Ascending, false, retention);
+    }
+
+    private static void tickRetention(final QueryTable left, final QueryTable right) {
+        final ControlledUpdateGraph updateGraph = ExecutionContext.getContext().getUpdateGraph().cast();
+        updateGraph.runWithinUnitTestCycle(() -> {
+            addToTable(right, i(8, 9, 10),
+                    col("Bucket", "A", "A", "A"),
+                    longCol("RightStamp", 6, 7, 2),
+                    intCol("Sentinel", 9, 10, 11));
+            right.notifyListeners(i(8, 9, 10), i(), i());
+            addToTable(left, i(2, 3, 4),
+                    col("Bucket", "A", "A", "B"),
+                    longCol("LeftStamp", 8, 5, 2));
+            left.notifyListeners(i(2, 3, 4), i(), i());
+        });
+    }
+
     /**
      * Reproduction of the error from DHC issue #4700. The root cause is that the cookies were not being migrated
      * properly during a partial rehash. This repro creates small initial tables, then generates large updates that
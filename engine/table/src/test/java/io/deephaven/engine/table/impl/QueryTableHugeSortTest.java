@@ -3,6 +3,8 @@
  */
 package io.deephaven.engine.table.impl;
 
+import io.deephaven.api.ColumnName;
+import io.deephaven.api.SortColumn;
 import io.deephaven.engine.table.Table;
 import io.deephaven.engine.context.QueryScope;
 import io.deephaven.engine.util.TableTools;
@@ -16,6 +18,7 @@ import org.junit.Test;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.experimental.categories.Category;
 
@@ -75,6 +78,43 @@ public class QueryTableHugeSortTest {
         }
     }
 
+    @Test
+    public void testExternalSort() {
+        final long externalSortThreshold = SortHelpers.externalSortThreshold;
+        final int externalSortRunSize = SortHelpers.externalSortRunSize;
+        final Table input = TableTools.emptyTable(1_000_000).update(
+                "Bucket=(int)(ii % 17)",
+                "Sym=(ii % 13 == 0) ? null : `S` + (ii % 101)",
+                "Value=(ii % 7 == 0) ? NULL_DOUBLE : (double)((ii * 7919) % 100_003)",
+                "Sentinel=ii");
+        final Table[] expected = new Table[] {
+                input.sort("Value"),
+                input.sortDescending("Sym"),
+                input.sort("Bucket", "Sym"),
+                input.sort(List.of(SortColumn.asc(ColumnName.of("Sym")), SortColumn.desc(ColumnName.of("Value")))),
+        };
+        try {
+            // use small runs, so that we exercise both the merge and buffer refills
+            SortHelpers.externalSortThreshold = 1;
+            SortHelpers.externalSortRunSize = 1 << 16;
+
+            // sort a copy of the input, so that we do not get the memoized results
+            final Table copy = input.select();
+            assertTableEquals(expected[0], copy.sort("Value"));
+            assertTableEquals(expected[1], copy.sortDescending("Sym"));
+            assertTableEquals(expected[2], copy.sort("Bucket", "Sym"));
+            assertTableEquals(expected[3], copy.sort(
+                    List.of(SortColumn.asc(ColumnName.of("Sym")), SortColumn.desc(ColumnName.of("Value")))));
+
+            // a single run needs no merge
+            SortHelpers.externalSortRunSize = 1 << 20;
+            assertTableEquals(expected[2], input.select().sort("Bucket", "Sym"));
+        } finally {
+            SortHelpers.externalSortThreshold = externalSortThreshold;
+            SortHelpers.externalSortRunSize = externalSortRunSize;
+        }
+    }
+
     @Test
     public void testHugeGroupedSort() {
         final String[] captains = new String[] {"Hornigold", "Jennings", "Vane", "Bellamy"};
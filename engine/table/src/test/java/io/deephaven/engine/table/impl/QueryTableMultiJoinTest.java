@@ -57,6 +57,18 @@ public class QueryTableMultiJoinTest extends QueryTableTestBase {
         }
     };
 
+    final static JoinControl RADIX_JOIN_CONTROL = new JoinControl() {
+        @Override
+        boolean useRadixPartitionedMultiJoin(long inputSize) {
+            return true;
+        }
+
+        @Override
+        int radixPartitionBits(long buildSize) {
+            return 3;
+        }
+    };
+
     @Before
     public void before() throws Exception {
         ChunkPoolReleaseTracking.enableStrict();
@@ -202,6 +214,31 @@ public class QueryTableMultiJoinTest extends QueryTableTestBase {
         }
     }
 
+    @Test
+    public void testStaticRadixPartitioned() {
+        for (int size = 10; size <= 10_000; size *= 10) {
+            for (int seed = 0; seed < SEEDCOUNT.applyAsInt(size); ++seed) {
+                System.out.println("Size = " + size + ", seed =" + seed);
+                testStatic(RADIX_JOIN_CONTROL, size, seed, new String[] {"Key"}, new String[] {"Key2"});
+                testStatic(RADIX_JOIN_CONTROL, size, seed, new String[] {"Key", "Key2"},
+                        CollectionUtil.ZERO_LENGTH_STRING_ARRAY);
+            }
+        }
+    }
+
+    @Test
+    public void testStaticRadixPartitionedDuplicateKeys() {
+        final Table t1 = TableTools.newTable(intCol("C1", 1, 2), intCol("S1", 10, 11));
+        final Table t2 = TableTools.newTable(intCol("C3", 2, 2), intCol("C4", 1, 2));
+        try {
+            MultiJoinTableImpl.of(RADIX_JOIN_CONTROL, MultiJoinInput.of(t1, "Key=C1", "S1"),
+                    MultiJoinInput.of(t2, "Key=C3", "C4")).table();
+            Assert.fail("expected exception");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("Duplicate key found for 2 in table 1.", e.getMessage());
+        }
+    }
+
     private void testStatic(JoinControl joinControl, int size, int seed, String[] keys, String[] drops) {
         final Random random = new Random(seed);
         final int tableCount = random.nextInt(10) + 1;
@@ -399,6 +399,46 @@ public class QueryTableNaturalJoinTest extends QueryTableTestBase {
         testNaturalJoinSimpleStatic(TableTools::col);
     }
 
+    public void testNaturalJoinRadixPartitionedStatic() {
+        for (final int size : new int[] {0, 10, 1000, 10000}) {
+            for (long seed = 0; seed < 2; ++seed) {
+                final Random random = new Random(seed);
+                final UniqueIntGenerator rightIntGenerator = new UniqueIntGenerator(1, Math.max(1, size) * 2);
+                final QueryTable rightTable = getTable(false, size, random,
+                        initColumnInfos(new String[] {"I1", "C1", "D1"},
+                                rightIntGenerator,
+                                new SetGenerator<>("a", "b"),
+                                new DoubleGenerator(0, 100)));
+                final QueryTable leftTable = getTable(false, size * 2, random,
+                        initColumnInfos(new String[] {"I1", "C1", "D1"},
+                                new FromUniqueIntGenerator(rightIntGenerator, new IntGenerator(20, 10000), 0.75),
+                                new SetGenerator<>("a", "b", "c"),
+                                new DoubleGenerator(0, 100)));
+
+                for (final String keys : new String[] {"I1", "C1,I1", "C1,D1,I1"}) {
+                    final MatchPair[] columnsToMatch = MatchPairFactory.getExpressions(keys.split(","));
+                    final MatchPair[] columnsToAdd = MatchPairFactory.getExpressions("RD1=D1");
+                    final Table expected = NaturalJoinHelper.naturalJoin(leftTable, rightTable, columnsToMatch,
+                            columnsToAdd, false, TestJoinControl.BUILD_RIGHT_CONTROL);
+                    final Table radix = NaturalJoinHelper.naturalJoin(leftTable, rightTable, columnsToMatch,
+                            columnsToAdd, false, TestJoinControl.RADIX_PARTITION_CONTROL);
+                    assertTableEquals(expected, radix);
+                }
+            }
+        }
+
+        // duplicates must be reported just as they are by a monolithic build
+        final QueryTable left = testTable(col("Symbol", "A", "B", "C", "D"), col("LeftSentinel", 1, 2, 3, 4));
+        final QueryTable right = testTable(col("Symbol", "A", "A"), col("RightSentinel", 10, 11));
+        try {
+            NaturalJoinHelper.naturalJoin(left, right, MatchPairFactory.getExpressions("Symbol"),
+                    MatchPairFactory.getExpressions("RightSentinel"), false, TestJoinControl.RADIX_PARTITION_CONTROL);
+            fail("Expected exception.");
+        } catch (IllegalStateException e) {
+            assertEquals(dupMsg + "A", e.getMessage());
+        }
+    }
+
     public void testNaturalJoinGroupedStatic() {
         // noinspection unchecked
         testNaturalJoinSimpleStatic(TstUtils::colGrouped);
@@ -4,6 +4,7 @@
 package io.deephaven.engine.table.impl;
 
 import io.deephaven.api.JoinMatch;
+import io.deephaven.api.Selectable;
 import io.deephaven.api.TableOperations;
 import io.deephaven.base.testing.BaseArrayTestCase;
 import io.deephaven.configuration.Configuration;
@@ -18,8 +19,10 @@ import io.deephaven.engine.rowset.WritableRowSet;
 import io.deephaven.engine.table.ColumnSource;
 import io.deephaven.engine.table.ShiftObliviousListener;
 import io.deephaven.engine.table.Table;
+import io.deephaven.engine.table.impl.select.CommonSubexpressionEliminator;
 import io.deephaven.engine.table.impl.select.DhFormulaColumn;
 import io.deephaven.engine.table.impl.select.FormulaCompilationException;
+import io.deephaven.engine.table.impl.select.SelectColumn;
 import io.deephaven.engine.table.impl.sources.InMemoryColumnSource;
 import io.deephaven.engine.table.impl.sources.LongSparseArraySource;
 import io.deephaven.engine.table.impl.sources.RedirectedColumnSource;
@@ -33,6 +36,7 @@ import io.deephaven.engine.testutil.generator.SetGenerator;
 import io.deephaven.engine.testutil.junit4.EngineCleanup;
 import io.deephaven.engine.testutil.testcase.RefreshingTableTestCase;
 import io.deephaven.engine.util.TableTools;
+import io.deephaven.util.QueryConstants;
 import io.deephaven.util.SafeCloseable;
 import io.deephaven.vector.LongVector;
 import junit.framework.TestCase;
@@ -655,6 +659,10 @@ public class QueryTableSelectUpdateTest {
                 partialEvalNuggetFrom(queryTable, false,
                         () -> queryTable.update("newCol=intCol / 2", "newCol=newCol_[i] + 7")),
                 new UpdateValidatorNugget(queryTable.select("newCol=intCol / 2", "newCol=newCol_[i] + 7")),
+                // Shared subexpressions, some of which may not be reused because an input is replaced in between
+                EvalNugget.from(() -> queryTable.update("A=intCol * doubleCol + 1", "B=(intCol * doubleCol + 1) / 2",
+                        "C=intCol * doubleCol + 1 > 50 ? 1 : 0")),
+                EvalNugget.from(() -> sortedTable.select("A=intCol * 2", "intCol=intCol + 1", "B=intCol * 2")),
                 // Let's change the type of a column.
                 EvalNugget.from(() -> queryTable.select("intCol = intCol/2")),
                 EvalNugget.from(() -> queryTable.update("newCol = `` + intCol/2")),
@@ -677,6 +685,33 @@ public class QueryTableSelectUpdateTest {
         }
     }
 
+    @Test
+    public void testCommonSubexpressionElimination() {
+        final SelectColumn[] rewritten = CommonSubexpressionEliminator.eliminate(SelectColumn.from(Selectable.from(
+                "A = X * Y + Z", "B = (X * Y + Z) / W", "C = X * Y + Z", "X = X + 1", "D = X * Y + Z",
+                "E = sqrt(X * Y + Z) + (X * Y + Z)")));
+        Assert.assertEquals("A=X * Y + Z", rewritten[0].toString());
+        Assert.assertEquals("B=A / W", rewritten[1].toString());
+        Assert.assertEquals("C=A", rewritten[2].toString());
+        // X has been replaced, so A can no longer stand in for X * Y + Z; D is now the first to compute it
+        Assert.assertEquals("D=X * Y + Z", rewritten[4].toString());
+        Assert.assertEquals("E=sqrt(D) + D", rewritten[5].toString());
+
+        final Table source = TableTools.emptyTable(100).update("X = i % 7", "Y = i * 0.5", "Z = i % 3", "W = 2");
+        final String[] formulas = {"A = X * Y + Z", "B = (X * Y + Z) / W", "C = X * Y + Z > 20 ? X * Y + Z : -1",
+                "X = X + 1", "D = (X * Y + Z) * W"};
+        final boolean old = QueryTable.ELIMINATE_SELECT_COMMON_SUBEXPRESSIONS;
+        try {
+            QueryTable.ELIMINATE_SELECT_COMMON_SUBEXPRESSIONS = false;
+            final Table expected = source.update(formulas);
+            QueryTable.ELIMINATE_SELECT_COMMON_SUBEXPRESSIONS = true;
+            assertTableEquals(expected, source.update(formulas));
+            assertTableEquals(expected.view("A", "B", "C", "X", "D"), source.select(formulas));
+        } finally {
+            QueryTable.ELIMINATE_SELECT_COMMON_SUBEXPRESSIONS = old;
+        }
+    }
+
     @Test
     public void testUpdateIncrementalRandomized() {
         final ControlledUpdateGraph updateGraph = ExecutionContext.getContext().getUpdateGraph().cast();
@@ -1072,6 +1107,33 @@ public class QueryTableSelectUpdateTest {
         assertTableEquals(x, w);
     }
 
+    @Test
+    public void testElementWiseChunkOperators() {
+        final Table input = TableTools.newTable(
+                intCol("A", 1, QueryConstants.NULL_INT, 7, -4),
+                longCol("B", 10L, 20L, QueryConstants.NULL_LONG, 5L),
+                doubleCol("X", 1.5, QueryConstants.NULL_DOUBLE, 2.0, -0.5));
+        final Table result = input.update("C = A + B", "D = A / 2", "E = 3 - X", "F = A % 3", "G = A * 2");
+        assertTableEquals(TableTools.newTable(
+                longCol("C", 11L, QueryConstants.NULL_LONG, QueryConstants.NULL_LONG, 1L),
+                doubleCol("D", 0.5, QueryConstants.NULL_DOUBLE, 3.5, -2.0),
+                doubleCol("E", 1.5, QueryConstants.NULL_DOUBLE, 1.0, 3.5),
+                intCol("F", 1, QueryConstants.NULL_INT, 1, -1),
+                intCol("G", 2, QueryConstants.NULL_INT, 14, -8)),
+                result.dropColumns("A", "B", "X"));
+
+        // formulas that are not eligible for chunk operators are still evaluated row by row; the generated code for
+        // each case is checked in TestFormulaColumnGeneration
+        assertTableEquals(TableTools.newTable(
+                intCol("H", 3, 3, 3, 3),
+                intCol("J", 1, QueryConstants.NULL_INT, 9, -1)),
+                input.update("H = 1 + 2", "J = A + i").view("H", "J"));
+
+        // spans several chunks, and must match the same formula evaluated row by row
+        final Table big = emptyTable(100_000).update("A = (int) ii", "B = ii % 7 == 0 ? NULL_LONG : ii");
+        assertTableEquals(big.update("C = (long) (A + B)"), big.update("C = A + B"));
+    }
+
     @Test
     public void testFlattenSelect() {
         final Table input = emptyTable(100000).updateView("A=ii", "B=ii % 1000", "C=ii % 2 == 0");
@@ -11,6 +11,7 @@ import io.deephaven.chunk.LongChunk;
 import io.deephaven.chunk.WritableLongChunk;
 import io.deephaven.chunk.attributes.Values;
 import io.deephaven.engine.context.ExecutionContext;
+import io.deephaven.engine.context.PoisonedQueryCompiler;
 import io.deephaven.engine.context.QueryScope;
 import io.deephaven.engine.exceptions.CancellationException;
 import io.deephaven.engine.util.TableTools;
@@ -1101,4 +1102,72 @@ public abstract class QueryTableWhereTest {
         // The where result should have failed, because the filter expression is invalid for the new data.
         Assert.eqTrue(whereResult.isFailed(), "whereResult.isFailed()");
     }
+
+    @Test
+    public void testAdaptiveFilterOrder() {
+        final WhereFilter[] filters = new WhereFilter[] {
+                new IntRangeFilter("A", 0, 100, true, true),
+                new MatchFilter("B", 3),
+                ConditionFilter.createConditionFilter("C.length() > 2"),
+                new IntRangeFilter("A", 0, 50, true, true),
+                new MatchFilter("B", 1, 2, 3),
+        };
+        final WhereFilterStatistics statistics = new WhereFilterStatistics(filters);
+        assertArrayEquals(new int[] {0, 1, 2, 3, 4}, statistics.getOrder());
+
+        // not enough rows to go on yet
+        statistics.record(0, 100, 90, 1_000);
+        statistics.record(1, 90, 10, 1_000);
+        assertFalse(statistics.updateOrder());
+
+        // filter 1 removes far more rows for its time, but nothing moves across the condition
+        statistics.record(0, 100_000, 90_000, 1_000_000);
+        statistics.record(1, 90_000, 10_000, 1_000_000);
+        statistics.record(2, 10_000, 5_000, 10_000_000);
+        statistics.record(3, 5_000, 4_900, 5_000);
+        statistics.record(4, 4_900, 100, 5_000);
+        assertTrue(statistics.updateOrder());
+        assertArrayEquals(new int[] {1, 0, 2, 4, 3}, statistics.getOrder());
+        assertFalse(statistics.updateOrder());
+
+        // the result must not depend on the order chosen
+        final Random random = new Random(0);
+        final ColumnInfo<?, ?>[] columnInfo;
+        final QueryTable table = getTable(1000, random, columnInfo = initColumnInfos(new String[] {"A", "B"},
+                new IntGenerator(0, 1000),
+                new IntGenerator(0, 10)));
+        final EvalNugget[] en = new EvalNugget[] {
+                EvalNugget.from(() -> table.where("A >= 100", "A < 900", "B in 1, 2, 3", "B != 2")),
+                EvalNugget.from(() -> table.where("A >= 100", "B in 4, 5", "A % 3 == 0", "B = 5", "A < 500")),
+        };
+        final ControlledUpdateGraph updateGraph = ExecutionContext.getContext().getUpdateGraph().cast();
+        for (int step = 0; step < 50; ++step) {
+            updateGraph.runWithinUnitTestCycle(() -> GenerateTableUpdates.generateShiftAwareTableUpdates(
+                    GenerateTableUpdates.DEFAULT_PROFILE, 1000, random, table, columnInfo));
+            validate(en);
+        }
+    }
+
+    @Test
+    public void testConditionCompilationFailures() {
+        final Table table = emptyTable(10).update("A = i");
+        final ExecutionContext cannotCompile = ExecutionContext.newBuilder()
+                .captureQueryLibrary()
+                .captureQueryScope()
+                .captureUpdateGraph()
+                .setOperationInitializer(ExecutionContext.getContext().getOperationInitializer())
+                .setQueryCompiler(PoisonedQueryCompiler.INSTANCE)
+                .build();
+        try (final SafeCloseable ignored = cannotCompile.open()) {
+            // an individually initialized condition reports the failure from init
+            final FormulaCompilationException individual = assertThrows(FormulaCompilationException.class,
+                    () -> ConditionFilter.createConditionFilter("A % 2 == 0").init(table.getDefinition()));
+            assertEquals("Formula compilation error for: A % 2 == 0", individual.getMessage());
+
+            // conditions compiled together by where() report the failure the same way
+            final FormulaCompilationException batched = assertThrows(FormulaCompilationException.class,
+                    () -> table.where("A % 2 == 0", "A * 3 > 7"));
+            assertEquals("Formula compilation error for: A % 2 == 0", batched.getMessage());
+        }
+    }
 }
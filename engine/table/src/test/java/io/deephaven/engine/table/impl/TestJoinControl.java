@@ -22,6 +22,18 @@ public class TestJoinControl {
         }
     };
 
+    static final JoinControl RADIX_PARTITION_CONTROL = new JoinControl() {
+        @Override
+        boolean useRadixPartitionedJoin(Table leftTable, Table rightTable) {
+            return !leftTable.isRefreshing() && !rightTable.isRefreshing();
+        }
+
+        @Override
+        int radixPartitionBits(long buildSize) {
+            return 3;
+        }
+    };
+
     static final JoinControl OVERFLOW_JOIN_CONTROL = new JoinControl() {
         @Override
         public int initialBuildSize() {
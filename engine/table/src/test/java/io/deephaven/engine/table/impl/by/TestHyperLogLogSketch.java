@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl.by;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestHyperLogLogSketch {
+
+    private static final int PRECISION = 12;
+    /**
+     * The number of sparse entries above which a sketch of {@link #PRECISION} becomes dense.
+     */
+    private static final int SPARSE_LIMIT = (1 << PRECISION) / Integer.BYTES;
+
+    private static HyperLogLogSketch sketchOf(final long firstValue, final long count) {
+        final HyperLogLogSketch sketch = new HyperLogLogSketch(PRECISION);
+        for (long value = firstValue; value < firstValue + count; ++value) {
+            sketch.add(HyperLogLogSketch.mix64(value));
+        }
+        return sketch;
+    }
+
+    private static void assertEstimate(final long expected, final HyperLogLogSketch sketch, final double threshold) {
+        assertEstimate(expected, sketch.estimate(), threshold);
+    }
+
+    private static void assertEstimate(final long expected, final long estimate, final double threshold) {
+        final double error = Math.abs((double) (estimate - expected) / expected);
+        assertTrue("expected=" + expected + ", estimate=" + estimate, error < threshold);
+    }
+
+    @Test
+    public void testEmpty() {
+        final HyperLogLogSketch sketch = new HyperLogLogSketch(PRECISION);
+        assertEquals(0, sketch.estimate());
+        sketch.merge(new HyperLogLogSketch(PRECISION));
+        assertEquals(0, sketch.estimate());
+        assertTrue(sketch.isSparse());
+    }
+
+    @Test
+    public void testAddAcrossDenseThreshold() {
+        final HyperLogLogSketch sketch = new HyperLogLogSketch(PRECISION);
+        for (int count = 1; count <= 4 * SPARSE_LIMIT; ++count) {
+            sketch.add(HyperLogLogSketch.mix64(count));
+            // estimating folds pending values, which may be what makes the sketch dense
+            final long estimate = sketch.estimate();
+            assertEstimate(count, estimate, sketch.isSparse() ? 0.005 : 0.05);
+        }
+        assertFalse(sketch.isSparse());
+    }
+
+    @Test
+    public void testEstimateConvertsToDense() {
+        // a multiple of the pending capacity fills the sparse representation exactly; the rest stay pending until the
+        // estimate folds them in, and then the sketch must be estimated as dense
+        final int count = SPARSE_LIMIT + 10;
+        final HyperLogLogSketch sketch = sketchOf(0, count);
+        assertTrue(sketch.isSparse());
+        assertEstimate(count, sketch, 0.05);
+        assertFalse(sketch.isSparse());
+    }
+
+    @Test
+    public void testMergeOtherConvertsToDense() {
+        final int count = SPARSE_LIMIT + 10;
+        final HyperLogLogSketch other = sketchOf(0, count);
+        assertTrue(other.isSparse());
+
+        final HyperLogLogSketch sparse = sketchOf(1_000_000, 100);
+        sparse.merge(other);
+        assertFalse(sparse.isSparse());
+        assertEstimate(count + 100, sparse, 0.05);
+
+        final HyperLogLogSketch empty = new HyperLogLogSketch(PRECISION);
+        empty.merge(sketchOf(0, count));
+        assertEstimate(count, empty, 0.05);
+    }
+
+    @Test
+    public void testMergeThisConvertsToDense() {
+        final int count = SPARSE_LIMIT + 10;
+        final HyperLogLogSketch sketch = sketchOf(0, count);
+        assertTrue(sketch.isSparse());
+        sketch.merge(sketchOf(1_000_000, 100));
+        assertFalse(sketch.isSparse());
+        assertEstimate(count + 100, sketch, 0.05);
+    }
+
+    @Test
+    public void testMergeSparseUnionBecomesDense() {
+        final HyperLogLogSketch left = sketchOf(0, SPARSE_LIMIT / 2 + 100);
+        final HyperLogLogSketch right = sketchOf(SPARSE_LIMIT, SPARSE_LIMIT / 2 + 100);
+        assertTrue(left.isSparse());
+        assertTrue(right.isSparse());
+        left.merge(right);
+        assertFalse(left.isSparse());
+        assertEstimate(SPARSE_LIMIT + 200, left, 0.05);
+    }
+
+    @Test
+    public void testMergeDenseAndSparse() {
+        final int denseCount = 10 * SPARSE_LIMIT;
+        final HyperLogLogSketch dense = sketchOf(0, denseCount);
+        assertFalse(dense.isSparse());
+
+        // sparse into dense
+        final HyperLogLogSketch denseCopy = sketchOf(0, denseCount);
+        denseCopy.merge(sketchOf(1_000_000, 500));
+        assertEstimate(denseCount + 500, denseCopy, 0.05);
+
+        // dense into sparse
+        final HyperLogLogSketch sparse = sketchOf(1_000_000, 500);
+        sparse.merge(dense);
+        assertFalse(sparse.isSparse());
+        assertEquals(denseCopy.estimate(), sparse.estimate());
+
+        // merging is idempotent
+        sparse.merge(dense);
+        assertEquals(denseCopy.estimate(), sparse.estimate());
+    }
+}
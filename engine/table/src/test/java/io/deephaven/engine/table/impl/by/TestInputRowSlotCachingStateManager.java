@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl.by;
+
+import io.deephaven.api.agg.Aggregation;
+import io.deephaven.engine.table.ColumnSource;
+import io.deephaven.engine.table.Table;
+import io.deephaven.engine.table.hierarchical.RollupTable;
+import io.deephaven.engine.table.impl.QueryTable;
+import io.deephaven.engine.testutil.ColumnInfo;
+import io.deephaven.engine.testutil.EvalNuggetInterface;
+import io.deephaven.engine.testutil.generator.DoubleGenerator;
+import io.deephaven.engine.testutil.generator.IntGenerator;
+import io.deephaven.engine.testutil.generator.SetGenerator;
+import io.deephaven.engine.testutil.junit4.EngineCleanup;
+import io.deephaven.engine.testutil.testcase.RefreshingTableTestCase;
+import io.deephaven.engine.util.TableTools;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static io.deephaven.api.agg.Aggregation.AggCount;
+import static io.deephaven.api.agg.Aggregation.AggMax;
+import static io.deephaven.api.agg.Aggregation.AggMin;
+import static io.deephaven.api.agg.Aggregation.AggSum;
+import static io.deephaven.engine.table.impl.by.RollupConstants.ROLLUP_COLUMN_SUFFIX;
+import static io.deephaven.engine.testutil.TstUtils.assertTableEquals;
+import static io.deephaven.engine.testutil.TstUtils.getTable;
+import static io.deephaven.engine.testutil.TstUtils.initColumnInfos;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that incrementally maintained rollups, whose reaggregated levels use {@link InputRowSlotCachingStateManager},
+ * match freshly computed rollups at every level.
+ */
+public class TestInputRowSlotCachingStateManager {
+
+    @Rule
+    public final EngineCleanup base = new EngineCleanup();
+
+    private static final String[] GROUP_BY_COLUMNS = {"Sym", "Part", "Sub"};
+
+    private static final List<Aggregation> AGGREGATIONS = List.of(
+            AggCount("N"), AggSum("Sum=intCol"), AggMin("Min=doubleCol"), AggMax("Max=doubleCol"));
+
+    /**
+     * Get the aggregated levels of {@code rollup}, from the root down to the base level, by merging the node tables
+     * of each level's rows. Internal rollup columns are dropped, and each level is sorted by the group-by columns.
+     */
+    private static List<Table> levels(@NotNull final RollupTable rollup) {
+        final List<Table> levels = new ArrayList<>(GROUP_BY_COLUMNS.length + 1);
+        Table level = rollup.getRoot();
+        levels.add(level);
+        for (int li = 0; li < GROUP_BY_COLUMNS.length; ++li) {
+            final ColumnSource<Table> nodeTables = level.getColumnSource(ROLLUP_COLUMN_SUFFIX, Table.class);
+            final List<Table> nodes = new ArrayList<>(level.intSize());
+            level.getRowSet().forAllRowKeys(rowKey -> nodes.add(nodeTables.get(rowKey)));
+            level = TableTools.merge(nodes);
+            levels.add(level);
+        }
+        final List<Table> result = new ArrayList<>(levels.size());
+        for (final Table unsorted : levels) {
+            result.add(unsorted.dropColumns(unsorted.getDefinition().getColumnNames().stream()
+                    .filter(cn -> cn.endsWith(ROLLUP_COLUMN_SUFFIX))
+                    .toArray(String[]::new))
+                    .sort(GROUP_BY_COLUMNS));
+        }
+        return result;
+    }
+
+    private static void checkLevels(@NotNull final QueryTable source, @NotNull final RollupTable incremental) {
+        final List<Table> expected = levels(source.rollup(AGGREGATIONS, GROUP_BY_COLUMNS));
+        final List<Table> actual = levels(incremental);
+        assertEquals(expected.size(), actual.size());
+        for (int li = 0; li < expected.size(); ++li) {
+            assertTableEquals("level " + li, expected.get(li), actual.get(li));
+        }
+    }
+
+    @Test
+    public void testIncrementalRollup() {
+        final int size = 1000;
+        final Random random = new Random(0);
+        final ColumnInfo<?, ?>[] columnInfo;
+        final QueryTable source = getTable(size, random,
+                columnInfo = initColumnInfos(new String[] {"Sym", "Part", "Sub", "intCol", "doubleCol"},
+                        new SetGenerator<>("a", "b", "c", "d", "e"),
+                        new IntGenerator(0, 9),
+                        new IntGenerator(0, 9),
+                        new IntGenerator(0, 1_000),
+                        new DoubleGenerator(-100, 100)));
+        final RollupTable rollup = source.rollup(AGGREGATIONS, GROUP_BY_COLUMNS);
+        checkLevels(source, rollup);
+
+        final long initialLookups = InputRowSlotCachingStateManager.cachedModificationLookups.get();
+        for (int step = 0; step < 50; step++) {
+            RefreshingTableTestCase.simulateShiftAwareStep(size / 10, random, source, columnInfo,
+                    new EvalNuggetInterface[0]);
+            checkLevels(source, rollup);
+        }
+        // modified leaves must have been propagated to their ancestors through the cache
+        assertTrue(InputRowSlotCachingStateManager.cachedModificationLookups.get() > initialLookups);
+    }
+}
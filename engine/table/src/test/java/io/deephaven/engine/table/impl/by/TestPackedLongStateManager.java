@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl.by;
+
+import io.deephaven.api.ColumnName;
+import io.deephaven.api.agg.Aggregation;
+import io.deephaven.engine.context.QueryScope;
+import io.deephaven.engine.table.Table;
+import io.deephaven.engine.table.impl.QueryTable;
+import io.deephaven.engine.testutil.junit4.EngineCleanup;
+import io.deephaven.time.DateTimeUtils;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.List;
+
+import static io.deephaven.api.agg.Aggregation.AggCount;
+import static io.deephaven.api.agg.Aggregation.AggGroup;
+import static io.deephaven.api.agg.Aggregation.AggSum;
+import static io.deephaven.engine.testutil.TstUtils.assertTableEquals;
+import static io.deephaven.engine.util.TableTools.emptyTable;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that static aggregations using {@link StaticPackedLongChunkedOperatorAggregationStateManager} match those using
+ * the default state manager, including the order of output rows.
+ */
+public class TestPackedLongStateManager {
+
+    @Rule
+    public final EngineCleanup base = new EngineCleanup();
+
+    private static final AggregationControl SMALL_TABLE_CONTROL = new AggregationControl() {
+        @Override
+        public int initialHashTableSize(@NotNull final Table table) {
+            return 8;
+        }
+    };
+
+    private static Table aggregate(
+            @NotNull final Table input,
+            @NotNull final AggregationControl control,
+            final boolean usePacked,
+            @NotNull final String keyColumn) {
+        final boolean oldUsePacked = ChunkedOperatorAggregationHelper.USE_PACKED_LONG_STATE_MANAGER;
+        ChunkedOperatorAggregationHelper.USE_PACKED_LONG_STATE_MANAGER = usePacked;
+        try {
+            final List<Aggregation> aggregations = List.of(AggCount("N"), AggSum("S=II"), AggGroup("G=II"));
+            return ChunkedOperatorAggregationHelper.aggregation(control,
+                    AggregationProcessor.forAggregation(aggregations), (QueryTable) input, false, null,
+                    ColumnName.from(keyColumn));
+        } finally {
+            ChunkedOperatorAggregationHelper.USE_PACKED_LONG_STATE_MANAGER = oldUsePacked;
+        }
+    }
+
+    private static void checkAggregation(@NotNull final Table input, @NotNull final String keyColumn) {
+        final Table adjustedInput = input.update("II=ii");
+        for (final AggregationControl control : List.of(AggregationControl.DEFAULT, SMALL_TABLE_CONTROL)) {
+            assertTableEquals(
+                    aggregate(adjustedInput, control, false, keyColumn),
+                    aggregate(adjustedInput, control, true, keyColumn));
+        }
+    }
+
+    @Test
+    public void testStaticPackedLongKeyByWithChunks() {
+        final String nowName = "__now_" + Thread.currentThread().hashCode() + "__";
+        QueryScope.addParam(nowName, DateTimeUtils.now());
+
+        checkAggregation(emptyTable(10000).update("L=ii % 2048 == 7 ? NULL_LONG : ii / 3"), "L");
+        checkAggregation(emptyTable(10000).update("L=(ii & 1) == 0 ? ii : (ii - 1 + 0xFFFFFFFFL)"), "L");
+        checkAggregation(emptyTable(10000).update("T=ii % 100 == 0 ? null : plus(" + nowName + ", (long) (ii / 5))"),
+                "T");
+        checkAggregation(emptyTable(0).update("L=ii"), "L");
+    }
+
+    @Test
+    public void testPackedLongRowLookup() {
+        final Table input = emptyTable(10000).update("L=ii % 2048 == 7 ? NULL_LONG : ii / 3");
+        final boolean oldUsePacked = ChunkedOperatorAggregationHelper.USE_PACKED_LONG_STATE_MANAGER;
+        ChunkedOperatorAggregationHelper.USE_PACKED_LONG_STATE_MANAGER = true;
+        try {
+            final Table counted = input.countBy("N", "L");
+            assertTableEquals(input.selectDistinct("L"), counted.view("L"));
+            final AggregationRowLookup lookup = AggregationProcessor.getRowLookup(counted);
+            assertEquals(0, lookup.get(0L));
+            assertEquals(lookup.noEntryValue(), lookup.get(-1L));
+        } finally {
+            ChunkedOperatorAggregationHelper.USE_PACKED_LONG_STATE_MANAGER = oldUsePacked;
+        }
+    }
+}
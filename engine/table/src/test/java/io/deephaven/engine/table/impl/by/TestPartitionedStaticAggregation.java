@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl.by;
+
+import io.deephaven.api.agg.Aggregation;
+import io.deephaven.engine.table.ColumnSource;
+import io.deephaven.engine.table.Table;
+import io.deephaven.engine.table.impl.QueryTable;
+import io.deephaven.engine.testutil.junit4.EngineCleanup;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.List;
+
+import static io.deephaven.api.agg.Aggregation.AggCount;
+import static io.deephaven.api.agg.Aggregation.AggSum;
+import static io.deephaven.engine.util.TableTools.emptyTable;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the decision to partition a static aggregation follows the estimated number of states, rather than the
+ * number of input rows.
+ */
+public class TestPartitionedStaticAggregation {
+
+    @Rule
+    public final EngineCleanup base = new EngineCleanup();
+
+    private static final int SAMPLE_SIZE = 1 << 12;
+
+    private static long estimate(@NotNull final Table input, @NotNull final String... keyColumns) {
+        final ColumnSource<?>[] keySources = new ColumnSource[keyColumns.length];
+        for (int ki = 0; ki < keyColumns.length; ++ki) {
+            keySources[ki] = input.getColumnSource(keyColumns[ki]);
+        }
+        return PartitionedStaticAggregation.estimateNumStates(input.getRowSet(), keySources, SAMPLE_SIZE);
+    }
+
+    @Test
+    public void testEstimateNumStates() {
+        final Table input = emptyTable(100_000).update("Low = ii % 100", "High = ii", "Pairs = ii / 2",
+                "A = (int) (ii % 7)", "B = Integer.toString((int) (ii % 11))");
+        // every key is sampled many times
+        assertEquals(100, estimate(input, "Low"));
+        assertEquals(7 * 11, estimate(input, "A", "B"));
+        // every sampled key is unique
+        assertEquals(100_000, estimate(input, "High"));
+        // we may over-estimate, but never beyond the number of rows
+        final long pairs = estimate(input, "Pairs");
+        assertTrue(pairs >= 50_000 && pairs <= 100_000);
+        // small inputs are counted exactly
+        assertEquals(1000, estimate(input.head(1000), "High"));
+        assertEquals(0, estimate(input.head(0), "High"));
+    }
+
+    @Test
+    public void testPartitionOnEstimatedStates() {
+        final AggregationControl control = new AggregationControl() {
+            @Override
+            public boolean considerPartitionedStaticAggregation(@NotNull final Table table) {
+                return !table.isRefreshing();
+            }
+
+            @Override
+            public boolean usePartitionedStaticAggregation(final long estimatedNumStates) {
+                return estimatedNumStates >= 10_000;
+            }
+
+            @Override
+            public int partitionedStaticAggregationBits(final long estimatedNumStates) {
+                return estimatedNumStates >= 50_000 ? 2 : 1;
+            }
+        };
+        final QueryTable input = (QueryTable) emptyTable(100_000).update("Low = ii % 100", "High = ii", "V = ii");
+        final List<Aggregation> aggregations = List.of(AggCount("N"), AggSum("S=V"));
+        final AggregationContextFactory factory = AggregationProcessor.forAggregation(aggregations);
+
+        // many rows, but few states
+        assertEquals(0, PartitionedStaticAggregation.partitionBits(control, factory, input, new String[] {"Low"}));
+        // as many states as rows
+        assertEquals(2, PartitionedStaticAggregation.partitionBits(control, factory, input, new String[] {"High"}));
+    }
+}
@@ -0,0 +1,249 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl.by;
+
+import io.deephaven.api.agg.Aggregation;
+import io.deephaven.engine.context.ExecutionContext;
+import io.deephaven.engine.rowset.RowSet;
+import io.deephaven.engine.rowset.RowSetFactory;
+import io.deephaven.engine.rowset.WritableRowSet;
+import io.deephaven.engine.table.Table;
+import io.deephaven.engine.table.impl.BlinkTableTools;
+import io.deephaven.engine.table.impl.QueryTable;
+import io.deephaven.engine.table.impl.util.ColumnHolder;
+import io.deephaven.engine.testutil.ControlledUpdateGraph;
+import io.deephaven.engine.testutil.TstUtils;
+import io.deephaven.engine.testutil.junit4.EngineCleanup;
+import io.deephaven.engine.util.TableTools;
+import io.deephaven.time.DateTimeUtils;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static io.deephaven.api.agg.Aggregation.*;
+import static io.deephaven.engine.testutil.TstUtils.assertTableEquals;
+import static io.deephaven.engine.testutil.TstUtils.i;
+import static io.deephaven.engine.util.TableTools.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+public class TestTimeWindowedAggregation {
+
+    @Rule
+    public final EngineCleanup base = new EngineCleanup();
+
+    private static final Collection<Aggregation> BARS = List.of(
+            AggFirst("Open=Price"),
+            AggMax("High=Price"),
+            AggMin("Low=Price"),
+            AggLast("Close=Price"),
+            AggSum("Volume=Size"),
+            AggCount("Trades"));
+
+    private static final String[] SYMS = {"AAPL", "MSFT", "GOOG"};
+
+    @Test
+    public void testStaticTumbling() {
+        final Table input = TableTools.newTable(randomTrades(new Random(0), 1000, 0, 7000));
+        final Table result = TimeWindowedAggregation.tumblingAggBy(
+                input, BARS, "Timestamp", Duration.ofNanos(100), "Start", "Sym");
+        final Table expected = input.updateView("Start = Timestamp - Timestamp % 100")
+                .aggBy(BARS, "Sym", "Start")
+                .sort("Start");
+        assertTableEquals(expected, result);
+    }
+
+    @Test
+    public void testStaticHopping() {
+        final Table input = TableTools.newTable(randomTrades(new Random(0), 1000, 0, 7000));
+        final Table result = TimeWindowedAggregation.hoppingAggBy(
+                input, BARS, "Timestamp", Duration.ofNanos(100), Duration.ofNanos(25), "Start", "Sym");
+        // each row belongs to the four windows that start in the 100ns before it
+        final Table expected = TableTools.merge(IntStream.range(0, 4)
+                .mapToObj(j -> input.updateView("Start = Timestamp - Timestamp % 25 - " + (25 * j)))
+                .toArray(Table[]::new))
+                .aggBy(BARS, "Sym", "Start")
+                .sort("Start");
+        assertTableEquals(expected, result);
+    }
+
+    @Test
+    public void testAddOnlyIncremental() {
+        final Random random = new Random(0);
+        final QueryTable input = TstUtils.testRefreshingTable(i().toTracking(),
+                stringCol("Sym"), longCol("Timestamp"), doubleCol("Price"), intCol("Size"));
+        input.setAttribute(Table.ADD_ONLY_TABLE_ATTRIBUTE, true);
+        final Table result = TimeWindowedAggregation.tumblingAggBy(
+                input, BARS, "Timestamp", Duration.ofNanos(100), "Start", "Sym");
+        assertEquals(true, result.getAttribute(Table.ADD_ONLY_TABLE_ATTRIBUTE));
+        assertEquals(0, result.size());
+
+        final ControlledUpdateGraph updateGraph = ExecutionContext.getContext().getUpdateGraph().cast();
+        long nextTimestamp = 0;
+        for (int step = 0; step < 40; ++step) {
+            final int size = random.nextInt(20);
+            final long firstTimestamp = nextTimestamp;
+            nextTimestamp += random.nextInt(80);
+            final long firstKey = input.getRowSet().isEmpty() ? 0 : input.getRowSet().lastRowKey() + 1;
+            final ColumnHolder<?>[] added = randomTrades(random, size, firstTimestamp, nextTimestamp - firstTimestamp);
+            updateGraph.runWithinUnitTestCycle(() -> {
+                if (size == 0) {
+                    return;
+                }
+                final RowSet addedRows = RowSetFactory.fromRange(firstKey, firstKey + size - 1);
+                TstUtils.addToTable(input, addedRows, added);
+                input.notifyListeners(addedRows, i(), i());
+            });
+
+            final long watermark = input.isEmpty() ? -1 : input.getColumnSource("Timestamp").getLong(
+                    input.getRowSet().lastRowKey());
+            final Table expected = input.updateView("Start = Timestamp - Timestamp % 100")
+                    .where("Start + 100 <= " + watermark)
+                    .aggBy(BARS, "Sym", "Start")
+                    .sort("Start");
+            assertTableEquals(expected, result);
+        }
+    }
+
+    @Test
+    public void testBlinkInstantTumbling() {
+        final Instant base = Instant.parse("2023-06-01T14:30:00Z");
+        final QueryTable blink = TstUtils.testRefreshingTable(i().toTracking(),
+                stringCol("Sym"), instantCol("Timestamp"), doubleCol("Price"), intCol("Size"));
+        blink.setAttribute(Table.BLINK_TABLE_ATTRIBUTE, true);
+        final Table appendOnly = BlinkTableTools.blinkToAppendOnly(blink);
+        final Table result = TimeWindowedAggregation.tumblingAggBy(
+                blink, BARS, "Timestamp", Duration.ofMinutes(1), "Start", "Sym");
+
+        final Random random = new Random(0);
+        final ControlledUpdateGraph updateGraph = ExecutionContext.getContext().getUpdateGraph().cast();
+        long nextSecond = 0;
+        for (int step = 0; step < 30; ++step) {
+            final int size = random.nextInt(10) + 1;
+            final Instant[] timestamps = new Instant[size];
+            final String[] syms = new String[size];
+            final double[] prices = new double[size];
+            final int[] sizes = new int[size];
+            for (int ii = 0; ii < size; ++ii) {
+                nextSecond += random.nextInt(10);
+                timestamps[ii] = base.plusSeconds(nextSecond);
+                syms[ii] = SYMS[random.nextInt(SYMS.length)];
+                prices[ii] = 100 + random.nextInt(1000) / 100.0;
+                sizes[ii] = random.nextInt(100);
+            }
+            updateGraph.runWithinUnitTestCycle(() -> {
+                final RowSet removed = blink.getRowSet().copyPrev();
+                ((WritableRowSet) blink.getRowSet()).clear();
+                final RowSet addedRows = RowSetFactory.flat(size);
+                TstUtils.addToTable(blink, addedRows, stringCol("Sym", syms), instantCol("Timestamp", timestamps),
+                        doubleCol("Price", prices), intCol("Size", sizes));
+                blink.notifyListeners(addedRows, removed, i());
+            });
+
+            final long watermark = DateTimeUtils.epochNanos(timestamps[size - 1]);
+            final Table expected = appendOnly
+                    .updateView("Start = lowerBin(Timestamp, MINUTE)")
+                    .where("epochNanos(Start) + MINUTE <= " + watermark)
+                    .aggBy(BARS, "Sym", "Start")
+                    .sort("Start");
+            assertTableEquals(expected, result);
+        }
+    }
+
+    @Test
+    public void testLateRowsIgnored() {
+        final QueryTable input = TstUtils.testRefreshingTable(i().toTracking(),
+                stringCol("Sym"), longCol("Timestamp"), doubleCol("Price"), intCol("Size"));
+        input.setAttribute(Table.ADD_ONLY_TABLE_ATTRIBUTE, true);
+        final Table result = TimeWindowedAggregation.tumblingAggBy(
+                input, BARS, "Timestamp", Duration.ofNanos(100), "Start", "Sym");
+
+        final ControlledUpdateGraph updateGraph = ExecutionContext.getContext().getUpdateGraph().cast();
+        updateGraph.runWithinUnitTestCycle(() -> {
+            TstUtils.addToTable(input, i(0, 1, 2), stringCol("Sym", "AAPL", "AAPL", "AAPL"),
+                    longCol("Timestamp", 10, 20, 150), doubleCol("Price", 1, 2, 3), intCol("Size", 1, 1, 1));
+            input.notifyListeners(i(0, 1, 2), i(), i());
+        });
+        assertTableEquals(TableTools.newTable(stringCol("Sym", "AAPL"), longCol("Start", 0),
+                doubleCol("Open", 1), doubleCol("High", 2), doubleCol("Low", 1), doubleCol("Close", 2),
+                longCol("Volume", 2), longCol("Trades", 2)), result);
+
+        // the row at 30 belongs to a window that has already been emitted
+        updateGraph.runWithinUnitTestCycle(() -> {
+            TstUtils.addToTable(input, i(3, 4), stringCol("Sym", "AAPL", "AAPL"),
+                    longCol("Timestamp", 30, 210), doubleCol("Price", 4, 5), intCol("Size", 1, 1));
+            input.notifyListeners(i(3, 4), i(), i());
+        });
+        assertTableEquals(TableTools.newTable(stringCol("Sym", "AAPL", "AAPL"), longCol("Start", 0, 100),
+                doubleCol("Open", 1, 3), doubleCol("High", 2, 3), doubleCol("Low", 1, 3), doubleCol("Close", 2, 3),
+                longCol("Volume", 2, 1), longCol("Trades", 2, 1)), result);
+    }
+
+    @Test
+    public void testAppendThenCloseSingleWindow() {
+        final QueryTable input = TstUtils.testRefreshingTable(i().toTracking(),
+                stringCol("Sym"), longCol("Timestamp"), doubleCol("Price"), intCol("Size"));
+        input.setAttribute(Table.ADD_ONLY_TABLE_ATTRIBUTE, true);
+        final Table result = TimeWindowedAggregation.tumblingAggBy(
+                input, BARS, "Timestamp", Duration.ofNanos(100), "Start", "Sym");
+
+        // buffer rows in a single open window, across more than one cycle
+        final ControlledUpdateGraph updateGraph = ExecutionContext.getContext().getUpdateGraph().cast();
+        updateGraph.runWithinUnitTestCycle(() -> {
+            TstUtils.addToTable(input, i(0, 1), stringCol("Sym", "AAPL", "AAPL"),
+                    longCol("Timestamp", 10, 20), doubleCol("Price", 2, 1), intCol("Size", 3, 4));
+            input.notifyListeners(i(0, 1), i(), i());
+        });
+        assertEquals(0, result.size());
+        updateGraph.runWithinUnitTestCycle(() -> {
+            TstUtils.addToTable(input, i(2), stringCol("Sym", "AAPL"),
+                    longCol("Timestamp", 99), doubleCol("Price", 5), intCol("Size", 5));
+            input.notifyListeners(i(2), i(), i());
+        });
+        assertEquals(0, result.size());
+
+        // the first row at or past the window end closes it
+        updateGraph.runWithinUnitTestCycle(() -> {
+            TstUtils.addToTable(input, i(3), stringCol("Sym", "AAPL"),
+                    longCol("Timestamp", 100), doubleCol("Price", 6), intCol("Size", 1));
+            input.notifyListeners(i(3), i(), i());
+        });
+        assertTableEquals(TableTools.newTable(stringCol("Sym", "AAPL"), longCol("Start", 0),
+                doubleCol("Open", 2), doubleCol("High", 5), doubleCol("Low", 1), doubleCol("Close", 5),
+                longCol("Volume", 12), longCol("Trades", 3)), result);
+    }
+
+    @Test
+    public void testRequiresAddOnlyOrBlink() {
+        final QueryTable input = TstUtils.testRefreshingTable(i().toTracking(),
+                stringCol("Sym"), longCol("Timestamp"), doubleCol("Price"), intCol("Size"));
+        assertThrows(IllegalArgumentException.class, () -> TimeWindowedAggregation.tumblingAggBy(
+                input, BARS, "Timestamp", Duration.ofNanos(100), "Start", "Sym"));
+    }
+
+    private static ColumnHolder<?>[] randomTrades(
+            final Random random,
+            final int size,
+            final long firstTimestamp,
+            final long timestampRange) {
+        final String[] syms = new String[size];
+        final long[] timestamps = new long[size];
+        final double[] prices = new double[size];
+        final int[] sizes = new int[size];
+        for (int ii = 0; ii < size; ++ii) {
+            syms[ii] = SYMS[random.nextInt(SYMS.length)];
+            timestamps[ii] = firstTimestamp + (timestampRange * ii) / Math.max(size, 1);
+            prices[ii] = 100 + random.nextInt(1000) / 100.0;
+            sizes[ii] = random.nextInt(100);
+        }
+        return new ColumnHolder<?>[] {stringCol("Sym", syms), longCol("Timestamp", timestamps),
+                doubleCol("Price", prices), intCol("Size", sizes)};
+    }
+}
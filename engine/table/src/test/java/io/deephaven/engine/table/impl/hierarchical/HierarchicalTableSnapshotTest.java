@@ -0,0 +1,323 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.engine.table.impl.hierarchical;
+
+import io.deephaven.api.ColumnName;
+import io.deephaven.chunk.ObjectChunk;
+import io.deephaven.chunk.WritableChunk;
+import io.deephaven.chunk.attributes.Values;
+import io.deephaven.engine.context.ExecutionContext;
+import io.deephaven.engine.rowset.RowSetFactory;
+import io.deephaven.engine.table.ColumnDefinition;
+import io.deephaven.engine.table.Table;
+import io.deephaven.engine.table.hierarchical.HierarchicalTable;
+import io.deephaven.engine.table.hierarchical.RollupTable;
+import io.deephaven.engine.table.hierarchical.TreeTable;
+import io.deephaven.engine.table.impl.QueryTable;
+import io.deephaven.engine.table.impl.chunkboxer.ChunkBoxer;
+import io.deephaven.engine.table.impl.sources.ReinterpretUtils;
+import io.deephaven.engine.testutil.ControlledUpdateGraph;
+import io.deephaven.engine.testutil.junit4.EngineCleanup;
+import io.deephaven.util.SafeCloseable;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static io.deephaven.api.agg.Aggregation.AggCount;
+import static io.deephaven.api.agg.Aggregation.AggSum;
+import static io.deephaven.engine.table.hierarchical.HierarchicalTable.KEY_TABLE_ACTION_EXPAND_ALL;
+import static io.deephaven.engine.testutil.TstUtils.addToTable;
+import static io.deephaven.engine.testutil.TstUtils.i;
+import static io.deephaven.engine.testutil.TstUtils.removeRows;
+import static io.deephaven.engine.testutil.TstUtils.testRefreshingTable;
+import static io.deephaven.engine.util.TableTools.*;
+import static io.deephaven.util.QueryConstants.NULL_INT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that hierarchical table snapshots of viewports that start after expanded nodes, which may skip those nodes
+ * without sorting them and may reuse node table states retained from earlier snapshots, match a snapshot of the whole
+ * expanded table taken with a fresh snapshot state.
+ */
+public class HierarchicalTableSnapshotTest {
+
+    private static final ColumnName ACTION = ColumnName.of("Action");
+    private static final int VIEWPORT_SIZE = 37;
+
+    @Rule
+    public final EngineCleanup base = new EngineCleanup();
+
+    /**
+     * A rollup source with 20 values of Sym, each of which has 53 values of Part.
+     */
+    private static Table makeRollupSource(final int size) {
+        return emptyTable(size).update(
+                "Sym = `S` + (ii % 20)",
+                "Part = (int) (ii % 53)",
+                "Value = (double) (ii * 7919 % 1009)");
+    }
+
+    private static RollupTable makeSortedRollup(final Table source) {
+        final RollupTable rollup = source.rollup(List.of(AggSum("Value"), AggCount("Count")), "Sym", "Part");
+        return rollup.withNodeOperations(
+                rollup.makeNodeOperationsRecorder(RollupTable.NodeType.Aggregated).sortDescending("Value"));
+    }
+
+    private static Table rollupExpandAllKeys(final RollupTable rollup) {
+        return newTable(
+                intCol(rollup.getRowDepthColumn().name(), 1),
+                stringCol("Sym", (String) null),
+                intCol("Part", NULL_INT),
+                byteCol(ACTION.name(), KEY_TABLE_ACTION_EXPAND_ALL));
+    }
+
+    /**
+     * An eight-way tree of {@code size} nodes; the children of node {@code n<k>} are {@code n<8k+1>} through
+     * {@code n<8k+8>}.
+     */
+    private static Table makeTreeSource(final int size) {
+        return emptyTable(size).update(
+                "ID = `n` + ii",
+                "Parent = ii == 0 ? null : `n` + ((ii - 1) / 8)",
+                "Value = (double) (ii * 7919 % 1009)");
+    }
+
+    private static TreeTable makeSortedTree(final Table source) {
+        final TreeTable tree = source.tree("ID", "Parent");
+        return tree.withNodeOperations(tree.makeNodeOperationsRecorder().sortDescending("Value"));
+    }
+
+    private static Table treeExpandAllKeys() {
+        return newTable(stringCol("ID", (String) null), byteCol(ACTION.name(), KEY_TABLE_ACTION_EXPAND_ALL));
+    }
+
+    /**
+     * Snapshot all columns of rows {@code [firstRow, lastRow]}.
+     *
+     * @return The included rows, as lists of boxed values
+     */
+    private static List<List<Object>> snapshot(
+            final HierarchicalTable<?> table,
+            final HierarchicalTable.SnapshotState snapshotState,
+            final Table keyTable,
+            final long firstRow,
+            final long lastRow) {
+        final List<ColumnDefinition<?>> columnDefinitions = table.getAvailableColumnDefinitions();
+        final int capacity = Math.toIntExact(lastRow - firstRow + 1);
+        // noinspection unchecked
+        final WritableChunk<Values>[] destinations = columnDefinitions.stream()
+                .map(cd -> ReinterpretUtils.maybeConvertToPrimitiveChunkType(cd.getDataType())
+                        .makeWritableChunk(capacity))
+                .toArray(WritableChunk[]::new);
+        try {
+            table.snapshot(snapshotState, keyTable, ACTION, null, RowSetFactory.fromRange(firstRow, lastRow),
+                    destinations);
+            final int included = destinations[0].size();
+            final List<List<Object>> rows = new ArrayList<>(included);
+            IntStream.range(0, included).forEach(ri -> rows.add(new ArrayList<>(destinations.length)));
+            for (final WritableChunk<Values> destination : destinations) {
+                try (final ChunkBoxer.BoxerKernel boxer =
+                        ChunkBoxer.getBoxer(destination.getChunkType(), destination.size())) {
+                    final ObjectChunk<?, ? extends Values> boxed = boxer.box(destination);
+                    for (int ri = 0; ri < included; ++ri) {
+                        rows.get(ri).add(boxed.get(ri));
+                    }
+                }
+            }
+            return rows;
+        } finally {
+            SafeCloseable.closeAll(destinations);
+        }
+    }
+
+    private static long expandedSize(final HierarchicalTable<?> table, final Table keyTable) {
+        final HierarchicalTable.SnapshotState snapshotState = table.makeSnapshotState();
+        final List<ColumnDefinition<?>> columnDefinitions = table.getAvailableColumnDefinitions();
+        // noinspection unchecked
+        final WritableChunk<Values>[] destinations = columnDefinitions.stream()
+                .map(cd -> ReinterpretUtils.maybeConvertToPrimitiveChunkType(cd.getDataType()).makeWritableChunk(1))
+                .toArray(WritableChunk[]::new);
+        try {
+            return table.snapshot(snapshotState, keyTable, ACTION, null, RowSetFactory.flat(1), destinations);
+        } finally {
+            SafeCloseable.closeAll(destinations);
+        }
+    }
+
+    private static List<List<Object>> fullSnapshot(final HierarchicalTable<?> table, final Table keyTable) {
+        return snapshot(table, table.makeSnapshotState(), keyTable, 0, expandedSize(table, keyTable) - 1);
+    }
+
+    private static void checkViewport(
+            final List<List<Object>> expected,
+            final HierarchicalTable<?> table,
+            final HierarchicalTable.SnapshotState snapshotState,
+            final Table keyTable,
+            final int firstRow) {
+        final int lastRow = firstRow + VIEWPORT_SIZE - 1;
+        assertEquals("viewport starting at " + firstRow,
+                expected.subList(firstRow, Math.min(lastRow + 1, expected.size())),
+                snapshot(table, snapshotState, keyTable, firstRow, lastRow));
+    }
+
+    /**
+     * Check viewports starting at every multiple of {@code step}, with a fresh snapshot state for each, then with one
+     * state scrolled forwards, and then with the same state scrolled backwards.
+     */
+    private static void checkViewports(final HierarchicalTable<?> table, final Table keyTable, final int step) {
+        final List<List<Object>> expected = fullSnapshot(table, keyTable);
+        assertTrue(expected.size() > 10 * VIEWPORT_SIZE);
+
+        for (int firstRow = 0; firstRow < expected.size(); firstRow += step) {
+            checkViewport(expected, table, table.makeSnapshotState(), keyTable, firstRow);
+        }
+        final HierarchicalTable.SnapshotState scrolled = table.makeSnapshotState();
+        for (int firstRow = 0; firstRow < expected.size(); firstRow += step) {
+            checkViewport(expected, table, scrolled, keyTable, firstRow);
+        }
+        for (int firstRow = expected.size() - 1; firstRow >= 0; firstRow -= step) {
+            checkViewport(expected, table, scrolled, keyTable, firstRow);
+        }
+    }
+
+    @Test
+    public void testSortedRollupViewports() {
+        final RollupTable rollup = makeSortedRollup(makeRollupSource(10_000));
+        checkViewports(rollup, rollupExpandAllKeys(rollup), 29);
+    }
+
+    @Test
+    public void testUnsortedRollupViewports() {
+        final RollupTable rollup = makeRollupSource(10_000).rollup(List.of(AggSum("Value")), "Sym", "Part");
+        checkViewports(rollup, rollupExpandAllKeys(rollup), 41);
+    }
+
+    @Test
+    public void testSortedTreeViewports() {
+        final TreeTable tree = makeSortedTree(makeTreeSource(3_000));
+        checkViewports(tree, treeExpandAllKeys(), 23);
+    }
+
+    @Test
+    public void testNodesBeforeViewportAreNotSorted() {
+        final RollupTable rollup = makeSortedRollup(makeRollupSource(10_000));
+        final Table keyTable = rollupExpandAllKeys(rollup);
+        final long expandedSize = expandedSize(rollup, keyTable);
+
+        // the root, the top-level aggregate, and one node per Sym are expanded, and all of them are sorted when the
+        // viewport starts at the first row
+        final HierarchicalTableImpl<?, ?>.SnapshotStateImpl fromStart =
+                (HierarchicalTableImpl<?, ?>.SnapshotStateImpl) rollup.makeSnapshotState();
+        snapshot(rollup, fromStart, keyTable, 0, expandedSize - 1);
+        assertEquals(22, fromStart.numRetainedNodeTableStates());
+        assertEquals(22, fromStart.numSortedNodeTableStates());
+
+        // with the viewport inside the last Sym, only it and its ancestors need to be sorted
+        final HierarchicalTableImpl<?, ?>.SnapshotStateImpl atEnd =
+                (HierarchicalTableImpl<?, ?>.SnapshotStateImpl) rollup.makeSnapshotState();
+        checkViewport(fullSnapshot(rollup, keyTable), rollup, atEnd, keyTable,
+                (int) expandedSize - VIEWPORT_SIZE);
+        assertEquals(22, atEnd.numRetainedNodeTableStates());
+        assertEquals(3, atEnd.numSortedNodeTableStates());
+    }
+
+    @Test
+    public void testUnvisitedNodeEviction() {
+        final int oldCacheSize = HierarchicalTableImpl.unvisitedNodeTableCacheSize;
+        try {
+            final TreeTable tree = makeSortedTree(makeTreeSource(3_000));
+            final Table keyTable = treeExpandAllKeys();
+            final List<List<Object>> expected = fullSnapshot(tree, keyTable);
+
+            HierarchicalTableImpl.unvisitedNodeTableCacheSize = 2;
+            final HierarchicalTableImpl<?, ?>.SnapshotStateImpl snapshotState =
+                    (HierarchicalTableImpl<?, ?>.SnapshotStateImpl) tree.makeSnapshotState();
+            snapshot(tree, snapshotState, keyTable, 0, expected.size() - 1);
+            final int numExpandedNodes = snapshotState.numRetainedNodeTableStates();
+
+            // a viewport at the start visits few nodes, and all but two of the others are released
+            checkViewport(expected, tree, snapshotState, keyTable, 0);
+            final int numRetained = snapshotState.numRetainedNodeTableStates();
+            assertTrue(numRetained < numExpandedNodes / 2);
+
+            // evicted nodes are recreated, and retained nodes reused, as we scroll back and forth
+            for (int firstRow = expected.size() - 1; firstRow >= 0; firstRow -= 97) {
+                checkViewport(expected, tree, snapshotState, keyTable, firstRow);
+            }
+            for (int firstRow = 0; firstRow < expected.size(); firstRow += 97) {
+                checkViewport(expected, tree, snapshotState, keyTable, firstRow);
+            }
+            checkViewport(expected, tree, snapshotState, keyTable, 0);
+            assertEquals(numRetained, snapshotState.numRetainedNodeTableStates());
+
+            // nothing is evicted once we have room for every node
+            HierarchicalTableImpl.unvisitedNodeTableCacheSize = numExpandedNodes;
+            snapshot(tree, snapshotState, keyTable, 0, expected.size() - 1);
+            checkViewport(expected, tree, snapshotState, keyTable, 0);
+            assertEquals(numExpandedNodes, snapshotState.numRetainedNodeTableStates());
+        } finally {
+            HierarchicalTableImpl.unvisitedNodeTableCacheSize = oldCacheSize;
+        }
+    }
+
+    @Test
+    public void testCachedNodeBaseReplaced() {
+        final int size = 3_000;
+        final String[] ids = IntStream.range(0, size).mapToObj(ii -> "n" + ii).toArray(String[]::new);
+        final String[] parents =
+                IntStream.range(0, size).mapToObj(ii -> ii == 0 ? null : "n" + ((ii - 1) / 8)).toArray(String[]::new);
+        final double[] values = IntStream.range(0, size).mapToDouble(ii -> ii * 7919 % 1009).toArray();
+        final QueryTable source = testRefreshingTable(RowSetFactory.flat(size).toTracking(),
+                stringCol("ID", ids), stringCol("Parent", parents), doubleCol("Value", values));
+        final TreeTable tree = makeSortedTree(source);
+        final Table keyTable = treeExpandAllKeys();
+
+        // retain every node, so that the nodes we replace are cached when we next snapshot
+        final HierarchicalTable.SnapshotState snapshotState = tree.makeSnapshotState();
+        final int viewportStart = 2_000;
+        checkViewport(fullSnapshot(tree, keyTable), tree, snapshotState, keyTable, viewportStart);
+        snapshot(tree, snapshotState, keyTable, 0, expandedSize(tree, keyTable) - 1);
+
+        // n300 has leaf children n2401 through n2408; removing them all removes the node
+        final ControlledUpdateGraph updateGraph = ExecutionContext.getContext().getUpdateGraph().cast();
+        updateGraph.runWithinUnitTestCycle(() -> {
+            removeRows(source, RowSetFactory.fromRange(2401, 2408));
+            source.notifyListeners(i(), RowSetFactory.fromRange(2401, 2408), i());
+        });
+        checkViewport(fullSnapshot(tree, keyTable), tree, snapshotState, keyTable, 0);
+        checkViewport(fullSnapshot(tree, keyTable), tree, snapshotState, keyTable, viewportStart);
+
+        // re-adding them makes a new node, with a new base table, for the same node key
+        updateGraph.runWithinUnitTestCycle(() -> {
+            addToTable(source, RowSetFactory.fromRange(2401, 2408),
+                    stringCol("ID", "n2401", "n2402", "n2403", "n2404", "n2405", "n2406", "n2407", "n2408"),
+                    stringCol("Parent", "n300", "n300", "n300", "n300", "n300", "n300", "n300", "n300"),
+                    doubleCol("Value", 8, 7, 6, 5, 4, 3, 2, 1));
+            source.notifyListeners(RowSetFactory.fromRange(2401, 2408), i(), i());
+        });
+        checkViewport(fullSnapshot(tree, keyTable), tree, snapshotState, keyTable, viewportStart);
+        checkViewport(fullSnapshot(tree, keyTable), tree, snapshotState, keyTable, 0);
+        final List<List<Object>> expected = fullSnapshot(tree, keyTable);
+        for (int firstRow = 0; firstRow < expected.size(); firstRow += 211) {
+            checkViewport(expected, tree, snapshotState, keyTable, firstRow);
+        }
+
+        // moving a node's children to another parent replaces both nodes
+        updateGraph.runWithinUnitTestCycle(() -> {
+            addToTable(source, RowSetFactory.fromRange(2401, 2404),
+                    stringCol("ID", "n2401", "n2402", "n2403", "n2404"),
+                    stringCol("Parent", "n299", "n299", "n299", "n299"),
+                    doubleCol("Value", 8, 7, 6, 5));
+            source.notifyListeners(i(), i(), RowSetFactory.fromRange(2401, 2404));
+        });
+        final List<List<Object>> moved = fullSnapshot(tree, keyTable);
+        for (int firstRow = 0; firstRow < moved.size(); firstRow += 211) {
+            checkViewport(moved, tree, snapshotState, keyTable, firstRow);
+        }
+    }
+}
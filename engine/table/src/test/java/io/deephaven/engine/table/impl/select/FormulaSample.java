@@ -164,26 +164,24 @@ public class FormulaSample extends io.deephaven.engine.table.impl.select.Formula
             inverted.forAllRowKeys(l -> __context.__iChunk.add(__intSize(l)));
             inverted.fillRowKeyChunk(__context.__iiChunk);
         }
-        final int[] __chunkPosHolder = new int[] {0};
+        final int __size = __rowSequence.intSize();
         if (__lazyResultCache != null) {
-            __rowSequence.forAllRowKeys(k -> {
-                final int __chunkPos = __chunkPosHolder[0]++;
+            for (int __pos = 0; __pos < __size; ++__pos) {
+                final int __chunkPos = __pos;
                 final int i = __context.__iChunk.get(__chunkPos);
                 final long ii = __context.__iiChunk.get(__chunkPos);
                 final Object __lazyKey = io.deephaven.engine.util.caching.C14nUtil.maybeMakeCompoundKey(i, ii, __chunk__col__II.get(__chunkPos), __chunk__col__I.get(__chunkPos));
                 __typedDestination.set(__chunkPos, (long)__lazyResultCache.computeIfAbsent(__lazyKey, __unusedKey -> applyFormulaPerItem(i, ii, __chunk__col__II.get(__chunkPos), __chunk__col__I.get(__chunkPos))));
             }
-            );
         } else {
-            __rowSequence.forAllRowKeys(k -> {
-                final int __chunkPos = __chunkPosHolder[0]++;
+            for (int __pos = 0; __pos < __size; ++__pos) {
+                final int __chunkPos = __pos;
                 final int i = __context.__iChunk.get(__chunkPos);
                 final long ii = __context.__iiChunk.get(__chunkPos);
                 __typedDestination.set(__chunkPos, applyFormulaPerItem(i, ii, __chunk__col__II.get(__chunkPos), __chunk__col__I.get(__chunkPos)));
             }
-            );
         }
-        __typedDestination.setSize(__chunkPosHolder[0]);
+        __typedDestination.setSize(__size);
     }
 
     private long applyFormulaPerItem(int i, long ii, long II, int I) {
@@ -12,6 +12,7 @@ import io.deephaven.engine.testutil.junit4.EngineCleanup;
 import io.deephaven.util.SafeCloseable;
 import org.jetbrains.annotations.NotNull;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -64,6 +65,56 @@ public class TestFormulaColumnGeneration {
         new ModelFileGenerator(FormulaKernelSample.class).validateFile(fc.generateKernelClassBody());
     }
 
+    @Test
+    public void testChunkOperatorGeneration() {
+        final Table table = TableTools.newTable(
+                TableTools.intCol("A", 1, 2),
+                TableTools.longCol("B", 3L, 4L),
+                TableTools.doubleCol("X", 5.0, 6.0),
+                TableTools.shortCol("S", (short) 7, (short) 8));
+
+        // a single arithmetic operator over primitive columns and literals fills the chunk with one call
+        assertChunkOperator(table, "A + B", "plusChunk(");
+        assertChunkOperator(table, "3 - X", "minusChunk(");
+        assertChunkOperator(table, "A * 2", "multiplyChunk(");
+        assertChunkOperator(table, "A / 2", "divideChunk(");
+        assertChunkOperator(table, "A % 3", "remainderChunk(");
+        assertChunkOperator(table, "X + 1.5f", "plusChunk(");
+
+        // anything else is evaluated row by row
+        assertNoChunkOperator(table, "1 + 2");
+        assertNoChunkOperator(table, "A + i");
+        assertNoChunkOperator(table, "B * ii");
+        assertNoChunkOperator(table, "S + 1");
+        assertNoChunkOperator(table, "A + B + 1");
+    }
+
+    private static String generateClassBody(@NotNull final Table table, @NotNull final String formula) {
+        final DhFormulaColumn fc = (DhFormulaColumn) FormulaColumn.createFormulaColumn("Value", formula);
+        fc.initInputs(table.getRowSet(), table.getColumnSourceMap());
+        return fc.generateClassBody();
+    }
+
+    private static final String PER_ROW_CALL = "__typedDestination.set(__chunkPos, applyFormulaPerItem(";
+
+    private static void assertChunkOperator(
+            @NotNull final Table table,
+            @NotNull final String formula,
+            @NotNull final String chunkOperator) {
+        final String classBody = generateClassBody(table, formula);
+        Assert.assertTrue(formula + " should use " + chunkOperator, classBody.contains(chunkOperator));
+        Assert.assertFalse(formula + " should not be evaluated per row", classBody.contains(PER_ROW_CALL));
+    }
+
+    private static void assertNoChunkOperator(@NotNull final Table table, @NotNull final String formula) {
+        final String classBody = generateClassBody(table, formula);
+        Assert.assertTrue(formula + " should be evaluated per row", classBody.contains(PER_ROW_CALL));
+        for (final String operator : new String[] {"plus", "minus", "multiply", "divide", "remainder"}) {
+            Assert.assertFalse(formula + " should not use " + operator + "Chunk",
+                    classBody.contains(operator + "Chunk("));
+        }
+    }
+
     @NotNull
     private static FormulaColumn getFormulaColumn() {
         QueryScope.addParam("q", 7);
@@ -9,6 +9,7 @@ import io.deephaven.engine.context.QueryScope;
 import io.deephaven.engine.table.impl.DataAccessHelpers;
 import io.deephaven.engine.testutil.testcase.RefreshingTableTestCase;
 import io.deephaven.time.DateTimeUtils;
+import io.deephaven.util.QueryConstants;
 import io.deephaven.engine.util.TableTools;
 import io.deephaven.engine.testutil.TstUtils;
 import io.deephaven.engine.rowset.RowSet;
@@ -505,4 +506,68 @@ public class WhereFilterFactoryTest extends RefreshingTableTestCase {
         result = f.filter(t.getRowSet().copy(), t.getRowSet(), t, false);
         assertEquals(RowSetFactory.fromKeys(1, 3, 5, 12), result);
     }
+
+    public void testNormalizeConditions() {
+        final Table t = TableTools.newTable(
+                TableTools.intCol("X", 0, 3, 5, 7, 9, 10, 12, QueryConstants.NULL_INT),
+                TableTools.stringCol("Sym", "A", "B", "C", "A", "B", "C", "A", null),
+                TableTools.doubleCol("D", 0.5, -1.5, 2.5, 3.5, -4.5, 5.5, 6.5, 7.5));
+
+        WhereFilter f = WhereFilterFactory.getExpression("X >= 5 && X < 10");
+        assertEquals(ConjunctiveFilter.class, f.getClass());
+        assertEquals(RangeConditionFilter.class, ((ConjunctiveFilter) f).getFilters().get(0).getClass());
+        assertEquals(RangeConditionFilter.class, ((ConjunctiveFilter) f).getFilters().get(1).getClass());
+
+        f = WhereFilterFactory.getExpression("Sym == `A` || Sym = \"B\"");
+        assertEquals(MatchFilter.class, f.getClass());
+        f.init(t.getDefinition());
+        assertEquals(Arrays.asList("A", "B"), Arrays.asList(((MatchFilter) f).getValues()));
+
+        f = WhereFilterFactory.getExpression("Sym != `A` && Sym != `B`");
+        assertEquals(MatchFilter.class, f.getClass());
+        assertTrue(((MatchFilter) f).getInvertMatch());
+
+        assertEquals(RangeConditionFilter.class, WhereFilterFactory.getExpression("5 < X").getClass());
+        assertEquals(RangeConditionFilter.class, WhereFilterFactory.getExpression("X > 2 * 3 - 1").getClass());
+        assertEquals(WhereNoneFilter.class, WhereFilterFactory.getExpression("X > 5 && false").getClass());
+
+        // equality matches are evaluated first, and what cannot be made native is left to a single condition last
+        f = WhereFilterFactory.getExpression("X > 1 && Sym.startsWith(`A`) && Sym == `A` && X * 2 < 20");
+        assertEquals(ConjunctiveFilter.class, f.getClass());
+        final List<WhereFilter> components = ((ConjunctiveFilter) f).getFilters();
+        assertEquals(3, components.size());
+        assertEquals(MatchFilter.class, components.get(0).getClass());
+        assertEquals(RangeConditionFilter.class, components.get(1).getClass());
+        assertEquals(ConditionFilter.class, components.get(2).getClass());
+
+        // row variables, column arrays and other parsers are always compiled as written
+        assertEquals(ConditionFilter.class, WhereFilterFactory.getExpression("X > 5 && i > 2").getClass());
+        assertEquals(ConditionFilter.class, WhereFilterFactory.getExpression("X > 5 && X_.size() > 2").getClass());
+        assertEquals(ConditionFilter.class, WhereFilterFactory.getExpression("X > 5 && X_[i - 1] > 2").getClass());
+        assertEquals(ConditionFilter.class, WhereFilterFactory.getExpression("X > Sym.length()").getClass());
+
+        final String[] conditions = new String[] {
+                "X >= 5 && X < 10",
+                "Sym == `A` || Sym == `B`",
+                "Sym != `A` && Sym != `B`",
+                "(X > 2 && Sym == `A`) || X == 5",
+                "10 > X && true",
+                "X > 1 + 2 * 2 || false",
+                "X == -(3) || D < -1.5",
+                "Sym == `C` || Sym.startsWith(`B`)",
+                "X > 1 && Sym.startsWith(`A`) && Sym == `A` && X * 2 < 20",
+                "X < 5 && false",
+        };
+        for (final String condition : conditions) {
+            final WhereFilter normalized = WhereFilterFactory.getExpression(condition);
+            assertFalse(condition, normalized instanceof ConditionFilter);
+            final WhereFilter compiled = ConditionFilter.createConditionFilter(condition);
+            normalized.init(t.getDefinition());
+            compiled.init(t.getDefinition());
+            try (final RowSet expected = compiled.filter(t.getRowSet().copy(), t.getRowSet(), t, false);
+                    final RowSet actual = normalized.filter(t.getRowSet().copy(), t.getRowSet(), t, false)) {
+                assertEquals(condition, expected, actual);
+            }
+        }
+    }
 }
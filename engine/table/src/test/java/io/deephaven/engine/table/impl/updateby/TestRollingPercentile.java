@@ -0,0 +1,256 @@
+package io.deephaven.engine.table.impl.updateby;
+
+import io.deephaven.api.agg.Aggregation;
+import io.deephaven.api.updateby.UpdateByOperation;
+import io.deephaven.engine.context.ExecutionContext;
+import io.deephaven.engine.table.Table;
+import io.deephaven.engine.table.impl.QueryTable;
+import io.deephaven.engine.testutil.ControlledUpdateGraph;
+import io.deephaven.engine.testutil.EvalNugget;
+import io.deephaven.engine.testutil.GenerateTableUpdates;
+import io.deephaven.engine.testutil.TstUtils;
+import io.deephaven.engine.testutil.generator.CharGenerator;
+import io.deephaven.engine.testutil.generator.SortedInstantGenerator;
+import io.deephaven.engine.testutil.generator.TestDataGenerator;
+import io.deephaven.engine.util.TableDiff;
+import io.deephaven.test.types.OutOfBandTest;
+import io.deephaven.time.DateTimeUtils;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.Duration;
+import java.util.Random;
+
+@Category(OutOfBandTest.class)
+public class TestRollingPercentile extends BaseUpdateByTest {
+    final String[] columns = new String[] {
+            "charCol",
+            "byteCol",
+            "shortCol",
+            "intCol",
+            "longCol",
+            "floatCol",
+            "doubleCol",
+            "bigIntCol",
+            "bigDecimalCol",
+    };
+
+    final int STATIC_TABLE_SIZE = 10_000;
+    final int DYNAMIC_TABLE_SIZE = 1_000;
+    final int DYNAMIC_UPDATE_SIZE = 100;
+    final int DYNAMIC_UPDATE_STEPS = 20;
+
+    /**
+     * Compute the expected result of a rolling percentile by materializing each row's window with RollingGroup, and
+     * then computing the percentile of each window with the equivalent aggregation.
+     */
+    private Table expected(final Table t, final UpdateByOperation group, final Aggregation agg,
+            final String... byColumns) {
+        final Table withRow = t.update("Row=ii");
+        final String[] viewColumns = new String[columns.length + 1];
+        viewColumns[0] = "Row";
+        System.arraycopy(columns, 0, viewColumns, 1, columns.length);
+        final Table windows = withRow.updateBy(group, byColumns).view(viewColumns).ungroup(columns);
+        // empty windows have no rows after the ungroup, so the natural join leaves them null
+        return withRow.view("Row")
+                .naturalJoin(windows.aggBy(agg, "Row"), "Row", String.join(",", columns))
+                .view(columns);
+    }
+
+    private void verify(final Table expected, final Table actual) {
+        TstUtils.assertTableEquals(expected, actual.view(columns), TableDiff.DiffItems.DoublesExact);
+    }
+
+    // region Static Zero Key Tests
+
+    @Test
+    public void testStaticZeroKeyRev() {
+        doTestStaticZeroKey(100, 0);
+    }
+
+    @Test
+    public void testStaticZeroKeyRevExclusive() {
+        doTestStaticZeroKey(100, -50);
+    }
+
+    @Test
+    public void testStaticZeroKeyFwdExclusive() {
+        doTestStaticZeroKey(-50, 100);
+    }
+
+    @Test
+    public void testStaticZeroKeyFwdRevWindow() {
+        doTestStaticZeroKey(50, 50);
+    }
+
+    @Test
+    public void testStaticZeroKeyTimedRev() {
+        doTestStaticZeroKeyTimed(Duration.ofMinutes(10), Duration.ofMinutes(0));
+    }
+
+    @Test
+    public void testStaticZeroKeyTimedFwdExclusive() {
+        doTestStaticZeroKeyTimed(Duration.ofMinutes(-5), Duration.ofMinutes(10));
+    }
+
+    private void doTestStaticZeroKey(final int prevTicks, final int postTicks) {
+        final QueryTable t = createTestTable(STATIC_TABLE_SIZE, false, false, false, 0x31313131,
+                new String[] {"charCol"},
+                new TestDataGenerator[] {new CharGenerator('A', 'z', 0.1)}).t;
+
+        final UpdateByOperation group = UpdateByOperation.RollingGroup(prevTicks, postTicks, columns);
+
+        verify(expected(t, group, Aggregation.AggMed(columns)),
+                t.updateBy(UpdateByOperation.RollingMedian(prevTicks, postTicks, columns)));
+        verify(expected(t, group, Aggregation.AggPct(0.25, columns)),
+                t.updateBy(UpdateByOperation.RollingPercentile(0.25, prevTicks, postTicks, columns)));
+        verify(expected(t, group, Aggregation.AggPct(0.9, columns)),
+                t.updateBy(UpdateByOperation.RollingPercentile(0.9, prevTicks, postTicks, columns)));
+    }
+
+    private void doTestStaticZeroKeyTimed(final Duration prevTime, final Duration postTime) {
+        final QueryTable t = createTestTable(STATIC_TABLE_SIZE, false, false, false, 0xFFFABBBC,
+                new String[] {"ts", "charCol"}, new TestDataGenerator[] {new SortedInstantGenerator(
+                        DateTimeUtils.parseInstant("2022-03-09T09:00:00.000 NY"),
+                        DateTimeUtils.parseInstant("2022-03-09T16:30:00.000 NY")),
+                        new CharGenerator('A', 'z', 0.1)}).t;
+
+        final UpdateByOperation group = UpdateByOperation.RollingGroup("ts", prevTime, postTime, columns);
+
+        verify(expected(t, group, Aggregation.AggMed(columns)),
+                t.updateBy(UpdateByOperation.RollingMedian("ts", prevTime, postTime, columns)));
+        verify(expected(t, group, Aggregation.AggPct(0.75, columns)),
+                t.updateBy(UpdateByOperation.RollingPercentile(0.75, "ts", prevTime, postTime, columns)));
+    }
+
+    // endregion
+
+    // region Static Bucketed Tests
+
+    @Test
+    public void testStaticBucketedRev() {
+        doTestStaticBucketed(false, 100, 0);
+    }
+
+    @Test
+    public void testStaticGroupedBucketedFwdRev() {
+        doTestStaticBucketed(true, 50, 50);
+    }
+
+    @Test
+    public void testStaticBucketedTimedRevExclusive() {
+        doTestStaticBucketedTimed(Duration.ofMinutes(10), Duration.ofMinutes(-5));
+    }
+
+    @Test
+    public void testStaticBucketedTimedFwdRev() {
+        doTestStaticBucketedTimed(Duration.ofMinutes(5), Duration.ofMinutes(5));
+    }
+
+    private void doTestStaticBucketed(final boolean grouped, final int prevTicks, final int postTicks) {
+        final QueryTable t = createTestTable(STATIC_TABLE_SIZE, true, grouped, false, 0x31313131,
+                new String[] {"charCol"},
+                new TestDataGenerator[] {new CharGenerator('A', 'z', 0.1)}).t;
+
+        final UpdateByOperation group = UpdateByOperation.RollingGroup(prevTicks, postTicks, columns);
+
+        verify(expected(t, group, Aggregation.AggMed(columns), "Sym"),
+                t.updateBy(UpdateByOperation.RollingMedian(prevTicks, postTicks, columns), "Sym"));
+        verify(expected(t, group, Aggregation.AggPct(0.1, columns), "Sym"),
+                t.updateBy(UpdateByOperation.RollingPercentile(0.1, prevTicks, postTicks, columns), "Sym"));
+    }
+
+    private void doTestStaticBucketedTimed(final Duration prevTime, final Duration postTime) {
+        final QueryTable t = createTestTable(STATIC_TABLE_SIZE, true, false, false, 0xFFFABBBC,
+                new String[] {"ts", "charCol"}, new TestDataGenerator[] {new SortedInstantGenerator(
+                        DateTimeUtils.parseInstant("2022-03-09T09:00:00.000 NY"),
+                        DateTimeUtils.parseInstant("2022-03-09T16:30:00.000 NY")),
+                        new CharGenerator('A', 'z', 0.1)}).t;
+
+        final UpdateByOperation group = UpdateByOperation.RollingGroup("ts", prevTime, postTime, columns);
+
+        verify(expected(t, group, Aggregation.AggMed(columns), "Sym"),
+                t.updateBy(UpdateByOperation.RollingMedian("ts", prevTime, postTime, columns), "Sym"));
+        verify(expected(t, group, Aggregation.AggPct(0.6, columns), "Sym"),
+                t.updateBy(UpdateByOperation.RollingPercentile(0.6, "ts", prevTime, postTime, columns), "Sym"));
+    }
+
+    // endregion
+
+    // region General Ticking Tests
+
+    @Test
+    public void testZeroKeyGeneralTickingRev() {
+        doTestTicking(false, 100, 0);
+    }
+
+    @Test
+    public void testBucketedGeneralTickingRevExclusive() {
+        doTestTicking(true, 100, -50);
+    }
+
+    @Test
+    public void testBucketedGeneralTickingFwdRev() {
+        doTestTicking(true, 50, 50);
+    }
+
+    @Test
+    public void testBucketedGeneralTickingTimedRev() {
+        doTestTickingTimed(true, Duration.ofMinutes(10), Duration.ofMinutes(0));
+    }
+
+    @Test
+    public void testBucketedGeneralTickingTimedFwdExclusive() {
+        doTestTickingTimed(true, Duration.ofMinutes(-5), Duration.ofMinutes(10));
+    }
+
+    private void doTestTicking(final boolean bucketed, final long prevTicks, final long fwdTicks) {
+        final CreateResult result = createTestTable(DYNAMIC_TABLE_SIZE, bucketed, false, true, 0x31313131,
+                new String[] {"charCol"},
+                new TestDataGenerator[] {new CharGenerator('A', 'z', 0.1)});
+        final QueryTable t = result.t;
+
+        final EvalNugget[] nuggets = new EvalNugget[] {
+                EvalNugget.from(() -> bucketed ? t.updateBy(
+                        UpdateByOperation.RollingMedian(prevTicks, fwdTicks, columns), "Sym")
+                        : t.updateBy(UpdateByOperation.RollingMedian(prevTicks, fwdTicks, columns))),
+                EvalNugget.from(() -> bucketed ? t.updateBy(
+                        UpdateByOperation.RollingPercentile(0.3, prevTicks, fwdTicks, columns), "Sym")
+                        : t.updateBy(UpdateByOperation.RollingPercentile(0.3, prevTicks, fwdTicks, columns)))
+        };
+
+        final Random billy = new Random(0xB177B177);
+        for (int ii = 0; ii < DYNAMIC_UPDATE_STEPS; ii++) {
+            ExecutionContext.getContext().getUpdateGraph().<ControlledUpdateGraph>cast().runWithinUnitTestCycle(
+                    () -> GenerateTableUpdates.generateTableUpdates(DYNAMIC_UPDATE_SIZE, billy, t, result.infos));
+            TstUtils.validate("Table - step " + ii, nuggets);
+        }
+    }
+
+    private void doTestTickingTimed(final boolean bucketed, final Duration prevTime, final Duration postTime) {
+        final CreateResult result = createTestTable(DYNAMIC_TABLE_SIZE, bucketed, false, true, 0x31313131,
+                new String[] {"ts", "charCol"}, new TestDataGenerator[] {new SortedInstantGenerator(
+                        DateTimeUtils.parseInstant("2022-03-09T09:00:00.000 NY"),
+                        DateTimeUtils.parseInstant("2022-03-09T16:30:00.000 NY")),
+                        new CharGenerator('A', 'z', 0.1)});
+        final QueryTable t = result.t;
+
+        final EvalNugget[] nuggets = new EvalNugget[] {
+                EvalNugget.from(() -> bucketed ? t.updateBy(
+                        UpdateByOperation.RollingMedian("ts", prevTime, postTime, columns), "Sym")
+                        : t.updateBy(UpdateByOperation.RollingMedian("ts", prevTime, postTime, columns))),
+                EvalNugget.from(() -> bucketed ? t.updateBy(
+                        UpdateByOperation.RollingPercentile(0.8, "ts", prevTime, postTime, columns), "Sym")
+                        : t.updateBy(UpdateByOperation.RollingPercentile(0.8, "ts", prevTime, postTime, columns)))
+        };
+
+        final Random billy = new Random(0xB177B177);
+        for (int ii = 0; ii < DYNAMIC_UPDATE_STEPS; ii++) {
+            ExecutionContext.getContext().getUpdateGraph().<ControlledUpdateGraph>cast().runWithinUnitTestCycle(
+                    () -> GenerateTableUpdates.generateTableUpdates(DYNAMIC_UPDATE_SIZE, billy, t, result.infos));
+            TstUtils.validate("Table - step " + ii, nuggets);
+        }
+    }
+
+    // endregion
+}
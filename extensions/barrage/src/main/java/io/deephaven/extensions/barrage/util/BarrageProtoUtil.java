@@ -26,6 +26,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 public class BarrageProtoUtil {
     public static final BarrageSubscriptionOptions DEFAULT_SER_OPTIONS =
@@ -65,6 +66,30 @@ public class BarrageProtoUtil {
         }
     }
 
+    /**
+     * Serialize a RowSet with the portable, container-native format of
+     * {@link ExternalizableRowSetUtils#writePortable(ByteBuffer, RowSet)}. This is cheaper to produce and consume than
+     * {@link #toByteBuffer(RowSet)} for large, dense RowSets; note that the Barrage wire protocol still uses the
+     * compressed delta encoding, so this is only suitable between peers that agree on it (e.g. for persisted or
+     * cached subscription state).
+     *
+     * @param rowSet the RowSet to serialize
+     * @return a little-endian buffer holding the serialized RowSet
+     */
+    public static ByteBuffer toPortableByteBuffer(final RowSet rowSet) {
+        return ExternalizableRowSetUtils.toPortableByteBuffer(rowSet);
+    }
+
+    /**
+     * Deserialize a RowSet written by {@link #toPortableByteBuffer(RowSet)}.
+     *
+     * @param buffer the little-endian buffer holding the serialized RowSet
+     * @return the deserialized RowSet
+     */
+    public static RowSet portableToRowSet(final ByteBuffer buffer) {
+        return ExternalizableRowSetUtils.readPortable(buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN));
+    }
+
     public static class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
         public byte[] peekBuffer() {
             return buf;
@@ -105,6 +105,10 @@ public class TypeInfos {
 
         // Impute an appropriate codec for the data type
         final Class<?> dataType = columnDefinition.getDataType();
+        final String specializedCodecName = CodecLookup.getSpecializedDefaultCodecName(dataType);
+        if (specializedCodecName != null) {
+            return new ImmutablePair<>(specializedCodecName, null);
+        }
         if (Externalizable.class.isAssignableFrom(dataType)) {
             return new ImmutablePair<>(ExternalizableCodec.class.getName(), dataType.getName());
         }
@@ -57,6 +57,11 @@ class AggSpecBuilder implements io.deephaven.api.agg.spec.AggSpec.Visitor {
         out = spec(Builder::setAbsSum, AggSpecAbsSum.newBuilder());
     }
 
+    @Override
+    public void visit(io.deephaven.api.agg.spec.AggSpecApproximateCountDistinct approxCountDistinct) {
+        throw new UnsupportedOperationException("AggSpecApproximateCountDistinct is not yet part of the gRPC protocol");
+    }
+
     @Override
     public void visit(io.deephaven.api.agg.spec.AggSpecApproximatePercentile approxPct) {
         final AggSpecApproximatePercentile.Builder builder = AggSpecApproximatePercentile.newBuilder()
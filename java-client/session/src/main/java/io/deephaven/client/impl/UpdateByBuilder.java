@@ -301,6 +301,11 @@ class UpdateByBuilder {
                     .setRollingWavg(builder.build())
                     .build();
         }
+
+        @Override
+        public UpdateByColumn.UpdateBySpec visit(RollingPercentileSpec rs) {
+            throw new UnsupportedOperationException("RollingPercentileSpec is not yet part of the gRPC protocol");
+        }
     }
 
     static UpdateByColumn.UpdateBySpec adapt(UpdateBySpec spec) {
@@ -16,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class UpdateBySpecBuilderTest {
 
@@ -299,6 +300,12 @@ public class UpdateBySpecBuilderTest {
                                     .build())
                     .build();
         }
+
+        @Override
+        public UpdateByColumn.UpdateBySpec visit(RollingPercentileSpec spec) {
+            // not yet part of the gRPC protocol, see rollingPercentile()
+            throw new UnsupportedOperationException();
+        }
     }
 
     @Test
@@ -613,6 +620,12 @@ public class UpdateBySpecBuilderTest {
                         .build());
     }
 
+    @Test
+    void rollingPercentile() {
+        assertThatThrownBy(() -> UpdateByBuilder.adapt(RollingPercentileSpec.ofTicks(0.5, true, 42L, 43L)))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
     private static void check(UpdateBySpec spec) {
         check(spec, spec.walk(ExpectedSpecVisitor.INSTANCE));
     }
@@ -9,6 +9,7 @@ import re
 import sys
 from dataclasses import dataclass, field
 from functools import wraps
+from itertools import islice
 from typing import Callable, List, Any, Union, Tuple, _GenericAlias
 
 import numba
@@ -29,6 +30,10 @@ vectorized_count = 0
 
 _SUPPORTED_NP_TYPE_CODES = {"b", "h", "H", "i", "l", "f", "d", "?", "U", "M", "O"}
 
+# the element types of the chunk arguments of a vectorized function that are read through numpy; chars are left to JPY,
+# which converts them itself
+_NUMERIC_CHUNK_TYPE_CODES = {"b", "h", "i", "l", "f", "d"}
+
 
 @dataclass
 class _ParsedParamAnnotation:
@@ -395,6 +400,18 @@ def _py_udf(fn: Callable):
     return wrapper
 
 
+def _chunk_arg_values(arg: Any, chunk_size: int) -> Any:
+    """Returns the values of a chunk argument of a vectorized function. The numeric primitive Java arrays which carry
+    column chunks are read in one pass through a zero-copy numpy view, instead of one element at a time through JPY,
+    and yield the same Python ints and floats. Any other argument is returned as is.
+
+    The arrays are sized for the largest chunk, so only the first chunk_size values belong to the current chunk."""
+    np_dtype = _J_ARRAY_NP_TYPE_MAP.get(type(arg))
+    if np_dtype is not None and np_dtype.char in _NUMERIC_CHUNK_TYPE_CODES:
+        return np.frombuffer(arg, np_dtype, count=chunk_size).tolist()
+    return arg
+
+
 def _dh_vectorize(fn):
     """A decorator to vectorize a Python function used in Deephaven query formulas and invoked on a row basis.
 
@@ -413,6 +430,12 @@ def _dh_vectorize(fn):
     p_sig = _parse_signature(fn)
     return_array = p_sig.ret_annotation.has_array
     ret_dtype = dtypes.from_np_dtype(np.dtype(p_sig.ret_annotation.encoded_type[-1]))
+    primitive_result = not return_array and ret_dtype.is_primitive and ret_dtype != dtypes.char
+
+    def to_result(ret):
+        if return_array:
+            return dtypes.array(ret_dtype, ret)
+        return _scalar(ret, ret_dtype)
 
     @wraps(fn)
     def wrapper(*args):
@@ -425,23 +448,16 @@ def _dh_vectorize(fn):
         chunk_size = args[0]
         chunk_result = args[1]
         if args[2:]:
-            vectorized_args = zip(*args[2:])
-            for i in range(chunk_size):
-                scalar_args = next(vectorized_args)
-                converted_args = _convert_args(p_sig, scalar_args)
-                ret = fn(*converted_args)
-                if return_array:
-                    chunk_result[i] = dtypes.array(ret_dtype, ret)
-                else:
-                    chunk_result[i] = _scalar(ret, ret_dtype)
+            vectorized_args = islice(zip(*[_chunk_arg_values(arg, chunk_size) for arg in args[2:]]), chunk_size)
+            results = [to_result(fn(*_convert_args(p_sig, scalar_args))) for scalar_args in vectorized_args]
         else:
-            for i in range(chunk_size):
-                ret = fn()
-                if return_array:
-                    chunk_result[i] = dtypes.array(ret_dtype, ret)
-                else:
-                    chunk_result[i] = _scalar(ret, ret_dtype)
+            results = [to_result(fn()) for _ in range(chunk_size)]
 
+        if primitive_result:
+            # build the result array from the whole chunk at once, rather than setting its elements one by one
+            return dtypes.array(ret_dtype, results)
+        for i, ret in enumerate(results):
+            chunk_result[i] = ret
         return chunk_result
 
     wrapper.callable = fn
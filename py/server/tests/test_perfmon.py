@@ -62,6 +62,7 @@ class PerfmonTestCase(BaseTestCase):
         self.assertTrue(log_table.to_string())
         log_table = update_performance_log()
         self.assertTrue(log_table.to_string())
+        self.assertIn("PythonGilWaitNanos", [col.name for col in log_table.columns])
         log_table = query_performance_tree_table()
         self.assertIsNotNone(log_table)
 
@@ -2,9 +2,12 @@
 # Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
 #
 import random
+import threading
 import unittest
 
 from typing import Optional, Union
+
+import jpy
 import numpy as np
 
 from deephaven import DHError, empty_table, dtypes
@@ -368,5 +371,79 @@ def test_udf(col1, col2: np.ndarray[{_J_TYPE_NP_DTYPE_MAP[j_dtype]}]) -> np.ndar
             self.assertEqual(_udf.vectorized_count, 1)
             _udf.vectorized_count = 0
 
+    def test_vectorized_multiple_chunks(self):
+        with self.subTest("numeric columns"):
+            def f(p1: Optional[int], p2: float, p3: np.int16) -> Optional[float]:
+                return None if p1 is None else p1 + p2 + p3
+
+            t = empty_table(10_000).update(["A = i % 7 == 0 ? NULL_INT : i", "B = ii / 3.0", "C = (short) (i % 100)"])
+            t1 = t.update(["X = f(A, B, C)", "Y = A + B + C"])
+            self.assertEqual(_udf.vectorized_count, 1)
+            self.assertEqual(t1.where("X != Y").size, 0)
+            _udf.vectorized_count = 0
+
+        with self.subTest("object column"):
+            def g(p1: str) -> int:
+                return len(p1)
+
+            t = empty_table(10_000).update(["S = `s` + i"])
+            t1 = t.update(["X = g(S)", "Y = S.length()"])
+            self.assertEqual(_udf.vectorized_count, 1)
+            self.assertEqual(t1.where("X != Y").size, 0)
+            _udf.vectorized_count = 0
+
+    def test_python_and_java_columns(self):
+        calls = []
+
+        def f(p1: int) -> int:
+            calls.append("f")
+            return p1 * 2
+
+        def g(p1: int) -> int:
+            calls.append("g")
+            return p1 * 3
+
+        t = empty_table(100_000).update(["A = i", "B = f(A)", "C = A + 1", "D = g(C)", "E = B + D"])
+        self.assertEqual(_udf.vectorized_count, 2)
+        self.assertEqual(t.where("E != 5 * A + 3").size, 0)
+        # Python columns are computed one at a time, in order, even when the Java columns are computed in parallel
+        self.assertIn("f", calls)
+        self.assertIn("g", calls)
+        self.assertEqual(calls, sorted(calls))
+
+    def test_python_gil_wait_recorded(self):
+        j_query_performance_recorder = jpy.get_type("io.deephaven.engine.table.impl.perf.QueryPerformanceRecorder")
+        j_query_performance_nugget = jpy.get_type("io.deephaven.engine.table.impl.perf.QueryPerformanceNugget")
+
+        def f(p1: int) -> int:
+            return p1 * 2
+
+        # a Python thread that holds the GIL whenever it can, so that the engine has to wait for it
+        done = threading.Event()
+
+        def spin():
+            while not done.is_set():
+                pass
+
+        spinner = threading.Thread(target=spin)
+        spinner.start()
+        recorder = j_query_performance_recorder.newQuery("test_python_gil_wait_recorded", None,
+                                                         j_query_performance_nugget.DEFAULT_FACTORY)
+        query = recorder.startQuery()
+        try:
+            t = empty_table(100_000).update(["A = i", "B = f(A)"])
+            recorder.endQuery()
+        finally:
+            query.close()
+            done.set()
+            spinner.join()
+        self.assertEqual(t.where("B != 2 * A").size, 0)
+
+        gil_wait_nanos = recorder.getQueryLevelPerformanceData().getPythonGilWaitNanos()
+        operation_nuggets = recorder.getOperationLevelPerformanceData()
+        for i in range(operation_nuggets.size()):
+            gil_wait_nanos += operation_nuggets.get(i).getPythonGilWaitNanos()
+        self.assertGreater(gil_wait_nanos, 0)
+
 if __name__ == "__main__":
     unittest.main()
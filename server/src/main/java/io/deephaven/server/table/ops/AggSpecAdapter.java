@@ -287,6 +287,11 @@ class AggSpecAdapter {
                     AggSpec::absSum);
         }
 
+        @Override
+        public void visit(io.deephaven.api.agg.spec.AggSpecApproximateCountDistinct approxCountDistinct) {
+            // not yet part of the gRPC protocol
+        }
+
         @Override
         public void visit(io.deephaven.api.agg.spec.AggSpecApproximatePercentile approxPct) {
             add(
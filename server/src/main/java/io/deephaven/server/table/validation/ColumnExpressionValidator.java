@@ -16,6 +16,7 @@ import io.deephaven.engine.table.Table;
 import io.deephaven.engine.table.impl.QueryTable;
 import io.deephaven.engine.table.impl.lang.QueryLanguageFunctionUtils;
 import io.deephaven.engine.table.impl.lang.QueryLanguageParser;
+import io.deephaven.engine.table.impl.select.ComposedFilter;
 import io.deephaven.engine.table.impl.select.ConditionFilter;
 import io.deephaven.engine.table.impl.select.FormulaColumn;
 import io.deephaven.engine.table.impl.select.SelectColumn;
@@ -84,7 +85,8 @@ public class ColumnExpressionValidator extends VoidVisitorAdapter<Object> {
         final List<String> dummyAssignments = new ArrayList<>();
         for (int ii = 0; ii < whereFilters.length; ++ii) {
             final WhereFilter sf = whereFilters[ii];
-            if (sf instanceof ConditionFilter) {
+            // conditions that were partly turned into native filters still need their formulas checked
+            if (sf instanceof ConditionFilter || sf instanceof ComposedFilter) {
                 dummyAssignments
                         .add(String.format("__boolean_placeholder_%d__ = (%s)", ii, conditionalExpressions[ii]));
             }
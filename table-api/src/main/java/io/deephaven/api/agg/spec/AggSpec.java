@@ -26,6 +26,20 @@ public interface AggSpec {
         return AggSpecAbsSum.of();
     }
 
+    /**
+     * @return {@link AggSpecApproximateCountDistinct#of()}
+     */
+    static AggSpecApproximateCountDistinct approximateCountDistinct() {
+        return AggSpecApproximateCountDistinct.of();
+    }
+
+    /**
+     * @return {@link AggSpecApproximateCountDistinct#of(int)} for {@code precision}
+     */
+    static AggSpecApproximateCountDistinct approximateCountDistinct(int precision) {
+        return AggSpecApproximateCountDistinct.of(precision);
+    }
+
     /**
      * @return {@link AggSpecApproximatePercentile#of(double)} for {@code percentile}
      */
@@ -135,6 +149,13 @@ public interface AggSpec {
         return AggSpecMedian.of(averageEvenlyDivided);
     }
 
+    /**
+     * @return {@link AggSpecMedian#of(boolean, boolean)} for {@code averageEvenlyDivided} and {@code compact}
+     */
+    static AggSpecMedian median(boolean averageEvenlyDivided, boolean compact) {
+        return AggSpecMedian.of(averageEvenlyDivided, compact);
+    }
+
     /**
      * @return {@link AggSpecMin#of()}
      */
@@ -156,6 +177,14 @@ public interface AggSpec {
         return AggSpecPercentile.of(percentile, averageEvenlyDivided);
     }
 
+    /**
+     * @return {@link AggSpecPercentile#of(double, boolean, boolean)} for {@code percentile},
+     *         {@code averageEvenlyDivided}, and {@code compact}
+     */
+    static AggSpecPercentile percentile(double percentile, boolean averageEvenlyDivided, boolean compact) {
+        return AggSpecPercentile.of(percentile, averageEvenlyDivided, compact);
+    }
+
     /**
      * @return {@link AggSpecSortedFirst} for the supplied sort {@code columns}
      */
@@ -269,6 +298,7 @@ public interface AggSpec {
      */
     static void visitAll(Visitor visitor) {
         visitor.visit((AggSpecAbsSum) null);
+        visitor.visit((AggSpecApproximateCountDistinct) null);
         visitor.visit((AggSpecApproximatePercentile) null);
         visitor.visit((AggSpecAvg) null);
         visitor.visit((AggSpecCountDistinct) null);
@@ -341,6 +371,8 @@ public interface AggSpec {
     interface Visitor {
         void visit(AggSpecAbsSum absSum);
 
+        void visit(AggSpecApproximateCountDistinct approxCountDistinct);
+
         void visit(AggSpecApproximatePercentile approxPct);
 
         void visit(AggSpecAvg avg);
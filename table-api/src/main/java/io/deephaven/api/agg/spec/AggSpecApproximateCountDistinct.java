@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2016-2022 Deephaven Data Labs and Patent Pending
+ */
+package io.deephaven.api.agg.spec;
+
+import io.deephaven.annotations.SimpleStyle;
+import org.immutables.value.Value.Check;
+import org.immutables.value.Value.Immutable;
+import org.immutables.value.Value.Parameter;
+
+import java.util.OptionalInt;
+
+/**
+ * Specifies an aggregation that outputs the approximate count of distinct, non-{@code null} values, estimated using a
+ * HyperLogLog sketch with the specified {@link #precision()}.
+ *
+ * <p>
+ * Each sketch occupies at most {@code 2^precision} bytes, regardless of the number of distinct values, and sketches
+ * are mergeable, so this is appropriate in place of {@link AggSpecCountDistinct} for very many buckets of high
+ * cardinality input. The relative standard error of the estimate is approximately {@code 1.04 / sqrt(2^precision)}.
+ */
+@Immutable
+@SimpleStyle
+public abstract class AggSpecApproximateCountDistinct extends AggSpecBase {
+
+    /**
+     * The minimum supported {@link #precision()}.
+     */
+    public static final int MIN_PRECISION = 4;
+
+    /**
+     * The maximum supported {@link #precision()}.
+     */
+    public static final int MAX_PRECISION = 18;
+
+    /**
+     * Create a new AggSpecApproximateCountDistinct with {@code precision} chosen by the server.
+     *
+     * @return the agg spec
+     */
+    public static AggSpecApproximateCountDistinct of() {
+        return ImmutableAggSpecApproximateCountDistinct.of(OptionalInt.empty());
+    }
+
+    /**
+     * Create a new AggSpecApproximateCountDistinct.
+     *
+     * @param precision the precision
+     * @return the agg spec
+     */
+    public static AggSpecApproximateCountDistinct of(int precision) {
+        return ImmutableAggSpecApproximateCountDistinct.of(OptionalInt.of(precision));
+    }
+
+    @Override
+    public final String description() {
+        if (precision().isPresent()) {
+            return String.format("approximate count distinct with precision %d", precision().getAsInt());
+        }
+        return "approximate count distinct with default precision";
+    }
+
+    /**
+     * HyperLogLog precision, the base 2 logarithm of the number of registers in each sketch. Must be in range
+     * [{@value #MIN_PRECISION}, {@value #MAX_PRECISION}].
+     *
+     * <p>
+     * When not specified, the server will choose a precision value.
+     *
+     * @return The HyperLogLog precision if specified
+     */
+    @Parameter
+    public abstract OptionalInt precision();
+
+    @Override
+    public final <V extends Visitor> V walk(V visitor) {
+        visitor.visit(this);
+        return visitor;
+    }
+
+    @Check
+    final void checkPrecision() {
+        if (precision().isPresent()
+                && (precision().getAsInt() < MIN_PRECISION || precision().getAsInt() > MAX_PRECISION)) {
+            throw new IllegalArgumentException(String.format("Precision must be in range [%d, %d]",
+                    MIN_PRECISION, MAX_PRECISION));
+        }
+    }
+}
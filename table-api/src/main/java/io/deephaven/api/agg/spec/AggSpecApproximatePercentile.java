@@ -17,10 +17,10 @@ import java.util.OptionalDouble;
  * Efficiently supports multiple output percentiles based on a single input column.
  *
  * <p>
- * May only be used on static or add-only tables.
+ * Best suited to static or add-only tables; removals and modifications require rebuilding the affected digests.
  *
  * <p>
- * Only supported for numeric types.
+ * Only supported for numeric types, or for T-Digests (com.tdunning.math.stats.TDigest), which are merged.
  */
 @Immutable
 @BuildableStyle
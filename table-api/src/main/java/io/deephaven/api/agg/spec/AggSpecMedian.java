@@ -17,8 +17,11 @@ public abstract class AggSpecMedian extends AggSpecBase {
 
     public static final boolean AVERAGE_EVENLY_DIVIDED_DEFAULT = true;
 
+    public static final boolean COMPACT_DEFAULT = false;
+
     /**
-     * Create a new AggSpecMedian with {@code averageEvenlyDivided} of {@value AVERAGE_EVENLY_DIVIDED_DEFAULT}.
+     * Create a new AggSpecMedian with {@code averageEvenlyDivided} of {@value AVERAGE_EVENLY_DIVIDED_DEFAULT} and
+     * {@code compact} of {@value COMPACT_DEFAULT}.
      *
      * @return the agg spec
      */
@@ -27,18 +30,30 @@ public abstract class AggSpecMedian extends AggSpecBase {
     }
 
     /**
-     * Create a new AggSpecMedian.
+     * Create a new AggSpecMedian with {@code compact} of {@value COMPACT_DEFAULT}.
      *
      * @param averageEvenlyDivided see {@link #averageEvenlyDivided()}
      * @return the agg spec
      */
     public static AggSpecMedian of(boolean averageEvenlyDivided) {
-        return ImmutableAggSpecMedian.of(averageEvenlyDivided);
+        return of(averageEvenlyDivided, COMPACT_DEFAULT);
+    }
+
+    /**
+     * Create a new AggSpecMedian.
+     *
+     * @param averageEvenlyDivided see {@link #averageEvenlyDivided()}
+     * @param compact see {@link #compact()}
+     * @return the agg spec
+     */
+    public static AggSpecMedian of(boolean averageEvenlyDivided, boolean compact) {
+        return ImmutableAggSpecMedian.of(averageEvenlyDivided, compact);
     }
 
     @Override
     public final String description() {
-        return "median" + (averageEvenlyDivided() ? " (averaging when evenly divided)" : "");
+        return "median" + (averageEvenlyDivided() ? " (averaging when evenly divided)" : "")
+                + (compact() ? " (compact)" : "");
     }
 
     /**
@@ -50,6 +65,16 @@ public abstract class AggSpecMedian extends AggSpecBase {
     @Parameter
     public abstract boolean averageEvenlyDivided();
 
+    /**
+     * Whether to keep each group's values in a compact order-statistic structure, rather than in a pair of sorted
+     * multisets. This uses much less memory per group, and is intended for aggregations with very many groups. The
+     * result is the same either way. Only applies to {@code int}, {@code long}, and {@code double} inputs.
+     *
+     * @return Whether to use the compact order-statistic structure
+     */
+    @Parameter
+    public abstract boolean compact();
+
     @Override
     public final <V extends Visitor> V walk(V visitor) {
         visitor.visit(this);
@@ -18,8 +18,11 @@ public abstract class AggSpecPercentile extends AggSpecBase {
 
     public static final boolean AVERAGE_EVENLY_DIVIDED = false;
 
+    public static final boolean COMPACT_DEFAULT = false;
+
     /**
-     * Create a new AggSpecPercentile with {@code averageEvenlyDivided} of {@value AVERAGE_EVENLY_DIVIDED}.
+     * Create a new AggSpecPercentile with {@code averageEvenlyDivided} of {@value AVERAGE_EVENLY_DIVIDED} and
+     * {@code compact} of {@value COMPACT_DEFAULT}.
      *
      * @param percentile the percentile
      * @return the agg spec
@@ -29,21 +32,34 @@ public abstract class AggSpecPercentile extends AggSpecBase {
     }
 
     /**
-     * Create a new AggSpecPercentile.
+     * Create a new AggSpecPercentile with {@code compact} of {@value COMPACT_DEFAULT}.
      *
      * @param percentile the percentile
      * @param averageEvenlyDivided see {@link #averageEvenlyDivided()}
      * @return the agg spec
      */
     public static AggSpecPercentile of(double percentile, boolean averageEvenlyDivided) {
-        return ImmutableAggSpecPercentile.of(percentile, averageEvenlyDivided);
+        return of(percentile, averageEvenlyDivided, COMPACT_DEFAULT);
+    }
+
+    /**
+     * Create a new AggSpecPercentile.
+     *
+     * @param percentile the percentile
+     * @param averageEvenlyDivided see {@link #averageEvenlyDivided()}
+     * @param compact see {@link #compact()}
+     * @return the agg spec
+     */
+    public static AggSpecPercentile of(double percentile, boolean averageEvenlyDivided, boolean compact) {
+        return ImmutableAggSpecPercentile.of(percentile, averageEvenlyDivided, compact);
     }
 
     @Override
     public final String description() {
-        return String.format("%.2f percentile%s",
+        return String.format("%.2f percentile%s%s",
                 percentile(),
-                averageEvenlyDivided() ? " (averaging when evenly divided)" : "");
+                averageEvenlyDivided() ? " (averaging when evenly divided)" : "",
+                compact() ? " (compact)" : "");
     }
 
     /**
@@ -63,6 +79,16 @@ public abstract class AggSpecPercentile extends AggSpecBase {
     @Parameter
     public abstract boolean averageEvenlyDivided();
 
+    /**
+     * Whether to keep each group's values in a compact order-statistic structure, rather than in a pair of sorted
+     * multisets. This uses much less memory per group, and is intended for aggregations with very many groups. The
+     * result is the same either way. Only applies to {@code int}, {@code long}, and {@code double} inputs.
+     *
+     * @return Whether to use the compact order-statistic structure
+     */
+    @Parameter
+    public abstract boolean compact();
+
     @Override
     public final <V extends Visitor> V walk(V visitor) {
         visitor.visit(this);
@@ -16,10 +16,10 @@ import java.util.OptionalDouble;
  *
  * <p>
  * May be used to implement parallel percentile calculations by splitting inputs and accumulating results into a single
- * downstream TDigest.
+ * downstream TDigest. If the input column contains T-Digests rather than numeric values, they are merged.
  *
  * <p>
- * May only be used on static or add-only tables.
+ * Best suited to static or add-only tables; removals and modifications require rebuilding the affected digests.
  */
 @Immutable
 @SimpleStyle
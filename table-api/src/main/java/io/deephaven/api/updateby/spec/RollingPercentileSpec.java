@@ -0,0 +1,105 @@
+package io.deephaven.api.updateby.spec;
+
+import io.deephaven.annotations.BuildableStyle;
+import org.immutables.value.Value;
+import org.immutables.value.Value.Immutable;
+
+import java.time.Duration;
+
+/**
+ * A {@link UpdateBySpec} for performing a windowed rolling percentile (or median) across the specified columns
+ */
+@Immutable
+@BuildableStyle
+public abstract class RollingPercentileSpec extends RollingOpSpec {
+
+    public static RollingPercentileSpec ofTicks(double percentile, boolean averageEvenlyDivided, long revTicks) {
+        return of(percentile, averageEvenlyDivided, WindowScale.ofTicks(revTicks));
+    }
+
+    public static RollingPercentileSpec ofTicks(double percentile, boolean averageEvenlyDivided, long revTicks,
+            long fwdTicks) {
+        return of(percentile, averageEvenlyDivided, WindowScale.ofTicks(revTicks), WindowScale.ofTicks(fwdTicks));
+    }
+
+    public static RollingPercentileSpec ofTime(double percentile, boolean averageEvenlyDivided,
+            final String timestampCol, Duration revDuration) {
+        return of(percentile, averageEvenlyDivided, WindowScale.ofTime(timestampCol, revDuration));
+    }
+
+    public static RollingPercentileSpec ofTime(double percentile, boolean averageEvenlyDivided,
+            final String timestampCol, Duration revDuration, Duration fwdDuration) {
+        return of(percentile, averageEvenlyDivided, WindowScale.ofTime(timestampCol, revDuration),
+                WindowScale.ofTime(timestampCol, fwdDuration));
+    }
+
+    public static RollingPercentileSpec ofTime(double percentile, boolean averageEvenlyDivided,
+            final String timestampCol, long revDuration) {
+        return of(percentile, averageEvenlyDivided, WindowScale.ofTime(timestampCol, revDuration));
+    }
+
+    public static RollingPercentileSpec ofTime(double percentile, boolean averageEvenlyDivided,
+            final String timestampCol, long revDuration, long fwdDuration) {
+        return of(percentile, averageEvenlyDivided, WindowScale.ofTime(timestampCol, revDuration),
+                WindowScale.ofTime(timestampCol, fwdDuration));
+    }
+
+    public static RollingPercentileSpec of(double percentile, boolean averageEvenlyDivided,
+            WindowScale revWindowScale) {
+        return ImmutableRollingPercentileSpec.builder()
+                .percentile(percentile)
+                .averageEvenlyDivided(averageEvenlyDivided)
+                .revWindowScale(revWindowScale)
+                .build();
+    }
+
+    public static RollingPercentileSpec of(double percentile, boolean averageEvenlyDivided,
+            WindowScale revWindowScale, WindowScale fwdWindowScale) {
+        return ImmutableRollingPercentileSpec.builder()
+                .percentile(percentile)
+                .averageEvenlyDivided(averageEvenlyDivided)
+                .revWindowScale(revWindowScale)
+                .fwdWindowScale(fwdWindowScale)
+                .build();
+    }
+
+    /**
+     * The percentile to compute, in the range {@code [0.0, 1.0]}.
+     *
+     * @return The percentile
+     */
+    @Value.Parameter
+    public abstract double percentile();
+
+    /**
+     * Whether to average the two values bracketing the percentile when the window has an even number of values, as
+     * for a median. Only applies to {@code int}, {@code long}, {@code float}, and {@code double} inputs; the result of
+     * averaging {@code int} or {@code long} values is a {@code double}.
+     *
+     * @return Whether to average evenly divided windows
+     */
+    @Value.Parameter
+    public abstract boolean averageEvenlyDivided();
+
+    @Override
+    public final boolean applicableTo(Class<?> inputType) {
+        return
+        // is primitive or boxed numeric?
+        applicableToNumeric(inputType)
+                || inputType == char.class || inputType == Character.class
+                // is comparable?
+                || (Comparable.class.isAssignableFrom(inputType) && inputType != Boolean.class);
+    }
+
+    @Override
+    public final <T> T walk(Visitor<T> visitor) {
+        return visitor.visit(this);
+    }
+
+    @Value.Check
+    final void checkPercentile() {
+        if (percentile() < 0.0 || percentile() > 1.0) {
+            throw new IllegalArgumentException("Percentile must be in range [0.0, 1.0]");
+        }
+    }
+}